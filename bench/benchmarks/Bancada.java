@@ -0,0 +1,107 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mini-harness de microbenchmark (sem dependências externas).
+ * <p>
+ * Cada benchmark roda um aquecimento e depois uma medição por tempo fixo.
+ * Reporta operações por segundo e bytes alocados por operação, medidos com
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes} (o mesmo
+ * dado que o profiler "gc" do JMH usa).
+ */
+public class Bancada {
+
+    /**
+     * Operação medida. O valor devolvido é consumido para que o JIT
+     * não elimine o trabalho.
+     */
+    public interface Operacao {
+        long executar() throws Exception;
+    }
+
+    /**
+     * Resultado de um benchmark.
+     */
+    public static class Resultado {
+        private final String nome;
+        private final double opsPorSegundo;
+        private final double bytesPorOp;
+
+        public Resultado(String nome, double opsPorSegundo, double bytesPorOp) {
+            this.nome = nome;
+            this.opsPorSegundo = opsPorSegundo;
+            this.bytesPorOp = bytesPorOp;
+        }
+
+        public String getNome() { return nome; }
+        public double getOpsPorSegundo() { return opsPorSegundo; }
+        public double getBytesPorOp() { return bytesPorOp; }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final long aquecimentoNanos;
+    private final long medicaoNanos;
+    private final List<Resultado> resultados = new ArrayList<>();
+    private long sumidouro;
+
+    /**
+     * @param aquecimentoMs duração do aquecimento de cada benchmark
+     * @param medicaoMs     duração da medição de cada benchmark
+     */
+    public Bancada(long aquecimentoMs, long medicaoMs) {
+        this.aquecimentoNanos = aquecimentoMs * 1_000_000L;
+        this.medicaoNanos = medicaoMs * 1_000_000L;
+    }
+
+    /**
+     * Mede a operação e guarda o resultado.
+     */
+    public Resultado medir(String nome, Operacao operacao) throws Exception {
+        rodarPorTempo(operacao, aquecimentoNanos);
+
+        long threadId = Thread.currentThread().getId();
+        long bytesAntes = THREADS.getThreadAllocatedBytes(threadId);
+        long inicio = System.nanoTime();
+        long ops = rodarPorTempo(operacao, medicaoNanos);
+        long decorrido = System.nanoTime() - inicio;
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesAntes;
+
+        Resultado resultado = new Resultado(nome, ops * 1e9 / decorrido, (double) bytes / ops);
+        resultados.add(resultado);
+        System.out.printf("%-45s %15.1f ops/s %12.1f B/op%n",
+                nome, resultado.getOpsPorSegundo(), resultado.getBytesPorOp());
+        return resultado;
+    }
+
+    private long rodarPorTempo(Operacao operacao, long nanos) throws Exception {
+        long fim = System.nanoTime() + nanos;
+        long ops = 0;
+        long lote = 1;
+        while (System.nanoTime() < fim) {
+            for (long i = 0; i < lote; i++) {
+                sumidouro += operacao.executar();
+            }
+            ops += lote;
+            if (lote < 1024) {
+                lote *= 2;
+            }
+        }
+        return ops;
+    }
+
+    public List<Resultado> getResultados() {
+        return resultados;
+    }
+
+    /**
+     * @return valor acumulado das operações (só existe para impedir eliminação de código morto)
+     */
+    public long getSumidouro() {
+        return sumidouro;
+    }
+}
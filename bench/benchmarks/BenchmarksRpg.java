@@ -0,0 +1,359 @@
+package benchmarks;
+
+import conteudo.TabelasJogo;
+import itens.CatalogoItens;
+import itens.Efeito;
+import itens.Inventario;
+import itens.Item;
+import persistencia.EstadoJogo;
+import persistencia.GravadorSaves;
+import persistencia.PoliticaFsync;
+import persistencia.SaveBinario;
+import persistencia.SaveIncremental;
+import persistencia.SaveTexto;
+import personagens.Arqueiro;
+import personagens.Guerreiro;
+import personagens.Inimigo;
+import personagens.Mago;
+import personagens.Personagem;
+import personagens.PoolInimigos;
+import sistema.ConselheiroCombate;
+import sistema.Dado;
+import sistema.RoladorDados;
+import sistema.RoladorSilencioso;
+import sistema.SolucionadorCombate;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmarks dos caminhos quentes do jogo: dados, dano, inventário, conselheiro
+ * e solucionador de combate e save/load.
+ * <p>
+ * Uso:
+ * <pre>
+ * java -cp bin benchmarks.BenchmarksRpg [--rapido] [--gravar arquivo] [--comparar arquivo]
+ * </pre>
+ * {@code --gravar} salva os resultados como nova linha de base;
+ * {@code --comparar} mostra a variação em relação a uma linha de base gravada
+ * (ex.: {@code bench/baseline.txt}).
+ */
+public class BenchmarksRpg {
+    private static final int[] TAMANHOS_INVENTARIO = {20, 1_000, 100_000};
+    private static final int TAMANHO_HORDA = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        boolean rapido = false;
+        String arquivoGravar = null;
+        String arquivoComparar = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rapido": rapido = true; break;
+                case "--gravar": arquivoGravar = args[++i]; break;
+                case "--comparar": arquivoComparar = args[++i]; break;
+                default: throw new IllegalArgumentException("Argumento desconhecido: " + args[i]);
+            }
+        }
+
+        Bancada bancada = rapido ? new Bancada(200, 300) : new Bancada(1_000, 2_000);
+        benchmarksDados(bancada);
+        benchmarksDano(bancada);
+        benchmarksInventario(bancada);
+        benchmarksSaque(bancada);
+        benchmarksTabelas(bancada);
+        benchmarksHorda(bancada);
+        benchmarksConselheiro(bancada);
+        benchmarksSave(bancada);
+
+        if (arquivoGravar != null) {
+            gravar(bancada.getResultados(), new File(arquivoGravar));
+        }
+        if (arquivoComparar != null) {
+            comparar(bancada.getResultados(), new File(arquivoComparar));
+        }
+    }
+
+    private static void benchmarksDados(Bancada bancada) throws Exception {
+        Dado.setSilencioso(true);
+        bancada.medir("Dado.rolar(6) estatico silencioso", () -> Dado.rolar(6));
+        Dado.setSilencioso(false);
+
+        RoladorDados rolador = new RoladorSilencioso(42L);
+        bancada.medir("RoladorSilencioso.rolar(6)", () -> rolador.rolar(6));
+    }
+
+    private static void benchmarksDano(Bancada bancada) throws Exception {
+        RoladorDados rolador = new RoladorSilencioso(42L);
+        Personagem[] atacantes = {
+            new Guerreiro(), new Mago(), new Arqueiro(),
+            new Inimigo("Orc", 90, 14, 6, 2, "Forte", rolador)
+        };
+
+        for (Personagem atacante : atacantes) {
+            atacante.setDado(rolador);
+            Inimigo alvo = new Inimigo("Alvo", 10_000, 1, 5, 1, "Comum", rolador);
+            bancada.medir(atacante.getClass().getSimpleName() + ".calcularDano+receberDano", () -> {
+                int dano = atacante.calcularDano(rolador.rolarD6());
+                alvo.receberDano(dano);
+                if (!alvo.estaVivo()) {
+                    alvo.setPontosVida(alvo.getPontosVidaMaximos());
+                }
+                recarregar(atacante);
+                return dano;
+            });
+        }
+    }
+
+    private static void recarregar(Personagem atacante) {
+        if (atacante instanceof Mago) {
+            ((Mago) atacante).regenerarMana(10);
+        } else if (atacante instanceof Arqueiro) {
+            ((Arqueiro) atacante).recarregarFlechas(1);
+        }
+    }
+
+    private static void benchmarksInventario(Bancada bancada) throws Exception {
+        for (int tamanho : TAMANHOS_INVENTARIO) {
+            Inventario inventario = new Inventario(tamanho);
+            Item[] itens = new Item[tamanho];
+            String[] nomes = new String[tamanho];
+            Efeito[] efeitos = Efeito.values();
+            for (int i = 0; i < tamanho; i++) {
+                nomes[i] = String.format("Item %06d", i);
+                itens[i] = new Item(nomes[i], "Item de teste", efeitos[i % efeitos.length], 1, i % 50);
+                inventario.adicionar(itens[i]);
+            }
+
+            int[] cursor = {0};
+            bancada.medir("Inventario.adicionar [" + tamanho + "]", () -> {
+                int i = cursor[0]++ % tamanho;
+                inventario.adicionar(itens[i]);
+                return i;
+            });
+            bancada.medir("Inventario.buscarPorNome [" + tamanho + "]", () -> {
+                Item item = inventario.buscarPorNome(nomes[cursor[0]++ % tamanho]);
+                return item.getQuantidade();
+            });
+            bancada.medir("Inventario.buscarPorIndice [" + tamanho + "]", () -> {
+                Item item = inventario.buscarPorIndice(cursor[0]++ % tamanho);
+                return item.getQuantidade();
+            });
+            bancada.medir("Inventario.listarOrdenado [" + tamanho + "]",
+                    () -> inventario.listarOrdenado().size());
+            bancada.medir("Inventario.getItensOrdenados (iterar) [" + tamanho + "]", () -> {
+                long total = 0;
+                for (Item item : inventario.getItensOrdenados()) {
+                    total += item.getQuantidade();
+                }
+                return total;
+            });
+            bancada.medir("Inventario copia + adicionar [" + tamanho + "]", () -> {
+                Inventario copia = new Inventario(inventario);
+                copia.adicionar(itens[cursor[0]++ % tamanho]);
+                return copia.getTamanho();
+            });
+        }
+    }
+
+    private static void benchmarksSaque(Bancada bancada) throws Exception {
+        RoladorDados rolador = new RoladorSilencioso(42L);
+        Inventario inventario = new Inventario(20);
+        bancada.medir("Saque: gerar loot + transferir", () -> {
+            Inimigo inimigo = new Inimigo("Goblin", 50, 8, 3, 1, "Comum", rolador);
+            for (Item item : inimigo.getInventario().getItensOrdenados()) {
+                inventario.adicionar(item);
+            }
+            return inventario.getTamanho();
+        });
+    }
+
+    private static void benchmarksTabelas(Bancada bancada) throws Exception {
+        RoladorDados rolador = new RoladorSilencioso(42L);
+        for (int tamanho : new int[] {5, 500}) {
+            String texto = tabelasGeradas(tamanho);
+            TabelasJogo tabelas = TabelasJogo.ler(new StringReader(texto));
+            bancada.medir("TabelasJogo sortear especie+saque [" + tamanho + "]", () -> {
+                int soma = 0;
+                for (int i = 0; i < 1_000; i++) {
+                    soma += tabelas.sortearEspecie(1 + (i & 15), rolador).getId();
+                    soma += tabelas.sortearSaque(1 + (i & 15), rolador).getId();
+                }
+                return soma;
+            });
+            bancada.medir("TabelasJogo.ler [" + tamanho + "]",
+                    () -> TabelasJogo.ler(new StringReader(texto)).getEspecies().size());
+        }
+    }
+
+    /**
+     * Tabelas com {@code tamanho} espécies e itens de raridades variadas, em
+     * duas faixas de nível.
+     */
+    static String tabelasGeradas(int tamanho) {
+        String[] raridades = {"comum", "comum", "incomum", "raro", "lendario"};
+        StringBuilder sb = new StringBuilder("[raridades]\ncomum;16\nincomum;8\nraro;4\nlendario;1\n[especies]\n");
+        for (int i = 0; i < tamanho; i++) {
+            sb.append("Especie ").append(i).append(";Comum;").append(40 + i % 20).append(";10;6;2;2;1\n");
+        }
+        sb.append("[itens]\n");
+        for (int i = 0; i < tamanho; i++) {
+            sb.append("item").append(i).append(";Item ").append(i).append(";Bench;CURA;").append(1 + i).append('\n');
+        }
+        for (String faixa : new String[] {"1-8", "9-"}) {
+            sb.append("[encontros ").append(faixa).append("]\n");
+            for (int i = 0; i < tamanho; i++) {
+                sb.append("Especie ").append(i).append(';').append(raridades[i % raridades.length]).append('\n');
+            }
+        }
+        sb.append("[saque]\n");
+        for (int i = 0; i < tamanho; i++) {
+            sb.append("item").append(i).append(';').append(raridades[(i + 2) % raridades.length]).append('\n');
+        }
+        sb.append("[achados]\nitem0;1\n");
+        return sb.toString();
+    }
+
+    private static void benchmarksHorda(Bancada bancada) throws Exception {
+        RoladorDados rolador = new RoladorSilencioso(42L);
+        List<Inimigo> horda = new ArrayList<>(TAMANHO_HORDA);
+        bancada.medir("Horda Inimigo: criar + 5 danos em area [" + TAMANHO_HORDA + "]", () -> {
+            horda.clear();
+            for (int i = 0; i < TAMANHO_HORDA; i++) {
+                horda.add(Inimigo.criarInimigoAleatorio(3, rolador));
+            }
+            for (int golpe = 0; golpe < 5; golpe++) {
+                for (Inimigo inimigo : horda) {
+                    inimigo.receberDano(40);
+                }
+                horda.removeIf(inimigo -> !inimigo.estaVivo());
+            }
+            return horda.size();
+        });
+
+        PoolInimigos pool = new PoolInimigos(TAMANHO_HORDA);
+        bancada.medir("Horda PoolInimigos: gerar + 5 danos em area [" + TAMANHO_HORDA + "]", () -> {
+            pool.limpar();
+            pool.gerar(TAMANHO_HORDA, 3, rolador);
+            for (int golpe = 0; golpe < 5; golpe++) {
+                pool.aplicarDano(40);
+                pool.varrerMortos();
+            }
+            return pool.getTamanho();
+        });
+    }
+
+    private static void benchmarksConselheiro(Bancada bancada) throws Exception {
+        RoladorDados rolador = new RoladorSilencioso(42L);
+        Personagem heroi = new Guerreiro("Heroi", 200, 27, 18, 5);
+        heroi.getInventario().adicionar(new Item(CatalogoItens.POCAO_VIDA, 3));
+        heroi.getInventario().adicionar(new Item(CatalogoItens.POCAO_FORCA, 1));
+        Inimigo orc = new Inimigo("Orc", 135, 23, 9, 5, "Forte", rolador);
+        Inimigo chefe = new Inimigo("Vorath, o Eterno", 300, 30, 20, 7, "Boss Final", rolador);
+
+        // Prazo folgado: cada operação expande sempre os mesmos 100k estados.
+        ConselheiroCombate conselheiro = new ConselheiroCombate(100_000, 10_000,
+                ConselheiroCombate.VALOR_FUGA_PADRAO, ForkJoinPool.commonPool());
+        // Aquece os dois cenários juntos: o chefe passa por ramos que o Orc nunca usa, e a
+        // recompilação do JIT cairia no meio da medição (com --rapido, ela domina o resultado).
+        for (int i = 0; i < 20; i++) {
+            conselheiro.sugerir(heroi, orc, false);
+            conselheiro.sugerir(heroi, chefe, true);
+        }
+        bancada.medir("ConselheiroCombate.sugerir Guerreiro x Orc [100k estados]",
+                () -> conselheiro.sugerir(heroi, orc, false).getNos());
+        bancada.medir("ConselheiroCombate.sugerir Guerreiro x chefe [100k estados]",
+                () -> conselheiro.sugerir(heroi, chefe, true).getNos());
+
+        SolucionadorCombate solucionador = new SolucionadorCombate();
+        bancada.medir("SolucionadorCombate.resolver Guerreiro x Orc, SEMPRE_ATACAR",
+                () -> solucionador.resolver(heroi, orc, false, SolucionadorCombate.Estrategia.SEMPRE_ATACAR)
+                        .getEstados());
+        bancada.medir("SolucionadorCombate.resolver Guerreiro x Orc, OTIMA",
+                () -> solucionador.resolver(heroi, orc, false, SolucionadorCombate.Estrategia.OTIMA).getEstados());
+    }
+
+    private static void benchmarksSave(Bancada bancada) throws Exception {
+        Personagem jogador = new Guerreiro("Heroi", 120, 15, 10, 3);
+        for (int i = 0; i < 20; i++) {
+            jogador.getInventario().adicionar(
+                    new Item("Item " + i, "Item de teste", Efeito.values()[i % 5], i + 1, 10));
+        }
+        EstadoJogo estado = new EstadoJogo(jogador, 40, 150, 3, 7, false);
+
+        File arquivo = File.createTempFile("bench-save", ".txt");
+        arquivo.deleteOnExit();
+        bancada.medir("SaveTexto escrever+ler (20 itens)", () -> {
+            SaveTexto.escrever(estado, arquivo);
+            return SaveTexto.ler(arquivo).getJogador().getInventario().getTamanho();
+        });
+
+        File arquivoBinario = File.createTempFile("bench-save", ".sav");
+        arquivoBinario.deleteOnExit();
+        bancada.medir("SaveBinario escrever+ler (20 itens)", () -> {
+            SaveBinario.escrever(estado, arquivoBinario);
+            return SaveBinario.ler(arquivoBinario).getJogador().getInventario().getTamanho();
+        });
+        for (PoliticaFsync politica : PoliticaFsync.values()) {
+            GravadorSaves gravador = new GravadorSaves(politica, GravadorSaves.TAMANHO_LOTE_PADRAO);
+            bancada.medir("GravadorSaves gravar " + politica + " (20 itens)", () -> {
+                gravador.gravar(estado, arquivoBinario);
+                return 0;
+            });
+            gravador.close();
+        }
+        try (GravadorSaves gravador = new GravadorSaves(PoliticaFsync.NUNCA, GravadorSaves.TAMANHO_LOTE_PADRAO)) {
+            SaveIncremental incremental = new SaveIncremental(arquivoBinario);
+            int[] hp = {1};
+            bancada.medir("SaveIncremental delta de HP NUNCA (20 itens)", () -> {
+                jogador.setPontosVida(1 + (hp[0]++ % 100));
+                gravador.gravar(incremental, estado);
+                return 0;
+            });
+        }
+        jogador.setPontosVida(jogador.getPontosVidaMaximos());
+        bancada.medir("SaveTexto ler (20 itens)",
+                () -> SaveTexto.ler(arquivo).getJogador().getInventario().getTamanho());
+        bancada.medir("SaveBinario ler (20 itens)",
+                () -> SaveBinario.ler(arquivoBinario).getJogador().getInventario().getTamanho());
+    }
+
+    private static void gravar(List<Bancada.Resultado> resultados, File arquivo) throws IOException {
+        try (PrintWriter pw = new PrintWriter(arquivo, StandardCharsets.UTF_8)) {
+            pw.println("# benchmark;ops_por_segundo;bytes_por_op");
+            for (Bancada.Resultado r : resultados) {
+                pw.printf(java.util.Locale.ROOT, "%s;%.1f;%.1f%n", r.getNome(), r.getOpsPorSegundo(), r.getBytesPorOp());
+            }
+        }
+        System.out.println("Linha de base gravada em " + arquivo.getPath());
+    }
+
+    private static void comparar(List<Bancada.Resultado> resultados, File arquivo) throws IOException {
+        Map<String, double[]> base = new HashMap<>();
+        for (String linha : Files.readAllLines(arquivo.toPath(), StandardCharsets.UTF_8)) {
+            if (linha.startsWith("#") || linha.isBlank()) continue;
+            String[] partes = linha.split(";");
+            base.put(partes[0], new double[] {Double.parseDouble(partes[1]), Double.parseDouble(partes[2])});
+        }
+
+        System.out.println("\n=== Comparação com " + arquivo.getPath() + " ===");
+        for (Bancada.Resultado r : resultados) {
+            double[] anterior = base.get(r.getNome());
+            if (anterior == null) {
+                System.out.printf("%-45s (novo)%n", r.getNome());
+                continue;
+            }
+            double variacao = (r.getOpsPorSegundo() / anterior[0] - 1) * 100;
+            System.out.printf("%-45s %+8.1f%% ops/s   %10.1f -> %.1f B/op%n",
+                    r.getNome(), variacao, anterior[1], r.getBytesPorOp());
+        }
+    }
+}
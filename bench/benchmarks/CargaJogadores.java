@@ -0,0 +1,221 @@
+package benchmarks;
+
+import servidor.FrenteNio;
+import servidor.ServidorJogo;
+import sistema.FabricaThreads;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga com jogadores automáticos ({@link RoboJogador}) jogando
+ * partidas completas nos menus reais do jogo, para saber quantos jogadores
+ * simultâneos um host aguenta.
+ * <p>
+ * Cada robô roda em sua própria thread: abre uma partida, responde tela a
+ * tela e, quando o jogo termina, começa outro. Mede a latência de cada
+ * comando (da resposta enviada até a tela seguinte) em
+ * {@link HistogramaLatencia}s por tipo de ação, a vazão de comandos e as
+ * pausas de GC ({@link MonitorGc}). O aquecimento não entra no relatório.
+ * <pre>
+ * java -cp bin benchmarks.CargaJogadores [jogadores] [segundos] [opções]
+ *   --rede           sobe a frente NIO no processo e joga por TCP local
+ *   --porta N        joga contra uma frente já rodando (servidor.FrenteNio N --go-ahead)
+ *   --aquecimento S  segundos descartados no início (padrão 3)
+ *   --seed S         seed do servidor e dos robôs
+ * </pre>
+ * Sem {@code --rede} nem {@code --porta}, as sessões são locais
+ * ({@link servidor.SessaoLocal}), sem rede. As sessões do servidor não gravam
+ * nem carregam saves: salvar e carregar percorrem o menu até o aviso.
+ */
+public class CargaJogadores {
+    private static final long TIMEOUT_TELA_MS = 30_000;
+
+    private final ServidorJogo servidor;
+    private final int porta;
+    private final Map<RoboJogador.Acao, HistogramaLatencia> latencias = new EnumMap<>(RoboJogador.Acao.class);
+    private final AtomicLong jogos = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+    private volatile boolean medindo;
+    private volatile boolean parar;
+
+    private CargaJogadores(ServidorJogo servidor, int porta) {
+        this.servidor = servidor;
+        this.porta = porta;
+        for (RoboJogador.Acao acao : RoboJogador.Acao.values()) {
+            latencias.put(acao, new HistogramaLatencia());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int jogadores = 200;
+        int segundos = 20;
+        int aquecimento = 3;
+        int porta = -1;
+        boolean rede = false;
+        long seed = 42L;
+        int posicional = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rede":
+                    rede = true;
+                    break;
+                case "--porta":
+                    porta = Integer.parseInt(args[++i]);
+                    break;
+                case "--aquecimento":
+                    aquecimento = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    if (posicional++ == 0) {
+                        jogadores = Integer.parseInt(args[i]);
+                    } else {
+                        segundos = Integer.parseInt(args[i]);
+                    }
+            }
+        }
+
+        ServidorJogo servidor = porta < 0 ? new ServidorJogo(seed) : null;
+        FrenteNio frente = null;
+        String modo = "local";
+        if (rede) {
+            frente = new FrenteNio(servidor, FrenteNio.TEMPO_OCIOSO_PADRAO_MS, FrenteNio.LIMITE_SAIDA_PADRAO, true);
+            porta = frente.escutar(0);
+            modo = "TCP, frente NIO no processo";
+        } else if (porta >= 0) {
+            modo = "TCP, localhost:" + porta;
+        }
+
+        try {
+            CargaJogadores carga = new CargaJogadores(rede ? null : servidor, porta);
+            carga.executar(jogadores, seed, aquecimento, segundos, modo);
+        } finally {
+            if (frente != null) {
+                frente.close();
+            }
+            if (servidor != null) {
+                servidor.close();
+            }
+        }
+    }
+
+    private void executar(int jogadores, long seed, int aquecimento, int segundos, String modo) throws Exception {
+        ThreadFactory fabrica = FabricaThreads.virtuaisOuDaemon("robo", ServidorJogo.TAMANHO_PILHA_SESSAO);
+        List<Thread> threads = new ArrayList<>(jogadores);
+        for (int i = 0; i < jogadores; i++) {
+            RoboJogador robo = new RoboJogador(i, seed + i);
+            Thread thread = fabrica.newThread(() -> jogar(robo));
+            threads.add(thread);
+            thread.start();
+        }
+
+        Thread.sleep(aquecimento * 1_000L);
+        long gcAntes = tempoGc();
+        long inicio;
+        try (MonitorGc gc = new MonitorGc()) {
+            medindo = true;
+            inicio = System.nanoTime();
+            Thread.sleep(segundos * 1_000L);
+            medindo = false;
+            long decorrido = System.nanoTime() - inicio;
+            long gcMs = tempoGc() - gcAntes;
+            relatar(jogadores, modo, decorrido, gc, gcMs);
+        }
+
+        parar = true;
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_TELA_MS);
+        }
+    }
+
+    private void jogar(RoboJogador robo) {
+        while (!parar) {
+            try (RoboJogador.Canal canal = abrir()) {
+                String tela = canal.proximaTela(TIMEOUT_TELA_MS);
+                while (tela != null && !parar) {
+                    String resposta = robo.responder(tela);
+                    long inicio = System.nanoTime();
+                    canal.enviar(resposta);
+                    tela = canal.proximaTela(TIMEOUT_TELA_MS);
+                    if (tela != null && medindo) {
+                        latencias.get(robo.getUltimaAcao()).registrar(System.nanoTime() - inicio);
+                    }
+                }
+                if (tela == null && medindo) {
+                    jogos.incrementAndGet();
+                }
+            } catch (SocketTimeoutException e) {
+                erros.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                if (!parar) {
+                    erros.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private RoboJogador.Canal abrir() throws IOException {
+        if (servidor != null) {
+            return RoboJogador.local(servidor.abrirSessaoLocal());
+        }
+        return RoboJogador.rede(new Socket(InetAddress.getLoopbackAddress(), porta));
+    }
+
+    private static long tempoGc() {
+        long total = 0;
+        for (GarbageCollectorMXBean coletor : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, coletor.getCollectionTime());
+        }
+        return total;
+    }
+
+    private void relatar(int jogadores, String modo, long decorrido, MonitorGc gc, long gcMs) {
+        HistogramaLatencia todos = new HistogramaLatencia();
+        for (HistogramaLatencia histograma : latencias.values()) {
+            todos.somar(histograma);
+        }
+        double segundos = decorrido / 1e9;
+
+        System.out.printf("Jogadores: %d (%s, %s), medição de %.1f s%n", jogadores, modo,
+                FabricaThreads.suportaThreadsVirtuais() ? "threads virtuais" : "threads de plataforma", segundos);
+        System.out.printf("Comandos: %d (%.0f/s), jogos terminados: %d, erros: %d%n",
+                todos.getTotal(), todos.getTotal() / segundos, jogos.get(), erros.get());
+        System.out.printf("%n%-9s %10s %9s %9s %9s %9s %9s %9s   (ms)%n",
+                "Ação", "comandos", "média", "p50", "p90", "p99", "p99.9", "máx");
+        for (Map.Entry<RoboJogador.Acao, HistogramaLatencia> entrada : latencias.entrySet()) {
+            imprimir(entrada.getKey().name().toLowerCase(), entrada.getValue());
+        }
+        imprimir("total", todos);
+
+        HistogramaLatencia pausas = gc.getPausas();
+        System.out.printf("%nGC: %d pausas, %.0f ms parado (%.2f%% do tempo), p99 %.1f ms, máx %.1f ms; "
+                        + "%d ciclos concorrentes; tempo de coleta pelos MXBeans: %d ms%n",
+                pausas.getTotal(), pausas.getMedia() * pausas.getTotal() / 1e6,
+                pausas.getMedia() * pausas.getTotal() / decorrido * 100,
+                pausas.percentil(0.99) / 1e6, pausas.getMaximo() / 1e6, gc.getConcorrentes(), gcMs);
+    }
+
+    private static void imprimir(String nome, HistogramaLatencia histograma) {
+        if (histograma.getTotal() == 0) {
+            return;
+        }
+        System.out.printf("%-9s %10d %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n", nome, histograma.getTotal(),
+                histograma.getMedia() / 1e6, histograma.percentil(0.5) / 1e6, histograma.percentil(0.9) / 1e6,
+                histograma.percentil(0.99) / 1e6, histograma.percentil(0.999) / 1e6, histograma.getMaximo() / 1e6);
+    }
+}
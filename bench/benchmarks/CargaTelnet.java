@@ -0,0 +1,246 @@
+package benchmarks;
+
+import servidor.FrenteNio;
+import servidor.ServidorJogo;
+import sistema.FabricaThreads;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de carga para a {@link FrenteNio}: N jogadores automáticos em uma
+ * única thread de cliente, também com {@link Selector}.
+ * <p>
+ * Cada cliente espera o fim da tela ({@code IAC GA}), escolhe uma resposta
+ * pela última linha (nome, ENTER, "n" para sair, "1" para explorar e atacar,
+ * às vezes "4") e mede o tempo até a próxima tela. Quando o jogo termina o
+ * cliente reconecta e começa outro.
+ * <pre>
+ * java -cp bin benchmarks.CargaTelnet [clientes] [segundos] [porta]
+ * </pre>
+ * Sem porta, sobe um {@link ServidorJogo} com a frente NIO no próprio processo.
+ */
+public class CargaTelnet {
+    private static final byte IAC = (byte) 0xFF;
+    private static final byte GA = (byte) 0xF9;
+    private static final int FINAL_TELA = 256;
+    private static final int MAXIMO_AMOSTRAS = 1 << 20;
+
+    private final InetSocketAddress endereco;
+    private final Selector seletor;
+    private final ByteBuffer leitura = ByteBuffer.allocateDirect(64 * 1024);
+    private final SplittableRandom aleatorio = new SplittableRandom(7);
+    private final long[] latencias = new long[MAXIMO_AMOSTRAS];
+    private int amostras;
+    private long telas;
+    private long jogos;
+    private long bytesRecebidos;
+    private long falhas;
+
+    /** Estado de um jogador automático. */
+    private static final class Cliente {
+        final SocketChannel canal;
+        final byte[] fim = new byte[FINAL_TELA];
+        int tamanhoFim;
+        boolean iac;
+        long enviadoEm;
+        ByteBuffer resposta;
+
+        Cliente(SocketChannel canal) {
+            this.canal = canal;
+        }
+
+        void guardar(byte b) {
+            if (tamanhoFim == fim.length) {
+                System.arraycopy(fim, fim.length / 2, fim, 0, fim.length / 2);
+                tamanhoFim = fim.length / 2;
+            }
+            fim[tamanhoFim++] = b;
+        }
+    }
+
+    private CargaTelnet(InetSocketAddress endereco) throws IOException {
+        this.endereco = endereco;
+        this.seletor = Selector.open();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        ServidorJogo servidor = null;
+        FrenteNio frente = null;
+        int porta;
+        if (args.length > 2) {
+            porta = Integer.parseInt(args[2]);
+        } else {
+            servidor = new ServidorJogo(42L);
+            frente = new FrenteNio(servidor, FrenteNio.TEMPO_OCIOSO_PADRAO_MS, FrenteNio.LIMITE_SAIDA_PADRAO, true);
+            porta = frente.escutar(0);
+        }
+
+        try {
+            CargaTelnet carga = new CargaTelnet(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta));
+            carga.executar(clientes, segundos * 1_000_000_000L);
+            carga.relatar(clientes, segundos);
+            if (frente != null) {
+                System.out.printf("Servidor: %d conexões aceitas, %d fechadas por inatividade, threads vivas: %d (%s)%n",
+                        frente.getAceitas(), frente.getFechadasPorInatividade(), Thread.activeCount(),
+                        FabricaThreads.suportaThreadsVirtuais() ? "sessões em threads virtuais" : "sessões em threads de plataforma");
+            }
+        } finally {
+            if (frente != null) {
+                frente.close();
+                servidor.close();
+            }
+        }
+    }
+
+    private void executar(int clientes, long duracaoNanos) throws IOException {
+        for (int i = 0; i < clientes; i++) {
+            conectar();
+        }
+        long fim = System.nanoTime() + duracaoNanos;
+        while (System.nanoTime() < fim) {
+            seletor.select(100);
+            long agora = System.nanoTime();
+            Iterator<SelectionKey> prontas = seletor.selectedKeys().iterator();
+            while (prontas.hasNext()) {
+                SelectionKey chave = prontas.next();
+                prontas.remove();
+                Cliente cliente = (Cliente) chave.attachment();
+                try {
+                    if (chave.isConnectable()) {
+                        cliente.canal.finishConnect();
+                        chave.interestOps(SelectionKey.OP_READ);
+                    }
+                    if (chave.isValid() && chave.isReadable()) {
+                        ler(chave, cliente, agora);
+                    }
+                    if (chave.isValid() && chave.isWritable()) {
+                        escrever(chave, cliente);
+                    }
+                } catch (IOException e) {
+                    falhas++;
+                    encerrar(chave, cliente);
+                }
+            }
+        }
+        for (SelectionKey chave : seletor.keys()) {
+            chave.channel().close();
+        }
+        seletor.close();
+    }
+
+    private void conectar() throws IOException {
+        SocketChannel canal = SocketChannel.open();
+        canal.configureBlocking(false);
+        canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Cliente cliente = new Cliente(canal);
+        int ops = canal.connect(endereco) ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT;
+        canal.register(seletor, ops, cliente);
+    }
+
+    private void ler(SelectionKey chave, Cliente cliente, long agora) throws IOException {
+        leitura.clear();
+        int lidos = cliente.canal.read(leitura);
+        if (lidos < 0) {
+            jogos++;
+            encerrar(chave, cliente);
+            return;
+        }
+        bytesRecebidos += lidos;
+        leitura.flip();
+        while (leitura.hasRemaining()) {
+            byte b = leitura.get();
+            if (cliente.iac) {
+                cliente.iac = false;
+                if (b == GA) {
+                    responder(chave, cliente, agora);
+                    continue;
+                }
+            } else if (b == IAC) {
+                cliente.iac = true;
+                continue;
+            }
+            cliente.guardar(b);
+        }
+    }
+
+    private void responder(SelectionKey chave, Cliente cliente, long agora) throws IOException {
+        telas++;
+        if (cliente.enviadoEm != 0 && amostras < latencias.length) {
+            latencias[amostras++] = agora - cliente.enviadoEm;
+        }
+        String tela = new String(cliente.fim, 0, cliente.tamanhoFim, StandardCharsets.UTF_8);
+        cliente.tamanhoFim = 0;
+
+        cliente.resposta = ByteBuffer.wrap((escolher(tela) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        cliente.enviadoEm = System.nanoTime();
+        escrever(chave, cliente);
+    }
+
+    private String escolher(String tela) {
+        if (tela.contains("nome do seu personagem")) {
+            return "Bot";
+        }
+        if (tela.contains("Pressione ENTER")) {
+            return "";
+        }
+        if (tela.contains("(s/n)")) {
+            return "n";
+        }
+        if (tela.contains("número do item") || tela.contains("Escolha o save")) {
+            return "0";
+        }
+        if (tela.contains("nome do save")) {
+            return "bot";
+        }
+        return aleatorio.nextInt(10) == 0 ? "4" : "1";
+    }
+
+    private void escrever(SelectionKey chave, Cliente cliente) throws IOException {
+        if (cliente.resposta != null) {
+            cliente.canal.write(cliente.resposta);
+            if (cliente.resposta.hasRemaining()) {
+                chave.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            cliente.resposta = null;
+        }
+        chave.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void encerrar(SelectionKey chave, Cliente cliente) throws IOException {
+        chave.cancel();
+        cliente.canal.close();
+        conectar();
+    }
+
+    private void relatar(int clientes, int segundos) {
+        long[] ordenadas = Arrays.copyOf(latencias, amostras);
+        Arrays.sort(ordenadas);
+        System.out.printf("Clientes: %d, %d s: %d telas (%.0f/s), %d jogos completos, %.1f MB recebidos, %d falhas%n",
+                clientes, segundos, telas, telas / (double) segundos, jogos, bytesRecebidos / 1e6, falhas);
+        if (ordenadas.length > 0) {
+            System.out.printf("Latência resposta->tela: p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, máx %.2f ms%n",
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.99), percentil(ordenadas, 0.999),
+                    ordenadas[ordenadas.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+}
@@ -0,0 +1,109 @@
+package benchmarks;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências no estilo do HdrHistogram: faixas por potência de
+ * dois, cada uma dividida em {@value #METADE} partes iguais, o que dá erro
+ * relativo de no máximo 1/64 (cerca de 1,6%) em qualquer valor, com memória
+ * fixa (~30 KB) e registro sem alocação.
+ * <p>
+ * {@link #registrar(long)} pode ser chamado por várias threads ao mesmo tempo.
+ * Os valores são em nanossegundos.
+ */
+public class HistogramaLatencia {
+    private static final int BITS_SUB = 7;
+    private static final int SUB = 1 << BITS_SUB;
+    private static final int METADE = SUB / 2;
+    private static final int TAMANHO = SUB + (64 - BITS_SUB) * METADE;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TAMANHO);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong soma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra uma medição; valores negativos contam como zero.
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens.incrementAndGet(indice(valor));
+        total.incrementAndGet();
+        soma.addAndGet(valor);
+        maximo.accumulateAndGet(valor, Math::max);
+    }
+
+    /**
+     * Soma as medições de outro histograma a este.
+     */
+    public void somar(HistogramaLatencia outro) {
+        for (int i = 0; i < TAMANHO; i++) {
+            long contagem = outro.contagens.get(i);
+            if (contagem != 0) {
+                contagens.addAndGet(i, contagem);
+            }
+        }
+        total.addAndGet(outro.total.get());
+        soma.addAndGet(outro.soma.get());
+        maximo.accumulateAndGet(outro.maximo.get(), Math::max);
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * @return média exata das medições, ou 0 se não houver nenhuma
+     */
+    public double getMedia() {
+        long n = total.get();
+        return n == 0 ? 0 : (double) soma.get() / n;
+    }
+
+    /**
+     * @param fracao entre 0 e 1 (ex.: 0.99 para o p99)
+     * @return menor valor tal que a fração indicada das medições é menor ou
+     *         igual a ele (com o erro da faixa), ou 0 se não houver medições
+     */
+    public long percentil(double fracao) {
+        if (fracao < 0 || fracao > 1) {
+            throw new IllegalArgumentException("Fração deve estar entre 0 e 1: " + fracao);
+        }
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(fracao * n));
+        long acumulado = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            acumulado += contagens.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    static int indice(long valor) {
+        if (valor < SUB) {
+            return (int) valor;
+        }
+        // Desloca até sobrarem BITS_SUB bits: o topo fica entre METADE e SUB - 1.
+        int deslocamento = 64 - Long.numberOfLeadingZeros(valor) - BITS_SUB;
+        return SUB + (deslocamento - 1) * METADE + (int) ((valor >>> deslocamento) - METADE);
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < SUB) {
+            return indice;
+        }
+        int deslocamento = (indice - SUB) / METADE + 1;
+        long topo = (indice - SUB) % METADE + METADE;
+        return ((topo + 1) << deslocamento) - 1;
+    }
+}
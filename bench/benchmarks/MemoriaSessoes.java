@@ -0,0 +1,107 @@
+package benchmarks;
+
+import servidor.ServidorJogo;
+import servidor.SessaoLocal;
+import sistema.FabricaThreads;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede a memória de sessões ociosas no {@link ServidorJogo}.
+ * <p>
+ * Abre N sessões locais, espera cada uma chegar à tela inicial (o jogo fica
+ * bloqueado esperando a resposta do jogador) e compara o heap usado depois
+ * de um GC, e o RSS do processo quando disponível (Linux), com os valores
+ * antes das sessões.
+ * <pre>
+ * java -cp bin benchmarks.MemoriaSessoes [sessoes]
+ * </pre>
+ * No Java 17 cada sessão é uma thread de plataforma, cuja pilha fica fora do
+ * heap e aparece só no RSS.
+ */
+public class MemoriaSessoes {
+    public static void main(String[] args) throws Exception {
+        int total = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+
+        try (ServidorJogo servidor = new ServidorJogo(42L)) {
+            // Aquece as classes do jogo para não contar metaspace e caches estáticos.
+            SessaoLocal aquecimento = servidor.abrirSessaoLocal();
+            aquecimento.receber(5_000);
+            aquecimento.close();
+            aquecimento.getSessao().aguardar(5_000);
+
+            long heapAntes = heapAposGc(memoria);
+            long rssAntes = rss();
+            long inicio = System.nanoTime();
+
+            List<SessaoLocal> sessoes = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                sessoes.add(servidor.abrirSessaoLocal());
+            }
+            for (SessaoLocal sessao : sessoes) {
+                if (sessao.receber(30_000).isEmpty()) {
+                    throw new IllegalStateException("Sessão não respondeu: " + sessao.getSessao().getId());
+                }
+            }
+            long nanos = System.nanoTime() - inicio;
+
+            long heapDepois = heapAposGc(memoria);
+            long rssDepois = rss();
+
+            System.out.printf("Sessões ociosas: %d (%s), abertas em %.0f ms%n", servidor.getSessoesAtivas(),
+                    FabricaThreads.suportaThreadsVirtuais() ? "threads virtuais" : "threads de plataforma",
+                    nanos / 1_000_000.0);
+            System.out.printf("Heap por sessão: %.1f KB%n", (heapDepois - heapAntes) / 1024.0 / total);
+            if (rssAntes > 0) {
+                System.out.printf("RSS por sessão:  %.1f KB%n", (rssDepois - rssAntes) / 1024.0 / total);
+            }
+
+            long fim = System.nanoTime();
+            for (SessaoLocal sessao : sessoes) {
+                sessao.close();
+            }
+            for (SessaoLocal sessao : sessoes) {
+                sessao.getSessao().aguardar(30_000);
+            }
+            System.out.printf("Sessões encerradas: %d em %.0f ms%n", servidor.getSessoesEncerradas() - 1,
+                    (System.nanoTime() - fim) / 1_000_000.0);
+        }
+    }
+
+    private static long heapAposGc(MemoryMXBean memoria) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * @return memória residente do processo em bytes, ou 0 fora do Linux
+     */
+    private static long rss() {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        try {
+            for (String linha : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (linha.startsWith("VmRSS:")) {
+                    return Long.parseLong(linha.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Sem RSS.
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registra as coletas de lixo enquanto está ativo, pelas notificações dos
+ * coletores da JVM. Coletas que param a aplicação vão para o histograma de
+ * pausas; ciclos concorrentes (ex.: "ZGC Cycles") só são contados.
+ */
+public class MonitorGc implements AutoCloseable {
+    private final HistogramaLatencia pausas = new HistogramaLatencia();
+    private final AtomicLong concorrentes = new AtomicLong();
+    private final List<NotificationEmitter> emissores = new ArrayList<>();
+    private final NotificationListener ouvinte = this::receber;
+
+    public MonitorGc() {
+        for (GarbageCollectorMXBean coletor : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (coletor instanceof NotificationEmitter) {
+                NotificationEmitter emissor = (NotificationEmitter) coletor;
+                emissor.addNotificationListener(ouvinte, null, null);
+                emissores.add(emissor);
+            }
+        }
+    }
+
+    private void receber(Notification notificacao, Object contexto) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notificacao.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notificacao.getUserData());
+        if (info.getGcAction().contains("cycle") || info.getGcName().endsWith("Cycles")) {
+            concorrentes.incrementAndGet();
+        } else {
+            pausas.registrar(info.getGcInfo().getDuration() * 1_000_000L);
+        }
+    }
+
+    /**
+     * @return pausas registradas (resolução de milissegundos, a da JVM)
+     */
+    public HistogramaLatencia getPausas() {
+        return pausas;
+    }
+
+    /**
+     * @return ciclos concorrentes, que não param a aplicação
+     */
+    public long getConcorrentes() {
+        return concorrentes.get();
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emissor : emissores) {
+            try {
+                emissor.removeNotificationListener(ouvinte);
+            } catch (ListenerNotFoundException e) {
+                // Já removido.
+            }
+        }
+        emissores.clear();
+    }
+}
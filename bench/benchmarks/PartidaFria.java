@@ -0,0 +1,109 @@
+package benchmarks;
+
+import conteudo.PacoteConteudo;
+import personagens.Guerreiro;
+import personagens.Inimigo;
+import personagens.Personagem;
+import sistema.RoladorDados;
+import sistema.RoladorSilencioso;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Mede a partida a frio com um pacote de conteúdo grande: cada repetição é
+ * uma JVM nova que carrega as tabelas, cria o personagem e sorteia o primeiro
+ * inimigo (com loot).
+ * <p>
+ * Compara três situações: o texto lido sem cache, o texto compilado porque o
+ * cache não vale (primeira partida depois de editar o conteúdo) e o cache
+ * válido, que só decodifica as espécies, itens e faixas usados.
+ * <pre>
+ * java -cp bin benchmarks.PartidaFria [entradas] [repeticoes]
+ * </pre>
+ * As entradas são metade espécies e metade itens, em tabelas ponderadas com
+ * duas faixas de nível (o mesmo gerador de {@link BenchmarksRpg}). O tempo do
+ * primeiro encontro é medido dentro da JVM filha; o do processo inclui a
+ * partida da própria JVM.
+ */
+public class PartidaFria {
+    private static final String FILHO = "--filho";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals(FILHO)) {
+            primeiroEncontro();
+            return;
+        }
+        int entradas = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path pasta = Files.createTempDirectory("partida-fria");
+        File fonte = pasta.resolve("tabelas.txt").toFile();
+        File cache = PacoteConteudo.cacheDe(fonte);
+        try {
+            byte[] texto = BenchmarksRpg.tabelasGeradas(entradas / 2).getBytes(StandardCharsets.UTF_8);
+            Files.write(fonte.toPath(), texto);
+            System.out.printf("Conteúdo: %,d entradas (%,d espécies + %,d itens), texto de %,d bytes%n",
+                    entradas / 2 * 2, entradas / 2, entradas / 2, texto.length);
+
+            medir("texto, sem cache", fonte, false, repeticoes, null);
+            medir("texto compilado no cache", fonte, true, repeticoes, cache);
+            medir("cache válido", fonte, true, repeticoes, null);
+            System.out.printf("Cache: %,d bytes%n", cache.length());
+        } finally {
+            Files.deleteIfExists(cache.toPath());
+            Files.deleteIfExists(fonte.toPath());
+            Files.deleteIfExists(pasta);
+        }
+    }
+
+    /**
+     * @param apagar cache apagado antes de cada repetição, ou null
+     */
+    private static void medir(String nome, File fonte, boolean usarCache, int repeticoes, File apagar)
+            throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        long[] encontro = new long[repeticoes];
+        long[] processo = new long[repeticoes];
+        for (int r = 0; r < repeticoes; r++) {
+            if (apagar != null) {
+                Files.deleteIfExists(apagar.toPath());
+            }
+            long inicio = System.nanoTime();
+            Process filho = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    "-Drpg.tabelas=" + fonte.getPath(), "-Drpg.tabelas.cache=" + usarCache,
+                    PartidaFria.class.getName(), FILHO)
+                    .redirectErrorStream(true)
+                    .start();
+            String saida = new String(filho.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (filho.waitFor() != 0) {
+                throw new IllegalStateException("JVM filha falhou: " + saida);
+            }
+            processo[r] = System.nanoTime() - inicio;
+            encontro[r] = Long.parseLong(saida);
+        }
+        Arrays.sort(encontro);
+        Arrays.sort(processo);
+        System.out.printf("%-26s primeiro encontro: mediana %7.1f ms (mín %7.1f) | processo: mediana %7.1f ms%n",
+                nome, encontro[repeticoes / 2] / 1e6, encontro[0] / 1e6, processo[repeticoes / 2] / 1e6);
+    }
+
+    /**
+     * Na JVM filha: do início do main ao primeiro inimigo pronto, em nanossegundos.
+     */
+    private static void primeiroEncontro() {
+        long inicio = System.nanoTime();
+        RoladorDados dado = new RoladorSilencioso(42L);
+        Personagem jogador = new Guerreiro();
+        Inimigo inimigo = Inimigo.criarInimigoAleatorio(jogador.getNivel(), dado);
+        long nanos = System.nanoTime() - inicio;
+        if (inimigo.getInventario().getTamanho() == 0) {
+            throw new IllegalStateException("Inimigo sem loot");
+        }
+        System.out.println(nanos);
+    }
+}
@@ -0,0 +1,213 @@
+package benchmarks;
+
+import servidor.SessaoLocal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Jogador automático que percorre os menus reais do {@link sistema.Jogo}:
+ * cria personagem, explora, luta (atacar, item, habilidade, fugir), usa itens,
+ * olha inventário e status, salva e, na tela inicial, às vezes carrega um save.
+ * <p>
+ * A política só olha a pergunta que termina cada tela; cada resposta é
+ * classificada em uma {@link Acao} e o tempo até a próxima tela é o tempo
+ * daquele comando.
+ */
+public class RoboJogador {
+    /** Tipo do comando, para separar as latências no relatório. */
+    public enum Acao {
+        EXPLORAR, COMBATE, ITEM, SALVAR, CARREGAR, MENU
+    }
+
+    /**
+     * Conexão com uma partida: devolve a tela (todo o texto até a próxima
+     * pergunta) e envia a resposta.
+     */
+    public interface Canal extends AutoCloseable {
+        /**
+         * @return próxima tela, ou null se o jogo terminou
+         * @throws SocketTimeoutException se nada chegou no prazo
+         */
+        String proximaTela(long timeoutMs) throws IOException, InterruptedException;
+
+        void enviar(String linha) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Canal para uma {@link SessaoLocal}, no mesmo processo.
+     */
+    public static Canal local(SessaoLocal sessao) {
+        return new Canal() {
+            @Override
+            public String proximaTela(long timeoutMs) throws IOException, InterruptedException {
+                String tela = sessao.receber(timeoutMs);
+                if (!tela.isEmpty()) {
+                    return tela;
+                }
+                if (sessao.isEncerrada()) {
+                    return null;
+                }
+                throw new SocketTimeoutException("Sessão local não respondeu em " + timeoutMs + " ms");
+            }
+
+            @Override
+            public void enviar(String linha) {
+                try {
+                    sessao.enviar(linha);
+                } catch (IllegalStateException e) {
+                    // O jogo terminou depois da última tela; proximaTela devolve null.
+                }
+            }
+
+            @Override
+            public void close() {
+                sessao.close();
+            }
+        };
+    }
+
+    /**
+     * Canal TCP para uma {@link servidor.FrenteNio} com {@code IAC GA}, que marca o fim de cada tela.
+     */
+    public static Canal rede(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+        InputStream entrada = socket.getInputStream();
+        OutputStream saida = socket.getOutputStream();
+        return new Canal() {
+            private final ByteArrayOutputStream tela = new ByteArrayOutputStream(1024);
+            private final byte[] buffer = new byte[4096];
+            private int inicio;
+            private int fim;
+
+            @Override
+            public String proximaTela(long timeoutMs) throws IOException {
+                socket.setSoTimeout((int) timeoutMs);
+                tela.reset();
+                boolean iac = false;
+                while (true) {
+                    if (inicio == fim) {
+                        fim = entrada.read(buffer);
+                        inicio = 0;
+                        if (fim < 0) {
+                            fim = 0;
+                            return null;
+                        }
+                    }
+                    int b = buffer[inicio++] & 0xFF;
+                    if (iac) {
+                        iac = false;
+                        if (b == 0xF9) {
+                            return tela.toString(StandardCharsets.UTF_8);
+                        }
+                    } else if (b == 0xFF) {
+                        iac = true;
+                        continue;
+                    }
+                    tela.write(b);
+                }
+            }
+
+            @Override
+            public void enviar(String linha) throws IOException {
+                saida.write((linha + "\r\n").getBytes(StandardCharsets.UTF_8));
+                saida.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                socket.close();
+            }
+        };
+    }
+
+    private final String nome;
+    private final SplittableRandom aleatorio;
+    private Acao ultimaAcao = Acao.MENU;
+
+    /**
+     * @param id   número do robô, usado no nome do personagem e do save
+     * @param seed seed das escolhas
+     */
+    public RoboJogador(int id, long seed) {
+        this.nome = "Robo" + id;
+        this.aleatorio = new SplittableRandom(seed);
+    }
+
+    /**
+     * @return tipo do último comando devolvido por {@link #responder(String)}
+     */
+    public Acao getUltimaAcao() {
+        return ultimaAcao;
+    }
+
+    /**
+     * Escolhe a resposta para a tela.
+     */
+    public String responder(String tela) {
+        if (tela.contains("Escolha o save")) {
+            return com(Acao.CARREGAR, tela.contains("\n1. ") && aleatorio.nextInt(4) != 0 ? "1" : "0");
+        }
+        if (tela.contains("número do item")) {
+            return com(Acao.ITEM, aleatorio.nextInt(5) == 0 ? "0" : "1");
+        }
+        if (tela.contains("nome do save")) {
+            return com(Acao.SALVAR, nome.toLowerCase());
+        }
+        if (tela.contains("nome do seu personagem")) {
+            return com(Acao.MENU, nome);
+        }
+        if (tela.contains("Escolha sua classe")) {
+            return com(Acao.MENU, String.valueOf(1 + aleatorio.nextInt(3)));
+        }
+        if (tela.contains("(s/n)")) {
+            return com(Acao.MENU, "n");
+        }
+        if (tela.contains("Pressione ENTER")) {
+            return com(Acao.MENU, "");
+        }
+        if (tela.contains("Tentar fugir")) {
+            int sorteio = aleatorio.nextInt(20);
+            if (sorteio < 15) {
+                return com(Acao.COMBATE, "1");
+            }
+            return sorteio < 17 ? com(Acao.ITEM, "2") : com(Acao.COMBATE, sorteio < 19 ? "4" : "3");
+        }
+        if (tela.contains("3. Habilidade especial")) {
+            int sorteio = aleatorio.nextInt(10);
+            return sorteio == 0 ? com(Acao.ITEM, "2") : com(Acao.COMBATE, sorteio == 1 ? "3" : "1");
+        }
+        if (tela.contains("O que deseja fazer?")) {
+            int sorteio = aleatorio.nextInt(20);
+            if (sorteio < 14) {
+                return com(Acao.EXPLORAR, "1");
+            }
+            if (sorteio < 16) {
+                return com(Acao.ITEM, "2");
+            }
+            if (sorteio < 18) {
+                return com(Acao.MENU, sorteio == 16 ? "3" : "4");
+            }
+            return com(Acao.SALVAR, "5");
+        }
+        if (tela.contains("2. Carregar jogo")) {
+            return aleatorio.nextInt(5) == 0 ? com(Acao.CARREGAR, "2") : com(Acao.MENU, "1");
+        }
+        // Opção inválida ou tela desconhecida: "1" é válido em todos os menus numéricos.
+        return com(ultimaAcao, "1");
+    }
+
+    private String com(Acao acao, String resposta) {
+        ultimaAcao = acao;
+        return resposta;
+    }
+}
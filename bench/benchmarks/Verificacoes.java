@@ -0,0 +1,440 @@
+package benchmarks;
+
+import conteudo.TabelasJogo;
+import itens.Efeito;
+import itens.Inventario;
+import itens.Item;
+import itens.ItemDef;
+import personagens.EspecieInimigo;
+import personagens.Inimigo;
+import personagens.Personagem;
+import personagens.PoolInimigos;
+import sistema.AnaliseCombate;
+import sistema.Entrada;
+import sistema.Jogo;
+import sistema.MotorCombate;
+import sistema.PoliticaCombate;
+import sistema.ResultadoCombate;
+import sistema.RoladorDados;
+import sistema.RoladorSilencioso;
+import sistema.Saida;
+import sistema.SessaoGravada;
+import sistema.SimulacaoMonteCarlo;
+import sistema.SolucionadorCombate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Verificações de equivalência das otimizações: cada uma compara o caminho
+ * rápido com a referência que ele substitui, em muitos casos sorteados com
+ * seed fixa, e falha na primeira diferença.
+ * <ul>
+ *     <li>reprodução de sessões: partidas gravadas com respostas aleatórias
+ *     são reproduzidas do arquivo, duas vezes, sem divergir.</li>
+ *     <li>{@link PoolInimigos}: cada encontro gerado no pool (um a um e em
+ *     grupos) é igual ao de {@link Inimigo#criarInimigoAleatorio(int, RoladorDados)}
+ *     com a mesma seed, atributos e loot, e consome as mesmas rolagens.</li>
+ *     <li>cópias de {@link Inventario}: várias cópias de cópias, alteradas
+ *     em ordem aleatória, seguem cada uma o seu modelo independente (um mapa
+ *     comum), sem enxergar as alterações das outras, e as pilhas devolvidas
+ *     não aceitam alteração por fora.</li>
+ *     <li>{@link SolucionadorCombate}: a chance de vitória e os turnos
+ *     esperados exatos ficam dentro de 4 erros-padrão da média de lutas
+ *     simuladas no {@link MotorCombate} com a política equivalente.</li>
+ * </ul>
+ * <pre>
+ * java -cp bin benchmarks.Verificacoes [--rapido]
+ * </pre>
+ * Termina com código 1 se alguma verificação falhar.
+ */
+public class Verificacoes {
+    /** Inventários vivos na verificação das cópias. */
+    private static final int COPIAS = 8;
+    private static final String[] RESPOSTAS = {"1", "1", "1", "2", "3", "4", "5", "6", "s", "n"};
+
+    private static int falhas;
+
+    public static void main(String[] args) {
+        boolean rapido = args.length > 0 && args[0].equals("--rapido");
+
+        executar("reprodução de sessões", () -> verificarReproducao(rapido ? 20 : 100, 400));
+        executar("PoolInimigos = criarInimigoAleatorio", () -> verificarPoolInimigos(rapido ? 20_000 : 200_000));
+        executar("cópias de Inventario isoladas", () -> verificarCopiasInventario(rapido ? 50_000 : 500_000));
+        executar("SolucionadorCombate = Monte Carlo", () -> verificarSolucionador(rapido ? 4_000 : 40_000));
+
+        System.out.println(falhas == 0 ? "Todas as verificações passaram." : falhas + " verificação(ões) falharam.");
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Grava partidas completas (rolagens e respostas) e confere que cada uma
+     * se reproduz fielmente, do arquivo, mais de uma vez. A primeira resposta
+     * é sempre "novo jogo", para que a partida não dependa dos saves do disco.
+     */
+    private static void verificarReproducao(int partidas, int respostas) throws IOException {
+        File arquivo = Files.createTempFile("verificacao", SessaoGravada.EXTENSAO).toFile();
+        long passos = 0;
+        String problema = null;
+        try {
+            for (int p = 0; p < partidas && problema == null; p++) {
+                SessaoGravada gravacao = new SessaoGravada();
+                Jogo jogo = new Jogo(gravacao.gravarDado(new RoladorSilencioso(1000L + p)), Saida.nula(),
+                        gravacao.gravarEntrada(jogadorAleatorio(p, respostas)));
+                jogo.setGravacaoSaves(false);
+                jogo.setCarregamentoSaves(false);
+                jogo.iniciar();
+                gravacao.salvar(arquivo);
+                passos += gravacao.getPassos();
+
+                SessaoGravada lida = SessaoGravada.carregar(arquivo);
+                for (int vez = 0; vez < 2 && problema == null; vez++) {
+                    SessaoGravada.Resultado resultado = lida.reproduzirJogo();
+                    if (!resultado.isFiel() || resultado.getPassosConsumidos() != gravacao.getPassos()) {
+                        problema = "partida " + p + ", reprodução " + (vez + 1) + ": " + resultado;
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(arquivo.toPath());
+        }
+        verificar("reprodução de sessões", problema,
+                String.format("%d partidas, %,d passos, 2 reproduções cada", partidas, passos));
+    }
+
+    /**
+     * Gera os mesmos encontros pelos dois caminhos, com roladores de mesma
+     * seed, e compara inimigo a inimigo: o pool gera em grupos de 1 a 8 e é
+     * lido pelas colunas e pelo {@link Inimigo} materializado.
+     */
+    private static void verificarPoolInimigos(int encontros) {
+        RoladorDados dadoObjetos = new RoladorSilencioso(7L);
+        RoladorDados dadoPool = new RoladorSilencioso(7L);
+        SplittableRandom grupos = new SplittableRandom(7L);
+        PoolInimigos pool = new PoolInimigos(64);
+        String problema = null;
+        int feitos = 0;
+        while (feitos < encontros && problema == null) {
+            int nivelJogador = 1 + feitos % 15;
+            int quantidade = Math.min(1 + grupos.nextInt(8), encontros - feitos);
+            pool.limpar();
+            int inicio = pool.gerar(quantidade, nivelJogador, dadoPool);
+            for (int i = 0; i < quantidade && problema == null; i++, feitos++) {
+                int slot = inicio + i;
+                String esperado = descrever(Inimigo.criarInimigoAleatorio(nivelJogador, dadoObjetos));
+                String materializado = descrever(pool.materializar(slot, dadoPool));
+                PoolInimigos.Vista vista = pool.vista(slot);
+                String colunas = vista.getNome() + "|" + vista.getTipo() + "|" + pool.getNivel(slot) + "|"
+                        + pool.getPontosVida(slot) + "/" + vista.getPontosVidaMaximos() + "|"
+                        + pool.getAtaque(slot) + "|" + pool.getDefesa(slot) + "|";
+                if (!materializado.equals(esperado) || !esperado.startsWith(colunas)) {
+                    problema = "encontro " + feitos + ": esperado " + esperado + ", pool " + materializado
+                            + " / " + colunas;
+                }
+            }
+        }
+        if (problema == null && dadoObjetos.rolar(1_000_000) != dadoPool.rolar(1_000_000)) {
+            problema = "os dois caminhos consumiram rolagens diferentes";
+        }
+        verificar("PoolInimigos = criarInimigoAleatorio", problema,
+                String.format("%,d encontros, níveis 1 a 15", feitos));
+    }
+
+    private static String descrever(Inimigo inimigo) {
+        StringBuilder texto = new StringBuilder()
+                .append(inimigo.getNome()).append('|').append(inimigo.getTipo()).append('|')
+                .append(inimigo.getNivel()).append('|')
+                .append(inimigo.getPontosVida()).append('/').append(inimigo.getPontosVidaMaximos()).append('|')
+                .append(inimigo.getAtaque()).append('|').append(inimigo.getDefesa()).append('|');
+        for (Item item : inimigo.getInventario().listarOrdenado()) {
+            texto.append(item.getNome()).append(':').append(item.getDescricao()).append(':')
+                    .append(item.getEfeito()).append(':').append(item.getValorEfeito()).append(" x")
+                    .append(item.getQuantidade()).append(';');
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Mantém {@value #COPIAS} inventários que nascem uns dos outros por cópia
+     * e, a cada passo, adiciona, remove ou copia em um deles, aplicando o
+     * mesmo no modelo (nome normalizado -> pilha copiada). Há mais nomes
+     * sorteáveis que capacidade, para passar também pelo inventário cheio.
+     * Cada passo confere o inventário alterado; a cada 2.000, todos.
+     */
+    private static void verificarCopiasInventario(int passos) {
+        final int capacidade = 1_024;
+        ItemDef[] definicoes = new ItemDef[1_500];
+        for (int i = 0; i < definicoes.length; i++) {
+            Efeito efeito = Efeito.values()[i % Efeito.values().length];
+            definicoes[i] = new Item("Verificação " + i, "Item " + i, efeito, 0, 1 + i % 50).getDefinicao();
+        }
+
+        SplittableRandom aleatorio = new SplittableRandom(21L);
+        Inventario[] inventarios = new Inventario[COPIAS];
+        List<Map<String, Item>> modelos = new ArrayList<>();
+        inventarios[0] = new Inventario(capacidade);
+        modelos.add(new HashMap<>());
+        for (int i = 1; i < COPIAS; i++) {
+            inventarios[i] = new Inventario(inventarios[0]);
+            modelos.add(new HashMap<>());
+        }
+
+        String problema = null;
+        int copiasFeitas = 0;
+        for (int passo = 0; passo < passos && problema == null; passo++) {
+            int k = aleatorio.nextInt(COPIAS);
+            Inventario inventario = inventarios[k];
+            Map<String, Item> modelo = modelos.get(k);
+            ItemDef definicao = definicoes[aleatorio.nextInt(definicoes.length)];
+            String nome = normalizar(definicao.getNome());
+            int operacao = aleatorio.nextInt(20);
+
+            if (operacao == 0) {
+                int destino = aleatorio.nextInt(COPIAS);
+                inventarios[destino] = new Inventario(inventario);
+                modelos.set(destino, copiarModelo(modelo));
+                copiasFeitas++;
+            } else if (operacao < 11) {
+                int quantidade = 1 + aleatorio.nextInt(5);
+                boolean cabe = modelo.containsKey(nome) || modelo.size() < capacidade;
+                try {
+                    inventario.adicionar(new Item(definicao, quantidade));
+                    if (!cabe) {
+                        problema = "passo " + passo + ": adicionou com o inventário cheio";
+                    }
+                    Item pilha = modelo.get(nome);
+                    modelo.put(nome, new Item(definicao, (pilha == null ? 0 : pilha.getQuantidade()) + quantidade));
+                } catch (IllegalStateException e) {
+                    if (cabe) {
+                        problema = "passo " + passo + ": recusou um item que cabia";
+                    }
+                }
+            } else {
+                int quantidade = 1 + aleatorio.nextInt(6);
+                String pedido = aleatorio.nextBoolean() ? definicao.getNome()
+                        : " " + definicao.getNome().toUpperCase(Locale.ROOT);
+                Item pilha = modelo.get(nome);
+                boolean esperado = pilha != null && pilha.getQuantidade() >= quantidade;
+                if (inventario.remover(pedido, quantidade) != esperado) {
+                    problema = "passo " + passo + ": remover(" + pedido + ", " + quantidade + ") != " + esperado;
+                } else if (esperado && pilha.getQuantidade() == quantidade) {
+                    modelo.remove(nome);
+                } else if (esperado) {
+                    modelo.put(nome, new Item(definicao, pilha.getQuantidade() - quantidade));
+                }
+            }
+
+            if (problema == null) {
+                Item pilha = inventario.buscarPorNome(definicao.getNome());
+                Item doModelo = modelo.get(nome);
+                if (inventario.getTamanho() != modelo.size()
+                        || (pilha == null ? doModelo != null
+                        : doModelo == null || pilha.getQuantidade() != doModelo.getQuantidade())) {
+                    problema = "passo " + passo + ", cópia " + k + ": " + definicao.getNome() + " = " + pilha
+                            + ", modelo " + doModelo;
+                }
+            }
+            if (problema == null && passo % 2_000 == 0) {
+                for (int i = 0; i < COPIAS && problema == null; i++) {
+                    problema = comparar(inventarios[i], modelos.get(i), "passo " + passo + ", cópia " + i);
+                }
+            }
+        }
+        for (int i = 0; i < COPIAS && problema == null; i++) {
+            problema = comparar(inventarios[i], modelos.get(i), "fim, cópia " + i);
+        }
+        verificar("cópias de Inventario isoladas", problema,
+                String.format("%,d passos, %,d cópias, até %,d itens", passos, copiasFeitas, capacidade));
+    }
+
+    private static String normalizar(String nome) {
+        return nome.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, Item> copiarModelo(Map<String, Item> modelo) {
+        Map<String, Item> copia = new HashMap<>();
+        for (Map.Entry<String, Item> entrada : modelo.entrySet()) {
+            copia.put(entrada.getKey(), new Item(entrada.getValue()));
+        }
+        return copia;
+    }
+
+    /**
+     * Confere tamanho, ordem, quantidades e o acesso por índice e por nome.
+     *
+     * @return descrição da primeira diferença, ou null
+     */
+    private static String comparar(Inventario inventario, Map<String, Item> modelo, String onde) {
+        List<Item> esperados = new ArrayList<>(modelo.values());
+        Collections.sort(esperados);
+        List<Item> itens = inventario.listarOrdenado();
+        if (itens.size() != esperados.size() || inventario.getItensOrdenados().size() != esperados.size()) {
+            return onde + ": " + itens.size() + " itens, modelo " + esperados.size();
+        }
+        for (int i = 0; i < esperados.size(); i++) {
+            Item esperado = esperados.get(i);
+            Item[] lidos = {itens.get(i), inventario.getItensOrdenados().get(i), inventario.buscarPorIndice(i),
+                    inventario.buscarPorNome(esperado.getNome())};
+            for (Item lido : lidos) {
+                if (lido == null || lido.getDefinicao() != esperado.getDefinicao()
+                        || lido.getQuantidade() != esperado.getQuantidade()) {
+                    return onde + ", posição " + i + ": " + lido + ", modelo " + esperado;
+                }
+            }
+        }
+        if (!esperados.isEmpty()) {
+            // As pilhas devolvidas são compartilhadas com as cópias: alterá-las por fora não pode valer.
+            try {
+                inventario.buscarPorIndice(0).setQuantidade(0);
+                return onde + ": a pilha devolvida aceitou setQuantidade";
+            } catch (IllegalStateException e) {
+                // Esperado.
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Para cada classe no nível 3, contra cada espécie no nível 3 e contra o
+     * chefe, e para as duas estratégias fixas: resolve o combate e simula as
+     * mesmas lutas. A diferença é medida em erros-padrão da simulação.
+     */
+    private static void verificarSolucionador(int lutas) {
+        final int nivel = 3;
+        SolucionadorCombate solucionador = new SolucionadorCombate();
+        SolucionadorCombate.Estrategia[] estrategias = {
+                SolucionadorCombate.Estrategia.SEMPRE_ATACAR,
+                SolucionadorCombate.Estrategia.ESPECIAL_QUANDO_POSSIVEL};
+        PoliticaCombate[] politicas = {PoliticaCombate.sempreAtacar(), PoliticaCombate.especialQuandoPossivel()};
+        List<EspecieInimigo> especies = TabelasJogo.atuais().getEspecies();
+        RoladorDados dado = new RoladorSilencioso(23L);
+
+        String problema = null;
+        double piorDesvio = 0;
+        int casos = 0;
+        for (String classe : new String[]{"Guerreiro", "Mago", "Arqueiro"}) {
+            for (int e = 0; e <= especies.size() && problema == null; e++) {
+                for (int s = 0; s < estrategias.length && problema == null; s++) {
+                    boolean boss = e == especies.size();
+                    EspecieInimigo especie = boss ? null : especies.get(e);
+                    AnaliseCombate exato = solucionador.resolver(heroi(classe, nivel, dado),
+                            inimigo(especie, nivel, dado), boss, estrategias[s]);
+
+                    MotorCombate motor = new MotorCombate(politicas[s], dado);
+                    long vitorias = 0;
+                    double somaTurnos = 0;
+                    double somaQuadrados = 0;
+                    for (int i = 0; i < lutas; i++) {
+                        Personagem jogador = heroi(classe, nivel, dado);
+                        Inimigo inimigo = inimigo(especie, nivel, dado);
+                        ResultadoCombate resultado = boss ? motor.batalharBoss(jogador, inimigo)
+                                : motor.batalhar(jogador, inimigo);
+                        if (resultado.isVitoria()) {
+                            vitorias++;
+                        }
+                        somaTurnos += resultado.getTurnos();
+                        somaQuadrados += (double) resultado.getTurnos() * resultado.getTurnos();
+                    }
+                    double p = exato.getChanceVitoria();
+                    double erroVitoria = Math.sqrt(Math.max(p * (1 - p), 1.0 / lutas) / lutas);
+                    double media = somaTurnos / lutas;
+                    // Um desfecho raro, que pode nem aparecer nas lutas, não pode zerar o erro-padrão.
+                    double variancia = Math.max(somaQuadrados / lutas - media * media, 1.0 / lutas);
+                    double erroTurnos = Math.sqrt(variancia / lutas);
+                    double desvio = Math.max(Math.abs((double) vitorias / lutas - p) / erroVitoria,
+                            Math.abs(media - exato.getTurnosEsperados()) / erroTurnos);
+                    piorDesvio = Math.max(piorDesvio, desvio);
+                    casos++;
+                    if (desvio > 4) {
+                        problema = String.format("%s x %s, %s: exato %.6f / %.6f turnos, simulado %.6f / %.6f",
+                                classe, boss ? "chefe" : especie.getNome(), estrategias[s], p,
+                                exato.getTurnosEsperados(), (double) vitorias / lutas, media);
+                    }
+                }
+            }
+        }
+        verificar("SolucionadorCombate = Monte Carlo", problema,
+                String.format("%d casos, %,d lutas cada, maior desvio %.2f erros-padrão", casos, lutas, piorDesvio));
+    }
+
+    /** Personagem de novo jogo levado ao nível com os ganhos de {@code Jogo.levelUp}. */
+    private static Personagem heroi(String classe, int nivel, RoladorDados dado) {
+        Personagem jogador = SimulacaoMonteCarlo.novoPersonagem(classe);
+        for (int n = 1; n < nivel; n++) {
+            jogador.setNivel(jogador.getNivel() + 1);
+            jogador.setPontosVidaMaximos(jogador.getPontosVidaMaximos() + 20);
+            jogador.setAtaque(jogador.getAtaque() + 3);
+            jogador.setDefesa(jogador.getDefesa() + 2);
+        }
+        jogador.setPontosVida(jogador.getPontosVidaMaximos());
+        jogador.setDado(dado);
+        return jogador;
+    }
+
+    /**
+     * @param especie espécie do inimigo, ou null para o chefe de {@code Jogo.iniciarBossFight}
+     */
+    private static Inimigo inimigo(EspecieInimigo especie, int nivel, RoladorDados dado) {
+        if (especie == null) {
+            return new Inimigo("Vorath, o Eterno", 200 + nivel * 20, 20 + nivel * 2, 15 + nivel, nivel + 2,
+                    "Boss Final", dado);
+        }
+        return new Inimigo(especie.getNome(), especie.pontosVida(nivel), especie.ataque(nivel),
+                especie.defesa(nivel), nivel, especie.getTipo(), dado);
+    }
+
+    /** Respostas sorteadas dos menus do jogo, seguidas do fim da entrada. */
+    private static Entrada jogadorAleatorio(long seed, int respostas) {
+        SplittableRandom aleatorio = new SplittableRandom(seed);
+        int[] dadas = {0};
+        return () -> {
+            int n = dadas[0]++;
+            if (n == 0) {
+                return "1";
+            }
+            if (n == 1) {
+                return "Verificador";
+            }
+            return n < respostas ? RESPOSTAS[aleatorio.nextInt(RESPOSTAS.length)] : null;
+        };
+    }
+
+    /** Uma verificação; informa o próprio resultado por {@link #verificar}. */
+    private interface Verificacao {
+        void executar() throws Exception;
+    }
+
+    /**
+     * Executa a verificação; uma exceção conta como falha dela, e as demais
+     * continuam.
+     */
+    private static void executar(String nome, Verificacao verificacao) {
+        try {
+            verificacao.executar();
+        } catch (Exception e) {
+            verificar(nome, "lançou " + e, null);
+        }
+    }
+
+    /**
+     * @param problema descrição da primeira diferença, ou null se não houve
+     */
+    private static void verificar(String nome, String problema, String detalhes) {
+        if (problema == null) {
+            System.out.printf("OK     %-38s %s%n", nome, detalhes);
+        } else {
+            falhas++;
+            System.out.printf("FALHOU %-38s %s%n", nome, problema);
+        }
+    }
+}
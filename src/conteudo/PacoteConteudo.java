@@ -0,0 +1,398 @@
+package conteudo;
+
+import itens.CatalogoItens;
+import itens.ItemDef;
+import persistencia.GravadorSaves;
+import personagens.AtributosClasse;
+import personagens.EspecieInimigo;
+import sistema.TabelaSorteio;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache compilado das tabelas de conteúdo: o texto de {@link TabelasJogo} é
+ * lido uma vez e gravado em um arquivo binário ao lado dele
+ * ({@code tabelas.txt.cache}), que as partidas seguintes abrem sem parsing.
+ * <p>
+ * Layout (inteiros de 32 bits big-endian, textos em UTF-8 com tamanho em u16):
+ * <pre>
+ * cabeçalho (36 bytes): "RPGC" | versão (u16) | reservado (u16) | tamanho do arquivo (u32)
+ *                       | hash do texto (u64) | espécies (u32) | itens (u32) | início dos registros (u32)
+ *                       | CRC32C do corpo (u32)
+ * resumo:    raridades: n, (nome, peso) × n
+ *            classes: n, (nome, vida, ataque, defesa) × n
+ *            para cada tabela (encontros, saque, achados): n, (mínimo, máximo, posição) × n
+ * índices:   posição de cada espécie, posição de cada item
+ * registros: espécie: nome, tipo, vida base, vida por nível, ataque base, ataque por nível,
+ *                     defesa base, defesa por nível
+ *            item: chave, nome, descrição, efeito, valor
+ *            faixa: n, (índice, peso) × n
+ * </pre>
+ * As posições são relativas ao início dos registros; o corpo é tudo o que
+ * vem depois do cabeçalho.
+ * <p>
+ * O cache vale enquanto o hash gravado for o do texto atual: qualquer edição
+ * no texto (ou um cache de outra versão ou truncado) faz o texto ser compilado
+ * de novo e o cache ser regravado. O hash junta o CRC32C e o CRC32 do texto
+ * (64 bits): detecta edições, não adulterações, e ao contrário de um SHA-256
+ * custa pouco mesmo antes de o JIT compilar nada. O CRC32C do corpo é
+ * conferido uma vez ao abrir: um cache corrompido depois de gravado também é
+ * tratado como velho, e o texto é compilado de novo, em vez de falhar no meio
+ * da partida quando um registro estragado for decodificado. Ao abrir, o
+ * arquivo é lido de uma vez para o heap, mas só o cabeçalho e o resumo são
+ * decodificados; cada espécie, item ou faixa é decodificado na primeira vez
+ * que o jogo o usa, então o custo da partida acompanha o conteúdo tocado, não
+ * o tamanho do pacote.
+ */
+public final class PacoteConteudo {
+    /** Extensão acrescentada ao nome do texto para formar o nome do cache. */
+    public static final String EXTENSAO_CACHE = ".cache";
+    static final byte[] MAGICO = {'R', 'P', 'G', 'C'};
+    static final int VERSAO = 2;
+
+    private static final int TAMANHO_CABECALHO = 36;
+
+    private final ByteBuffer dados;
+    private final int indiceEspecies;
+    private final int indiceItens;
+    private final int inicioRegistros;
+    // posição da tabela de cada faixa, por tipo
+    private final int[][] posicoesFaixas = new int[TabelasJogo.Tipo.values().length][];
+    private final TabelasJogo tabelas;
+
+    /**
+     * Lê o resumo do pacote a partir do fim do cabeçalho.
+     */
+    private PacoteConteudo(ByteBuffer dados, int especies, int itens, int inicioRegistros) {
+        this.dados = dados;
+        this.inicioRegistros = inicioRegistros;
+        Cursor cursor = new Cursor(TAMANHO_CABECALHO);
+
+        Map<String, Integer> raridades = new LinkedHashMap<>();
+        for (int i = cursor.inteiro(); i > 0; i--) {
+            raridades.put(cursor.texto(), cursor.inteiro());
+        }
+        Map<String, AtributosClasse> classes = new LinkedHashMap<>();
+        for (int i = cursor.inteiro(); i > 0; i--) {
+            AtributosClasse classe = new AtributosClasse(cursor.texto(), cursor.inteiro(), cursor.inteiro(),
+                    cursor.inteiro());
+            classes.put(classe.getNome(), classe);
+        }
+        TabelasJogo.Faixas[] faixas = new TabelasJogo.Faixas[TabelasJogo.Tipo.values().length];
+        for (TabelasJogo.Tipo tipo : TabelasJogo.Tipo.values()) {
+            int quantidade = cursor.inteiro();
+            int[] minimos = new int[quantidade];
+            int[] maximos = new int[quantidade];
+            int[] posicoes = new int[quantidade];
+            for (int f = 0; f < quantidade; f++) {
+                minimos[f] = cursor.inteiro();
+                maximos[f] = cursor.inteiro();
+                posicoes[f] = cursor.inteiro();
+            }
+            faixas[tipo.ordinal()] = new TabelasJogo.Faixas(tipo, minimos, maximos);
+            posicoesFaixas[tipo.ordinal()] = posicoes;
+        }
+
+        this.indiceEspecies = cursor.posicao;
+        this.indiceItens = indiceEspecies + especies * Integer.BYTES;
+        if (especies < 0 || itens < 0 || indiceItens + (long) itens * Integer.BYTES != inicioRegistros) {
+            throw new IllegalArgumentException("índices do pacote inconsistentes");
+        }
+        this.tabelas = new TabelasJogo(this, especies, itens, raridades, classes, faixas);
+    }
+
+    /**
+     * @return arquivo de cache usado para o texto indicado
+     */
+    public static File cacheDe(File fonte) {
+        return new File(fonte.getPath() + EXTENSAO_CACHE);
+    }
+
+    /**
+     * Carrega as tabelas do texto pelo cache: se o cache for deste texto, abre
+     * o cache; senão, lê o texto e regrava o cache. Falhas ao gravar o cache
+     * não impedem a carga.
+     *
+     * @throws IllegalArgumentException se o texto tiver erros (a mensagem indica a linha)
+     */
+    public static TabelasJogo carregar(File fonte, File cache) throws IOException {
+        byte[] texto = Files.readAllBytes(fonte.toPath());
+        long hash = hash(texto);
+        TabelasJogo tabelas = abrir(cache, hash);
+        if (tabelas != null) {
+            return tabelas;
+        }
+        tabelas = TabelasJogo.ler(new InputStreamReader(new ByteArrayInputStream(texto), StandardCharsets.UTF_8));
+        try {
+            GravadorSaves.gravarAtomico(new ByteBuffer[]{compilar(tabelas, hash)}, cache.toPath());
+        } catch (IOException e) {
+            // Sem cache (pasta só de leitura, por exemplo): a próxima carga lê o texto de novo.
+        }
+        return tabelas;
+    }
+
+    /**
+     * Compila o texto e grava o cache, mesmo que o atual seja válido.
+     *
+     * @return tamanho do cache em bytes
+     * @throws IllegalArgumentException se o texto tiver erros (a mensagem indica a linha)
+     */
+    public static int compilar(File fonte, File cache) throws IOException {
+        byte[] texto = Files.readAllBytes(fonte.toPath());
+        TabelasJogo tabelas = TabelasJogo.ler(
+                new InputStreamReader(new ByteArrayInputStream(texto), StandardCharsets.UTF_8));
+        ByteBuffer pacote = compilar(tabelas, hash(texto));
+        int tamanho = pacote.remaining();
+        GravadorSaves.gravarAtomico(new ByteBuffer[]{pacote}, cache.toPath());
+        return tamanho;
+    }
+
+    /**
+     * Abre um cache, conferindo cabeçalho, tamanho e hash antes de lê-lo
+     * inteiro, e o CRC32C do corpo depois.
+     *
+     * @param hash {@link #hash(byte[])} do texto atual
+     * @return tabelas do cache, ou null se ele não existir ou não valer para este texto
+     */
+    static TabelasJogo abrir(File cache, long hash) throws IOException {
+        if (!cache.isFile()) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(cache.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            while (cabecalho.hasRemaining() && canal.read(cabecalho) >= 0) {
+                // lê o cabeçalho inteiro
+            }
+            if (cabecalho.hasRemaining()) {
+                return null;
+            }
+            cabecalho.flip();
+            byte[] magico = new byte[MAGICO.length];
+            cabecalho.get(magico);
+            int versao = cabecalho.getShort() & 0xFFFF;
+            cabecalho.getShort();
+            long tamanho = cabecalho.getInt() & 0xFFFFFFFFL;
+            long hashGravado = cabecalho.getLong();
+            int especies = cabecalho.getInt();
+            int itens = cabecalho.getInt();
+            int inicioRegistros = cabecalho.getInt();
+            int checksum = cabecalho.getInt();
+            if (!Arrays.equals(magico, MAGICO) || versao != VERSAO || tamanho != canal.size()
+                    || hashGravado != hash
+                    || inicioRegistros < TAMANHO_CABECALHO || inicioRegistros > tamanho) {
+                return null;
+            }
+            // No heap, não mapeado: um arquivo mapeado impediria no Windows a
+            // renomeação do cache regravado por cima dele enquanto o jogo roda.
+            ByteBuffer dados = ByteBuffer.allocate((int) tamanho);
+            while (dados.hasRemaining() && canal.read(dados, dados.position()) >= 0) {
+                // lê o pacote inteiro, cabeçalho incluído
+            }
+            if (dados.hasRemaining()) {
+                return null;
+            }
+            dados.flip();
+            if (crcCorpo(dados) != checksum) {
+                return null;
+            }
+            try {
+                return new PacoteConteudo(dados, especies, itens, inicioRegistros).tabelas;
+            } catch (RuntimeException e) {
+                // Resumo corrompido com hash válido: trata como cache ausente.
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Serializa as tabelas no layout do pacote.
+     */
+    static ByteBuffer compilar(TabelasJogo tabelas, long hash) throws IOException {
+        ByteArrayOutputStream resumoBytes = new ByteArrayOutputStream();
+        DataOutputStream resumo = new DataOutputStream(resumoBytes);
+        ByteArrayOutputStream indicesBytes = new ByteArrayOutputStream();
+        DataOutputStream indices = new DataOutputStream(indicesBytes);
+        ByteArrayOutputStream registrosBytes = new ByteArrayOutputStream();
+        DataOutputStream registros = new DataOutputStream(registrosBytes);
+
+        resumo.writeInt(tabelas.getRaridades().size());
+        for (Map.Entry<String, Integer> raridade : tabelas.getRaridades().entrySet()) {
+            texto(resumo, raridade.getKey());
+            resumo.writeInt(raridade.getValue());
+        }
+        resumo.writeInt(tabelas.getClasses().size());
+        for (AtributosClasse classe : tabelas.getClasses()) {
+            texto(resumo, classe.getNome());
+            resumo.writeInt(classe.getPontosVida());
+            resumo.writeInt(classe.getAtaque());
+            resumo.writeInt(classe.getDefesa());
+        }
+        for (TabelasJogo.Tipo tipo : TabelasJogo.Tipo.values()) {
+            TabelasJogo.Faixas faixas = tabelas.getFaixas(tipo);
+            resumo.writeInt(faixas.getQuantidade());
+            for (int f = 0; f < faixas.getQuantidade(); f++) {
+                resumo.writeInt(faixas.minimos[f]);
+                resumo.writeInt(faixas.maximos[f]);
+                resumo.writeInt(registros.size());
+                TabelaSorteio<Integer> tabela = tabelas.getTabelaDaFaixa(tipo, f);
+                registros.writeInt(tabela.getTamanho());
+                for (int i = 0; i < tabela.getTamanho(); i++) {
+                    registros.writeInt(tabela.getValores().get(i));
+                    registros.writeInt(tabela.getPeso(i));
+                }
+            }
+        }
+
+        List<EspecieInimigo> especies = tabelas.getEspecies();
+        for (EspecieInimigo especie : especies) {
+            indices.writeInt(registros.size());
+            texto(registros, especie.getNome());
+            texto(registros, especie.getTipo());
+            registros.writeInt(especie.getVidaBase());
+            registros.writeInt(especie.getVidaPorNivel());
+            registros.writeInt(especie.getAtaqueBase());
+            registros.writeInt(especie.getAtaquePorNivel());
+            registros.writeInt(especie.getDefesaBase());
+            registros.writeInt(especie.getDefesaPorNivel());
+        }
+        for (int i = 0; i < tabelas.getQuantidadeItens(); i++) {
+            ItemDef item = tabelas.getItem(i);
+            indices.writeInt(registros.size());
+            texto(registros, tabelas.getChaveItem(i));
+            texto(registros, item.getNome());
+            texto(registros, item.getDescricao());
+            texto(registros, item.getEfeito().name());
+            registros.writeInt(item.getValorEfeito());
+        }
+
+        int inicioRegistros = TAMANHO_CABECALHO + resumoBytes.size() + indicesBytes.size();
+        long tamanho = (long) inicioRegistros + registrosBytes.size();
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Conteúdo grande demais para um pacote: " + tamanho + " bytes");
+        }
+        ByteBuffer pacote = ByteBuffer.allocate((int) tamanho);
+        pacote.put(MAGICO).putShort((short) VERSAO).putShort((short) 0).putInt((int) tamanho).putLong(hash)
+                .putInt(especies.size()).putInt(tabelas.getQuantidadeItens()).putInt(inicioRegistros).putInt(0);
+        pacote.put(resumoBytes.toByteArray()).put(indicesBytes.toByteArray()).put(registrosBytes.toByteArray());
+        pacote.flip();
+        pacote.putInt(TAMANHO_CABECALHO - Integer.BYTES, crcCorpo(pacote));
+        return pacote;
+    }
+
+    /**
+     * @return CRC32C dos bytes depois do cabeçalho, até o limite do pacote
+     */
+    private static int crcCorpo(ByteBuffer pacote) {
+        ByteBuffer corpo = pacote.duplicate();
+        corpo.position(TAMANHO_CABECALHO);
+        CRC32C crc = new CRC32C();
+        crc.update(corpo);
+        return (int) crc.getValue();
+    }
+
+    private static void texto(DataOutputStream saida, String valor) throws IOException {
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Texto longo demais para o pacote: " + valor.substring(0, 40) + "...");
+        }
+        saida.writeShort(bytes.length);
+        saida.write(bytes);
+    }
+
+    /**
+     * @return CRC32C do texto nos 32 bits altos e CRC32 nos baixos
+     */
+    static long hash(byte[] texto) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(texto, 0, texto.length);
+        CRC32 crc32 = new CRC32();
+        crc32.update(texto, 0, texto.length);
+        return crc32c.getValue() << 32 | crc32.getValue();
+    }
+
+    EspecieInimigo especie(int id) {
+        Cursor cursor = new Cursor(inicioRegistros + dados.getInt(indiceEspecies + id * Integer.BYTES));
+        return new EspecieInimigo(id, cursor.texto(), cursor.texto(), cursor.inteiro(), cursor.inteiro(),
+                cursor.inteiro(), cursor.inteiro(), cursor.inteiro(), cursor.inteiro());
+    }
+
+    String chaveItem(int indice) {
+        return new Cursor(inicioRegistros + dados.getInt(indiceItens + indice * Integer.BYTES)).texto();
+    }
+
+    ItemDef item(int indice) {
+        Cursor cursor = new Cursor(inicioRegistros + dados.getInt(indiceItens + indice * Integer.BYTES));
+        cursor.texto();
+        return CatalogoItens.obter(cursor.texto(), cursor.texto(), TabelasJogo.efeito(cursor.texto()),
+                cursor.inteiro());
+    }
+
+    TabelaSorteio<Integer> tabela(TabelasJogo.Tipo tipo, int faixa) {
+        Cursor cursor = new Cursor(inicioRegistros + posicoesFaixas[tipo.ordinal()][faixa]);
+        int quantidade = cursor.inteiro();
+        List<Integer> indices = new ArrayList<>(quantidade);
+        int[] pesos = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            indices.add(cursor.inteiro());
+            pesos[i] = cursor.inteiro();
+        }
+        return new TabelaSorteio<>(indices, pesos);
+    }
+
+    /**
+     * Leitura sequencial a partir de uma posição, só com acessos absolutos ao
+     * buffer (que é compartilhado entre threads).
+     */
+    private final class Cursor {
+        private int posicao;
+
+        Cursor(int posicao) {
+            this.posicao = posicao;
+        }
+
+        int inteiro() {
+            int valor = dados.getInt(posicao);
+            posicao += Integer.BYTES;
+            return valor;
+        }
+
+        String texto() {
+            int tamanho = dados.getShort(posicao) & 0xFFFF;
+            byte[] bytes = new byte[tamanho];
+            dados.get(posicao + Short.BYTES, bytes);
+            posicao += Short.BYTES + tamanho;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Compila o texto das tabelas no cache.
+     * <p>
+     * Uso: {@code java -cp bin conteudo.PacoteConteudo [texto] [cache]}
+     */
+    public static void main(String[] args) throws IOException {
+        File fonte = args.length > 0 ? new File(args[0]) : TabelasJogo.ARQUIVO_PADRAO;
+        File cache = args.length > 1 ? new File(args[1]) : cacheDe(fonte);
+        long inicio = System.nanoTime();
+        int tamanho = compilar(fonte, cache);
+        System.out.printf("%s -> %s: %,d bytes em %d ms%n", fonte, cache, tamanho,
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
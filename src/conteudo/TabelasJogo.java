@@ -0,0 +1,685 @@
+package conteudo;
+
+import itens.CatalogoItens;
+import itens.Efeito;
+import itens.ItemDef;
+import personagens.AtributosClasse;
+import personagens.EspecieInimigo;
+import sistema.RoladorDados;
+import sistema.TabelaSorteio;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conteúdo do jogo: espécies de inimigo, itens, atributos iniciais das classes
+ * e as tabelas ponderadas de encontros (que espécie aparece), saque (o que o
+ * inimigo carrega) e achados (o que se encontra explorando).
+ * <p>
+ * As tabelas vêm de um arquivo de texto ({@link #ler(File)}, formato descrito
+ * em {@code src/dados/tabelas.txt}). Cada tabela pode ser dividida em faixas
+ * de nível, e o peso de uma entrada pode ser um número ou o nome de uma
+ * raridade. Cada faixa vira uma {@link TabelaSorteio} de índices de espécie
+ * ou item: sortear custa O(1) qualquer que seja o tamanho da tabela.
+ * <p>
+ * O jogo usa {@link #atuais()}: o arquivo da propriedade {@code rpg.tabelas},
+ * senão {@link #ARQUIVO_PADRAO}, senão as tabelas {@link #embutidas()} (as
+ * mesmas do arquivo distribuído). O arquivo é carregado pelo cache compilado
+ * de {@link PacoteConteudo}; nesse caso espécies, itens e faixas só são
+ * decodificados no primeiro uso. O preenchimento sob demanda é idempotente e
+ * publica apenas objetos imutáveis, então as tabelas podem ser usadas por
+ * várias threads.
+ */
+public final class TabelasJogo {
+    /** Arquivo lido por {@link #atuais()} quando {@code rpg.tabelas} não está definida. */
+    public static final File ARQUIVO_PADRAO = new File("src/dados/tabelas.txt");
+
+    /**
+     * Tabelas ponderadas, com o nível que escolhe a faixa.
+     */
+    public enum Tipo {
+        /** Espécies de inimigo, pelo nível do jogador. */
+        ENCONTROS("encontros"),
+        /** Itens carregados pelo inimigo, pelo nível do inimigo. */
+        SAQUE("saque"),
+        /** Itens encontrados explorando, pelo nível do jogador. */
+        ACHADOS("achados");
+
+        private final String secao;
+
+        Tipo(String secao) {
+            this.secao = secao;
+        }
+
+        /** @return nome da seção no arquivo */
+        public String getSecao() {
+            return secao;
+        }
+    }
+
+    private static volatile TabelasJogo atuais;
+
+    // null quando tudo já foi montado a partir do texto
+    private final PacoteConteudo pacote;
+    private final EspecieInimigo[] especies;
+    private final ItemDef[] itens;
+    private final String[] chaves;
+    private final Map<String, Integer> raridades;
+    private final Map<String, AtributosClasse> classes;
+    private final Faixas[] faixas;
+    private volatile Map<String, Integer> indicePorChave;
+
+    private final List<EspecieInimigo> listaEspecies = new AbstractList<EspecieInimigo>() {
+        @Override
+        public EspecieInimigo get(int id) {
+            return getEspecie(id);
+        }
+
+        @Override
+        public int size() {
+            return especies.length;
+        }
+    };
+
+    private TabelasJogo(Construtor construtor) {
+        this.pacote = null;
+        this.especies = construtor.especies.toArray(new EspecieInimigo[0]);
+        this.itens = construtor.itens.toArray(new ItemDef[0]);
+        this.chaves = construtor.chaves.toArray(new String[0]);
+        this.raridades = Collections.unmodifiableMap(new LinkedHashMap<>(construtor.raridades));
+        this.classes = Collections.unmodifiableMap(new LinkedHashMap<>(construtor.classes));
+        this.faixas = new Faixas[Tipo.values().length];
+        for (Tipo tipo : Tipo.values()) {
+            faixas[tipo.ordinal()] = construtor.faixas(tipo);
+        }
+        this.indicePorChave = Collections.unmodifiableMap(new HashMap<>(construtor.indicePorChave));
+    }
+
+    /**
+     * Tabelas de um pacote compilado: só raridades, classes e os limites das
+     * faixas são lidos agora.
+     */
+    TabelasJogo(PacoteConteudo pacote, int quantidadeEspecies, int quantidadeItens,
+                Map<String, Integer> raridades, Map<String, AtributosClasse> classes, Faixas[] faixas) {
+        this.pacote = pacote;
+        this.especies = new EspecieInimigo[quantidadeEspecies];
+        this.itens = new ItemDef[quantidadeItens];
+        this.chaves = new String[quantidadeItens];
+        this.raridades = Collections.unmodifiableMap(new LinkedHashMap<>(raridades));
+        this.classes = Collections.unmodifiableMap(new LinkedHashMap<>(classes));
+        this.faixas = faixas;
+    }
+
+    /**
+     * @return tabelas em uso pelo jogo, carregadas na primeira chamada
+     * @throws IllegalStateException se o arquivo configurado não puder ser lido ou tiver erros
+     */
+    public static TabelasJogo atuais() {
+        TabelasJogo tabelas = atuais;
+        if (tabelas == null) {
+            synchronized (TabelasJogo.class) {
+                tabelas = atuais;
+                if (tabelas == null) {
+                    tabelas = carregarConfiguradas();
+                    atuais = tabelas;
+                }
+            }
+        }
+        return tabelas;
+    }
+
+    /**
+     * Troca as tabelas usadas pelo jogo (por exemplo, para simular conteúdo novo).
+     *
+     * @throws IllegalArgumentException se as tabelas forem nulas
+     */
+    public static void definirAtuais(TabelasJogo tabelas) {
+        if (tabelas == null) {
+            throw new IllegalArgumentException("Tabelas não podem ser nulas");
+        }
+        atuais = tabelas;
+    }
+
+    /**
+     * Arquivo de {@code rpg.tabelas} ou o padrão, pelo cache compilado
+     * (desligado com {@code -Drpg.tabelas.cache=false}).
+     */
+    private static TabelasJogo carregarConfiguradas() {
+        String caminho = System.getProperty("rpg.tabelas");
+        File arquivo = caminho != null ? new File(caminho) : ARQUIVO_PADRAO;
+        if (caminho == null && !arquivo.isFile()) {
+            return embutidas();
+        }
+        boolean usarCache = Boolean.parseBoolean(System.getProperty("rpg.tabelas.cache", "true"));
+        try {
+            return usarCache ? PacoteConteudo.carregar(arquivo, PacoteConteudo.cacheDe(arquivo)) : ler(arquivo);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler as tabelas de " + arquivo, e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Tabelas inválidas em " + arquivo + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Tabelas do jogo original: cinco espécies, saque e achados uniformes, sem
+     * faixas de nível, e os atributos iniciais de sempre das classes. Sorteiam
+     * com as mesmas rolagens dos antigos {@code switch} (1d5 para a espécie,
+     * 1d4 para cada item).
+     */
+    public static TabelasJogo embutidas() {
+        Construtor c = new Construtor();
+        c.especie("Goblin", "Comum", 40, 10, 6, 2, 2, 1);
+        c.especie("Orc", "Forte", 60, 15, 8, 3, 4, 1);
+        c.especie("Esqueleto", "Morto-vivo", 35, 8, 7, 2, 3, 1);
+        c.especie("Lobo Selvagem", "Besta", 45, 12, 9, 2, 2, 1);
+        c.especie("Dragão Jovem", "Chefe", 80, 20, 10, 4, 6, 2);
+
+        c.item("pocao_vida", CatalogoItens.POCAO_VIDA);
+        c.item("pocao_forca", CatalogoItens.POCAO_FORCA);
+        c.item("pocao_defesa", CatalogoItens.POCAO_DEFESA);
+        c.item("elixir_raro", CatalogoItens.ELIXIR_RARO);
+        c.item("pocao_vida_saque", CatalogoItens.POCAO_VIDA_SAQUE);
+        c.item("pocao_forca_saque", CatalogoItens.POCAO_FORCA_SAQUE);
+        c.item("pocao_defesa_saque", CatalogoItens.POCAO_DEFESA_SAQUE);
+        c.item("bomba", CatalogoItens.BOMBA);
+
+        for (String especie : new String[] {"Goblin", "Orc", "Esqueleto", "Lobo Selvagem", "Dragão Jovem"}) {
+            c.entrada(Tipo.ENCONTROS, 1, Integer.MAX_VALUE, especie, 1);
+        }
+        for (String item : new String[] {"pocao_vida_saque", "pocao_forca_saque", "pocao_defesa_saque", "bomba"}) {
+            c.entrada(Tipo.SAQUE, 1, Integer.MAX_VALUE, item, 1);
+        }
+        for (String item : new String[] {"pocao_vida", "pocao_forca", "pocao_defesa", "elixir_raro"}) {
+            c.entrada(Tipo.ACHADOS, 1, Integer.MAX_VALUE, item, 1);
+        }
+        return c.construir();
+    }
+
+    /**
+     * Lê as tabelas de um arquivo de texto em UTF-8.
+     *
+     * @throws IllegalArgumentException se o conteúdo tiver erros (a mensagem indica a linha)
+     */
+    public static TabelasJogo ler(File arquivo) throws IOException {
+        try (Reader leitor = new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8)) {
+            return ler(leitor);
+        }
+    }
+
+    /**
+     * Lê as tabelas no formato de {@code src/dados/tabelas.txt}.
+     *
+     * @throws IllegalArgumentException se o conteúdo tiver erros (a mensagem indica a linha)
+     */
+    public static TabelasJogo ler(Reader leitor) throws IOException {
+        Construtor c = new Construtor();
+        BufferedReader br = new BufferedReader(leitor);
+        String secao = null;
+        Tipo tipo = null;
+        int minimo = 0;
+        int maximo = 0;
+        String linha;
+        int numero = 0;
+        while ((linha = br.readLine()) != null) {
+            numero++;
+            linha = linha.trim();
+            if (linha.isEmpty() || linha.startsWith("#")) {
+                continue;
+            }
+            try {
+                if (linha.startsWith("[")) {
+                    if (!linha.endsWith("]")) {
+                        throw new IllegalArgumentException("seção sem ']'");
+                    }
+                    String[] partes = linha.substring(1, linha.length() - 1).trim().split("\\s+");
+                    secao = partes[0];
+                    tipo = tipoDaSecao(secao);
+                    if (tipo == null && partes.length > 1) {
+                        throw new IllegalArgumentException("a seção " + secao + " não tem faixa de nível");
+                    }
+                    minimo = 1;
+                    maximo = Integer.MAX_VALUE;
+                    if (partes.length == 2) {
+                        int[] faixa = faixa(partes[1]);
+                        minimo = faixa[0];
+                        maximo = faixa[1];
+                    } else if (partes.length > 2) {
+                        throw new IllegalArgumentException("seção inválida: " + linha);
+                    }
+                    if (tipo == null && !secao.equals("especies") && !secao.equals("itens")
+                            && !secao.equals("raridades") && !secao.equals("classes")) {
+                        throw new IllegalArgumentException("seção desconhecida: " + secao);
+                    }
+                    continue;
+                }
+                if (secao == null) {
+                    throw new IllegalArgumentException("linha fora de seção");
+                }
+                String[] campos = linha.split(";", -1);
+                for (int i = 0; i < campos.length; i++) {
+                    campos[i] = campos[i].trim();
+                }
+                if (tipo != null) {
+                    exigirCampos(campos, 2);
+                    c.entrada(tipo, minimo, maximo, campos[0], c.peso(campos[1]));
+                } else if (secao.equals("especies")) {
+                    exigirCampos(campos, 8);
+                    c.especie(campos[0], campos[1], inteiro(campos[2]), inteiro(campos[3]), inteiro(campos[4]),
+                            inteiro(campos[5]), inteiro(campos[6]), inteiro(campos[7]));
+                } else if (secao.equals("itens")) {
+                    exigirCampos(campos, 5);
+                    c.item(campos[0], CatalogoItens.obter(campos[1], campos[2], efeito(campos[3]),
+                            inteiro(campos[4])));
+                } else if (secao.equals("classes")) {
+                    exigirCampos(campos, 4);
+                    c.classe(new AtributosClasse(campos[0], inteiro(campos[1]), inteiro(campos[2]),
+                            inteiro(campos[3])));
+                } else {
+                    exigirCampos(campos, 2);
+                    c.raridade(campos[0], inteiro(campos[1]));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("linha " + numero + ": " + e.getMessage(), e);
+            }
+        }
+        return c.construir();
+    }
+
+    private static Tipo tipoDaSecao(String secao) {
+        for (Tipo tipo : Tipo.values()) {
+            if (tipo.secao.equals(secao)) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+
+    /** "3-7", "8-" (sem fim) ou "5" (só o nível 5). */
+    private static int[] faixa(String texto) {
+        int traco = texto.indexOf('-');
+        if (traco < 0) {
+            int nivel = inteiro(texto);
+            return new int[] {nivel, nivel};
+        }
+        int minimo = inteiro(texto.substring(0, traco));
+        String fim = texto.substring(traco + 1);
+        int maximo = fim.isEmpty() ? Integer.MAX_VALUE : inteiro(fim);
+        if (minimo < 1 || maximo < minimo) {
+            throw new IllegalArgumentException("faixa de nível inválida: " + texto);
+        }
+        return new int[] {minimo, maximo};
+    }
+
+    private static void exigirCampos(String[] campos, int quantidade) {
+        if (campos.length != quantidade) {
+            throw new IllegalArgumentException("esperados " + quantidade + " campos, encontrados " + campos.length);
+        }
+    }
+
+    private static int inteiro(String texto) {
+        try {
+            return Integer.parseInt(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("número inválido: " + texto);
+        }
+    }
+
+    static Efeito efeito(String texto) {
+        try {
+            return Efeito.valueOf(texto);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("efeito desconhecido: " + texto);
+        }
+    }
+
+    /**
+     * Sorteia a espécie de um encontro.
+     */
+    public EspecieInimigo sortearEspecie(int nivelJogador, RoladorDados dado) {
+        return getEspecie(getTabela(Tipo.ENCONTROS, nivelJogador).sortear(dado));
+    }
+
+    /**
+     * Sorteia um item do saque de um inimigo.
+     */
+    public ItemDef sortearSaque(int nivelInimigo, RoladorDados dado) {
+        return getItem(getTabela(Tipo.SAQUE, nivelInimigo).sortear(dado));
+    }
+
+    /**
+     * Sorteia um item encontrado na exploração.
+     */
+    public ItemDef sortearAchado(int nivelJogador, RoladorDados dado) {
+        return getItem(getTabela(Tipo.ACHADOS, nivelJogador).sortear(dado));
+    }
+
+    /**
+     * @return tabela da faixa que contém o nível (níveis abaixo de 1 contam como 1),
+     *         com ids de espécie (encontros) ou índices de item (saque e achados)
+     */
+    public TabelaSorteio<Integer> getTabela(Tipo tipo, int nivel) {
+        return getTabelaDaFaixa(tipo, faixas[tipo.ordinal()].indice(nivel));
+    }
+
+    TabelaSorteio<Integer> getTabelaDaFaixa(Tipo tipo, int indice) {
+        Faixas faixasTipo = faixas[tipo.ordinal()];
+        TabelaSorteio<Integer> tabela = faixasTipo.tabelas[indice];
+        if (tabela == null) {
+            tabela = pacote.tabela(tipo, indice);
+            faixasTipo.tabelas[indice] = tabela;
+        }
+        return tabela;
+    }
+
+    /**
+     * @return espécies na ordem do arquivo (a posição é o id), decodificadas ao acessar
+     */
+    public List<EspecieInimigo> getEspecies() {
+        return listaEspecies;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException se o id não existir
+     */
+    public EspecieInimigo getEspecie(int id) {
+        EspecieInimigo especie = especies[id];
+        if (especie == null) {
+            especie = pacote.especie(id);
+            especies[id] = especie;
+        }
+        return especie;
+    }
+
+    public int getQuantidadeItens() {
+        return itens.length;
+    }
+
+    /**
+     * @param indice posição do item no arquivo (não é o id de {@link ItemDef})
+     * @throws IndexOutOfBoundsException se o índice não existir
+     */
+    public ItemDef getItem(int indice) {
+        ItemDef item = itens[indice];
+        if (item == null) {
+            item = pacote.item(indice);
+            itens[indice] = item;
+        }
+        return item;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException se o índice não existir
+     */
+    public String getChaveItem(int indice) {
+        String chave = chaves[indice];
+        if (chave == null) {
+            chave = pacote.chaveItem(indice);
+            chaves[indice] = chave;
+        }
+        return chave;
+    }
+
+    /**
+     * @return definição do item com a chave do arquivo, ou null
+     */
+    public ItemDef getItem(String chave) {
+        Map<String, Integer> indice = indicePorChave;
+        if (indice == null) {
+            // Só as chaves são decodificadas; os itens continuam sob demanda.
+            Map<String, Integer> novo = new HashMap<>();
+            for (int i = 0; i < chaves.length; i++) {
+                novo.put(getChaveItem(i), i);
+            }
+            indice = Collections.unmodifiableMap(novo);
+            indicePorChave = indice;
+        }
+        Integer posicao = indice.get(chave);
+        return posicao == null ? null : getItem(posicao);
+    }
+
+    public Map<String, Integer> getRaridades() {
+        return raridades;
+    }
+
+    /**
+     * @throws IllegalArgumentException se a classe não existir
+     */
+    public AtributosClasse getClasse(String nome) {
+        AtributosClasse classe = classes.get(nome);
+        if (classe == null) {
+            throw new IllegalArgumentException("Classe desconhecida: " + nome);
+        }
+        return classe;
+    }
+
+    public Collection<AtributosClasse> getClasses() {
+        return classes.values();
+    }
+
+    Faixas getFaixas(Tipo tipo) {
+        return faixas[tipo.ordinal()];
+    }
+
+    /**
+     * Faixas de nível de uma tabela, com acesso direto pelo nível. As tabelas
+     * de cada faixa podem ser montadas depois (pacote compilado).
+     */
+    static final class Faixas {
+        final int[] minimos;
+        final int[] maximos;
+        final TabelaSorteio<Integer>[] tabelas;
+        // porNivel[n] = faixa do nível n, até o início da última faixa (que não tem fim)
+        private final int[] porNivel;
+
+        /**
+         * @param minimos início de cada faixa, em ordem crescente
+         * @param maximos fim de cada faixa ({@link Integer#MAX_VALUE} na última)
+         * @throws IllegalArgumentException se as faixas não cobrirem do nível 1 em
+         *                                  diante, sem buracos nem sobreposição
+         */
+        Faixas(Tipo tipo, int[] minimos, int[] maximos) {
+            if (minimos.length == 0) {
+                throw new IllegalArgumentException("tabela de " + tipo.secao + " ausente");
+            }
+            int esperado = 1;
+            for (int f = 0; f < minimos.length; f++) {
+                if (minimos[f] != esperado || esperado == 0 || maximos[f] < minimos[f]) {
+                    throw new IllegalArgumentException("faixas de " + tipo.secao
+                            + " devem cobrir os níveis sem buracos nem sobreposição (falta ou repete o nível "
+                            + esperado + ")");
+                }
+                esperado = maximos[f] == Integer.MAX_VALUE ? 0 : maximos[f] + 1;
+            }
+            if (esperado != 0) {
+                throw new IllegalArgumentException("a última faixa de " + tipo.secao + " deve ser aberta (ex.: 10-)");
+            }
+            this.minimos = minimos;
+            this.maximos = maximos;
+            this.tabelas = novasTabelas(minimos.length);
+            this.porNivel = new int[minimos[minimos.length - 1]];
+            for (int f = 0; f < minimos.length; f++) {
+                for (int n = minimos[f]; n < porNivel.length && n <= maximos[f]; n++) {
+                    porNivel[n] = f;
+                }
+            }
+        }
+
+        /**
+         * Vetor genérico não pode ser criado diretamente; o cast é seguro porque
+         * o vetor só recebe tabelas de índices.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static TabelaSorteio<Integer>[] novasTabelas(int quantidade) {
+            return new TabelaSorteio[quantidade];
+        }
+
+        int getQuantidade() {
+            return minimos.length;
+        }
+
+        int indice(int nivel) {
+            int n = Math.max(1, nivel);
+            return n < porNivel.length ? porNivel[n] : minimos.length - 1;
+        }
+    }
+
+    /**
+     * Acumula espécies, itens, classes, raridades e entradas, validando as
+     * referências na ordem em que chegam.
+     */
+    static final class Construtor {
+        private final List<EspecieInimigo> especies = new ArrayList<>();
+        private final Map<String, Integer> idPorNome = new HashMap<>();
+        private final List<ItemDef> itens = new ArrayList<>();
+        private final List<String> chaves = new ArrayList<>();
+        private final Map<String, Integer> indicePorChave = new HashMap<>();
+        private final Map<String, Integer> raridades = new LinkedHashMap<>();
+        private final Map<String, AtributosClasse> classes = new LinkedHashMap<>();
+        private final Map<Tipo, List<FaixaEmMontagem>> faixas = new EnumMap<>(Tipo.class);
+
+        void especie(String nome, String tipo, int vidaBase, int vidaPorNivel, int ataqueBase, int ataquePorNivel,
+                     int defesaBase, int defesaPorNivel) {
+            if (idPorNome.containsKey(nome)) {
+                throw new IllegalArgumentException("espécie repetida: " + nome);
+            }
+            EspecieInimigo especie = new EspecieInimigo(especies.size(), nome, tipo, vidaBase, vidaPorNivel,
+                    ataqueBase, ataquePorNivel, defesaBase, defesaPorNivel);
+            idPorNome.put(nome, especie.getId());
+            especies.add(especie);
+        }
+
+        void item(String chave, ItemDef def) {
+            if (chave.isEmpty() || indicePorChave.putIfAbsent(chave, itens.size()) != null) {
+                throw new IllegalArgumentException("chave de item vazia ou repetida: " + chave);
+            }
+            itens.add(def);
+            chaves.add(chave);
+        }
+
+        void classe(AtributosClasse classe) {
+            if (classes.putIfAbsent(classe.getNome(), classe) != null) {
+                throw new IllegalArgumentException("classe repetida: " + classe.getNome());
+            }
+        }
+
+        void raridade(String nome, int peso) {
+            if (peso < 0) {
+                throw new IllegalArgumentException("peso negativo na raridade " + nome);
+            }
+            if (raridades.putIfAbsent(nome, peso) != null) {
+                throw new IllegalArgumentException("raridade repetida: " + nome);
+            }
+        }
+
+        /** Peso numérico ou nome de raridade já declarada. */
+        int peso(String texto) {
+            Integer raridade = raridades.get(texto);
+            if (raridade != null) {
+                return raridade;
+            }
+            if (!texto.isEmpty() && Character.isDigit(texto.charAt(0))) {
+                return inteiro(texto);
+            }
+            throw new IllegalArgumentException("raridade desconhecida: " + texto);
+        }
+
+        void entrada(Tipo tipo, int minimo, int maximo, String referencia, int peso) {
+            Integer indice;
+            if (tipo == Tipo.ENCONTROS) {
+                indice = idPorNome.get(referencia);
+                if (indice == null) {
+                    throw new IllegalArgumentException("espécie desconhecida: " + referencia);
+                }
+            } else {
+                indice = indicePorChave.get(referencia);
+                if (indice == null) {
+                    throw new IllegalArgumentException("item desconhecido: " + referencia);
+                }
+            }
+            List<FaixaEmMontagem> lista = faixas.computeIfAbsent(tipo, t -> new ArrayList<>());
+            FaixaEmMontagem faixa = null;
+            for (FaixaEmMontagem f : lista) {
+                if (f.minimo == minimo && f.maximo == maximo) {
+                    faixa = f;
+                }
+            }
+            if (faixa == null) {
+                faixa = new FaixaEmMontagem(minimo, maximo);
+                lista.add(faixa);
+            }
+            faixa.indices.add(indice);
+            faixa.pesos.add(peso);
+        }
+
+        /**
+         * Completa as classes que o arquivo não redefiniu com os atributos de
+         * sempre e monta as tabelas.
+         */
+        TabelasJogo construir() {
+            if (especies.isEmpty()) {
+                throw new IllegalArgumentException("nenhuma espécie declarada");
+            }
+            classes.putIfAbsent("Guerreiro", new AtributosClasse("Guerreiro", 120, 15, 10));
+            classes.putIfAbsent("Mago", new AtributosClasse("Mago", 80, 10, 5));
+            classes.putIfAbsent("Arqueiro", new AtributosClasse("Arqueiro", 100, 12, 7));
+            return new TabelasJogo(this);
+        }
+
+        Faixas faixas(Tipo tipo) {
+            List<FaixaEmMontagem> lista = faixas.getOrDefault(tipo, new ArrayList<>());
+            lista.sort((a, b) -> Integer.compare(a.minimo, b.minimo));
+            int[] minimos = new int[lista.size()];
+            int[] maximos = new int[lista.size()];
+            for (int f = 0; f < minimos.length; f++) {
+                minimos[f] = lista.get(f).minimo;
+                maximos[f] = lista.get(f).maximo;
+            }
+            Faixas resultado = new Faixas(tipo, minimos, maximos);
+            for (int f = 0; f < minimos.length; f++) {
+                FaixaEmMontagem faixa = lista.get(f);
+                int[] pesos = new int[faixa.pesos.size()];
+                for (int i = 0; i < pesos.length; i++) {
+                    pesos[i] = faixa.pesos.get(i);
+                }
+                try {
+                    resultado.tabelas[f] = new TabelaSorteio<>(faixa.indices, pesos);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("tabela de " + tipo.secao + " " + faixa + ": "
+                            + e.getMessage(), e);
+                }
+            }
+            return resultado;
+        }
+    }
+
+    private static final class FaixaEmMontagem {
+        final int minimo;
+        final int maximo;
+        final List<Integer> indices = new ArrayList<>();
+        final List<Integer> pesos = new ArrayList<>();
+
+        FaixaEmMontagem(int minimo, int maximo) {
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        @Override
+        public String toString() {
+            return minimo + "-" + (maximo == Integer.MAX_VALUE ? "" : String.valueOf(maximo));
+        }
+    }
+}
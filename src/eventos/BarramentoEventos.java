@@ -0,0 +1,105 @@
+package eventos;
+
+import java.util.Arrays;
+
+/**
+ * Barramento de eventos em processo, síncrono.
+ * <p>
+ * Os ouvintes são inscritos por {@link Evento.Tipo}. Quem publica consulta
+ * {@link #isAtivo(Evento.Tipo)} antes de criar o evento, então um tipo sem
+ * ouvintes não custa nenhuma alocação; com ouvintes, publicar é um laço
+ * sobre um array, sem locks.
+ * <p>
+ * A inscrição pode ser feita de qualquer thread (cópia na escrita);
+ * a publicação acontece na thread do jogo ou da simulação.
+ */
+public class BarramentoEventos {
+    private static final OuvinteEventos[] NENHUM = new OuvinteEventos[0];
+
+    /** Ouvintes por tipo, indexados pelo ordinal; cada array é substituído, nunca alterado. */
+    private volatile OuvinteEventos[][] ouvintes;
+
+    public BarramentoEventos() {
+        OuvinteEventos[][] vazio = new OuvinteEventos[Evento.Tipo.values().length][];
+        Arrays.fill(vazio, NENHUM);
+        this.ouvintes = vazio;
+    }
+
+    /**
+     * Inscreve o ouvinte em todos os tipos de evento.
+     *
+     * @throws IllegalArgumentException se ouvinte for nulo
+     */
+    public void inscrever(OuvinteEventos ouvinte) {
+        inscrever(ouvinte, Evento.Tipo.values());
+    }
+
+    /**
+     * Inscreve o ouvinte apenas nos tipos indicados.
+     *
+     * @throws IllegalArgumentException se ouvinte for nulo ou nenhum tipo for indicado
+     */
+    public synchronized void inscrever(OuvinteEventos ouvinte, Evento.Tipo... tipos) {
+        if (ouvinte == null) {
+            throw new IllegalArgumentException("Ouvinte não pode ser nulo");
+        }
+        if (tipos == null || tipos.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos um tipo de evento");
+        }
+        OuvinteEventos[][] novos = ouvintes.clone();
+        for (Evento.Tipo tipo : tipos) {
+            OuvinteEventos[] atuais = novos[tipo.ordinal()];
+            if (Arrays.asList(atuais).contains(ouvinte)) {
+                continue;
+            }
+            OuvinteEventos[] ampliado = Arrays.copyOf(atuais, atuais.length + 1);
+            ampliado[atuais.length] = ouvinte;
+            novos[tipo.ordinal()] = ampliado;
+        }
+        ouvintes = novos;
+    }
+
+    /**
+     * Remove o ouvinte de todos os tipos.
+     */
+    public synchronized void cancelar(OuvinteEventos ouvinte) {
+        OuvinteEventos[][] novos = ouvintes.clone();
+        for (int i = 0; i < novos.length; i++) {
+            OuvinteEventos[] atuais = novos[i];
+            int restantes = 0;
+            for (OuvinteEventos o : atuais) {
+                if (o != ouvinte) {
+                    restantes++;
+                }
+            }
+            if (restantes == atuais.length) {
+                continue;
+            }
+            OuvinteEventos[] reduzido = restantes == 0 ? NENHUM : new OuvinteEventos[restantes];
+            int j = 0;
+            for (OuvinteEventos o : atuais) {
+                if (o != ouvinte) {
+                    reduzido[j++] = o;
+                }
+            }
+            novos[i] = reduzido;
+        }
+        ouvintes = novos;
+    }
+
+    /**
+     * @return true se há algum ouvinte para o tipo (vale a pena criar o evento)
+     */
+    public boolean isAtivo(Evento.Tipo tipo) {
+        return ouvintes[tipo.ordinal()].length > 0;
+    }
+
+    /**
+     * Entrega o evento aos ouvintes do seu tipo, na ordem de inscrição.
+     */
+    public void publicar(Evento evento) {
+        for (OuvinteEventos ouvinte : ouvintes[evento.getTipo().ordinal()]) {
+            ouvinte.receber(evento);
+        }
+    }
+}
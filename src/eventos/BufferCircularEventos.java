@@ -0,0 +1,66 @@
+package eventos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Guarda em memória os últimos N eventos recebidos, descartando os mais
+ * antigos. Útil para mostrar o histórico recente de um combate ou anexar
+ * o contexto a um relatório de erro sem manter a partida inteira.
+ * <p>
+ * Não é thread-safe: leia na mesma thread que publica os eventos.
+ */
+public class BufferCircularEventos implements OuvinteEventos {
+    private final Evento[] eventos;
+    private long total;
+
+    /**
+     * @param capacidade número de eventos mantidos (&gt; 0)
+     * @throws IllegalArgumentException se capacidade &lt;= 0
+     */
+    public BufferCircularEventos(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.eventos = new Evento[capacidade];
+    }
+
+    @Override
+    public void receber(Evento evento) {
+        eventos[(int) (total % eventos.length)] = evento;
+        total++;
+    }
+
+    public int getCapacidade() {
+        return eventos.length;
+    }
+
+    /**
+     * @return total de eventos recebidos, inclusive os já descartados
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return eventos retidos, do mais antigo para o mais novo
+     */
+    public List<Evento> getEventos() {
+        int retidos = (int) Math.min(total, eventos.length);
+        List<Evento> lista = new ArrayList<>(retidos);
+        long inicio = total - retidos;
+        for (long i = inicio; i < total; i++) {
+            lista.add(eventos[(int) (i % eventos.length)]);
+        }
+        return lista;
+    }
+
+    /**
+     * Esquece os eventos retidos e zera o total.
+     */
+    public void limpar() {
+        Arrays.fill(eventos, null);
+        total = 0;
+    }
+}
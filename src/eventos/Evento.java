@@ -0,0 +1,226 @@
+package eventos;
+
+import itens.Efeito;
+
+/**
+ * Evento de jogo publicado em um {@link BarramentoEventos}.
+ * <p>
+ * Os eventos são imutáveis e guardam só valores (nomes, números, enums),
+ * nunca referências a personagens, para poderem ser retidos
+ * ({@link BufferCircularEventos}) ou gravados ({@link LogBinarioEventos})
+ * depois que o combate terminou.
+ */
+public abstract class Evento {
+
+    /**
+     * Tipo do evento. A ordem faz parte do formato do log binário:
+     * novos tipos devem ser acrescentados no fim.
+     */
+    public enum Tipo {
+        DADO_ROLADO,
+        DANO_CAUSADO,
+        ITEM_USADO,
+        NIVEL_ALCANCADO,
+        INIMIGO_SURGIU,
+        CAPITULO_AVANCADO
+    }
+
+    /**
+     * Como um dano foi causado. A ordem faz parte do formato do log binário.
+     */
+    public enum OrigemDano {
+        ATAQUE,
+        ATAQUE_SOMBRIO,
+        HABILIDADE,
+        ITEM,
+        ARMADILHA
+    }
+
+    private final Tipo tipo;
+
+    Evento(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Rolagem de um dado.
+     */
+    public static final class DadoRolado extends Evento {
+        private final int faces;
+        private final int resultado;
+
+        public DadoRolado(int faces, int resultado) {
+            super(Tipo.DADO_ROLADO);
+            this.faces = faces;
+            this.resultado = resultado;
+        }
+
+        public int getFaces() { return faces; }
+        public int getResultado() { return resultado; }
+
+        @Override
+        public String toString() {
+            return String.format("d%d -> %d", faces, resultado);
+        }
+    }
+
+    /**
+     * Dano que tirou pontos de vida de um personagem.
+     */
+    public static final class DanoCausado extends Evento {
+        private final OrigemDano origem;
+        private final String atacante;
+        private final String alvo;
+        private final int dano;
+        private final int hpRestante;
+
+        /**
+         * @param origem     como o dano foi causado
+         * @param atacante   nome de quem causou o dano (vazio na armadilha)
+         * @param alvo       nome de quem recebeu
+         * @param dano       pontos de vida perdidos pelo alvo (depois da defesa)
+         * @param hpRestante HP do alvo depois do dano
+         */
+        public DanoCausado(OrigemDano origem, String atacante, String alvo, int dano, int hpRestante) {
+            super(Tipo.DANO_CAUSADO);
+            this.origem = origem;
+            this.atacante = atacante;
+            this.alvo = alvo;
+            this.dano = dano;
+            this.hpRestante = hpRestante;
+        }
+
+        public OrigemDano getOrigem() { return origem; }
+        public String getAtacante() { return atacante; }
+        public String getAlvo() { return alvo; }
+        public int getDano() { return dano; }
+        public int getHpRestante() { return hpRestante; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s -> %s, %d de dano (HP %d)", origem, atacante, alvo, dano, hpRestante);
+        }
+    }
+
+    /**
+     * Item usado com efeito.
+     */
+    public static final class ItemUsado extends Evento {
+        private final String usuario;
+        private final String item;
+        private final Efeito efeito;
+        private final int valor;
+
+        /**
+         * @param valor cura, bônus ou dano bruto do item (o HP que o alvo
+         *              perdeu vem no {@link DanoCausado} publicado antes)
+         */
+        public ItemUsado(String usuario, String item, Efeito efeito, int valor) {
+            super(Tipo.ITEM_USADO);
+            this.usuario = usuario;
+            this.item = item;
+            this.efeito = efeito;
+            this.valor = valor;
+        }
+
+        public String getUsuario() { return usuario; }
+        public String getItem() { return item; }
+        public Efeito getEfeito() { return efeito; }
+        public int getValor() { return valor; }
+
+        @Override
+        public String toString() {
+            return String.format("%s usou %s (%s %d)", usuario, item, efeito, valor);
+        }
+    }
+
+    /**
+     * Subida de nível, com os atributos já atualizados.
+     */
+    public static final class NivelAlcancado extends Evento {
+        private final String personagem;
+        private final int nivel;
+        private final int hpMaximo;
+        private final int ataque;
+        private final int defesa;
+
+        public NivelAlcancado(String personagem, int nivel, int hpMaximo, int ataque, int defesa) {
+            super(Tipo.NIVEL_ALCANCADO);
+            this.personagem = personagem;
+            this.nivel = nivel;
+            this.hpMaximo = hpMaximo;
+            this.ataque = ataque;
+            this.defesa = defesa;
+        }
+
+        public String getPersonagem() { return personagem; }
+        public int getNivel() { return nivel; }
+        public int getHpMaximo() { return hpMaximo; }
+        public int getAtaque() { return ataque; }
+        public int getDefesa() { return defesa; }
+
+        @Override
+        public String toString() {
+            return String.format("%s alcançou o nível %d (HP %d | ATK %d | DEF %d)",
+                    personagem, nivel, hpMaximo, ataque, defesa);
+        }
+    }
+
+    /**
+     * Inimigo que entrou em combate.
+     */
+    public static final class InimigoSurgiu extends Evento {
+        private final String nome;
+        private final String tipoInimigo;
+        private final int nivel;
+        private final int hp;
+        private final int ataque;
+        private final int defesa;
+
+        public InimigoSurgiu(String nome, String tipoInimigo, int nivel, int hp, int ataque, int defesa) {
+            super(Tipo.INIMIGO_SURGIU);
+            this.nome = nome;
+            this.tipoInimigo = tipoInimigo;
+            this.nivel = nivel;
+            this.hp = hp;
+            this.ataque = ataque;
+            this.defesa = defesa;
+        }
+
+        public String getNome() { return nome; }
+        public String getTipoInimigo() { return tipoInimigo; }
+        public int getNivel() { return nivel; }
+        public int getHp() { return hp; }
+        public int getAtaque() { return ataque; }
+        public int getDefesa() { return defesa; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s, nível %d) surgiu - HP: %d | ATK: %d | DEF: %d",
+                    nome, tipoInimigo, nivel, hp, ataque, defesa);
+        }
+    }
+
+    /**
+     * Avanço de capítulo da história.
+     */
+    public static final class CapituloAvancado extends Evento {
+        private final int capitulo;
+
+        public CapituloAvancado(int capitulo) {
+            super(Tipo.CAPITULO_AVANCADO);
+            this.capitulo = capitulo;
+        }
+
+        public int getCapitulo() { return capitulo; }
+
+        @Override
+        public String toString() {
+            return "Capítulo " + capitulo;
+        }
+    }
+}
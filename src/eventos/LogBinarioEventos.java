@@ -0,0 +1,327 @@
+package eventos;
+
+import itens.Efeito;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grava os eventos em um log binário compacto e lê o log de volta.
+ * <p>
+ * Formato:
+ * <pre>
+ * "RPGE" | versão (1 byte) | registro...
+ * registro: tipo (1 byte, ordinal de {@link Evento.Tipo}) | campos do evento
+ * </pre>
+ * Inteiros são varints com zigzag (1 byte para valores pequenos) e enums
+ * ocupam 1 byte. Textos (nomes de personagens e itens) vão para um
+ * dicionário: a primeira ocorrência é escrita por extenso (0, tamanho, UTF-8)
+ * e as seguintes só com o índice + 1. O dicionário tem no máximo
+ * {@value #LIMITE_DICIONARIO} textos; depois disso, os novos vão sempre por extenso.
+ * <p>
+ * Uma rolagem de dado ocupa 3 bytes e um dano típico, 7. Erros de escrita
+ * não interrompem o jogo: o primeiro fica em {@link #getUltimoErro()} e os
+ * eventos seguintes são ignorados. Não é thread-safe.
+ */
+public class LogBinarioEventos implements OuvinteEventos, AutoCloseable {
+    private static final byte[] MAGICO = {'R', 'P', 'G', 'E'};
+    private static final int VERSAO = 1;
+    static final int LIMITE_DICIONARIO = 4096;
+    /** Espaço livre no buffer que garante um evento inteiro, fora os textos por extenso. */
+    private static final int MARGEM = 64;
+
+    private final OutputStream destino;
+    private final byte[] buffer = new byte[8192];
+    private final Map<String, Integer> dicionario = new HashMap<>();
+    private int posicao;
+    private long eventos;
+    private IOException ultimoErro;
+
+    /**
+     * Escreve o cabeçalho do log no destino.
+     *
+     * @param destino stream que recebe o log (fechado em {@link #close()})
+     * @throws IOException se o cabeçalho não puder ser escrito
+     */
+    public LogBinarioEventos(OutputStream destino) throws IOException {
+        if (destino == null) {
+            throw new IllegalArgumentException("Destino não pode ser nulo");
+        }
+        this.destino = destino;
+        for (byte b : MAGICO) {
+            byteBruto(b);
+        }
+        byteBruto(VERSAO);
+        descarregar();
+    }
+
+    @Override
+    public void receber(Evento evento) {
+        if (ultimoErro != null) {
+            return;
+        }
+        try {
+            if (posicao > buffer.length - MARGEM) {
+                descarregar();
+            }
+            escrever(evento);
+            eventos++;
+        } catch (IOException e) {
+            ultimoErro = e;
+        }
+    }
+
+    private void escrever(Evento evento) throws IOException {
+        byteBruto(evento.getTipo().ordinal());
+        switch (evento.getTipo()) {
+            case DADO_ROLADO: {
+                Evento.DadoRolado e = (Evento.DadoRolado) evento;
+                inteiro(e.getFaces());
+                inteiro(e.getResultado());
+                break;
+            }
+            case DANO_CAUSADO: {
+                Evento.DanoCausado e = (Evento.DanoCausado) evento;
+                byteBruto(e.getOrigem().ordinal());
+                texto(e.getAtacante());
+                texto(e.getAlvo());
+                inteiro(e.getDano());
+                inteiro(e.getHpRestante());
+                break;
+            }
+            case ITEM_USADO: {
+                Evento.ItemUsado e = (Evento.ItemUsado) evento;
+                texto(e.getUsuario());
+                texto(e.getItem());
+                byteBruto(e.getEfeito().ordinal());
+                inteiro(e.getValor());
+                break;
+            }
+            case NIVEL_ALCANCADO: {
+                Evento.NivelAlcancado e = (Evento.NivelAlcancado) evento;
+                texto(e.getPersonagem());
+                inteiro(e.getNivel());
+                inteiro(e.getHpMaximo());
+                inteiro(e.getAtaque());
+                inteiro(e.getDefesa());
+                break;
+            }
+            case INIMIGO_SURGIU: {
+                Evento.InimigoSurgiu e = (Evento.InimigoSurgiu) evento;
+                texto(e.getNome());
+                texto(e.getTipoInimigo());
+                inteiro(e.getNivel());
+                inteiro(e.getHp());
+                inteiro(e.getAtaque());
+                inteiro(e.getDefesa());
+                break;
+            }
+            case CAPITULO_AVANCADO:
+                inteiro(((Evento.CapituloAvancado) evento).getCapitulo());
+                break;
+            default:
+                throw new IllegalStateException("Tipo de evento sem formato binário: " + evento.getTipo());
+        }
+    }
+
+    /**
+     * @return eventos gravados
+     */
+    public long getEventos() {
+        return eventos;
+    }
+
+    /**
+     * @return primeiro erro de escrita, ou null se não houve
+     */
+    public IOException getUltimoErro() {
+        return ultimoErro;
+    }
+
+    /**
+     * Entrega ao destino os eventos ainda no buffer.
+     *
+     * @throws IOException se o destino falhar
+     */
+    public void flush() throws IOException {
+        descarregar();
+        destino.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (ultimoErro == null) {
+                flush();
+            }
+        } finally {
+            destino.close();
+        }
+    }
+
+    private void descarregar() throws IOException {
+        if (posicao > 0) {
+            destino.write(buffer, 0, posicao);
+            posicao = 0;
+        }
+    }
+
+    private void byteBruto(int valor) {
+        buffer[posicao++] = (byte) valor;
+    }
+
+    private void inteiro(int valor) {
+        int v = (valor << 1) ^ (valor >> 31);
+        while ((v & ~0x7F) != 0) {
+            byteBruto((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        byteBruto(v);
+    }
+
+    private void texto(String texto) throws IOException {
+        Integer indice = dicionario.get(texto);
+        if (indice != null) {
+            inteiro(indice + 1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (posicao + bytes.length + MARGEM > buffer.length) {
+            descarregar();
+        }
+        inteiro(0);
+        inteiro(bytes.length);
+        if (bytes.length > buffer.length - MARGEM) {
+            descarregar();
+            destino.write(bytes);
+        } else {
+            System.arraycopy(bytes, 0, buffer, posicao, bytes.length);
+            posicao += bytes.length;
+        }
+        if (dicionario.size() < LIMITE_DICIONARIO) {
+            dicionario.put(texto, dicionario.size());
+        }
+    }
+
+    /**
+     * Lê um log gravado por esta classe e entrega cada evento ao ouvinte.
+     * O stream não é fechado.
+     *
+     * @return número de eventos lidos
+     * @throws IOException se o log for inválido ou terminar no meio de um evento
+     */
+    public static long ler(InputStream origem, OuvinteEventos ouvinte) throws IOException {
+        Leitor leitor = new Leitor(new BufferedInputStream(origem));
+        for (byte b : MAGICO) {
+            if (leitor.byteBruto() != b) {
+                throw new IOException("Não é um log de eventos");
+            }
+        }
+        int versao = leitor.byteBruto();
+        if (versao != VERSAO) {
+            throw new IOException("Versão de log de eventos não suportada: " + versao);
+        }
+
+        long lidos = 0;
+        int tipo;
+        while ((tipo = leitor.entrada.read()) >= 0) {
+            ouvinte.receber(leitor.evento(tipo));
+            lidos++;
+        }
+        return lidos;
+    }
+
+    private static final class Leitor {
+        private static final Evento.Tipo[] TIPOS = Evento.Tipo.values();
+        private static final Evento.OrigemDano[] ORIGENS = Evento.OrigemDano.values();
+        private static final Efeito[] EFEITOS = Efeito.values();
+
+        final InputStream entrada;
+        final List<String> dicionario = new ArrayList<>();
+
+        Leitor(InputStream entrada) {
+            this.entrada = entrada;
+        }
+
+        Evento evento(int tipo) throws IOException {
+            if (tipo >= TIPOS.length) {
+                throw new IOException("Tipo de evento desconhecido no log: " + tipo);
+            }
+            switch (TIPOS[tipo]) {
+                case DADO_ROLADO:
+                    return new Evento.DadoRolado(inteiro(), inteiro());
+                case DANO_CAUSADO:
+                    return new Evento.DanoCausado(enumerado(ORIGENS), texto(), texto(), inteiro(), inteiro());
+                case ITEM_USADO:
+                    return new Evento.ItemUsado(texto(), texto(), enumerado(EFEITOS), inteiro());
+                case NIVEL_ALCANCADO:
+                    return new Evento.NivelAlcancado(texto(), inteiro(), inteiro(), inteiro(), inteiro());
+                case INIMIGO_SURGIU:
+                    return new Evento.InimigoSurgiu(texto(), texto(), inteiro(), inteiro(), inteiro(), inteiro());
+                case CAPITULO_AVANCADO:
+                    return new Evento.CapituloAvancado(inteiro());
+                default:
+                    throw new IOException("Tipo de evento desconhecido no log: " + tipo);
+            }
+        }
+
+        int byteBruto() throws IOException {
+            int b = entrada.read();
+            if (b < 0) {
+                throw new EOFException("Log de eventos truncado");
+            }
+            return b;
+        }
+
+        int inteiro() throws IOException {
+            int v = 0;
+            for (int deslocamento = 0; deslocamento < 35; deslocamento += 7) {
+                int b = byteBruto();
+                v |= (b & 0x7F) << deslocamento;
+                if ((b & 0x80) == 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new IOException("Inteiro inválido no log de eventos");
+        }
+
+        <E> E enumerado(E[] valores) throws IOException {
+            int ordinal = byteBruto();
+            if (ordinal >= valores.length) {
+                throw new IOException("Valor inválido no log de eventos: " + ordinal);
+            }
+            return valores[ordinal];
+        }
+
+        String texto() throws IOException {
+            int indice = inteiro();
+            if (indice > 0) {
+                if (indice > dicionario.size()) {
+                    throw new IOException("Texto inválido no log de eventos: " + indice);
+                }
+                return dicionario.get(indice - 1);
+            }
+            int tamanho = inteiro();
+            if (tamanho < 0) {
+                throw new IOException("Texto inválido no log de eventos");
+            }
+            byte[] bytes = entrada.readNBytes(tamanho);
+            if (bytes.length < tamanho) {
+                throw new EOFException("Log de eventos truncado");
+            }
+            String texto = new String(bytes, StandardCharsets.UTF_8);
+            if (dicionario.size() < LIMITE_DICIONARIO) {
+                dicionario.add(texto);
+            }
+            return texto;
+        }
+    }
+}
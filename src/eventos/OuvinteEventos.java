@@ -0,0 +1,12 @@
+package eventos;
+
+/**
+ * Destino dos eventos publicados em um {@link BarramentoEventos}
+ * (saída de texto, log binário, buffer em memória, estatísticas...).
+ * <p>
+ * É chamado na thread que publicou o evento e não deve bloquear.
+ */
+@FunctionalInterface
+public interface OuvinteEventos {
+    void receber(Evento evento);
+}
@@ -0,0 +1,71 @@
+package eventos;
+
+import sistema.Saida;
+
+/**
+ * Escreve cada evento como uma linha de texto em uma {@link Saida}.
+ * <p>
+ * É o ouvinte para quando há alguém assistindo (ex.: acompanhar uma
+ * simulação do {@link sistema.MotorCombate} no console); sem ele, nenhum
+ * texto é formatado.
+ */
+public class SaidaTextoEventos implements OuvinteEventos {
+    private final Saida saida;
+
+    /**
+     * @throws IllegalArgumentException se saida for nula
+     */
+    public SaidaTextoEventos(Saida saida) {
+        if (saida == null) {
+            throw new IllegalArgumentException("Saída não pode ser nula");
+        }
+        this.saida = saida;
+    }
+
+    @Override
+    public void receber(Evento evento) {
+        switch (evento.getTipo()) {
+            case DADO_ROLADO: {
+                Evento.DadoRolado e = (Evento.DadoRolado) evento;
+                saida.printf("[DADO] d%d -> %d%n", e.getFaces(), e.getResultado());
+                break;
+            }
+            case DANO_CAUSADO: {
+                Evento.DanoCausado e = (Evento.DanoCausado) evento;
+                if (e.getAtacante().isEmpty()) {
+                    saida.printf("[DANO] %s recebeu %d de dano (%s) | HP: %d%n",
+                            e.getAlvo(), e.getDano(), e.getOrigem(), e.getHpRestante());
+                } else {
+                    saida.printf("[DANO] %s causou %d de dano em %s (%s) | HP: %d%n",
+                            e.getAtacante(), e.getDano(), e.getAlvo(), e.getOrigem(), e.getHpRestante());
+                }
+                break;
+            }
+            case ITEM_USADO: {
+                Evento.ItemUsado e = (Evento.ItemUsado) evento;
+                saida.printf("[ITEM] %s usou %s: %s %d%n",
+                        e.getUsuario(), e.getItem(), e.getEfeito(), e.getValor());
+                break;
+            }
+            case NIVEL_ALCANCADO: {
+                Evento.NivelAlcancado e = (Evento.NivelAlcancado) evento;
+                saida.printf("[NIVEL] %s agora é nível %d | HP: %d | ATK: %d | DEF: %d%n",
+                        e.getPersonagem(), e.getNivel(), e.getHpMaximo(), e.getAtaque(), e.getDefesa());
+                break;
+            }
+            case INIMIGO_SURGIU: {
+                Evento.InimigoSurgiu e = (Evento.InimigoSurgiu) evento;
+                saida.printf("[INIMIGO] %s (%s, nível %d) - HP: %d | ATK: %d | DEF: %d%n",
+                        e.getNome(), e.getTipoInimigo(), e.getNivel(), e.getHp(), e.getAtaque(), e.getDefesa());
+                break;
+            }
+            case CAPITULO_AVANCADO: {
+                Evento.CapituloAvancado e = (Evento.CapituloAvancado) evento;
+                saida.printf("[CAPITULO] %d%n", e.getCapitulo());
+                break;
+            }
+            default:
+                saida.println(evento.toString());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package itens;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catálogo global de definições de item ({@link ItemDef}) definidas pelo conteúdo.
+ * <p>
+ * Os itens do jogo ficam disponíveis como constantes; os das tabelas e pacotes
+ * de conteúdo são registrados por {@link #obter}, que devolve a definição já
+ * existente quando nome, descrição, efeito e valor coincidem. Cada definição
+ * registrada recebe um id numérico sequencial, consultável por {@link #porId(int)}.
+ * Como só o conteúdo registra, os ids dependem apenas dele e o catálogo não
+ * cresce com o que é carregado durante a execução.
+ * <p>
+ * Definições vindas de fora do conteúdo (saves, itens avulsos) passam por
+ * {@link #resolver}: se existirem no catálogo, usam a mesma instância; senão
+ * ficam locais a quem as leu, com id 0, e são coletadas junto com ele.
+ */
+public final class CatalogoItens {
+    private static final Map<Assinatura, ItemDef> POR_ASSINATURA = new ConcurrentHashMap<>();
+    private static volatile ItemDef[] porId = new ItemDef[16];
+    private static int total = 0;
+
+    // Itens iniciais e achados durante a exploração
+    public static final ItemDef POCAO_VIDA = obter("Poção de Vida", "Restaura 30 HP", Efeito.CURA, 30);
+    public static final ItemDef POCAO_FORCA = obter("Poção de Força", "Aumenta ataque em 5", Efeito.BUFF_ATAQUE, 5);
+    public static final ItemDef POCAO_DEFESA = obter("Poção de Defesa", "Aumenta defesa em 5", Efeito.BUFF_DEFESA, 5);
+    public static final ItemDef ELIXIR_RARO = obter("Elixir Raro", "Restaura 50 HP", Efeito.CURA, 50);
+
+    // Loot de inimigos comuns
+    public static final ItemDef POCAO_VIDA_SAQUE = obter("Poção de Vida", "Restaura HP", Efeito.CURA, 30);
+    public static final ItemDef POCAO_FORCA_SAQUE = obter("Poção de Força", "Aumenta ataque", Efeito.BUFF_ATAQUE, 5);
+    public static final ItemDef POCAO_DEFESA_SAQUE = obter("Poção de Defesa", "Aumenta defesa", Efeito.BUFF_DEFESA, 5);
+    public static final ItemDef BOMBA = obter("Bomba", "Causa dano", Efeito.DANO, 25);
+
+    // Loot do chefe final
+    public static final ItemDef ELIXIR_LENDARIO = obter("Elixir Lendário", "Restaura 100 HP", Efeito.CURA, 100);
+    public static final ItemDef ESSENCIA_TREVAS = obter("Essência das Trevas", "Aumenta ataque em 10", Efeito.BUFF_ATAQUE, 10);
+
+    private CatalogoItens() {
+    }
+
+    /**
+     * Devolve a definição de conteúdo com esses dados, registrando-a se ainda
+     * não existir. Só para itens do jogo, das tabelas e dos pacotes de conteúdo.
+     *
+     * @throws IllegalArgumentException se nome ou efeito forem nulos
+     */
+    public static ItemDef obter(String nome, String descricao, Efeito efeito, int valorEfeito) {
+        Assinatura assinatura = assinatura(nome, descricao, efeito, valorEfeito);
+        ItemDef def = POR_ASSINATURA.get(assinatura);
+        if (def != null) {
+            return def;
+        }
+        return registrar(assinatura);
+    }
+
+    /**
+     * Devolve a definição do catálogo com esses dados ou, se não houver,
+     * uma definição nova fora dele (id 0), sem registrá-la.
+     *
+     * @throws IllegalArgumentException se nome ou efeito forem nulos
+     */
+    public static ItemDef resolver(String nome, String descricao, Efeito efeito, int valorEfeito) {
+        ItemDef def = POR_ASSINATURA.get(assinatura(nome, descricao, efeito, valorEfeito));
+        if (def != null) {
+            return def;
+        }
+        return new ItemDef(0, nome, descricao, efeito, valorEfeito);
+    }
+
+    private static Assinatura assinatura(String nome, String descricao, Efeito efeito, int valorEfeito) {
+        if (nome == null || efeito == null) {
+            throw new IllegalArgumentException("Nome e efeito do item não podem ser nulos");
+        }
+        return new Assinatura(nome, descricao, efeito, valorEfeito);
+    }
+
+    private static synchronized ItemDef registrar(Assinatura assinatura) {
+        ItemDef existente = POR_ASSINATURA.get(assinatura);
+        if (existente != null) {
+            return existente;
+        }
+
+        ItemDef def = new ItemDef(total + 1, assinatura.nome, assinatura.descricao,
+                assinatura.efeito, assinatura.valorEfeito);
+        ItemDef[] tabela = porId;
+        if (total == tabela.length) {
+            tabela = Arrays.copyOf(tabela, total * 2);
+        }
+        tabela[total++] = def;
+        porId = tabela;
+        POR_ASSINATURA.put(assinatura, def);
+        return def;
+    }
+
+    /**
+     * @param id id numérico da definição
+     * @return definição ou null se o id não existir
+     */
+    public static ItemDef porId(int id) {
+        ItemDef[] tabela = porId;
+        if (id < 1 || id > tabela.length) {
+            return null;
+        }
+        return tabela[id - 1];
+    }
+
+    /**
+     * @return número de definições registradas (as locais não contam)
+     */
+    public static synchronized int getTotal() {
+        return total;
+    }
+
+    private static final class Assinatura {
+        private final String nome;
+        private final String descricao;
+        private final Efeito efeito;
+        private final int valorEfeito;
+
+        Assinatura(String nome, String descricao, Efeito efeito, int valorEfeito) {
+            this.nome = nome;
+            this.descricao = descricao;
+            this.efeito = efeito;
+            this.valorEfeito = valorEfeito;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Assinatura)) return false;
+            Assinatura a = (Assinatura) o;
+            return valorEfeito == a.valorEfeito && efeito == a.efeito
+                    && nome.equals(a.nome) && Objects.equals(descricao, a.descricao);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(nome, descricao, efeito, valorEfeito);
+        }
+    }
+}
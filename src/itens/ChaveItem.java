@@ -0,0 +1,61 @@
+package itens;
+
+import java.util.Locale;
+
+/**
+ * Chave de agrupamento de itens no {@link Inventario}: nome em minúsculas + efeito.
+ * <p>
+ * As chaves são imutáveis e têm o hash pré-calculado. Cada {@link ItemDef}
+ * cria a sua uma vez, ao ser registrada no {@link CatalogoItens}, e as pilhas
+ * usam a da definição: adicionar ou remover itens não cria chaves, e não há
+ * cache próprio nem nomes internados que sobrevivam às definições.
+ */
+public final class ChaveItem {
+    private final String nomeNormalizado;
+    private final Efeito efeito;
+    private final int hash;
+
+    private ChaveItem(String nomeNormalizado, Efeito efeito) {
+        this.nomeNormalizado = nomeNormalizado;
+        this.efeito = efeito;
+        this.hash = nomeNormalizado.hashCode() * 31 + efeito.ordinal();
+    }
+
+    /**
+     * Cria a chave para o nome e efeito indicados. Para a chave de um item
+     * existente, use {@link ItemDef#getChave()}, que não aloca.
+     *
+     * @param nome   nome do item, como informado (a normalização é feita aqui)
+     * @param efeito efeito do item
+     */
+    public static ChaveItem de(String nome, Efeito efeito) {
+        return new ChaveItem(nome.toLowerCase(Locale.ROOT), efeito);
+    }
+
+    public String getNomeNormalizado() {
+        return nomeNormalizado;
+    }
+
+    public Efeito getEfeito() {
+        return efeito;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ChaveItem)) return false;
+        ChaveItem outra = (ChaveItem) o;
+        // pilhas da mesma definição caem no "this == o"; o hash descarta quase todo o resto
+        return hash == outra.hash && efeito == outra.efeito && nomeNormalizado.equals(outra.nomeNormalizado);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return nomeNormalizado + "_" + efeito.name();
+    }
+}
@@ -1,17 +1,52 @@
 package itens;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * Representa o inventário de um personagem.
  * <p>
- * Armazena itens com múltiplas unidades, agrupando por (nome + efeito).
- * Usa um {@link Map} interno para facilitar o merge de quantidades.
+ * Armazena itens com múltiplas unidades, agrupando por (nome + efeito), via {@link ChaveItem}.
+ * O estado é compartilhado entre cópias: as pilhas ficam em um
+ * {@link MapaPersistente} por chave e em outro por nome normalizado (buscas e
+ * remoções em O(1), sem percorrer os itens), e a lista ordenada ({@link Item#compareTo(Item)}),
+ * que atende o acesso por índice e a listagem, é um vetor de referências.
+ * <p>
+ * A cópia ({@link #Inventario(Inventario)}) é O(1), independente do número de
+ * itens: os dois lados passam a compartilhar tudo. Depois dela, cada lado copia
+ * o vetor na primeira alteração, só o caminho que toca nos mapas e só as pilhas
+ * cuja quantidade muda; o que cada um cria depois é dele e volta a ser alterado
+ * no lugar (ver o campo {@code dono}). Fotografar o personagem para autosave,
+ * desfazer ou simular jogadas não copia itens. Por isso as pilhas devolvidas
+ * ({@link #buscarPorNome}, {@link #buscarPorIndice}, {@link #getItensOrdenados})
+ * são somente leitura: os métodos de alteração de {@link Item} lançam
+ * {@link IllegalStateException} nelas.
+ * <p>
+ * Não é thread-safe: cada instância só pode ser alterada por uma thread de
+ * cada vez. A cópia não altera a origem; só marca, em um campo volátil do
+ * dono dela, que o estado passou a ser compartilhado, e a origem troca de dono
+ * na próxima alteração. Assim, várias threads podem copiar ao mesmo tempo uma
+ * instância que ninguém está alterando, e cada cópia pode seguir em uma thread.
  */
 public class Inventario {
-    private Map<String, Item> itens;
-    private int capacidadeMaxima;
+    private static final Item[] SEM_ITENS = new Item[0];
+
+    private final int capacidadeMaxima;
+    private MapaPersistente<ChaveItem, Item> itens;
+    // nome (sem espaços nas pontas, sem diferenciar maiúsculas) -> pilhas com esse nome, em ordem;
+    // quase sempre uma só. Os vetores nunca são alterados: cada mudança grava um novo.
+    private MapaPersistente<ChaveNome, Item[]> indicePorNome;
+    private final ChaveNome sonda = new ChaveNome();
+    // mesmos itens de "itens", em ordem, nas posições [0, getTamanho())
+    private Item[] ordenados;
+    // true se o vetor "ordenados" também é usado por uma cópia (ou pelo original)
+    private boolean ordenadosCompartilhados;
+    // marca nós dos mapas e pilhas criados desde a última cópia, que podem ser alterados no lugar
+    private Dono dono = new Dono();
+    private final List<Item> visaoOrdenada = new VisaoOrdenada();
 
     /**
      * @param capacidadeMaxima número máximo de tipos diferentes de item.
@@ -22,20 +57,24 @@ public class Inventario {
         if (capacidadeMaxima <= 0) {
             throw new IllegalArgumentException("Capacidade máxima deve ser positiva");
         }
-        this.itens = new HashMap<>();
         this.capacidadeMaxima = capacidadeMaxima;
+        this.itens = MapaPersistente.vazio();
+        this.indicePorNome = MapaPersistente.vazio();
+        this.ordenados = SEM_ITENS;
     }
 
     /**
-     * Construtor de cópia.
-     * Cria cópias independentes dos itens.
+     * Construtor de cópia, em O(1): as duas instâncias compartilham a estrutura
+     * e passam a evoluir de forma independente. Só lê {@code outro}, que não
+     * pode estar sendo alterado por outra thread durante a cópia.
      */
     public Inventario(Inventario outro) {
         this.capacidadeMaxima = outro.capacidadeMaxima;
-        this.itens = new HashMap<>();
-        for (Map.Entry<String, Item> entry : outro.itens.entrySet()) {
-            this.itens.put(entry.getKey(), new Item(entry.getValue()));
-        }
+        this.itens = outro.itens;
+        this.indicePorNome = outro.indicePorNome;
+        this.ordenados = outro.ordenados;
+        this.ordenadosCompartilhados = true;
+        outro.dono.copiado = true;
     }
 
     /**
@@ -51,16 +90,25 @@ public class Inventario {
             throw new IllegalArgumentException("Item não pode ser nulo");
         }
 
-        String chave = gerarChave(item);
-        
-        if (itens.containsKey(chave)) {
-            Item itemExistente = itens.get(chave);
-            itemExistente.incrementarQuantidade(item.getQuantidade());
+        prepararAlteracao();
+        ChaveItem chave = item.getChave();
+        Item itemExistente = itens.get(chave);
+
+        if (itemExistente != null) {
+            mudarQuantidade(itemExistente, itemExistente.getQuantidade() + item.getQuantidade());
         } else {
-            if (itens.size() >= capacidadeMaxima) {
+            int tamanho = itens.tamanho();
+            if (tamanho >= capacidadeMaxima) {
                 throw new IllegalStateException("Inventário cheio!");
             }
-            itens.put(chave, new Item(item));
+            Item novo = new Item(item);
+            novo.dono = dono;
+            int posicao = -(Arrays.binarySearch(ordenados, 0, tamanho, novo) + 1);
+            Item[] destino = ordenadosParaEscrita(tamanho + 1);
+            System.arraycopy(destino, posicao, destino, posicao + 1, tamanho - posicao);
+            destino[posicao] = novo;
+            itens = itens.com(chave, novo, dono);
+            indexar(novo);
         }
     }
 
@@ -87,84 +135,217 @@ public class Inventario {
             return false;
         }
 
-        item.decrementarQuantidade(quantidade);
-        
-        if (item.getQuantidade() == 0) {
-            itens.remove(gerarChave(item));
+        prepararAlteracao();
+
+        int restante = item.getQuantidade() - quantidade;
+        if (restante > 0) {
+            mudarQuantidade(item, restante);
+            return true;
         }
 
+        int tamanho = itens.tamanho();
+        int posicao = Arrays.binarySearch(ordenados, 0, tamanho, item);
+        Item[] destino = ordenadosParaEscrita(tamanho);
+        System.arraycopy(destino, posicao + 1, destino, posicao, tamanho - posicao - 1);
+        destino[tamanho - 1] = null;
+        itens = itens.sem(item.getChave(), dono);
+        desindexar(item);
         return true;
     }
 
     /**
-     * Busca item por nome (ignorando maiúsculas/minúsculas).
+     * Chamado antes de cada alteração: se uma cópia passou a compartilhar o
+     * estado, troca de dono, para não alterar no lugar o que ela enxerga.
+     */
+    private void prepararAlteracao() {
+        if (dono.copiado) {
+            dono = new Dono();
+            ordenadosCompartilhados = true;
+        }
+    }
+
+    /**
+     * Muda a quantidade de uma pilha: no lugar, se ela é desta instância, ou
+     * trocando-a por uma pilha nova, se uma cópia também a enxerga.
+     */
+    private void mudarQuantidade(Item atual, int quantidade) {
+        if (atual.dono == dono) {
+            atual.definirQuantidade(quantidade);
+            return;
+        }
+        Item novo = new Item(atual.getDefinicao(), quantidade);
+        novo.dono = dono;
+        int posicao = Arrays.binarySearch(ordenados, 0, itens.tamanho(), atual);
+        ordenadosParaEscrita(itens.tamanho())[posicao] = novo;
+        itens = itens.com(atual.getChave(), novo, dono);
+        ChaveNome nome = new ChaveNome().definir(atual.getNome());
+        Item[] mesmoNome = indicePorNome.get(nome).clone();
+        mesmoNome[posicaoNoIndice(mesmoNome, atual)] = novo;
+        indicePorNome = indicePorNome.com(nome, mesmoNome, dono);
+    }
+
+    /**
+     * @return vetor ordenado exclusivo desta instância, com espaço para {@code minimo} itens
+     */
+    private Item[] ordenadosParaEscrita(int minimo) {
+        if (ordenadosCompartilhados || ordenados.length < minimo) {
+            int capacidade = ordenados.length < minimo
+                    ? Math.max(minimo, Math.min(capacidadeMaxima, Math.max(8, ordenados.length * 2)))
+                    : ordenados.length;
+            ordenados = Arrays.copyOf(ordenados, capacidade);
+            ordenadosCompartilhados = false;
+        }
+        return ordenados;
+    }
+
+    /**
+     * Busca item por nome (ignorando maiúsculas/minúsculas e espaços nas pontas).
+     * Se houver mais de um item com o nome (efeitos diferentes), devolve o
+     * primeiro na ordem de {@link Item#compareTo(Item)}, como na listagem.
      *
      * @param nome nome do item
-     * @return referência ao item interno (não uma cópia) ou null se não encontrado
+     * @return pilha guardada no inventário (não uma cópia; somente leitura)
+     *         ou null se não encontrado
      */
     public Item buscarPorNome(String nome) {
-        if (nome == null || nome.trim().isEmpty()) {
+        if (nome == null) {
             return null;
         }
-        
-        String nomeBusca = nome.trim();
-        
-        for (Item item : itens.values()) {
-            if (item.getNome().trim().equalsIgnoreCase(nomeBusca)) {
-                return item;
-            }
+        ChaveNome chave = sonda.definir(nome);
+        if (chave.estaVazia()) {
+            return null;
         }
-        
-        return null;
+        Item[] mesmoNome = indicePorNome.get(chave);
+        return mesmoNome == null ? null : mesmoNome[0];
     }
     
     /**
      * Retorna o item pelo índice na lista ordenada.
      *
      * @param indice posição na lista ordenada (0-based)
-     * @return referência ao item interno ou null se índice for inválido
+     * @return pilha guardada no inventário (somente leitura) ou null se índice for inválido
      */
     public Item buscarPorIndice(int indice) {
-        List<Item> itensOrdenados = listarOrdenado();
-        if (indice < 0 || indice >= itensOrdenados.size()) {
+        if (indice < 0 || indice >= itens.tamanho()) {
             return null;
         }
-        
-        Item itemCopia = itensOrdenados.get(indice);
-        return buscarPorNome(itemCopia.getNome());
+        return ordenados[indice];
     }
 
     /**
      * Retorna uma lista de cópias dos itens,
      * ordenada pelo {@link Item#compareTo(Item)}.
+     * Para apenas ler os itens, prefira {@link #getItensOrdenados()}, que não copia nada.
      */
     public List<Item> listarOrdenado() {
-        return itens.values().stream()
-            .map(Item::new)
-            .sorted()
-            .collect(Collectors.toList());
+        int tamanho = itens.tamanho();
+        List<Item> copias = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            copias.add(new Item(ordenados[i]));
+        }
+        return copias;
+    }
+
+    /**
+     * Visão somente leitura dos itens, já ordenada pelo {@link Item#compareTo(Item)}.
+     * Reflete as alterações do inventário; os itens são as pilhas guardadas,
+     * também somente leitura.
+     */
+    public List<Item> getItensOrdenados() {
+        return visaoOrdenada;
     }
 
     public boolean estaVazio() {
-        return itens.isEmpty();
+        return itens.tamanho() == 0;
     }
 
     /**
      * @return quantidade de tipos de item (slots ocupados)
      */
     public int getTamanho() {
-        return itens.size();
+        return itens.tamanho();
     }
 
     /**
      * Remove todos os itens do inventário.
      */
     public void limpar() {
-        itens.clear();
+        itens = MapaPersistente.vazio();
+        indicePorNome = MapaPersistente.vazio();
+        ordenados = SEM_ITENS;
+        ordenadosCompartilhados = false;
+    }
+
+    /**
+     * Acrescenta o item às pilhas com o mesmo nome, mantendo a ordem de
+     * {@link Item#compareTo(Item)}.
+     */
+    private void indexar(Item item) {
+        ChaveNome chave = new ChaveNome().definir(item.getNome());
+        Item[] mesmoNome = indicePorNome.get(chave);
+        if (mesmoNome == null) {
+            indicePorNome = indicePorNome.com(chave, new Item[]{item}, dono);
+            return;
+        }
+        int posicao = -(Arrays.binarySearch(mesmoNome, item) + 1);
+        Item[] novo = new Item[mesmoNome.length + 1];
+        System.arraycopy(mesmoNome, 0, novo, 0, posicao);
+        novo[posicao] = item;
+        System.arraycopy(mesmoNome, posicao, novo, posicao + 1, mesmoNome.length - posicao);
+        indicePorNome = indicePorNome.com(chave, novo, dono);
     }
 
-    private String gerarChave(Item item) {
-        return item.getNome().toLowerCase() + "_" + item.getEfeito().name();
+    /**
+     * Tira o item das pilhas com o mesmo nome; se sobrar alguma, a seguinte
+     * na ordem passa a ser o resultado da busca.
+     */
+    private void desindexar(Item item) {
+        ChaveNome chave = new ChaveNome().definir(item.getNome());
+        Item[] mesmoNome = indicePorNome.get(chave);
+        if (mesmoNome.length == 1) {
+            indicePorNome = indicePorNome.sem(chave, dono);
+            return;
+        }
+        int posicao = posicaoNoIndice(mesmoNome, item);
+        Item[] novo = new Item[mesmoNome.length - 1];
+        System.arraycopy(mesmoNome, 0, novo, 0, posicao);
+        System.arraycopy(mesmoNome, posicao + 1, novo, posicao, novo.length - posicao);
+        indicePorNome = indicePorNome.com(chave, novo, dono);
+    }
+
+    private static int posicaoNoIndice(Item[] mesmoNome, Item item) {
+        for (int i = 0; i < mesmoNome.length; i++) {
+            if (mesmoNome[i] == item) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Item fora do índice por nome: " + item.getNome());
+    }
+
+    /**
+     * Marca dos nós e pilhas de uma instância. Uma cópia a marca como copiada,
+     * talvez de outra thread, e a instância dona passa a usar uma nova.
+     */
+    private static final class Dono {
+        volatile boolean copiado;
+    }
+
+    /**
+     * Lista ordenada sobre o estado atual (não sobre o de quando foi criada).
+     */
+    private final class VisaoOrdenada extends AbstractList<Item> implements RandomAccess {
+        @Override
+        public Item get(int indice) {
+            if (indice < 0 || indice >= itens.tamanho()) {
+                throw new IndexOutOfBoundsException("Índice " + indice + ", tamanho " + itens.tamanho());
+            }
+            return ordenados[indice];
+        }
+
+        @Override
+        public int size() {
+            return itens.tamanho();
+        }
     }
 
     @Override
@@ -174,10 +355,59 @@ public class Inventario {
         }
 
         StringBuilder sb = new StringBuilder("=== INVENTÁRIO ===\n");
-        List<Item> itensOrdenados = listarOrdenado();
-        for (int i = 0; i < itensOrdenados.size(); i++) {
-            sb.append(String.format("%d. %s\n", i + 1, itensOrdenados.get(i)));
+        for (int i = 0; i < itens.tamanho(); i++) {
+            sb.append(String.format("%d. %s\n", i + 1, ordenados[i]));
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Chave do índice por nome: compara ignorando espaços nas pontas e
+     * maiúsculas/minúsculas (mesma regra de {@link String#equalsIgnoreCase}),
+     * sem criar strings novas. A instância {@code sonda} é reaproveitada
+     * nas buscas.
+     */
+    private static final class ChaveNome {
+        private String nome;
+        private int inicio;
+        private int fim;
+        private int hash;
+
+        ChaveNome definir(String nome) {
+            int inicio = 0;
+            int fim = nome.length();
+            while (inicio < fim && nome.charAt(inicio) <= ' ') inicio++;
+            while (fim > inicio && nome.charAt(fim - 1) <= ' ') fim--;
+
+            int h = 0;
+            for (int i = inicio; i < fim; i++) {
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(nome.charAt(i)));
+            }
+            this.nome = nome;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.hash = h;
+            return this;
+        }
+
+        boolean estaVazia() {
+            return inicio == fim;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ChaveNome)) return false;
+            ChaveNome outra = (ChaveNome) o;
+            int tamanho = fim - inicio;
+            return hash == outra.hash
+                    && tamanho == outra.fim - outra.inicio
+                    && nome.regionMatches(true, inicio, outra.nome, outra.inicio, tamanho);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -3,7 +3,11 @@ package itens;
 import java.util.Objects;
 
 /**
- * Representa um item de jogo que pode ter múltiplas unidades.
+ * Representa um item de jogo que pode ter múltiplas unidades (uma "pilha").
+ * <p>
+ * Os dados do item (nome, descrição, efeito, valor) ficam em uma {@link ItemDef}
+ * compartilhada, obtida do {@link CatalogoItens}; a pilha guarda apenas a
+ * definição e a quantidade.
  * 
  * Igualdade lógica:
  * Dois itens são considerados iguais se tiverem o mesmo nome e o mesmo efeito.
@@ -14,15 +18,16 @@ import java.util.Objects;
  * e em caso de empate, por efeito.
  */
 public class Item implements Comparable<Item> {
-    private final String nome;
-    private final String descricao;
-    private final Efeito efeito;
+    private final ItemDef definicao;
     // quantidade é mutável (para saves, consumo, etc.)
     private int quantidade;
-    private final int valorEfeito;
+    // dono no Inventario que guarda a pilha: só ele a altera no lugar (ver Inventario);
+    // null em itens avulsos, os únicos que aceitam os métodos públicos de alteração
+    Object dono;
 
     /**
-     * Cria um novo item.
+     * Cria um novo item avulso, com a definição do {@link CatalogoItens} se ela
+     * existir ou com uma definição fora do catálogo ({@link CatalogoItens#resolver}).
      *
      * @param nome        nome do item (identidade lógica, junto com efeito)
      * @param descricao   descrição textual do item
@@ -32,56 +37,82 @@ public class Item implements Comparable<Item> {
      * @throws IllegalArgumentException se quantidade < 0
      */
     public Item(String nome, String descricao, Efeito efeito, int quantidade, int valorEfeito) {
+        this(CatalogoItens.resolver(nome, descricao, efeito, valorEfeito), quantidade);
+    }
+
+    /**
+     * Cria uma pilha de um item já definido no catálogo.
+     *
+     * @param definicao  definição do item (não pode ser nula)
+     * @param quantidade quantidade inicial (não pode ser negativa)
+     * @throws IllegalArgumentException se definicao for nula ou quantidade < 0
+     */
+    public Item(ItemDef definicao, int quantidade) {
+        if (definicao == null) {
+            throw new IllegalArgumentException("Definição do item não pode ser nula");
+        }
         if (quantidade < 0) {
             throw new IllegalArgumentException("Quantidade não pode ser negativa");
         }
-        this.nome = nome;
-        this.descricao = descricao;
-        this.efeito = efeito;
+        this.definicao = definicao;
         this.quantidade = quantidade;
-        this.valorEfeito = valorEfeito;
     }
 
     /**
-     * Construtor de cópia. Cria uma cópia independente do item.
+     * Construtor de cópia. Cria uma cópia independente do item
+     * (a definição, imutável, é compartilhada). A cópia é avulsa, mesmo que
+     * o original seja uma pilha de um inventário.
      */
     public Item(Item outro) {
-        this.nome = outro.nome;
-        this.descricao = outro.descricao;
-        this.efeito = outro.efeito;
+        this.definicao = outro.definicao;
         this.quantidade = outro.quantidade;
-        this.valorEfeito = outro.valorEfeito;
     }
 
-    public String getNome() { return nome; }
-    public String getDescricao() { return descricao; }
-    public Efeito getEfeito() { return efeito; }
+    public ItemDef getDefinicao() { return definicao; }
+    public String getNome() { return definicao.getNome(); }
+    public String getDescricao() { return definicao.getDescricao(); }
+    public Efeito getEfeito() { return definicao.getEfeito(); }
     public int getQuantidade() { return quantidade; }
-    public int getValorEfeito() { return valorEfeito; }
+    public int getValorEfeito() { return definicao.getValorEfeito(); }
+
+    /**
+     * @return chave de agrupamento no inventário (nome em minúsculas + efeito)
+     */
+    public ChaveItem getChave() { return definicao.getChave(); }
 
     /**
      * Define explicitamente a quantidade.
      * 
      * Uso principal: carregamento de save ou correção de estado.
      * Preferir usar incrementar/decrementar no fluxo normal do jogo.
+     * <p>
+     * Só vale para itens avulsos: as pilhas devolvidas por um {@link Inventario}
+     * podem ser compartilhadas com as cópias dele e são somente leitura.
      *
      * @throws IllegalArgumentException se quantidade < 0
+     * @throws IllegalStateException    se o item estiver guardado em um inventário
      */
     public void setQuantidade(int quantidade) {
-        if (quantidade < 0) {
-            throw new IllegalArgumentException("Quantidade não pode ser negativa");
-        }
-        this.quantidade = quantidade;
+        verificarAvulso();
+        definirQuantidade(quantidade);
     }
 
+    /**
+     * @throws IllegalStateException se o item estiver guardado em um inventário
+     */
     public void incrementarQuantidade(int valor) {
+        verificarAvulso();
         if (valor < 0) {
             throw new IllegalArgumentException("Valor de incremento não pode ser negativo");
         }
         this.quantidade += valor;
     }
 
+    /**
+     * @throws IllegalStateException se o item estiver guardado em um inventário
+     */
     public boolean decrementarQuantidade(int valor) {
+        verificarAvulso();
         if (valor < 0) {
             throw new IllegalArgumentException("Valor de decremento não pode ser negativo");
         }
@@ -92,6 +123,22 @@ public class Item implements Comparable<Item> {
         return false;
     }
 
+    /**
+     * Alteração feita pelo {@link Inventario} dono da pilha.
+     */
+    void definirQuantidade(int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade não pode ser negativa");
+        }
+        this.quantidade = quantidade;
+    }
+
+    private void verificarAvulso() {
+        if (dono != null) {
+            throw new IllegalStateException("Item guardado em um inventário: altere-o pelo Inventario");
+        }
+    }
+
     /**
      * Igualdade lógica: nome + efeito.
      */
@@ -100,12 +147,13 @@ public class Item implements Comparable<Item> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Item item = (Item) o;
-        return Objects.equals(nome, item.nome) && efeito == item.efeito;
+        if (definicao == item.definicao) return true;
+        return Objects.equals(getNome(), item.getNome()) && getEfeito() == item.getEfeito();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(nome, efeito);
+        return Objects.hash(getNome(), getEfeito());
     }
 
     /**
@@ -115,16 +163,19 @@ public class Item implements Comparable<Item> {
      */
     @Override
     public int compareTo(Item outro) {
-        int comparacaoNome = this.nome.compareTo(outro.nome);
+        if (definicao == outro.definicao) {
+            return 0;
+        }
+        int comparacaoNome = getNome().compareTo(outro.getNome());
         if (comparacaoNome != 0) {
             return comparacaoNome;
         }
-        return this.efeito.compareTo(outro.efeito);
+        return getEfeito().compareTo(outro.getEfeito());
     }
 
     @Override
     public String toString() {
         return String.format("%s (x%d) - %s [%s: %d]", 
-            nome, quantidade, descricao, efeito.name(), valorEfeito);
+            getNome(), quantidade, getDescricao(), getEfeito().name(), getValorEfeito());
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package itens;
+
+/**
+ * Definição imutável de um tipo de item (flyweight): nome, descrição,
+ * efeito e valor do efeito.
+ * <p>
+ * Várias pilhas de {@link Item} compartilham a mesma definição; cada pilha
+ * guarda apenas a referência para ela e a quantidade. Definições são criadas
+ * pelo {@link CatalogoItens}, que atribui o id numérico às de conteúdo; as
+ * lidas de saves que não estão no catálogo ficam fora dele, com id 0.
+ */
+public final class ItemDef {
+    private final int id;
+    private final String nome;
+    private final String descricao;
+    private final Efeito efeito;
+    private final int valorEfeito;
+    private final ChaveItem chave;
+
+    ItemDef(int id, String nome, String descricao, Efeito efeito, int valorEfeito) {
+        this.id = id;
+        this.nome = nome;
+        this.descricao = descricao;
+        this.efeito = efeito;
+        this.valorEfeito = valorEfeito;
+        this.chave = ChaveItem.de(nome, efeito);
+    }
+
+    /**
+     * @return id numérico único no catálogo (a partir de 1), ou 0 se a
+     *         definição não está no catálogo
+     */
+    public int getId() { return id; }
+    public String getNome() { return nome; }
+    public String getDescricao() { return descricao; }
+    public Efeito getEfeito() { return efeito; }
+    public int getValorEfeito() { return valorEfeito; }
+
+    /**
+     * @return chave de agrupamento no inventário (nome em minúsculas + efeito)
+     */
+    public ChaveItem getChave() { return chave; }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s - %s [%s: %d]", id, nome, descricao, efeito.name(), valorEfeito);
+    }
+}
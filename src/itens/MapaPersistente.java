@@ -0,0 +1,347 @@
+package itens;
+
+/**
+ * Mapa imutável com compartilhamento estrutural (hash array mapped trie).
+ * <p>
+ * {@link #com} e {@link #sem} devolvem um mapa novo e não alteram este: só os
+ * nós no caminho da chave (no máximo 7 níveis de até 32 entradas) são copiados,
+ * o resto é compartilhado. Por isso guardar uma versão é O(1) e versões
+ * diferentes podem ser lidas por várias threads.
+ * <p>
+ * As versões com {@code dono} alteram no lugar os nós criados com o mesmo dono
+ * (como os "transients" de outras bibliotecas), para quem não tem cópias vivas
+ * não pagar a cópia do caminho. Quem passa um dono não pode mais ler versões
+ * antigas que o usaram; ao fazer uma cópia, troque de dono (dos dois lados) e
+ * os nós já existentes passam a ser copiados como os de qualquer versão.
+ * <p>
+ * Cada nível consome 5 bits do hash; nós de ramificação guardam só as entradas
+ * presentes, indexadas por um bitmap. Chaves com o mesmo hash de 32 bits ficam
+ * em um nó de colisão. Chaves e valores não podem ser nulos.
+ */
+final class MapaPersistente<K, V> {
+    private static final int BITS = 5;
+    private static final int MASCARA = (1 << BITS) - 1;
+    private static final MapaPersistente<?, ?> VAZIO = new MapaPersistente<>(null, 0);
+
+    private final No raiz;
+    private final int tamanho;
+
+    private MapaPersistente(No raiz, int tamanho) {
+        this.raiz = raiz;
+        this.tamanho = tamanho;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> MapaPersistente<K, V> vazio() {
+        return (MapaPersistente<K, V>) VAZIO;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @return valor da chave, ou null se ela não estiver no mapa
+     */
+    @SuppressWarnings("unchecked")
+    V get(Object chave) {
+        // Desce pelos nós de ramificação em um laço, sem uma chamada por nível.
+        int hash = espalhar(chave.hashCode());
+        No no = raiz;
+        int deslocamento = 0;
+        while (no instanceof NoBitmap) {
+            NoBitmap ramo = (NoBitmap) no;
+            int bit = 1 << ((hash >>> deslocamento) & MASCARA);
+            if ((ramo.bitmap & bit) == 0) {
+                return null;
+            }
+            int i = ramo.posicao(bit);
+            Object k = ramo.dados[i];
+            if (k != null) {
+                return chave.equals(k) ? (V) ramo.dados[i + 1] : null;
+            }
+            no = (No) ramo.dados[i + 1];
+            deslocamento += BITS;
+        }
+        return no == null ? null : (V) no.buscar(hash, deslocamento, chave);
+    }
+
+    /**
+     * @return mapa com a chave associada ao valor (este mesmo, se o valor já era esse)
+     */
+    MapaPersistente<K, V> com(K chave, V valor) {
+        return com(chave, valor, null);
+    }
+
+    /**
+     * Como {@link #com(Object, Object)}, mas pode alterar nós de {@code dono}.
+     */
+    MapaPersistente<K, V> com(K chave, V valor, Object dono) {
+        int hash = espalhar(chave.hashCode());
+        Alteracao alteracao = new Alteracao(dono);
+        No novaRaiz = raiz == null
+                ? NoBitmap.VAZIO.inserir(hash, 0, chave, valor, alteracao)
+                : raiz.inserir(hash, 0, chave, valor, alteracao);
+        if (!alteracao.mudou) {
+            return this;
+        }
+        return new MapaPersistente<>(novaRaiz, alteracao.tamanho ? tamanho + 1 : tamanho);
+    }
+
+    /**
+     * @return mapa sem a chave (este mesmo, se ela não estava no mapa)
+     */
+    MapaPersistente<K, V> sem(Object chave) {
+        return sem(chave, null);
+    }
+
+    /**
+     * Como {@link #sem(Object)}, mas pode alterar nós de {@code dono}.
+     */
+    MapaPersistente<K, V> sem(Object chave, Object dono) {
+        if (raiz == null) {
+            return this;
+        }
+        Alteracao alteracao = new Alteracao(dono);
+        No novaRaiz = raiz.remover(espalhar(chave.hashCode()), 0, chave, alteracao);
+        if (!alteracao.tamanho) {
+            return this;
+        }
+        return novaRaiz == null ? vazio() : new MapaPersistente<>(novaRaiz, tamanho - 1);
+    }
+
+    private static int espalhar(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /** Dono da operação e o que ela mudou. */
+    private static final class Alteracao {
+        final Object dono;
+        boolean mudou;
+        boolean tamanho;
+
+        Alteracao(Object dono) {
+            this.dono = dono;
+        }
+    }
+
+    private abstract static class No {
+        abstract Object buscar(int hash, int deslocamento, Object chave);
+
+        abstract No inserir(int hash, int deslocamento, Object chave, Object valor, Alteracao alteracao);
+
+        /** @return nó sem a chave, ou null se ele ficou vazio */
+        abstract No remover(int hash, int deslocamento, Object chave, Alteracao alteracao);
+    }
+
+    /**
+     * Nó de ramificação. {@code dados} tem um par por bit ligado em {@code bitmap}:
+     * (chave, valor) para uma entrada, ou (null, subnó). Só muda no lugar se a
+     * operação for do seu dono.
+     */
+    private static final class NoBitmap extends No {
+        static final NoBitmap VAZIO = new NoBitmap(null, 0, new Object[0]);
+
+        final Object dono;
+        int bitmap;
+        Object[] dados;
+
+        NoBitmap(Object dono, int bitmap, Object[] dados) {
+            this.dono = dono;
+            this.bitmap = bitmap;
+            this.dados = dados;
+        }
+
+        private boolean editavel(Alteracao alteracao) {
+            return dono != null && dono == alteracao.dono;
+        }
+
+        private int posicao(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object buscar(int hash, int deslocamento, Object chave) {
+            int bit = 1 << ((hash >>> deslocamento) & MASCARA);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = posicao(bit);
+            Object k = dados[i];
+            if (k == null) {
+                return ((No) dados[i + 1]).buscar(hash, deslocamento + BITS, chave);
+            }
+            return chave.equals(k) ? dados[i + 1] : null;
+        }
+
+        @Override
+        No inserir(int hash, int deslocamento, Object chave, Object valor, Alteracao alteracao) {
+            int bit = 1 << ((hash >>> deslocamento) & MASCARA);
+            int i = posicao(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] novos = new Object[dados.length + 2];
+                System.arraycopy(dados, 0, novos, 0, i);
+                novos[i] = chave;
+                novos[i + 1] = valor;
+                System.arraycopy(dados, i, novos, i + 2, dados.length - i);
+                alteracao.tamanho = true;
+                return trocar(bitmap | bit, novos, alteracao);
+            }
+
+            Object k = dados[i];
+            Object v = dados[i + 1];
+            if (k == null) {
+                No sub = ((No) v).inserir(hash, deslocamento + BITS, chave, valor, alteracao);
+                return sub == v ? this : substituir(i, null, sub, alteracao);
+            }
+            if (chave.equals(k)) {
+                return v == valor ? this : substituir(i, k, valor, alteracao);
+            }
+            alteracao.tamanho = true;
+            No sub = criarNo(deslocamento + BITS, k, v, espalhar(k.hashCode()), chave, valor, hash, alteracao.dono);
+            return substituir(i, null, sub, alteracao);
+        }
+
+        @Override
+        No remover(int hash, int deslocamento, Object chave, Alteracao alteracao) {
+            int bit = 1 << ((hash >>> deslocamento) & MASCARA);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = posicao(bit);
+            Object k = dados[i];
+            if (k == null) {
+                No sub = ((No) dados[i + 1]).remover(hash, deslocamento + BITS, chave, alteracao);
+                if (sub == dados[i + 1]) {
+                    return this;
+                }
+                return sub == null ? retirar(bit, i, alteracao) : substituir(i, null, sub, alteracao);
+            }
+            if (!chave.equals(k)) {
+                return this;
+            }
+            alteracao.tamanho = true;
+            return retirar(bit, i, alteracao);
+        }
+
+        private NoBitmap substituir(int i, Object chave, Object valor, Alteracao alteracao) {
+            alteracao.mudou = true;
+            if (editavel(alteracao)) {
+                dados[i] = chave;
+                dados[i + 1] = valor;
+                return this;
+            }
+            Object[] novos = dados.clone();
+            novos[i] = chave;
+            novos[i + 1] = valor;
+            return new NoBitmap(alteracao.dono, bitmap, novos);
+        }
+
+        private NoBitmap retirar(int bit, int i, Alteracao alteracao) {
+            alteracao.mudou = true;
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] novos = new Object[dados.length - 2];
+            System.arraycopy(dados, 0, novos, 0, i);
+            System.arraycopy(dados, i + 2, novos, i, dados.length - i - 2);
+            return trocar(bitmap ^ bit, novos, alteracao);
+        }
+
+        private NoBitmap trocar(int novoBitmap, Object[] novos, Alteracao alteracao) {
+            alteracao.mudou = true;
+            if (editavel(alteracao)) {
+                bitmap = novoBitmap;
+                dados = novos;
+                return this;
+            }
+            return new NoBitmap(alteracao.dono, novoBitmap, novos);
+        }
+
+        private static No criarNo(int deslocamento, Object k1, Object v1, int h1,
+                                  Object k2, Object v2, int h2, Object dono) {
+            if (h1 == h2) {
+                return new NoColisao(h1, new Object[] {k1, v1, k2, v2});
+            }
+            Alteracao interna = new Alteracao(dono);
+            return VAZIO.inserir(h1, deslocamento, k1, v1, interna)
+                    .inserir(h2, deslocamento, k2, v2, interna);
+        }
+    }
+
+    /**
+     * Chaves diferentes com o mesmo hash: pares (chave, valor) em sequência.
+     * Raro o bastante para ser sempre copiado.
+     */
+    private static final class NoColisao extends No {
+        final int hash;
+        final Object[] pares;
+
+        NoColisao(int hash, Object[] pares) {
+            this.hash = hash;
+            this.pares = pares;
+        }
+
+        private int indice(Object chave) {
+            for (int i = 0; i < pares.length; i += 2) {
+                if (chave.equals(pares[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object buscar(int hash, int deslocamento, Object chave) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int i = indice(chave);
+            return i < 0 ? null : pares[i + 1];
+        }
+
+        @Override
+        No inserir(int hash, int deslocamento, Object chave, Object valor, Alteracao alteracao) {
+            if (hash != this.hash) {
+                // Outro hash chegou a este ponto: o nó de colisão desce um nível.
+                int bit = 1 << ((this.hash >>> deslocamento) & MASCARA);
+                return new NoBitmap(alteracao.dono, bit, new Object[] {null, this})
+                        .inserir(hash, deslocamento, chave, valor, alteracao);
+            }
+            int i = indice(chave);
+            if (i >= 0) {
+                if (pares[i + 1] == valor) {
+                    return this;
+                }
+                Object[] novos = pares.clone();
+                novos[i + 1] = valor;
+                alteracao.mudou = true;
+                return new NoColisao(hash, novos);
+            }
+            Object[] novos = new Object[pares.length + 2];
+            System.arraycopy(pares, 0, novos, 0, pares.length);
+            novos[pares.length] = chave;
+            novos[pares.length + 1] = valor;
+            alteracao.mudou = true;
+            alteracao.tamanho = true;
+            return new NoColisao(hash, novos);
+        }
+
+        @Override
+        No remover(int hash, int deslocamento, Object chave, Alteracao alteracao) {
+            int i = hash == this.hash ? indice(chave) : -1;
+            if (i < 0) {
+                return this;
+            }
+            alteracao.mudou = true;
+            alteracao.tamanho = true;
+            if (pares.length == 2) {
+                return null;
+            }
+            Object[] novos = new Object[pares.length - 2];
+            System.arraycopy(pares, 0, novos, 0, i);
+            System.arraycopy(pares, i + 2, novos, i, pares.length - i - 2);
+            return new NoColisao(hash, novos);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package persistencia;
+
+import sistema.FabricaThreads;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Autosave em segundo plano.
+ * <p>
+ * O jogo chama {@link #agendar(EstadoJogo)} com uma cópia do estado
+ * ({@link EstadoJogo#copiar()}), que é barata e feita na thread do jogo.
+ * A codificação e a escrita ficam com uma thread de fundo (virtual quando o
+ * runtime permite, ver {@link FabricaThreads}), então o jogo nunca espera o disco.
+ * <p>
+ * A fila é limitada: se o disco ficar para trás, as fotografias mais antigas são
+ * descartadas, porque cada uma contém o estado completo e a mais nova basta.
+ * O save é incremental ({@link SaveIncremental}), com a política de fsync do
+ * {@link GravadorSaves} recebido. Uma falha de gravação não interrompe o jogo:
+ * fica guardada até alguém a retirar com {@link #consumirErro()}.
+ * <p>
+ * A thread de fundo fica bloqueada na fila enquanto não há o que gravar;
+ * {@link #close()} a acorda com uma marca de fim, depois das fotografias pendentes.
+ */
+public class Autosave implements AutoCloseable {
+    /** Nome do save automático na pasta de saves. */
+    public static final String NOME_SAVE = "autosave";
+    public static final int CAPACIDADE_FILA_PADRAO = 2;
+    public static final int INTERVALO_EXPLORACOES_PADRAO = 5;
+    // Marca de fim colocada na fila por close(); nunca é gravada.
+    private static final EstadoJogo FIM = new EstadoJogo(
+            EstadoJogo.criarJogador("Guerreiro", "fim", 1, 0, 0, 1), 0, 0, 0, 0, false);
+
+    /** Momentos do jogo em que um autosave pode ser feito. */
+    public enum Gatilho {
+        /** A cada N explorações. */
+        EXPLORACOES,
+        /** Ao avançar de capítulo. */
+        CAPITULO,
+        /** Antes da batalha contra o chefe. */
+        ANTES_DO_BOSS
+    }
+
+    private final GravadorSaves gravador;
+    private final SaveIncremental save;
+    private final int intervaloExploracoes;
+    private final boolean aoAvancarCapitulo;
+    private final boolean antesDoBoss;
+    // uma posição a mais que a capacidade, reservada para a marca de fim
+    private final BlockingQueue<EstadoJogo> fila;
+    private final int capacidadeFila;
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicReference<Exception> ultimoErro = new AtomicReference<>();
+    private volatile boolean fechado;
+    private Thread trabalhador;
+
+    /**
+     * @param gravador             gravador usado para escrever o save
+     * @param arquivo              arquivo do autosave
+     * @param intervaloExploracoes salvar a cada N explorações (0 desliga o gatilho)
+     * @param aoAvancarCapitulo    salvar ao avançar de capítulo
+     * @param antesDoBoss          salvar antes da batalha contra o chefe
+     * @param capacidadeFila       fotografias aguardando gravação antes de descartar as antigas (&gt; 0)
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public Autosave(GravadorSaves gravador, File arquivo, int intervaloExploracoes,
+                    boolean aoAvancarCapitulo, boolean antesDoBoss, int capacidadeFila) {
+        if (gravador == null || arquivo == null) {
+            throw new IllegalArgumentException("Gravador e arquivo não podem ser nulos");
+        }
+        if (intervaloExploracoes < 0) {
+            throw new IllegalArgumentException("Intervalo de explorações não pode ser negativo");
+        }
+        if (capacidadeFila <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+        this.gravador = gravador;
+        this.save = new SaveIncremental(arquivo);
+        this.intervaloExploracoes = intervaloExploracoes;
+        this.aoAvancarCapitulo = aoAvancarCapitulo;
+        this.antesDoBoss = antesDoBoss;
+        this.capacidadeFila = capacidadeFila;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila + 1);
+    }
+
+    /**
+     * Cria o autosave em {@code Saves.arquivo(NOME_SAVE)} com a configuração das
+     * propriedades de sistema {@code rpg.autosave.exploracoes} (padrão
+     * {@value #INTERVALO_EXPLORACOES_PADRAO}; 0 desliga), {@code rpg.autosave.capitulo}
+     * e {@code rpg.autosave.boss} (padrão true).
+     *
+     * @throws IllegalArgumentException se alguma propriedade tiver valor inválido
+     */
+    public static Autosave daConfiguracao(GravadorSaves gravador) {
+        int intervalo;
+        try {
+            intervalo = Integer.parseInt(System.getProperty("rpg.autosave.exploracoes",
+                    String.valueOf(INTERVALO_EXPLORACOES_PADRAO)).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Intervalo de autosave inválido: "
+                    + System.getProperty("rpg.autosave.exploracoes"));
+        }
+        boolean capitulo = Boolean.parseBoolean(System.getProperty("rpg.autosave.capitulo", "true"));
+        boolean boss = Boolean.parseBoolean(System.getProperty("rpg.autosave.boss", "true"));
+        return new Autosave(gravador, Saves.arquivo(NOME_SAVE), intervalo, capitulo, boss, CAPACIDADE_FILA_PADRAO);
+    }
+
+    /**
+     * @param gatilho     momento do jogo
+     * @param exploracoes explorações realizadas até agora
+     * @return true se a configuração pede um autosave neste momento
+     */
+    public boolean deveSalvar(Gatilho gatilho, int exploracoes) {
+        switch (gatilho) {
+            case EXPLORACOES:
+                return intervaloExploracoes > 0 && exploracoes > 0 && exploracoes % intervaloExploracoes == 0;
+            case CAPITULO:
+                return aoAvancarCapitulo;
+            case ANTES_DO_BOSS:
+                return antesDoBoss;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Coloca a fotografia na fila sem bloquear. Se a fila estiver cheia,
+     * descarta a fotografia mais antiga.
+     *
+     * @param instantaneo cópia do estado, que não será mais modificada pelo jogo
+     * @throws IllegalStateException se o autosave já foi fechado
+     */
+    public synchronized void agendar(EstadoJogo instantaneo) {
+        if (fechado) {
+            throw new IllegalStateException("Autosave fechado");
+        }
+        if (instantaneo == null) {
+            throw new IllegalArgumentException("Estado não pode ser nulo");
+        }
+        iniciarTrabalhador();
+        while (fila.size() >= capacidadeFila) {
+            if (fila.poll() != null) {
+                descartados.incrementAndGet();
+            }
+        }
+        fila.offer(instantaneo);
+    }
+
+    /**
+     * @return número de autosaves escritos
+     */
+    public long getGravados() {
+        return gravados.get();
+    }
+
+    /**
+     * @return número de fotografias descartadas porque uma mais nova chegou antes da gravação
+     */
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    /**
+     * @return último erro de gravação, ou null se não houve
+     */
+    public Exception getUltimoErro() {
+        return ultimoErro.get();
+    }
+
+    /**
+     * Retira o último erro de gravação, para que cada falha seja informada uma vez.
+     *
+     * @return erro ainda não informado, ou null se não houve
+     */
+    public Exception consumirErro() {
+        return ultimoErro.getAndSet(null);
+    }
+
+    /**
+     * Grava a fotografia pendente, se houver, e encerra a thread de fundo.
+     */
+    @Override
+    public void close() {
+        Thread atual;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            atual = trabalhador;
+            if (atual != null) {
+                // Sempre cabe: agendar() deixa a última posição livre.
+                fila.offer(FIM);
+            }
+        }
+        if (atual != null) {
+            try {
+                atual.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void iniciarTrabalhador() {
+        if (trabalhador == null) {
+            trabalhador = FabricaThreads.virtuaisOuDaemon("autosave").newThread(this::executar);
+            trabalhador.start();
+        }
+    }
+
+    private void executar() {
+        boolean fim = false;
+        while (!fim) {
+            EstadoJogo estado;
+            try {
+                estado = fila.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            // Só a fotografia mais nova interessa; a marca de fim é sempre a última da fila.
+            EstadoJogo maisNovo;
+            while (estado != FIM && (maisNovo = fila.poll()) != null) {
+                if (maisNovo == FIM) {
+                    fim = true;
+                    break;
+                }
+                estado = maisNovo;
+                descartados.incrementAndGet();
+            }
+            if (estado == FIM) {
+                return;
+            }
+
+            try {
+                File pasta = save.getArquivo().getAbsoluteFile().getParentFile();
+                if (pasta != null && !pasta.exists()) {
+                    pasta.mkdirs();
+                }
+                gravador.gravar(save, estado);
+                gravados.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                ultimoErro.set(e);
+            }
+        }
+    }
+}
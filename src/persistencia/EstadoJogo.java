@@ -0,0 +1,75 @@
+package persistencia;
+
+import personagens.Arqueiro;
+import personagens.Guerreiro;
+import personagens.Mago;
+import personagens.Personagem;
+
+/**
+ * Estado de uma partida que é gravado em um save:
+ * o personagem (com inventário) e o progresso do jogo.
+ */
+public class EstadoJogo {
+    private final Personagem jogador;
+    private final int xpAtual;
+    private final int xpProximoNivel;
+    private final int capitulo;
+    private final int exploracoes;
+    private final boolean bossDerrotado;
+
+    /**
+     * @param jogador        personagem da partida (não pode ser nulo)
+     * @param xpAtual        XP acumulado no nível atual
+     * @param xpProximoNivel XP necessário para o próximo nível
+     * @param capitulo       capítulo atual da história
+     * @param exploracoes    número de explorações realizadas
+     * @param bossDerrotado  se o chefe final já foi derrotado
+     * @throws IllegalArgumentException se jogador for nulo
+     */
+    public EstadoJogo(Personagem jogador, int xpAtual, int xpProximoNivel,
+                      int capitulo, int exploracoes, boolean bossDerrotado) {
+        if (jogador == null) {
+            throw new IllegalArgumentException("Jogador não pode ser nulo");
+        }
+        this.jogador = jogador;
+        this.xpAtual = xpAtual;
+        this.xpProximoNivel = xpProximoNivel;
+        this.capitulo = capitulo;
+        this.exploracoes = exploracoes;
+        this.bossDerrotado = bossDerrotado;
+    }
+
+    public Personagem getJogador() { return jogador; }
+    public int getXpAtual() { return xpAtual; }
+    public int getXpProximoNivel() { return xpProximoNivel; }
+    public int getCapitulo() { return capitulo; }
+    public int getExploracoes() { return exploracoes; }
+    public boolean isBossDerrotado() { return bossDerrotado; }
+
+    /**
+     * @return cópia independente do estado (personagem e inventário copiados),
+     *         que pode ser gravada em outra thread enquanto a partida continua
+     */
+    public EstadoJogo copiar() {
+        return new EstadoJogo(jogador.copiar(), xpAtual, xpProximoNivel, capitulo, exploracoes, bossDerrotado);
+    }
+
+    /**
+     * Recria o personagem de um save a partir do nome da classe.
+     *
+     * @param classe nome simples da classe ("Guerreiro", "Mago" ou "Arqueiro")
+     * @return personagem com HP cheio; o chamador ajusta o HP atual
+     * @throws IllegalArgumentException se a classe for desconhecida
+     */
+    public static Personagem criarJogador(String classe, String nome, int hpMax,
+                                          int ataque, int defesa, int nivel) {
+        if ("Guerreiro".equals(classe)) {
+            return new Guerreiro(nome, hpMax, ataque, defesa, nivel);
+        } else if ("Mago".equals(classe)) {
+            return new Mago(nome, hpMax, ataque, defesa, nivel);
+        } else if ("Arqueiro".equals(classe)) {
+            return new Arqueiro(nome, hpMax, ataque, defesa, nivel);
+        }
+        throw new IllegalArgumentException("Classe inválida no save!");
+    }
+}
@@ -0,0 +1,95 @@
+package persistencia;
+
+import itens.Item;
+import itens.ItemDef;
+import personagens.Personagem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estado de um save em forma plana: campos numéricos, tabela de definições
+ * de itens e a quantidade de cada definição. É o que o formato binário
+ * grava no corpo e o que os deltas de {@link SaveIncremental} alteram.
+ * <p>
+ * Definições cuja pilha acabou continuam na tabela com quantidade 0,
+ * para que os índices usados pelos deltas anteriores permaneçam válidos.
+ */
+final class Fotografia {
+    static final int NIVEL = 0;
+    static final int CAPITULO = 1;
+    static final int EXPLORACOES = 2;
+    static final int BOSS_DERROTADO = 3;
+    static final int HP = 4;
+    static final int HP_MAXIMO = 5;
+    static final int ATAQUE = 6;
+    static final int DEFESA = 7;
+    static final int XP = 8;
+    static final int XP_PROXIMO = 9;
+    /** Número de campos; os do resumo (nível a boss) vêm primeiro. */
+    static final int TOTAL_CAMPOS = 10;
+
+    String classe;
+    String nome;
+    final int[] campos = new int[TOTAL_CAMPOS];
+    final List<ItemDef> tabela = new ArrayList<>();
+    int[] quantidades = new int[8];
+
+    /**
+     * Fotografa o estado da partida. A tabela segue a ordem do inventário.
+     */
+    static Fotografia de(EstadoJogo estado) {
+        Fotografia foto = new Fotografia();
+        Personagem jogador = estado.getJogador();
+        foto.classe = jogador.getClass().getSimpleName();
+        foto.nome = jogador.getNome();
+        foto.campos[NIVEL] = jogador.getNivel();
+        foto.campos[CAPITULO] = estado.getCapitulo();
+        foto.campos[EXPLORACOES] = estado.getExploracoes();
+        foto.campos[BOSS_DERROTADO] = estado.isBossDerrotado() ? 1 : 0;
+        foto.campos[HP] = jogador.getPontosVida();
+        foto.campos[HP_MAXIMO] = jogador.getPontosVidaMaximos();
+        foto.campos[ATAQUE] = jogador.getAtaque();
+        foto.campos[DEFESA] = jogador.getDefesa();
+        foto.campos[XP] = estado.getXpAtual();
+        foto.campos[XP_PROXIMO] = estado.getXpProximoNivel();
+        for (Item item : jogador.getInventario().getItensOrdenados()) {
+            foto.adicionarDefinicao(item.getDefinicao(), item.getQuantidade());
+        }
+        return foto;
+    }
+
+    /**
+     * Acrescenta uma definição ao fim da tabela.
+     *
+     * @return índice da definição
+     */
+    int adicionarDefinicao(ItemDef def, int quantidade) {
+        int indice = tabela.size();
+        tabela.add(def);
+        if (indice == quantidades.length) {
+            quantidades = Arrays.copyOf(quantidades, indice * 2);
+        }
+        quantidades[indice] = quantidade;
+        return indice;
+    }
+
+    /**
+     * Monta o personagem e o estado da partida.
+     *
+     * @throws IllegalArgumentException se a classe for desconhecida
+     */
+    EstadoJogo paraEstado() {
+        Personagem jogador = EstadoJogo.criarJogador(classe, nome, campos[HP_MAXIMO],
+                campos[ATAQUE], campos[DEFESA], campos[NIVEL]);
+        jogador.setPontosVida(campos[HP]);
+        for (int i = 0; i < tabela.size(); i++) {
+            if (quantidades[i] > 0) {
+                jogador.getInventario().adicionar(new Item(tabela.get(i), quantidades[i]));
+            }
+        }
+        return new EstadoJogo(jogador, campos[XP], campos[XP_PROXIMO],
+                campos[CAPITULO], campos[EXPLORACOES], campos[BOSS_DERROTADO] != 0);
+    }
+}
@@ -0,0 +1,365 @@
+package persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grava saves binários de forma segura contra quedas.
+ * <p>
+ * Cada save é escrito em um arquivo temporário na mesma pasta, forçado para o
+ * disco e só então renomeado por cima do destino com um move atômico. Um
+ * leitor vê sempre o save antigo completo ou o novo completo, nunca um arquivo
+ * truncado, nem depois de uma queda. A {@link PoliticaFsync} decide quando a
+ * renomeação (a entrada da pasta) e os deltas acrescentados vão para o disco.
+ * <p>
+ * {@link #gravarEmSegundoPlano} codifica o estado na thread de quem chama
+ * (o buffer resultante é uma cópia independente da partida) e deixa a escrita
+ * para uma única thread dedicada, então o loop do jogo não espera o disco.
+ * As gravações em segundo plano são feitas na ordem em que foram pedidas.
+ * <p>
+ * Saves incrementais ({@link SaveIncremental}) acrescentam deltas ao fim do
+ * arquivo em vez de substituí-lo; a política de fsync vale também para eles.
+ * <p>
+ * Com um {@link IndiceSaves} definido, cada save gravado ou com delta
+ * acrescentado é registrado nele logo depois da escrita, inclusive os do
+ * {@link Autosave}: um delta não muda a data da pasta, então o catálogo não
+ * teria como percebê-lo sozinho.
+ */
+public class GravadorSaves implements AutoCloseable {
+    /** Número de saves por lote em {@link PoliticaFsync#EM_LOTE}. */
+    public static final int TAMANHO_LOTE_PADRAO = 8;
+
+    private final PoliticaFsync politica;
+    private final int tamanhoLote;
+    private final Set<Path> pendentes = new LinkedHashSet<>();
+    private final AtomicInteger naFila = new AtomicInteger();
+    private ExecutorService executor;
+    private boolean fechado;
+    private volatile IndiceSaves indice;
+
+    /**
+     * Cria um gravador com a política de {@link PoliticaFsync#daConfiguracao()}.
+     */
+    public GravadorSaves() {
+        this(PoliticaFsync.daConfiguracao(), TAMANHO_LOTE_PADRAO);
+    }
+
+    /**
+     * @param politica    quando forçar os saves para o disco (não pode ser nula)
+     * @param tamanhoLote saves por lote em {@link PoliticaFsync#EM_LOTE} (&gt; 0)
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public GravadorSaves(PoliticaFsync politica, int tamanhoLote) {
+        if (politica == null) {
+            throw new IllegalArgumentException("Política de fsync não pode ser nula");
+        }
+        if (tamanhoLote <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote deve ser positivo");
+        }
+        this.politica = politica;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public PoliticaFsync getPolitica() {
+        return politica;
+    }
+
+    /**
+     * Define o catálogo avisado a cada save gravado (null para nenhum).
+     * Saves fora da pasta do catálogo são ignorados por ele.
+     */
+    public void setIndice(IndiceSaves indice) {
+        this.indice = indice;
+    }
+
+    /**
+     * Grava o save e só retorna depois da renomeação (e do fsync da pasta, se a política exigir).
+     */
+    public void gravar(EstadoJogo estado, File destino) throws IOException {
+        gravarPartes(SaveBinario.serializar(estado), destino.toPath());
+    }
+
+    /**
+     * Grava um save incremental: acrescenta um delta ao arquivo ou, quando é
+     * hora de compactar, regrava a fotografia completa.
+     */
+    public void gravar(SaveIncremental save, EstadoJogo estado) throws IOException {
+        SaveIncremental.Gravacao gravacao = save.preparar(estado);
+        if (gravacao != null) {
+            executar(save, gravacao);
+        }
+    }
+
+    /**
+     * Agenda a gravação de um save incremental na thread do gravador.
+     * O delta é calculado antes de retornar.
+     *
+     * @return futuro concluído com o arquivo gravado, ou com a falha de escrita
+     * @throws IllegalStateException se o gravador já foi fechado
+     */
+    public synchronized CompletableFuture<File> gravarEmSegundoPlano(SaveIncremental save, EstadoJogo estado) {
+        verificarAberto();
+        SaveIncremental.Gravacao gravacao = save.preparar(estado);
+        if (gravacao == null) {
+            return CompletableFuture.completedFuture(save.getArquivo());
+        }
+        return agendar(save.getArquivo(), () -> executar(save, gravacao));
+    }
+
+    /**
+     * Agenda a gravação do save na thread do gravador.
+     * O estado é codificado antes de retornar, então a partida pode continuar
+     * sendo modificada logo em seguida.
+     *
+     * @return futuro concluído com o arquivo gravado, ou com a falha de escrita
+     * @throws IllegalStateException se o gravador já foi fechado
+     */
+    public synchronized CompletableFuture<File> gravarEmSegundoPlano(EstadoJogo estado, File destino) {
+        verificarAberto();
+        ByteBuffer[] partes = SaveBinario.serializar(estado);
+        return agendar(destino, () -> gravarPartes(partes, destino.toPath()));
+    }
+
+    private void verificarAberto() {
+        if (fechado) {
+            throw new IllegalStateException("Gravador de saves fechado");
+        }
+    }
+
+    /**
+     * Escrita executada pela thread do gravador.
+     */
+    private interface Escrita {
+        void executar() throws IOException;
+    }
+
+    private CompletableFuture<File> agendar(File destino, Escrita escrita) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "gravador-saves");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        CompletableFuture<File> futuro = new CompletableFuture<>();
+        naFila.incrementAndGet();
+        executor.execute(() -> {
+            try {
+                escrita.executar();
+                futuro.complete(destino);
+            } catch (IOException | RuntimeException e) {
+                futuro.completeExceptionally(e);
+            }
+            if (naFila.decrementAndGet() == 0 && politica == PoliticaFsync.EM_LOTE) {
+                try {
+                    sincronizar();
+                } catch (IOException e) {
+                    // O save já foi renomeado; só a garantia de durabilidade do lote falhou.
+                }
+            }
+        });
+        return futuro;
+    }
+
+    /**
+     * Força para o disco os saves ainda pendentes de {@link PoliticaFsync#EM_LOTE}:
+     * os deltas acrescentados e as pastas onde houve renomeações.
+     */
+    public void sincronizar() throws IOException {
+        Path[] lote;
+        synchronized (pendentes) {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            lote = pendentes.toArray(new Path[0]);
+            pendentes.clear();
+        }
+
+        Set<Path> pastas = new LinkedHashSet<>();
+        for (Path arquivo : lote) {
+            // Um arquivo recém-renomeado já foi forçado; forçá-lo de novo é barato.
+            try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+                canal.force(true);
+            } catch (NoSuchFileException e) {
+                // Substituído ou apagado depois da gravação; nada a forçar.
+            }
+            pastas.add(pasta(arquivo));
+        }
+        for (Path pasta : pastas) {
+            forcarPasta(pasta);
+        }
+    }
+
+    /**
+     * Espera as gravações em segundo plano terminarem, força os saves
+     * pendentes e encerra a thread do gravador.
+     */
+    @Override
+    public void close() throws IOException {
+        ExecutorService atual;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            atual = executor;
+        }
+        if (atual != null) {
+            atual.shutdown();
+            try {
+                while (!atual.awaitTermination(1, TimeUnit.SECONDS)) {
+                    // Continua esperando: abandonar a fila perderia saves.
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sincronizar();
+    }
+
+    private void gravarPartes(ByteBuffer[] partes, Path destino) throws IOException {
+        gravarAtomico(partes, destino);
+        if (politica == PoliticaFsync.SEMPRE) {
+            forcarPasta(pasta(destino));
+        } else if (politica == PoliticaFsync.EM_LOTE) {
+            adicionarAoLote(destino);
+        }
+        registrarNoIndice(destino);
+    }
+
+    /**
+     * Acrescenta o delta se o arquivo ainda é o que o save incremental gravou
+     * por último; senão (ou se a escrita falhar) regrava o estado completo.
+     */
+    private void executar(SaveIncremental save, SaveIncremental.Gravacao gravacao) throws IOException {
+        Path destino = save.getArquivo().toPath();
+        try {
+            if (gravacao.delta && tamanhoAtual(destino) == gravacao.tamanhoAnterior) {
+                acrescentar(gravacao.partes, destino);
+            } else {
+                if (gravacao.delta) {
+                    // Arquivo substituído ou truncado por fora: os próximos deltas também não servem.
+                    save.invalidar();
+                }
+                gravarPartes(gravacao.delta ? SaveBinario.serializar(gravacao.resultado) : gravacao.partes, destino);
+            }
+        } catch (IOException | RuntimeException e) {
+            save.invalidar();
+            throw e;
+        }
+    }
+
+    private void acrescentar(ByteBuffer[] partes, Path destino) throws IOException {
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer ultima = partes[partes.length - 1];
+            while (ultima.hasRemaining()) {
+                canal.write(partes);
+            }
+            if (politica == PoliticaFsync.SEMPRE) {
+                canal.force(true);
+            }
+        }
+        if (politica == PoliticaFsync.EM_LOTE) {
+            adicionarAoLote(destino);
+        }
+        registrarNoIndice(destino);
+    }
+
+    private void registrarNoIndice(Path destino) {
+        IndiceSaves atual = indice;
+        if (atual == null) {
+            return;
+        }
+        try {
+            atual.registrar(destino.toFile());
+        } catch (IOException e) {
+            // O save já foi gravado; o catálogo o confere quando ele for listado.
+        }
+    }
+
+    private void adicionarAoLote(Path destino) throws IOException {
+        boolean loteCheio;
+        synchronized (pendentes) {
+            pendentes.add(destino);
+            loteCheio = pendentes.size() >= tamanhoLote;
+        }
+        if (loteCheio) {
+            sincronizar();
+        }
+    }
+
+    private static long tamanhoAtual(Path arquivo) {
+        try {
+            return Files.size(arquivo);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Escreve as partes em um arquivo temporário ao lado do destino, força-o
+     * para o disco e o renomeia por cima do destino. Se a renomeação atômica não
+     * for suportada pelo sistema de arquivos, usa uma substituição comum.
+     * <p>
+     * O temporário é sempre forçado antes da renomeação: sem isso, uma queda
+     * pode deixar a renomeação no disco e os dados não, e o destino fica vazio
+     * no lugar do arquivo antigo. Só o fsync da pasta fica a cargo de quem chama.
+     */
+    public static void gravarAtomico(ByteBuffer[] partes, Path destino) throws IOException {
+        Path pasta = pasta(destino);
+        Path temporario = Files.createTempFile(pasta, "." + destino.getFileName(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer ultima = partes[partes.length - 1];
+                while (ultima.hasRemaining()) {
+                    canal.write(partes);
+                }
+                canal.force(true);
+            }
+            try {
+                Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Força a entrada de diretório (a renomeação) para o disco.
+     * Em sistemas que não permitem abrir pastas, como o Windows, não faz nada.
+     */
+    private static void forcarPasta(Path pasta) {
+        try (FileChannel canal = FileChannel.open(pasta, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Sem suporte a fsync de diretório; o arquivo em si já foi forçado.
+        }
+    }
+
+    private static Path pasta(Path arquivo) {
+        Path pasta = arquivo.toAbsolutePath().getParent();
+        if (pasta == null) {
+            throw new IllegalArgumentException("Arquivo de save sem pasta: " + arquivo);
+        }
+        return pasta;
+    }
+}
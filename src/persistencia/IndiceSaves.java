@@ -0,0 +1,678 @@
+package persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catálogo persistente da pasta de saves, para listar, paginar e buscar
+ * saves sem abrir cada arquivo nem ordenar a pasta a cada menu.
+ * <p>
+ * O catálogo fica no arquivo {@value #ARQUIVO} dentro da pasta, como um diário
+ * de registros (save atualizado, save removido, marca da pasta), enquadrados
+ * como o diário do {@link SaveBinario}, com tamanho e CRC32C. Atualizações só
+ * acrescentam registros; quando o diário fica muito maior que o número de saves,
+ * ele é compactado em um arquivo novo, com uma geração nova no cabeçalho.
+ * <p>
+ * Ao abrir, o catálogo é confiável se a data de modificação da pasta for a da
+ * última marca gravada; caso contrário (ou se o diário estiver corrompido), a
+ * pasta é reconciliada: só os saves novos ou com data/tamanho diferentes têm o
+ * resumo relido. Deltas acrescentados a um save no lugar não mudam a data da
+ * pasta, então ela não basta: quem grava neste processo avisa o catálogo
+ * ({@link GravadorSaves#setIndice}), mudanças feitas por outros processos
+ * chegam por um {@link WatchService} e são aplicadas em {@link #atualizar()},
+ * e os saves de cada página devolvida por {@link #buscar} têm a data e o
+ * tamanho conferidos. Fora a reconciliação, nada consulta a pasta inteira.
+ * <p>
+ * Vários processos podem usar a mesma pasta: cada alteração do diário é feita
+ * com o arquivo {@value #ARQUIVO_TRAVA} travado ({@link FileChannel#lock()}) e
+ * começa aplicando o que os outros acrescentaram desde a última leitura, então
+ * uma compactação não descarta registros acabados de acrescentar por outro.
+ * <p>
+ * Os métodos são sincronizados: saves gravados em segundo plano podem ser
+ * registrados pela thread do {@link GravadorSaves}.
+ */
+public class IndiceSaves implements AutoCloseable {
+    /** Nome do arquivo do catálogo dentro da pasta de saves. */
+    public static final String ARQUIVO = ".indice-saves";
+    /** Arquivo travado durante as alterações do catálogo; ao contrário do diário, nunca é substituído. */
+    public static final String ARQUIVO_TRAVA = ARQUIVO + ".trava";
+    static final byte[] MAGICO = {'R', 'P', 'G', 'I'};
+    static final int VERSAO = 2;
+
+    /** Mágico, versão (u16) e geração (u64), sorteada a cada compactação. */
+    private static final int TAMANHO_CABECALHO = 14;
+    private static final int REGISTRO_SAVE = 1;
+    private static final int REGISTRO_REMOCAO = 2;
+    private static final int REGISTRO_MARCA = 3;
+    /** Registros extras tolerados no diário antes de compactar. */
+    private static final int FOLGA_COMPACTACAO = 64;
+    // Um FileLock vale para a JVM inteira: dois catálogos do mesmo processo não podem pedi-lo juntos.
+    private static final Object TRAVA_PROCESSO = new Object();
+
+    private final Path pasta;
+    private final Path arquivoIndice;
+    private final Map<String, ResumoSave> porArquivo = new HashMap<>();
+    private final List<ResumoSave> ordenados = new ArrayList<>();
+    private WatchService observador;
+    private FileChannel trava;
+    private int registros;
+    private long marcaPasta = Long.MIN_VALUE;
+    // geração e tamanho do diário já aplicados à memória (geração 0: nenhum)
+    private long geracao;
+    private long tamanhoDiario;
+
+    private IndiceSaves(Path pasta) {
+        this.pasta = pasta;
+        this.arquivoIndice = pasta.resolve(ARQUIVO);
+    }
+
+    /**
+     * Abre (ou cria) o catálogo da pasta, reconciliando-o se a pasta mudou
+     * desde a última execução.
+     *
+     * @param pasta pasta de saves (criada se não existir)
+     */
+    public static IndiceSaves abrir(File pasta) throws IOException {
+        Path caminho = pasta.toPath();
+        Files.createDirectories(caminho);
+        IndiceSaves indice = new IndiceSaves(caminho);
+
+        // O observador é registrado antes da leitura para não perder mudanças feitas durante ela.
+        try {
+            indice.observador = caminho.getFileSystem().newWatchService();
+            caminho.register(indice.observador, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Sem observador, atualizar() compara a data da pasta.
+            indice.observador = null;
+        }
+
+        try {
+            indice.trava = FileChannel.open(caminho.resolve(ARQUIVO_TRAVA),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            indice.comTrava(() -> {
+                if (!indice.carregar() || indice.marcaPasta != indice.dataPasta()) {
+                    indice.reconciliar();
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            indice.close();
+            throw e;
+        }
+        return indice;
+    }
+
+    /**
+     * Aplica o que outros processos acrescentaram ao catálogo e as mudanças
+     * da pasta vistas pelo observador desde a última chamada.
+     */
+    public synchronized void atualizar() throws IOException {
+        comTrava(() -> {
+            sincronizarDiario();
+            if (observador == null) {
+                if (marcaPasta != dataPasta()) {
+                    reconciliar();
+                }
+                return;
+            }
+
+            boolean perdeuEventos = false;
+            WatchKey chave;
+            while ((chave = observador.poll()) != null) {
+                for (WatchEvent<?> evento : chave.pollEvents()) {
+                    if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        perdeuEventos = true;
+                        continue;
+                    }
+                    String nome = evento.context().toString();
+                    if (Saves.ehSave(nome)) {
+                        registrarArquivo(pasta.resolve(nome));
+                    }
+                }
+                if (!chave.reset()) {
+                    // A pasta foi apagada ou ficou inacessível.
+                    perdeuEventos = true;
+                }
+            }
+
+            if (perdeuEventos) {
+                reconciliar();
+            } else {
+                marcar();
+                compactarSeNecessario();
+            }
+        });
+    }
+
+    /**
+     * Atualiza o resumo de um save recém-gravado, substituído ou com delta
+     * acrescentado (ou o remove, se o arquivo não existe mais). Arquivos fora
+     * da pasta do catálogo são ignorados.
+     */
+    public synchronized void registrar(File arquivo) throws IOException {
+        Path pastaArquivo = arquivo.toPath().toAbsolutePath().normalize().getParent();
+        if (!pasta.toAbsolutePath().normalize().equals(pastaArquivo)) {
+            return;
+        }
+        comTrava(() -> {
+            sincronizarDiario();
+            registrarArquivo(arquivo.toPath());
+            marcar();
+            compactarSeNecessario();
+        });
+    }
+
+    /**
+     * @return número de saves no catálogo
+     */
+    public synchronized int getTotal() {
+        return ordenados.size();
+    }
+
+    /**
+     * Conta os saves cujo nome ou nome do personagem contém o termo.
+     *
+     * @param termo termo de busca; vazio ou null conta todos
+     */
+    public synchronized int contar(String termo) {
+        String busca = normalizarBusca(termo);
+        if (busca == null) {
+            return ordenados.size();
+        }
+        int total = 0;
+        for (ResumoSave resumo : ordenados) {
+            if (resumo.contem(busca)) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retorna uma página da listagem, na ordem de {@link ResumoSave#POR_ARQUIVO}.
+     * A data e o tamanho dos saves da página são conferidos no disco, e os que
+     * mudaram sem passar pelo catálogo têm o resumo relido.
+     *
+     * @param termo      termo de busca; vazio ou null lista todos
+     * @param inicio     posição do primeiro resultado (&gt;= 0)
+     * @param quantidade número máximo de resultados (&gt; 0)
+     * @return cópia da página
+     */
+    public synchronized List<ResumoSave> buscar(String termo, int inicio, int quantidade) {
+        if (inicio < 0 || quantidade <= 0) {
+            throw new IllegalArgumentException("Página inválida: início " + inicio + ", quantidade " + quantidade);
+        }
+        String busca = normalizarBusca(termo);
+        List<ResumoSave> pagina = pagina(busca, inicio, quantidade);
+        if (conferir(pagina)) {
+            pagina = pagina(busca, inicio, quantidade);
+        }
+        return pagina;
+    }
+
+    private List<ResumoSave> pagina(String busca, int inicio, int quantidade) {
+        if (busca == null) {
+            int fim = Math.min(ordenados.size(), inicio + quantidade);
+            return inicio >= fim ? new ArrayList<>() : new ArrayList<>(ordenados.subList(inicio, fim));
+        }
+
+        List<ResumoSave> pagina = new ArrayList<>();
+        int encontrados = 0;
+        for (ResumoSave resumo : ordenados) {
+            if (resumo.contem(busca) && encontrados++ >= inicio) {
+                pagina.add(resumo);
+                if (pagina.size() == quantidade) {
+                    break;
+                }
+            }
+        }
+        return pagina;
+    }
+
+    /**
+     * Confere a data e o tamanho dos saves mostrados e relê os que mudaram
+     * (ex.: deltas acrescentados por um processo sem observador). Só a página
+     * é consultada, nunca a pasta inteira.
+     *
+     * @return true se algum save mudou
+     */
+    private boolean conferir(List<ResumoSave> pagina) {
+        List<Path> mudaram = new ArrayList<>();
+        for (ResumoSave resumo : pagina) {
+            Path arquivo = pasta.resolve(resumo.getArquivo());
+            try {
+                BasicFileAttributes atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+                if (!resumo.atual(atributos.lastModifiedTime().toMillis(), atributos.size())) {
+                    mudaram.add(arquivo);
+                }
+            } catch (NoSuchFileException e) {
+                mudaram.add(arquivo);
+            } catch (IOException e) {
+                // Sem como conferir agora: fica o resumo do catálogo.
+            }
+        }
+        if (mudaram.isEmpty()) {
+            return false;
+        }
+        try {
+            comTrava(() -> {
+                sincronizarDiario();
+                for (Path arquivo : mudaram) {
+                    registrarArquivo(arquivo);
+                }
+                compactarSeNecessario();
+            });
+        } catch (IOException e) {
+            // A página sai com o que foi possível atualizar.
+        }
+        return true;
+    }
+
+    /**
+     * @return arquivo do save descrito pelo resumo
+     */
+    public File arquivo(ResumoSave resumo) {
+        return pasta.resolve(resumo.getArquivo()).toFile();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (observador != null) {
+                observador.close();
+                observador = null;
+            }
+        } finally {
+            if (trava != null) {
+                trava.close();
+                trava = null;
+            }
+        }
+    }
+
+    /**
+     * Alteração do diário, feita com a trava.
+     */
+    private interface Alteracao {
+        void executar() throws IOException;
+    }
+
+    /**
+     * Executa a alteração com {@value #ARQUIVO_TRAVA} travado contra os outros
+     * processos e os outros catálogos deste processo. Depois de {@link #close()},
+     * não faz nada.
+     */
+    private void comTrava(Alteracao alteracao) throws IOException {
+        if (trava == null) {
+            return;
+        }
+        synchronized (TRAVA_PROCESSO) {
+            FileLock bloqueio = trava.lock();
+            try {
+                alteracao.executar();
+            } finally {
+                bloqueio.release();
+            }
+        }
+    }
+
+    private static String normalizarBusca(String termo) {
+        if (termo == null || termo.trim().isEmpty()) {
+            return null;
+        }
+        return termo.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void registrarArquivo(Path arquivo) throws IOException {
+        String nome = arquivo.getFileName().toString();
+        BasicFileAttributes atributos;
+        try {
+            atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            if (porArquivo.containsKey(nome)) {
+                remover(nome);
+                anexarRemocao(nome);
+            }
+            return;
+        }
+
+        ResumoSave atual = porArquivo.get(nome);
+        if (atual != null && atual.atual(atributos.lastModifiedTime().toMillis(), atributos.size())) {
+            return;
+        }
+        ResumoSave resumo = lerResumo(arquivo.toFile());
+        if (resumo != null) {
+            colocar(resumo);
+            anexarSave(resumo);
+        }
+    }
+
+    /**
+     * @return resumo do arquivo, ou null se ele não puder ser lido
+     *         (ainda sendo escrito por outro processo, corrompido, etc.)
+     */
+    private static ResumoSave lerResumo(File arquivo) {
+        try {
+            if (Saves.ehTexto(arquivo)) {
+                BasicFileAttributes atributos = Files.readAttributes(arquivo.toPath(), BasicFileAttributes.class);
+                return ResumoSave.de(arquivo, atributos, SaveTexto.ler(arquivo));
+            }
+            return SaveBinario.lerResumo(arquivo);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void colocar(ResumoSave resumo) {
+        ResumoSave anterior = porArquivo.put(resumo.getArquivo(), resumo);
+        int pos = Collections.binarySearch(ordenados, resumo, ResumoSave.POR_ARQUIVO);
+        if (anterior != null) {
+            ordenados.set(pos, resumo);
+        } else {
+            ordenados.add(-(pos + 1), resumo);
+        }
+    }
+
+    private void remover(String arquivo) {
+        ResumoSave anterior = porArquivo.remove(arquivo);
+        if (anterior != null) {
+            ordenados.remove(Collections.binarySearch(ordenados, anterior, ResumoSave.POR_ARQUIVO));
+        }
+    }
+
+    /**
+     * Relê a pasta inteira, reaproveitando os resumos que ainda batem
+     * com a data e o tamanho dos arquivos, e regrava o catálogo compactado.
+     */
+    private void reconciliar() throws IOException {
+        Map<String, ResumoSave> novos = new HashMap<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(pasta,
+                p -> Saves.ehSave(p.getFileName().toString()))) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                BasicFileAttributes atributos;
+                try {
+                    atributos = Files.readAttributes(arquivo, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                if (!atributos.isRegularFile()) {
+                    continue;
+                }
+                ResumoSave resumo = porArquivo.get(nome);
+                if (resumo == null || !resumo.atual(atributos.lastModifiedTime().toMillis(), atributos.size())) {
+                    resumo = lerResumo(arquivo.toFile());
+                }
+                if (resumo != null) {
+                    novos.put(nome, resumo);
+                }
+            }
+        }
+
+        porArquivo.clear();
+        porArquivo.putAll(novos);
+        reordenar();
+        compactar();
+    }
+
+    private void reordenar() {
+        ordenados.clear();
+        ordenados.addAll(porArquivo.values());
+        ordenados.sort(ResumoSave.POR_ARQUIVO);
+    }
+
+    private void compactarSeNecessario() throws IOException {
+        if (registros > 2 * porArquivo.size() + FOLGA_COMPACTACAO) {
+            compactar();
+        }
+    }
+
+    /**
+     * Regrava o catálogo com um registro por save, em uma geração nova.
+     */
+    private void compactar() throws IOException {
+        long novaGeracao;
+        do {
+            novaGeracao = ThreadLocalRandom.current().nextLong();
+        } while (novaGeracao == 0 || novaGeracao == geracao);
+
+        SaveBinario.Escritor escritor = new SaveBinario.Escritor(64 + ordenados.size() * 64);
+        ByteBuffer cabecalho = cabecalho(novaGeracao);
+        int total = 0;
+        for (ResumoSave resumo : ordenados) {
+            SaveBinario.escreverRegistro(escritor, payloadSave(resumo));
+            total++;
+        }
+        ByteBuffer corpo = escritor.paraLeitura();
+        long tamanho = cabecalho.remaining() + corpo.remaining();
+        GravadorSaves.gravarAtomico(new ByteBuffer[]{cabecalho, corpo}, arquivoIndice);
+        registros = total;
+        geracao = novaGeracao;
+        tamanhoDiario = tamanho;
+        marcaPasta = Long.MIN_VALUE;
+
+        // A renomeação mudou a data da pasta; a marca registra o estado já compactado.
+        marcar();
+    }
+
+    /**
+     * Traz para a memória o que outros processos acrescentaram ao diário desde
+     * a última leitura, lendo só o cabeçalho e os bytes novos. Se o diário foi
+     * compactado por outro processo (geração diferente), relê tudo; se sumiu,
+     * regrava-o a partir da memória.
+     */
+    private void sincronizarDiario() throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivoIndice, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO || tamanho < tamanhoDiario
+                    || geracaoDe(ler(canal, 0, TAMANHO_CABECALHO)) != geracao) {
+                recarregar();
+                return;
+            }
+            if (tamanho == tamanhoDiario) {
+                return;
+            }
+            if (!aplicarRegistros(ler(canal, tamanhoDiario, (int) (tamanho - tamanhoDiario)))) {
+                recarregar();
+                return;
+            }
+            tamanhoDiario = tamanho;
+            reordenar();
+        } catch (NoSuchFileException e) {
+            compactar();
+        }
+    }
+
+    private void recarregar() throws IOException {
+        if (!carregar() || marcaPasta != dataPasta()) {
+            reconciliar();
+        }
+    }
+
+    private static ByteBuffer ler(FileChannel canal, long posicao, int tamanho) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(tamanho);
+        while (bytes.hasRemaining() && canal.read(bytes, posicao + bytes.position()) >= 0) {
+            // lê o trecho inteiro
+        }
+        bytes.flip();
+        return bytes;
+    }
+
+    /**
+     * Grava a data atual da pasta, se mudou desde a última marca.
+     */
+    private void marcar() throws IOException {
+        long data = dataPasta();
+        if (data != marcaPasta) {
+            marcaPasta = data;
+            SaveBinario.Escritor payload = new SaveBinario.Escritor(16);
+            payload.inteiro(REGISTRO_MARCA);
+            payload.longo(data);
+            anexar(payload.paraLeitura());
+        }
+    }
+
+    private void anexarSave(ResumoSave resumo) throws IOException {
+        anexar(payloadSave(resumo));
+    }
+
+    private void anexarRemocao(String arquivo) throws IOException {
+        SaveBinario.Escritor payload = new SaveBinario.Escritor(32);
+        payload.inteiro(REGISTRO_REMOCAO);
+        payload.string(arquivo);
+        anexar(payload.paraLeitura());
+    }
+
+    /**
+     * Acrescenta um registro ao diário. Só é chamado com a trava e depois de
+     * {@link #sincronizarDiario()}, então o diário existe e está todo aplicado.
+     */
+    private void anexar(ByteBuffer payload) throws IOException {
+        SaveBinario.Escritor registro = new SaveBinario.Escritor(payload.remaining() + SaveBinario.TAMANHO_CABECALHO_REGISTRO);
+        SaveBinario.escreverRegistro(registro, payload);
+        ByteBuffer bytes = registro.paraLeitura();
+        try (FileChannel diario = FileChannel.open(arquivoIndice, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                diario.write(bytes);
+            }
+            tamanhoDiario = diario.size();
+        }
+        registros++;
+    }
+
+    private static ByteBuffer payloadSave(ResumoSave resumo) {
+        SaveBinario.Escritor payload = new SaveBinario.Escritor(64);
+        payload.inteiro(REGISTRO_SAVE);
+        payload.string(resumo.getArquivo());
+        payload.string(resumo.getClasse());
+        payload.string(resumo.getNome());
+        payload.inteiro(resumo.getNivel());
+        payload.inteiro(resumo.getCapitulo());
+        payload.inteiro(resumo.getExploracoes());
+        payload.longo(resumo.getModificadoEm());
+        payload.longo(resumo.getTamanho());
+        return payload.paraLeitura();
+    }
+
+    private static ByteBuffer cabecalho(long geracao) {
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+        cabecalho.put(MAGICO).putShort((short) VERSAO).putLong(geracao);
+        cabecalho.flip();
+        return cabecalho;
+    }
+
+    /**
+     * @return geração do cabeçalho, ou 0 se não for um cabeçalho desta versão
+     */
+    private static long geracaoDe(ByteBuffer buffer) {
+        if (buffer.remaining() < TAMANHO_CABECALHO) {
+            return 0;
+        }
+        byte[] magico = new byte[MAGICO.length];
+        buffer.get(magico);
+        if (!Arrays.equals(magico, MAGICO) || (buffer.getShort() & 0xFFFF) != VERSAO) {
+            return 0;
+        }
+        return buffer.getLong();
+    }
+
+    /**
+     * Lê o diário do catálogo inteiro, substituindo o que estava na memória.
+     *
+     * @return false se o arquivo não existe, é de outra versão ou termina em um
+     *         registro inválido (neste caso a pasta precisa ser reconciliada)
+     */
+    private boolean carregar() throws IOException {
+        porArquivo.clear();
+        registros = 0;
+        marcaPasta = Long.MIN_VALUE;
+        geracao = 0;
+        tamanhoDiario = 0;
+        if (!Files.isRegularFile(arquivoIndice)) {
+            reordenar();
+            return false;
+        }
+        try {
+            ByteBuffer buffer = SaveBinario.lerArquivo(arquivoIndice);
+            long lida = geracaoDe(buffer);
+            if (lida == 0 || !aplicarRegistros(buffer)) {
+                return false;
+            }
+            geracao = lida;
+            tamanhoDiario = buffer.capacity();
+        } finally {
+            reordenar();
+        }
+        return true;
+    }
+
+    /**
+     * Aplica os registros do buffer até o fim.
+     *
+     * @return false se algum registro estiver incompleto ou ilegível
+     */
+    private boolean aplicarRegistros(ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) {
+                ByteBuffer registro = SaveBinario.lerRegistro(buffer);
+                if (registro == null) {
+                    return false;
+                }
+                aplicarRegistro(new SaveBinario.Leitor(registro));
+                registros++;
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Registro ilegível: o catálogo é refeito a partir da pasta.
+            return false;
+        }
+        return true;
+    }
+
+    private void aplicarRegistro(SaveBinario.Leitor leitor) throws IOException {
+        int tipo = leitor.inteiro();
+        switch (tipo) {
+            case REGISTRO_SAVE:
+                ResumoSave resumo = new ResumoSave(leitor.string(), leitor.string(), leitor.string(),
+                        leitor.inteiro(), leitor.inteiro(), leitor.inteiro(), leitor.longo(), leitor.longo());
+                porArquivo.put(resumo.getArquivo(), resumo);
+                break;
+            case REGISTRO_REMOCAO:
+                porArquivo.remove(leitor.string());
+                break;
+            case REGISTRO_MARCA:
+                marcaPasta = leitor.longo();
+                break;
+            default:
+                throw new IOException("Registro desconhecido no catálogo: " + tipo);
+        }
+    }
+
+    /**
+     * @return data de modificação da pasta, com a maior precisão disponível
+     */
+    private long dataPasta() throws IOException {
+        return Files.getLastModifiedTime(pasta).to(TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,52 @@
+package persistencia;
+
+import java.util.Locale;
+
+/**
+ * Quando o {@link GravadorSaves} força a pasta de saves e os deltas para o
+ * disco (fsync).
+ * <p>
+ * Em todas as políticas o save completo é escrito em um temporário, forçado
+ * para o disco e só então renomeado de forma atômica, então um save nunca
+ * aparece pela metade ou vazio, nem depois de uma queda. A política decide
+ * quando a renomeação e os deltas de {@link SaveIncremental} chegam ao disco,
+ * ou seja, quanto trabalho recente pode se perder se a máquina cair.
+ */
+public enum PoliticaFsync {
+    /** Força a pasta depois de cada renomeação e cada delta acrescentado. Mais seguro e mais lento. */
+    SEMPRE,
+    /**
+     * Força as pastas e os deltas pendentes em grupo: a cada lote de gravações
+     * ou quando a fila de segundo plano esvazia. Uma queda antes do lote pode
+     * devolver o save anterior (renomeação perdida) ou cortar os últimos
+     * deltas, o que é detectado pelo checksum na leitura.
+     */
+    EM_LOTE,
+    /**
+     * Não força a pasta nem os deltas; o sistema operacional decide quando
+     * escrevê-los. O conteúdo do save renomeado continua forçado.
+     */
+    NUNCA;
+
+    /** Propriedade de sistema lida por {@link #daConfiguracao()}. */
+    public static final String PROPRIEDADE = "rpg.fsync";
+
+    /**
+     * Lê a política da propriedade {@value #PROPRIEDADE}
+     * ({@code sempre}, {@code em_lote} ou {@code nunca}).
+     *
+     * @return política configurada, ou {@link #SEMPRE} se não houver configuração
+     * @throws IllegalArgumentException se o valor configurado for inválido
+     */
+    public static PoliticaFsync daConfiguracao() {
+        String valor = System.getProperty(PROPRIEDADE);
+        if (valor == null || valor.trim().isEmpty()) {
+            return SEMPRE;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Política de fsync inválida: " + valor);
+        }
+    }
+}
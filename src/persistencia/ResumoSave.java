@@ -0,0 +1,110 @@
+package persistencia;
+
+import personagens.Personagem;
+
+import java.io.File;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Metadados de um save para listagem: o arquivo, o personagem e o progresso,
+ * sem o inventário. Imutável.
+ */
+public final class ResumoSave {
+    /** Ordem da listagem: nome do arquivo sem diferenciar maiúsculas. */
+    public static final Comparator<ResumoSave> POR_ARQUIVO =
+            Comparator.comparing(ResumoSave::getArquivo, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(ResumoSave::getArquivo);
+
+    private final String arquivo;
+    private final String classe;
+    private final String nome;
+    private final int nivel;
+    private final int capitulo;
+    private final int exploracoes;
+    private final long modificadoEm;
+    private final long tamanho;
+
+    /**
+     * @param arquivo      nome do arquivo dentro da pasta de saves (com extensão)
+     * @param classe       classe do personagem
+     * @param nome         nome do personagem
+     * @param nivel        nível do personagem
+     * @param capitulo     capítulo atual
+     * @param exploracoes  explorações realizadas
+     * @param modificadoEm data de modificação do arquivo (ms desde a época)
+     * @param tamanho      tamanho do arquivo em bytes
+     */
+    public ResumoSave(String arquivo, String classe, String nome, int nivel, int capitulo,
+                      int exploracoes, long modificadoEm, long tamanho) {
+        if (arquivo == null || arquivo.isEmpty()) {
+            throw new IllegalArgumentException("Nome do arquivo não pode ser vazio");
+        }
+        this.arquivo = arquivo;
+        this.classe = classe == null ? "" : classe;
+        this.nome = nome == null ? "" : nome;
+        this.nivel = nivel;
+        this.capitulo = capitulo;
+        this.exploracoes = exploracoes;
+        this.modificadoEm = modificadoEm;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Monta o resumo a partir de um estado já carregado (usado para saves em texto).
+     *
+     * @param atributos atributos do arquivo, lidos antes do estado
+     */
+    static ResumoSave de(File arquivo, BasicFileAttributes atributos, EstadoJogo estado) {
+        Personagem jogador = estado.getJogador();
+        return new ResumoSave(arquivo.getName(), jogador.getClass().getSimpleName(), jogador.getNome(),
+                jogador.getNivel(), estado.getCapitulo(), estado.getExploracoes(),
+                atributos.lastModifiedTime().toMillis(), atributos.size());
+    }
+
+    public String getArquivo() { return arquivo; }
+    public String getClasse() { return classe; }
+    public String getNome() { return nome; }
+    public int getNivel() { return nivel; }
+    public int getCapitulo() { return capitulo; }
+    public int getExploracoes() { return exploracoes; }
+    public long getModificadoEm() { return modificadoEm; }
+    public long getTamanho() { return tamanho; }
+
+    /**
+     * @return nome do save (arquivo sem extensão)
+     */
+    public String getNomeSave() {
+        int ponto = arquivo.lastIndexOf('.');
+        return ponto > 0 ? arquivo.substring(0, ponto) : arquivo;
+    }
+
+    /**
+     * @return true se o save está no formato de texto antigo
+     */
+    public boolean isTexto() {
+        return arquivo.toLowerCase(Locale.ROOT).endsWith(Saves.EXTENSAO_TEXTO);
+    }
+
+    /**
+     * @return true se o resumo ainda descreve o arquivo com essa data e tamanho
+     */
+    boolean atual(long modificadoEm, long tamanho) {
+        return this.modificadoEm == modificadoEm && this.tamanho == tamanho;
+    }
+
+    /**
+     * @param termoMinusculo termo de busca já em minúsculas
+     * @return true se o nome do save ou do personagem contém o termo
+     */
+    boolean contem(String termoMinusculo) {
+        return arquivo.toLowerCase(Locale.ROOT).contains(termoMinusculo)
+                || nome.toLowerCase(Locale.ROOT).contains(termoMinusculo);
+    }
+
+    @Override
+    public String toString() {
+        return getNomeSave() + " - " + nome + " (" + classe + " nv " + nivel + ", capítulo " + capitulo + ")";
+    }
+}
@@ -0,0 +1,446 @@
+package persistencia;
+
+import itens.CatalogoItens;
+import itens.Efeito;
+import itens.ItemDef;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato de save binário (extensão {@code .sav}).
+ * <p>
+ * Layout (inteiros em varint com zigzag, strings em UTF-8 com tamanho em varint):
+ * <pre>
+ * cabeçalho fixo (16 bytes): "RPGS" | versão (u16) | reservado (u16) | tamanho do corpo (u32) | CRC32C do corpo (u32)
+ * corpo:
+ *   classe, nome, nível, capítulo, explorações, boss derrotado   (resumo)
+ *   hp atual, hp máximo, ataque, defesa, xp atual, xp próximo nível
+ *   tabela de itens: n, e para cada definição: nome, descrição, efeito, valor
+ *   pilhas: n, e para cada pilha: índice na tabela, quantidade
+ * diário (versão 3): registros de delta de {@link SaveIncremental}, cada um com
+ *   tamanho (u32) | CRC32C (u32) | conteúdo
+ * </pre>
+ * O resumo vem primeiro para que listagens possam ler só o começo do arquivo.
+ * A gravação é feita com uma única escrita agrupada (cabeçalho + corpo) e a
+ * leitura traz o arquivo inteiro para o heap de uma vez ({@link #lerArquivo}),
+ * sem parsing de texto.
+ * <p>
+ * A leitura confere o CRC32C e rejeita saves corrompidos ou truncados.
+ * Um registro do diário incompleto ou inválido (queda no meio de um acréscimo)
+ * encerra a leitura do diário: o save volta ao último delta íntegro.
+ * Arquivos das versões 1 (cabeçalho de 12 bytes, sem checksum) e 2 (sem diário)
+ * continuam sendo lidos.
+ */
+public class SaveBinario {
+    public static final String EXTENSAO = ".sav";
+    static final byte[] MAGICO = {'R', 'P', 'G', 'S'};
+    static final int VERSAO = 3;
+    static final int VERSAO_SEM_DIARIO = 2;
+    static final int VERSAO_SEM_CHECKSUM = 1;
+    static final int TAMANHO_CABECALHO = 16;
+    static final int TAMANHO_CABECALHO_V1 = 12;
+    /** Tamanho (u32) e CRC32C (u32) antes de cada registro de diário. */
+    static final int TAMANHO_CABECALHO_REGISTRO = 8;
+
+    private SaveBinario() {
+    }
+
+    /**
+     * Grava o estado no arquivo, substituindo-o de forma atômica
+     * (arquivo temporário forçado para o disco + renomeação), sem forçar a pasta.
+     * Para escolher a política de fsync ou gravar em segundo plano, use {@link GravadorSaves}.
+     */
+    public static void escrever(EstadoJogo estado, File arquivo) throws IOException {
+        GravadorSaves.gravarAtomico(serializar(estado), arquivo.toPath());
+    }
+
+    /**
+     * Lê um save binário.
+     *
+     * @throws IOException se o arquivo não puder ser lido ou não estiver no formato esperado
+     */
+    public static EstadoJogo ler(File arquivo) throws IOException {
+        return decodificar(lerArquivo(arquivo.toPath()));
+    }
+
+    /**
+     * Lê o resumo do save, para listar saves. Sem deltas, só o começo do
+     * arquivo é decodificado, sem conferir o checksum nem ler os itens; com
+     * deltas, o resumo do começo pode estar desatualizado e o save é
+     * decodificado inteiro, com o checksum e os deltas conferidos.
+     * <p>
+     * A data e o tamanho do resumo são lidos antes do conteúdo: se o arquivo
+     * mudar durante a leitura, eles ficam para trás e o resumo é relido na
+     * próxima conferência, em vez de parecer atual.
+     *
+     * @throws IOException se o arquivo não puder ser lido ou não estiver no formato esperado
+     */
+    public static ResumoSave lerResumo(File arquivo) throws IOException {
+        BasicFileAttributes atributos = Files.readAttributes(arquivo.toPath(), BasicFileAttributes.class);
+        long modificadoEm = atributos.lastModifiedTime().toMillis();
+        long tamanhoArquivo = atributos.size();
+        ByteBuffer buffer = lerArquivo(arquivo.toPath());
+        Leitor leitor = new Leitor(buffer);
+        leitor.cabecalho(false);
+
+        if (buffer.limit() < buffer.capacity()) {
+            // Há deltas depois do corpo: o resumo do começo pode estar desatualizado.
+            buffer.rewind().limit(buffer.capacity());
+            Fotografia foto = decodificarFotografia(buffer);
+            return new ResumoSave(arquivo.getName(), foto.classe, foto.nome,
+                    foto.campos[Fotografia.NIVEL], foto.campos[Fotografia.CAPITULO],
+                    foto.campos[Fotografia.EXPLORACOES], modificadoEm, tamanhoArquivo);
+        }
+
+        String classe = leitor.string();
+        String nome = leitor.string();
+        int nivel = leitor.inteiro();
+        int capitulo = leitor.inteiro();
+        int exploracoes = leitor.inteiro();
+        return new ResumoSave(arquivo.getName(), classe, nome, nivel, capitulo, exploracoes,
+                modificadoEm, tamanhoArquivo);
+    }
+
+    /**
+     * Lê o arquivo inteiro para um buffer no heap. Os arquivos de save e do
+     * catálogo não são mapeados em memória: o mapeamento só é desfeito
+     * pelo GC e, até lá, o Windows recusa renomear outro arquivo por cima
+     * dele ou apagá-lo.
+     */
+    static ByteBuffer lerArquivo(Path arquivo) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(arquivo));
+    }
+
+    /**
+     * Converte um save no formato de texto antigo para o formato binário.
+     *
+     * @param texto   arquivo {@code .txt} existente
+     * @param binario arquivo {@code .sav} a ser gravado
+     */
+    public static void converterTexto(File texto, File binario) throws IOException {
+        escrever(SaveTexto.ler(texto), binario);
+    }
+
+    /**
+     * Codifica o estado em cabeçalho e corpo, prontos para uma escrita agrupada.
+     */
+    static ByteBuffer[] serializar(EstadoJogo estado) {
+        return serializar(Fotografia.de(estado));
+    }
+
+    static ByteBuffer[] serializar(Fotografia foto) {
+        ByteBuffer corpo = codificar(foto);
+        CRC32C crc = new CRC32C();
+        crc.update(corpo.duplicate());
+
+        ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+        cabecalho.put(MAGICO).putShort((short) VERSAO).putShort((short) 0)
+                .putInt(corpo.remaining()).putInt((int) crc.getValue());
+        cabecalho.flip();
+        return new ByteBuffer[]{cabecalho, corpo};
+    }
+
+    static ByteBuffer codificar(EstadoJogo estado) {
+        return codificar(Fotografia.de(estado));
+    }
+
+    static ByteBuffer codificar(Fotografia foto) {
+        Escritor escritor = new Escritor(256);
+
+        escritor.string(foto.classe);
+        escritor.string(foto.nome);
+        // Nível, capítulo, explorações e boss (resumo); depois HP, ataque, defesa e XP.
+        for (int campo = 0; campo < Fotografia.TOTAL_CAMPOS; campo++) {
+            escritor.inteiro(foto.campos[campo]);
+        }
+
+        escritor.inteiro(foto.tabela.size());
+        int pilhas = 0;
+        for (int i = 0; i < foto.tabela.size(); i++) {
+            escreverDefinicao(escritor, foto.tabela.get(i));
+            if (foto.quantidades[i] > 0) {
+                pilhas++;
+            }
+        }
+        escritor.inteiro(pilhas);
+        for (int i = 0; i < foto.tabela.size(); i++) {
+            if (foto.quantidades[i] > 0) {
+                escritor.inteiro(i);
+                escritor.inteiro(foto.quantidades[i]);
+            }
+        }
+        return escritor.paraLeitura();
+    }
+
+    static EstadoJogo decodificar(ByteBuffer buffer) throws IOException {
+        try {
+            return decodificarFotografia(buffer).paraEstado();
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodifica o corpo e aplica os deltas do diário, se houver.
+     */
+    static Fotografia decodificarFotografia(ByteBuffer buffer) throws IOException {
+        int fimArquivo = buffer.limit();
+        Leitor leitor = new Leitor(buffer);
+        int versao = leitor.cabecalho(true);
+        int fimCorpo = buffer.limit();
+
+        Fotografia foto = new Fotografia();
+        foto.classe = leitor.string();
+        foto.nome = leitor.string();
+        for (int campo = 0; campo < Fotografia.TOTAL_CAMPOS; campo++) {
+            foto.campos[campo] = leitor.inteiro();
+        }
+
+        int definicoes = leitor.inteiro();
+        for (int i = 0; i < definicoes; i++) {
+            foto.adicionarDefinicao(lerDefinicao(leitor), 0);
+        }
+        int pilhas = leitor.inteiro();
+        for (int i = 0; i < pilhas; i++) {
+            int indice = leitor.inteiro();
+            int quantidade = leitor.inteiro();
+            if (indice < 0 || indice >= foto.tabela.size()) {
+                throw new IOException("Item inválido no save: " + indice);
+            }
+            foto.quantidades[indice] = quantidade;
+        }
+
+        if (versao >= VERSAO) {
+            buffer.limit(fimArquivo).position(fimCorpo);
+            ByteBuffer registro;
+            while ((registro = lerRegistro(buffer)) != null) {
+                SaveIncremental.aplicarDelta(foto, new Leitor(registro));
+            }
+        }
+        return foto;
+    }
+
+    /**
+     * Lê uma definição de item (nome, descrição, efeito, valor) e a resolve no
+     * catálogo; definições desconhecidas ficam só no estado lido, sem id.
+     */
+    static ItemDef lerDefinicao(Leitor leitor) throws IOException {
+        Efeito[] efeitos = Efeito.values();
+        String nomeItem = leitor.string();
+        String descricao = leitor.string();
+        int efeito = leitor.inteiro();
+        int valor = leitor.inteiro();
+        if (efeito < 0 || efeito >= efeitos.length) {
+            throw new IOException("Efeito inválido no save: " + efeito);
+        }
+        return CatalogoItens.resolver(nomeItem, descricao, efeitos[efeito], valor);
+    }
+
+    static void escreverDefinicao(Escritor escritor, ItemDef def) {
+        escritor.string(def.getNome());
+        escritor.string(def.getDescricao());
+        escritor.inteiro(def.getEfeito().ordinal());
+        escritor.inteiro(def.getValorEfeito());
+    }
+
+    /**
+     * Enquadra um registro de diário: tamanho (u32) | CRC32C (u32) | conteúdo.
+     */
+    static void escreverRegistro(Escritor escritor, ByteBuffer conteudo) {
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo.duplicate());
+        escritor.bruto(ByteBuffer.allocate(TAMANHO_CABECALHO_REGISTRO)
+                .putInt(conteudo.remaining()).putInt((int) crc.getValue()).flip());
+        escritor.bruto(conteudo);
+    }
+
+    /**
+     * Lê o próximo registro de diário do buffer.
+     *
+     * @return conteúdo do registro, ou null no fim do buffer ou em um registro
+     *         incompleto ou com checksum inválido
+     */
+    static ByteBuffer lerRegistro(ByteBuffer buffer) {
+        if (buffer.remaining() < TAMANHO_CABECALHO_REGISTRO) {
+            return null;
+        }
+        int inicio = buffer.position();
+        int tamanho = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (tamanho < 0 || tamanho > buffer.remaining()) {
+            buffer.position(inicio);
+            return null;
+        }
+        ByteBuffer conteudo = buffer.slice();
+        conteudo.limit(tamanho);
+
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            buffer.position(inicio);
+            return null;
+        }
+        buffer.position(buffer.position() + tamanho);
+        return conteudo;
+    }
+
+    /**
+     * Buffer crescente para codificar varints e strings.
+     * Também usado pelo {@link IndiceSaves}.
+     */
+    static final class Escritor {
+        private ByteBuffer buffer;
+
+        Escritor(int capacidade) {
+            buffer = ByteBuffer.allocate(capacidade);
+        }
+
+        void inteiro(int valor) {
+            int v = (valor << 1) ^ (valor >> 31);
+            garantir(5);
+            while ((v & ~0x7F) != 0) {
+                buffer.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            buffer.put((byte) v);
+        }
+
+        void longo(long valor) {
+            long v = (valor << 1) ^ (valor >> 63);
+            garantir(10);
+            while ((v & ~0x7FL) != 0) {
+                buffer.put((byte) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            buffer.put((byte) v);
+        }
+
+        void string(String valor) {
+            byte[] bytes = valor == null ? new byte[0] : valor.getBytes(StandardCharsets.UTF_8);
+            inteiro(bytes.length);
+            garantir(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void bruto(ByteBuffer bytes) {
+            garantir(bytes.remaining());
+            buffer.put(bytes);
+        }
+
+        private void garantir(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer maior = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                maior.put(buffer);
+                buffer = maior;
+            }
+        }
+
+        ByteBuffer paraLeitura() {
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Leitura de varints e strings de um buffer.
+     */
+    static final class Leitor {
+        private final ByteBuffer buffer;
+
+        Leitor(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Valida o cabeçalho e limita o buffer ao corpo declarado.
+         *
+         * @param verificar true para conferir o checksum do corpo (versão 2 em diante)
+         * @return versão do arquivo
+         */
+        int cabecalho(boolean verificar) throws IOException {
+            if (buffer.remaining() < TAMANHO_CABECALHO_V1) {
+                throw new IOException("Save corrompido: arquivo muito curto");
+            }
+            byte[] magico = new byte[MAGICO.length];
+            buffer.get(magico);
+            if (!Arrays.equals(magico, MAGICO)) {
+                throw new IOException("Arquivo não é um save binário");
+            }
+            int versao = buffer.getShort() & 0xFFFF;
+            if (versao < VERSAO_SEM_CHECKSUM || versao > VERSAO) {
+                throw new IOException("Versão de save não suportada: " + versao);
+            }
+            buffer.getShort();
+            int tamanho = buffer.getInt();
+            int checksum = 0;
+            if (versao >= VERSAO_SEM_DIARIO) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    throw new IOException("Save corrompido: arquivo muito curto");
+                }
+                checksum = buffer.getInt();
+            }
+            if (tamanho < 0 || tamanho > buffer.remaining()) {
+                throw new IOException("Save corrompido: corpo truncado");
+            }
+            buffer.limit(buffer.position() + tamanho);
+
+            if (verificar && versao >= VERSAO_SEM_DIARIO) {
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    throw new IOException("Save corrompido: checksum não confere");
+                }
+            }
+            return versao;
+        }
+
+        int inteiro() throws IOException {
+            int v = 0;
+            for (int deslocamento = 0; deslocamento < 35; deslocamento += 7) {
+                if (!buffer.hasRemaining()) {
+                    throw new IOException("Save corrompido: fim inesperado");
+                }
+                byte b = buffer.get();
+                v |= (b & 0x7F) << deslocamento;
+                if (b >= 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new IOException("Save corrompido: inteiro inválido");
+        }
+
+        long longo() throws IOException {
+            long v = 0;
+            for (int deslocamento = 0; deslocamento < 70; deslocamento += 7) {
+                if (!buffer.hasRemaining()) {
+                    throw new IOException("Save corrompido: fim inesperado");
+                }
+                byte b = buffer.get();
+                v |= (long) (b & 0x7F) << deslocamento;
+                if (b >= 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new IOException("Save corrompido: inteiro inválido");
+        }
+
+        String string() throws IOException {
+            int tamanho = inteiro();
+            if (tamanho < 0 || tamanho > buffer.remaining()) {
+                throw new IOException("Save corrompido: texto inválido");
+            }
+            byte[] bytes = new byte[tamanho];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
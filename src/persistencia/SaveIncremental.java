@@ -0,0 +1,259 @@
+package persistencia;
+
+import itens.ItemDef;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Save binário gravado de forma incremental: a primeira gravação escreve a
+ * fotografia completa e as seguintes acrescentam ao fim do arquivo só o que
+ * mudou (campos do personagem e do progresso, quantidades de itens).
+ * <p>
+ * Depois de {@link #getLimiteDeltas()} deltas, ou quando os deltas somados
+ * passam do tamanho da fotografia, a próxima gravação compacta o arquivo em
+ * uma fotografia nova (escrita atômica, como um save comum).
+ * <p>
+ * Formato de cada delta (dentro de um registro do diário de {@link SaveBinario}):
+ * <pre>
+ * tipo (1) | n campos | (campo, valor)... | n itens | (índice, [definição nova], quantidade)...
+ * </pre>
+ * Um índice igual ao tamanho atual da tabela acrescenta a definição que vem em
+ * seguida; quantidade 0 remove a pilha.
+ * <p>
+ * As gravações são preparadas por {@link GravadorSaves} na thread do jogo e
+ * executadas, na mesma ordem, pela thread do gravador.
+ */
+public class SaveIncremental {
+    /** Deltas acumulados antes de compactar. */
+    public static final int LIMITE_DELTAS_PADRAO = 32;
+
+    private static final int REGISTRO_DELTA = 1;
+
+    private final File arquivo;
+    private final int limiteDeltas;
+    private Fotografia gravada;
+    private Map<ItemDef, Integer> indices;
+    private long tamanhoArquivo;
+    private long tamanhoBase;
+    private long bytesDeltas;
+    private int deltas;
+    private volatile boolean precisaBase = true;
+
+    /**
+     * @param arquivo arquivo do save (sobrescrito na primeira gravação)
+     */
+    public SaveIncremental(File arquivo) {
+        this(arquivo, LIMITE_DELTAS_PADRAO);
+    }
+
+    /**
+     * @param arquivo      arquivo do save (sobrescrito na primeira gravação)
+     * @param limiteDeltas deltas acumulados antes de compactar (&gt; 0)
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public SaveIncremental(File arquivo, int limiteDeltas) {
+        if (arquivo == null) {
+            throw new IllegalArgumentException("Arquivo não pode ser nulo");
+        }
+        if (limiteDeltas <= 0) {
+            throw new IllegalArgumentException("Limite de deltas deve ser positivo");
+        }
+        this.arquivo = arquivo;
+        this.limiteDeltas = limiteDeltas;
+    }
+
+    public File getArquivo() {
+        return arquivo;
+    }
+
+    public int getLimiteDeltas() {
+        return limiteDeltas;
+    }
+
+    /**
+     * @return número de deltas acrescentados desde a última fotografia
+     */
+    public synchronized int getDeltas() {
+        return deltas;
+    }
+
+    /**
+     * Gravação pronta para ser executada: bytes de uma fotografia completa
+     * ou de um delta a acrescentar.
+     */
+    static final class Gravacao {
+        final ByteBuffer[] partes;
+        final boolean delta;
+        /** Tamanho que o arquivo deve ter para o delta poder ser acrescentado. */
+        final long tamanhoAnterior;
+        /** Estado completo depois desta gravação, para regravar se o delta não servir. */
+        final Fotografia resultado;
+
+        Gravacao(ByteBuffer[] partes, boolean delta, long tamanhoAnterior, Fotografia resultado) {
+            this.partes = partes;
+            this.delta = delta;
+            this.tamanhoAnterior = tamanhoAnterior;
+            this.resultado = resultado;
+        }
+    }
+
+    /**
+     * Compara o estado com o último gravado e prepara a próxima gravação.
+     * Assume que as gravações preparadas serão executadas em ordem.
+     *
+     * @return gravação a executar, ou null se nada mudou
+     */
+    synchronized Gravacao preparar(EstadoJogo estado) {
+        Fotografia atual = Fotografia.de(estado);
+        if (precisaBase || deltas >= limiteDeltas || bytesDeltas > tamanhoBase
+                || !atual.classe.equals(gravada.classe) || !atual.nome.equals(gravada.nome)) {
+            return prepararBase(atual);
+        }
+
+        Fotografia proxima = copiar(gravada);
+        SaveBinario.Escritor conteudo = new SaveBinario.Escritor(64);
+        conteudo.inteiro(REGISTRO_DELTA);
+
+        int camposAlterados = 0;
+        for (int campo = 0; campo < Fotografia.TOTAL_CAMPOS; campo++) {
+            if (atual.campos[campo] != gravada.campos[campo]) {
+                camposAlterados++;
+            }
+        }
+        conteudo.inteiro(camposAlterados);
+        for (int campo = 0; campo < Fotografia.TOTAL_CAMPOS; campo++) {
+            if (atual.campos[campo] != gravada.campos[campo]) {
+                conteudo.inteiro(campo);
+                conteudo.inteiro(atual.campos[campo]);
+                proxima.campos[campo] = atual.campos[campo];
+            }
+        }
+
+        // Primeiro as pilhas novas ou alteradas, depois as que sumiram.
+        SaveBinario.Escritor itens = new SaveBinario.Escritor(32);
+        int itensAlterados = 0;
+        boolean[] presentes = new boolean[gravada.tabela.size()];
+        for (int i = 0; i < atual.tabela.size(); i++) {
+            ItemDef def = atual.tabela.get(i);
+            int quantidade = atual.quantidades[i];
+            Integer indice = indices.get(def);
+            if (indice == null) {
+                int novo = proxima.adicionarDefinicao(def, quantidade);
+                itens.inteiro(novo);
+                SaveBinario.escreverDefinicao(itens, def);
+                itens.inteiro(quantidade);
+                itensAlterados++;
+            } else {
+                presentes[indice] = true;
+                if (gravada.quantidades[indice] != quantidade) {
+                    proxima.quantidades[indice] = quantidade;
+                    itens.inteiro(indice);
+                    itens.inteiro(quantidade);
+                    itensAlterados++;
+                }
+            }
+        }
+        for (int i = 0; i < presentes.length; i++) {
+            if (!presentes[i] && gravada.quantidades[i] > 0) {
+                proxima.quantidades[i] = 0;
+                itens.inteiro(i);
+                itens.inteiro(0);
+                itensAlterados++;
+            }
+        }
+
+        if (camposAlterados == 0 && itensAlterados == 0) {
+            return null;
+        }
+        conteudo.inteiro(itensAlterados);
+        conteudo.bruto(itens.paraLeitura());
+
+        SaveBinario.Escritor registro = new SaveBinario.Escritor(64);
+        SaveBinario.escreverRegistro(registro, conteudo.paraLeitura());
+        ByteBuffer bytes = registro.paraLeitura();
+
+        Gravacao gravacao = new Gravacao(new ByteBuffer[]{bytes}, true, tamanhoArquivo, proxima);
+        for (int i = gravada.tabela.size(); i < proxima.tabela.size(); i++) {
+            indices.put(proxima.tabela.get(i), i);
+        }
+        gravada = proxima;
+        tamanhoArquivo += bytes.remaining();
+        bytesDeltas += bytes.remaining();
+        deltas++;
+        return gravacao;
+    }
+
+    private Gravacao prepararBase(Fotografia foto) {
+        ByteBuffer[] partes = SaveBinario.serializar(foto);
+        gravada = foto;
+        indices = new IdentityHashMap<>();
+        for (int i = 0; i < foto.tabela.size(); i++) {
+            indices.put(foto.tabela.get(i), i);
+        }
+        tamanhoBase = 0;
+        for (ByteBuffer parte : partes) {
+            tamanhoBase += parte.remaining();
+        }
+        tamanhoArquivo = tamanhoBase;
+        bytesDeltas = 0;
+        deltas = 0;
+        precisaBase = false;
+        return new Gravacao(partes, false, -1, foto);
+    }
+
+    /**
+     * Chamado quando uma gravação falhou ou o arquivo mudou por fora:
+     * a próxima gravação escreve uma fotografia completa.
+     */
+    void invalidar() {
+        precisaBase = true;
+    }
+
+    private static Fotografia copiar(Fotografia origem) {
+        Fotografia copia = new Fotografia();
+        copia.classe = origem.classe;
+        copia.nome = origem.nome;
+        System.arraycopy(origem.campos, 0, copia.campos, 0, Fotografia.TOTAL_CAMPOS);
+        copia.tabela.addAll(origem.tabela);
+        copia.quantidades = Arrays.copyOf(origem.quantidades, Math.max(8, origem.quantidades.length));
+        return copia;
+    }
+
+    /**
+     * Aplica um delta lido do diário sobre a fotografia.
+     *
+     * @throws IOException se o delta for inválido
+     */
+    static void aplicarDelta(Fotografia foto, SaveBinario.Leitor leitor) throws IOException {
+        int tipo = leitor.inteiro();
+        if (tipo != REGISTRO_DELTA) {
+            throw new IOException("Registro desconhecido no save: " + tipo);
+        }
+
+        int campos = leitor.inteiro();
+        for (int i = 0; i < campos; i++) {
+            int campo = leitor.inteiro();
+            int valor = leitor.inteiro();
+            if (campo < 0 || campo >= Fotografia.TOTAL_CAMPOS) {
+                throw new IOException("Campo inválido no save: " + campo);
+            }
+            foto.campos[campo] = valor;
+        }
+
+        int itens = leitor.inteiro();
+        for (int i = 0; i < itens; i++) {
+            int indice = leitor.inteiro();
+            if (indice == foto.tabela.size()) {
+                foto.adicionarDefinicao(SaveBinario.lerDefinicao(leitor), 0);
+            } else if (indice < 0 || indice > foto.tabela.size()) {
+                throw new IOException("Item inválido no save: " + indice);
+            }
+            foto.quantidades[indice] = leitor.inteiro();
+        }
+    }
+}
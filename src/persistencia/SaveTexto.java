@@ -0,0 +1,141 @@
+package persistencia;
+
+import itens.Efeito;
+import itens.Item;
+import personagens.Personagem;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato de save em texto (linhas {@code CHAVE=valor} seguidas do bloco
+ * {@code ITENS_INICIO}/{@code ITENS_FIM}, um item por linha separado por ';').
+ */
+public class SaveTexto {
+
+    private SaveTexto() {
+    }
+
+    /**
+     * Grava o estado no arquivo, sobrescrevendo-o.
+     */
+    public static void escrever(EstadoJogo estado, File arquivo) throws IOException {
+        Personagem jogador = estado.getJogador();
+        try (PrintWriter pw = new PrintWriter(new FileWriter(arquivo))) {
+            pw.println("CLASSE=" + jogador.getClass().getSimpleName());
+            pw.println("NOME=" + jogador.getNome());
+            pw.println("NIVEL=" + jogador.getNivel());
+            pw.println("HP_ATUAL=" + jogador.getPontosVida());
+            pw.println("HP_MAX=" + jogador.getPontosVidaMaximos());
+            pw.println("ATAQUE=" + jogador.getAtaque());
+            pw.println("DEFESA=" + jogador.getDefesa());
+            pw.println("XP_ATUAL=" + estado.getXpAtual());
+            pw.println("XP_PROX=" + estado.getXpProximoNivel());
+            pw.println("CAPITULO=" + estado.getCapitulo());
+            pw.println("EXPLORACOES=" + estado.getExploracoes());
+            pw.println("BOSS_DERROTADO=" + estado.isBossDerrotado());
+
+            pw.println("ITENS_INICIO");
+            for (Item item : jogador.getInventario().getItensOrdenados()) {
+                pw.println(
+                    item.getNome() + ";" +
+                    item.getDescricao() + ";" +
+                    item.getEfeito().name() + ";" +
+                    item.getQuantidade() + ";" +
+                    item.getValorEfeito()
+                );
+            }
+            pw.println("ITENS_FIM");
+        }
+    }
+
+    /**
+     * Lê um save em texto.
+     *
+     * @throws IOException              se o arquivo não puder ser lido
+     * @throws IllegalArgumentException se o conteúdo for inválido (ex.: classe desconhecida)
+     */
+    public static EstadoJogo ler(File arquivo) throws IOException {
+        try (BufferedReader br = new BufferedReader(new FileReader(arquivo))) {
+            String linha;
+            String classe = null;
+            String nome = null;
+            int nivel = 1;
+            int hpAtual = 0;
+            int hpMax = 0;
+            int ataque = 0;
+            int defesa = 0;
+            int xpAtual = 0;
+            int xpProx = 100;
+            int capitulo = 1;
+            int exploracoes = 0;
+            boolean bossDerrotado = false;
+
+            List<Item> itensLidos = new ArrayList<>();
+            boolean lendoItens = false;
+
+            while ((linha = br.readLine()) != null) {
+                if ("ITENS_INICIO".equals(linha)) {
+                    lendoItens = true;
+                    continue;
+                }
+                if ("ITENS_FIM".equals(linha)) {
+                    lendoItens = false;
+                    continue;
+                }
+
+                if (lendoItens) {
+                    String[] partes = linha.split(";");
+                    if (partes.length == 5) {
+                        String nItem = partes[0];
+                        String desc = partes[1];
+                        Efeito efeito = Efeito.valueOf(partes[2]);
+                        int qtd = Integer.parseInt(partes[3]);
+                        int val = Integer.parseInt(partes[4]);
+                        itensLidos.add(new Item(nItem, desc, efeito, qtd, val));
+                    }
+                } else {
+                    String[] partes = linha.split("=", 2);
+                    if (partes.length != 2) continue;
+                    String chave = partes[0];
+                    String valor = partes[1];
+
+                    switch (chave) {
+                        case "CLASSE": classe = valor; break;
+                        case "NOME": nome = valor; break;
+                        case "NIVEL": nivel = Integer.parseInt(valor); break;
+                        case "HP_ATUAL": hpAtual = Integer.parseInt(valor); break;
+                        case "HP_MAX": hpMax = Integer.parseInt(valor); break;
+                        case "ATAQUE": ataque = Integer.parseInt(valor); break;
+                        case "DEFESA": defesa = Integer.parseInt(valor); break;
+                        case "XP_ATUAL": xpAtual = Integer.parseInt(valor); break;
+                        case "XP_PROX": xpProx = Integer.parseInt(valor); break;
+                        case "CAPITULO": capitulo = Integer.parseInt(valor); break;
+                        case "EXPLORACOES": exploracoes = Integer.parseInt(valor); break;
+                        case "BOSS_DERROTADO": bossDerrotado = Boolean.parseBoolean(valor); break;
+                    }
+                }
+            }
+
+            Personagem jogador = EstadoJogo.criarJogador(classe, nome, hpMax, ataque, defesa, nivel);
+            jogador.setPontosVidaMaximos(hpMax);
+            jogador.setPontosVida(hpAtual);
+            jogador.setAtaque(ataque);
+            jogador.setDefesa(defesa);
+            jogador.setNivel(nivel);
+
+            jogador.getInventario().limpar();
+            for (Item item : itensLidos) {
+                jogador.getInventario().adicionar(item);
+            }
+
+            return new EstadoJogo(jogador, xpAtual, xpProx, capitulo, exploracoes, bossDerrotado);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package persistencia;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Localização e leitura dos arquivos de save.
+ * <p>
+ * Saves novos são gravados no formato binário ({@link SaveBinario});
+ * saves antigos em texto ({@link SaveTexto}) continuam sendo lidos.
+ */
+public class Saves {
+    /** Pasta onde os saves ficam guardados. */
+    public static final File PASTA = new File("src/saves");
+    public static final String EXTENSAO_TEXTO = ".txt";
+
+    private Saves() {
+    }
+
+    /**
+     * @return arquivo binário do save com o nome indicado
+     */
+    public static File arquivo(String nome) {
+        return new File(PASTA, nome + SaveBinario.EXTENSAO);
+    }
+
+    /**
+     * @return true se o arquivo tem extensão de save (binário ou texto)
+     */
+    public static boolean ehSave(String nomeArquivo) {
+        String nome = nomeArquivo.toLowerCase();
+        return nome.endsWith(SaveBinario.EXTENSAO) || nome.endsWith(EXTENSAO_TEXTO);
+    }
+
+    /**
+     * @return nome do save sem a extensão
+     */
+    public static String nomeSave(File arquivo) {
+        String nome = arquivo.getName();
+        int ponto = nome.lastIndexOf('.');
+        return ponto > 0 ? nome.substring(0, ponto) : nome;
+    }
+
+    /**
+     * @return true se o arquivo está no formato de texto antigo
+     */
+    public static boolean ehTexto(File arquivo) {
+        return arquivo.getName().toLowerCase().endsWith(EXTENSAO_TEXTO);
+    }
+
+    /**
+     * Lê um save, escolhendo o formato pela extensão.
+     */
+    public static EstadoJogo ler(File arquivo) throws IOException {
+        if (ehTexto(arquivo)) {
+            return SaveTexto.ler(arquivo);
+        }
+        return SaveBinario.ler(arquivo);
+    }
+
+    /**
+     * Converte todos os saves em texto da pasta para o formato binário.
+     * Os arquivos {@code .txt} originais são mantidos.
+     *
+     * @return arquivos binários gerados
+     */
+    public static List<File> converterPasta(File pasta) throws IOException {
+        List<File> convertidos = new ArrayList<>();
+        File[] arquivos = pasta.listFiles((dir, name) -> name.toLowerCase().endsWith(EXTENSAO_TEXTO));
+        if (arquivos == null) {
+            return convertidos;
+        }
+        for (File texto : arquivos) {
+            File binario = new File(pasta, nomeSave(texto) + SaveBinario.EXTENSAO);
+            SaveBinario.converterTexto(texto, binario);
+            convertidos.add(binario);
+        }
+        return convertidos;
+    }
+
+    /**
+     * Uso: {@code java -cp bin persistencia.Saves [pasta]} — converte os saves em texto da pasta.
+     */
+    public static void main(String[] args) throws IOException {
+        File pasta = args.length > 0 ? new File(args[0]) : PASTA;
+        for (File convertido : converterPasta(pasta)) {
+            System.out.println("Convertido: " + convertido.getPath());
+        }
+    }
+}
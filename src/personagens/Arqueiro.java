@@ -1,6 +1,6 @@
 package personagens;
 
-import sistema.Dado;
+import conteudo.TabelasJogo;
 
 /**
  * Classe concreta de personagem do tipo Arqueiro.
@@ -21,10 +21,17 @@ public class Arqueiro extends Personagem {
     }
 
     /**
-     * Construtor padrão com valores iniciais predefinidos.
+     * Construtor padrão com os atributos de nível 1 da classe nas tabelas de conteúdo.
      */
     public Arqueiro() {
-        this("Arqueiro", 100, 12, 7, 1);
+        this("Arqueiro", TabelasJogo.atuais().getClasse("Arqueiro"));
+    }
+
+    /**
+     * Cria um Arqueiro de nível 1 com os atributos da classe.
+     */
+    public Arqueiro(String nome, AtributosClasse classe) {
+        this(nome, classe.getPontosVida(), classe.getAtaque(), classe.getDefesa(), 1);
     }
 
     /**
@@ -36,6 +43,11 @@ public class Arqueiro extends Personagem {
         this.precisao = outro.precisao;
     }
 
+    @Override
+    public Arqueiro copiar() {
+        return new Arqueiro(this);
+    }
+
     /**
      * Calcula o dano do Arqueiro.
      * <ul>
@@ -46,15 +58,15 @@ public class Arqueiro extends Personagem {
     @Override
     public int calcularDano(int rolagemDado) {
         if (flechas <= 0) {
-            System.out.println("Sem flechas! Usando ataque corpo a corpo...");
+            anunciar("Sem flechas! Usando ataque corpo a corpo...");
             return super.calcularDano(rolagemDado) / 2;
         }
 
         flechas--;
         int danoBase = super.calcularDano(rolagemDado);
 
-        if (Dado.rolar(100) <= precisao) {
-            System.out.println("Tiro preciso!");
+        if (getDado().rolar(100) <= precisao) {
+            anunciar("Tiro preciso!");
             danoBase += 10;
         }
 
@@ -70,9 +82,9 @@ public class Arqueiro extends Personagem {
     public String usarHabilidadeEspecial(Personagem alvo) {
         if (flechas >= 3) {
             flechas -= 3;
-            int r1 = sistema.Dado.rolarD6();
-            int r2 = sistema.Dado.rolarD6();
-            int r3 = sistema.Dado.rolarD6();
+            int r1 = getDado().rolarD6();
+            int r2 = getDado().rolarD6();
+            int r3 = getDado().rolarD6();
             int total = super.calcularDano(r1) + super.calcularDano(r2) + super.calcularDano(r3);
             alvo.receberDano(total);
             return String.format("Rajada de Flechas usada. Flechas: -3 | Rolagens: %d, %d, %d | Dano total: %d", r1, r2, r3, total);
@@ -81,6 +93,11 @@ public class Arqueiro extends Personagem {
         }
     }
 
+    @Override
+    public boolean podeUsarHabilidadeEspecial() {
+        return flechas >= 3;
+    }
+
     /**
      * Recarrega o estoque de flechas.
      */
@@ -92,6 +109,13 @@ public class Arqueiro extends Personagem {
         return flechas;
     }
 
+    /**
+     * @return chance de tiro preciso, em % (rolagem de d100 menor ou igual)
+     */
+    public int getPrecisao() {
+        return precisao;
+    }
+
     @Override
     public String getStatus() {
         return super.getStatus() + String.format(" | Flechas: %d", flechas);
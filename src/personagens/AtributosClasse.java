@@ -0,0 +1,42 @@
+package personagens;
+
+/**
+ * Atributos de nível 1 de uma classe jogável, usados pelos construtores
+ * padrão de {@link Guerreiro}, {@link Mago} e {@link Arqueiro} e pela criação
+ * de personagem.
+ * <p>
+ * Vêm das tabelas de conteúdo ({@link conteudo.TabelasJogo#getClasse(String)}).
+ */
+public final class AtributosClasse {
+    private final String nome;
+    private final int pontosVida;
+    private final int ataque;
+    private final int defesa;
+
+    /**
+     * @throws IllegalArgumentException se o nome for vazio, a vida não for
+     *                                  positiva ou ataque/defesa forem negativos
+     */
+    public AtributosClasse(String nome, int pontosVida, int ataque, int defesa) {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome da classe não pode ser vazio");
+        }
+        if (pontosVida <= 0 || ataque < 0 || defesa < 0) {
+            throw new IllegalArgumentException("Atributos inválidos para a classe " + nome);
+        }
+        this.nome = nome;
+        this.pontosVida = pontosVida;
+        this.ataque = ataque;
+        this.defesa = defesa;
+    }
+
+    public String getNome() { return nome; }
+    public int getPontosVida() { return pontosVida; }
+    public int getAtaque() { return ataque; }
+    public int getDefesa() { return defesa; }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
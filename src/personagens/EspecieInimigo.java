@@ -0,0 +1,73 @@
+package personagens;
+
+/**
+ * Espécie de inimigo sorteada por {@link Inimigo#criarInimigoAleatorio(int)},
+ * com os atributos em função do nível.
+ * <p>
+ * As espécies vêm das tabelas de conteúdo ({@link conteudo.TabelasJogo}); o id
+ * é a posição da espécie nessas tabelas.
+ */
+public final class EspecieInimigo {
+    private final int id;
+    private final String nome;
+    private final String tipo;
+    private final int vidaBase;
+    private final int vidaPorNivel;
+    private final int ataqueBase;
+    private final int ataquePorNivel;
+    private final int defesaBase;
+    private final int defesaPorNivel;
+
+    /**
+     * @throws IllegalArgumentException se o id for negativo, nome ou tipo forem
+     *                                  vazios ou a vida base não for positiva
+     */
+    public EspecieInimigo(int id, String nome, String tipo, int vidaBase, int vidaPorNivel,
+                          int ataqueBase, int ataquePorNivel, int defesaBase, int defesaPorNivel) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Id da espécie não pode ser negativo");
+        }
+        if (nome == null || nome.trim().isEmpty() || tipo == null || tipo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome e tipo da espécie não podem ser vazios");
+        }
+        if (vidaBase <= 0) {
+            throw new IllegalArgumentException("Vida base deve ser positiva: " + nome);
+        }
+        this.id = id;
+        this.nome = nome;
+        this.tipo = tipo;
+        this.vidaBase = vidaBase;
+        this.vidaPorNivel = vidaPorNivel;
+        this.ataqueBase = ataqueBase;
+        this.ataquePorNivel = ataquePorNivel;
+        this.defesaBase = defesaBase;
+        this.defesaPorNivel = defesaPorNivel;
+    }
+
+    public int getId() { return id; }
+    public String getNome() { return nome; }
+    public String getTipo() { return tipo; }
+    public int getVidaBase() { return vidaBase; }
+    public int getVidaPorNivel() { return vidaPorNivel; }
+    public int getAtaqueBase() { return ataqueBase; }
+    public int getAtaquePorNivel() { return ataquePorNivel; }
+    public int getDefesaBase() { return defesaBase; }
+    public int getDefesaPorNivel() { return defesaPorNivel; }
+
+    public int pontosVida(int nivel) {
+        return vidaBase + nivel * vidaPorNivel;
+    }
+
+    public int ataque(int nivel) {
+        return ataqueBase + nivel * ataquePorNivel;
+    }
+
+    public int defesa(int nivel) {
+        return defesaBase + nivel * defesaPorNivel;
+    }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
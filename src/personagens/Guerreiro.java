@@ -1,6 +1,6 @@
 package personagens;
 
-import sistema.Dado;
+import conteudo.TabelasJogo;
 
 /**
  * Classe concreta de personagem do tipo Guerreiro.
@@ -22,10 +22,17 @@ public class Guerreiro extends Personagem {
     }
 
     /**
-     * Construtor padrão com valores iniciais predefinidos.
+     * Construtor padrão com os atributos de nível 1 da classe nas tabelas de conteúdo.
      */
     public Guerreiro() {
-        this("Guerreiro", 120, 15, 10, 1);
+        this("Guerreiro", TabelasJogo.atuais().getClasse("Guerreiro"));
+    }
+
+    /**
+     * Cria um Guerreiro de nível 1 com os atributos da classe.
+     */
+    public Guerreiro(String nome, AtributosClasse classe) {
+        this(nome, classe.getPontosVida(), classe.getAtaque(), classe.getDefesa(), 1);
     }
 
     /**
@@ -37,6 +44,11 @@ public class Guerreiro extends Personagem {
         this.furia = outro.furia;
     }
 
+    @Override
+    public Guerreiro copiar() {
+        return new Guerreiro(this);
+    }
+
     /**
      * Calcula o dano do Guerreiro, considerando:
      * <ul>
@@ -48,14 +60,14 @@ public class Guerreiro extends Personagem {
     public int calcularDano(int rolagemDado) {
         int danoBase = super.calcularDano(rolagemDado);
         
-        if (Dado.rolar(100) <= chanceCritico) {
-            System.out.println("GOLPE CRÍTICO!");
+        if (getDado().rolar(100) <= chanceCritico) {
+            anunciar("GOLPE CRÍTICO!");
             danoBase *= 2;
         }
 
         if (furia) {
             danoBase = (int) (danoBase * 1.5);
-            System.out.println("Fúria ativada! Dano aumentado!");
+            anunciar("Fúria ativada! Dano aumentado!");
         }
 
         return danoBase;
@@ -72,6 +84,14 @@ public class Guerreiro extends Personagem {
         return "Guerreiro entra em fúria. Ataque aumentado e defesa reduzida.";
     }
 
+    /**
+     * A fúria só tem efeito se o Guerreiro ainda não estiver enfurecido.
+     */
+    @Override
+    public boolean podeUsarHabilidadeEspecial() {
+        return !furia;
+    }
+
     /**
      * Desativa o estado de fúria, restaurando a defesa perdida.
      */
@@ -85,4 +105,11 @@ public class Guerreiro extends Personagem {
     public boolean isFuria() {
         return furia;
     }
+
+    /**
+     * @return chance de golpe crítico, em % (rolagem de d100 menor ou igual)
+     */
+    public int getChanceCritico() {
+        return chanceCritico;
+    }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package personagens;
 
+import conteudo.TabelasJogo;
 import itens.Item;
-import itens.Efeito;
+import itens.ItemDef;
 import sistema.Dado;
+import sistema.RoladorDados;
 
 /**
  * Classe concreta que representa um inimigo no jogo.
@@ -18,10 +20,32 @@ public class Inimigo extends Personagem {
      * Cria um inimigo com atributos personalizados.
      */
     public Inimigo(String nome, int pontosVida, int ataque, int defesa, int nivel, String tipo) {
+        this(nome, pontosVida, ataque, defesa, nivel, tipo, Dado.padrao());
+    }
+
+    /**
+     * Cria um inimigo com atributos personalizados, usando o rolador indicado
+     * para gerar o loot e nas rolagens do próprio inimigo.
+     */
+    public Inimigo(String nome, int pontosVida, int ataque, int defesa, int nivel, String tipo,
+                   RoladorDados dado) {
+        this(nome, pontosVida, ataque, defesa, nivel, tipo, dado, TabelasJogo.atuais());
+    }
+
+    /**
+     * Cria um inimigo com o loot sorteado da tabela de saque indicada, ou sem
+     * loot quando {@code tabelas} é null (usado por {@link PoolInimigos#materializar},
+     * que já tem o loot).
+     */
+    Inimigo(String nome, int pontosVida, int ataque, int defesa, int nivel, String tipo,
+            RoladorDados dado, TabelasJogo tabelas) {
         super(nome, pontosVida, ataque, defesa, nivel);
         this.tipo = tipo;
-        this.recompensaXP = nivel * 50;
-        gerarLoot();
+        this.recompensaXP = recompensaXP(nivel);
+        setDado(dado);
+        if (tabelas != null) {
+            gerarLoot(tabelas);
+        }
     }
 
     /**
@@ -40,37 +64,32 @@ public class Inimigo extends Personagem {
         this.tipo = outro.tipo;
     }
 
+    @Override
+    public Inimigo copiar() {
+        return new Inimigo(this);
+    }
+
     /**
-     * Gera itens aleatórios no inventário do inimigo.
+     * Gera de 1 a 3 itens no inventário do inimigo, sorteados da tabela de
+     * saque do seu nível.
      */
-    private void gerarLoot() {
-        int numeroItens = Dado.rolar(3);
+    private void gerarLoot(TabelasJogo tabelas) {
+        RoladorDados dado = getDado();
+        int numeroItens = dado.rolar(3);
         
         for (int i = 0; i < numeroItens; i++) {
-            int tipoItem = Dado.rolar(4);
-            Item item = null;
-            
-            switch (tipoItem) {
-                case 1:
-                    item = new Item("Poção de Vida", "Restaura HP", Efeito.CURA, 1, 30);
-                    break;
-                case 2:
-                    item = new Item("Poção de Força", "Aumenta ataque", Efeito.BUFF_ATAQUE, 1, 5);
-                    break;
-                case 3:
-                    item = new Item("Poção de Defesa", "Aumenta defesa", Efeito.BUFF_DEFESA, 1, 5);
-                    break;
-                case 4:
-                    item = new Item("Bomba", "Causa dano", Efeito.DANO, 1, 25);
-                    break;
-            }
-            
-            if (item != null) {
-                getInventario().adicionar(item);
-            }
+            ItemDef def = tabelas.sortearSaque(getNivel(), dado);
+            getInventario().adicionar(new Item(def, 1));
         }
     }
 
+    /**
+     * @return XP concedido por um inimigo do nível indicado
+     */
+    static int recompensaXP(int nivel) {
+        return nivel * 50;
+    }
+
     @Override
     public String usarHabilidadeEspecial(Personagem alvo) {
         return getNome() + " usa ataque especial!";
@@ -91,22 +110,33 @@ public class Inimigo extends Personagem {
      * @return instância de {@link Inimigo} adequada ao nível
      */
     public static Inimigo criarInimigoAleatorio(int nivelJogador) {
-        int nivel = Math.max(1, nivelJogador + Dado.rolar(3) - 2);
-        int tipoInimigo = Dado.rolar(5);
-        
-        switch (tipoInimigo) {
-            case 1:
-                return new Inimigo("Goblin", 40 + nivel * 10, 6 + nivel * 2, 2 + nivel, nivel, "Comum");
-            case 2:
-                return new Inimigo("Orc", 60 + nivel * 15, 8 + nivel * 3, 4 + nivel, nivel, "Forte");
-            case 3:
-                return new Inimigo("Esqueleto", 35 + nivel * 8, 7 + nivel * 2, 3 + nivel, nivel, "Morto-vivo");
-            case 4:
-                return new Inimigo("Lobo Selvagem", 45 + nivel * 12, 9 + nivel * 2, 2 + nivel, nivel, "Besta");
-            case 5:
-                return new Inimigo("Dragão Jovem", 80 + nivel * 20, 10 + nivel * 4, 6 + nivel * 2, nivel, "Chefe");
-            default:
-                return new Inimigo();
-        }
+        return criarInimigoAleatorio(nivelJogador, Dado.padrao());
+    }
+
+    /**
+     * Cria um inimigo aleatório com base no nível do jogador,
+     * usando o rolador indicado (que também é atribuído ao inimigo).
+     *
+     * @param nivelJogador nível atual do jogador
+     * @param dado         rolador usado na criação e no loot
+     * @return instância de {@link Inimigo} adequada ao nível
+     */
+    public static Inimigo criarInimigoAleatorio(int nivelJogador, RoladorDados dado) {
+        return criarInimigoAleatorio(nivelJogador, dado, TabelasJogo.atuais());
+    }
+
+    /**
+     * Cria um inimigo aleatório com a espécie e o loot sorteados das tabelas indicadas.
+     *
+     * @param nivelJogador nível atual do jogador (escolhe a faixa de encontros)
+     * @param dado         rolador usado na criação e no loot
+     * @param tabelas      tabelas de encontros e saque
+     * @return instância de {@link Inimigo} adequada ao nível
+     */
+    public static Inimigo criarInimigoAleatorio(int nivelJogador, RoladorDados dado, TabelasJogo tabelas) {
+        int nivel = Math.max(1, nivelJogador + dado.rolar(3) - 2);
+        EspecieInimigo especie = tabelas.sortearEspecie(nivelJogador, dado);
+        return new Inimigo(especie.getNome(), especie.pontosVida(nivel), especie.ataque(nivel),
+                especie.defesa(nivel), nivel, especie.getTipo(), dado, tabelas);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package personagens;
 
+import conteudo.TabelasJogo;
+
 /**
  * Classe concreta de personagem do tipo Mago.
  * <p>
@@ -21,10 +23,17 @@ public class Mago extends Personagem {
     }
 
     /**
-     * Construtor padrão com valores iniciais predefinidos.
+     * Construtor padrão com os atributos de nível 1 da classe nas tabelas de conteúdo.
      */
     public Mago() {
-        this("Mago", 80, 10, 5, 1);
+        this("Mago", TabelasJogo.atuais().getClasse("Mago"));
+    }
+
+    /**
+     * Cria um Mago de nível 1 com os atributos da classe.
+     */
+    public Mago(String nome, AtributosClasse classe) {
+        this(nome, classe.getPontosVida(), classe.getAtaque(), classe.getDefesa(), 1);
     }
 
     /**
@@ -37,6 +46,11 @@ public class Mago extends Personagem {
         this.poderMagico = outro.poderMagico;
     }
 
+    @Override
+    public Mago copiar() {
+        return new Mago(this);
+    }
+
     /**
      * Calcula o dano do Mago.
      * <p>
@@ -50,7 +64,7 @@ public class Mago extends Personagem {
         if (mana >= 10) {
             danoBase += poderMagico;
             mana -= 10;
-            System.out.println("Magia conjurada! (-10 mana)");
+            anunciar("Magia conjurada! (-10 mana)");
         }
         
         return danoBase;
@@ -65,7 +79,7 @@ public class Mago extends Personagem {
     public String usarHabilidadeEspecial(Personagem alvo) {
         if (mana >= 30) {
             mana -= 30;
-            int rolagem = sistema.Dado.rolarD6();
+            int rolagem = getDado().rolarD6();
             int dano = poderMagico + 10 + rolagem;
             alvo.receberDano(dano);
             return String.format("Bola de Fogo usada. Mana: -30 | Rolagem: %d | Dano causado: %d", rolagem, dano);
@@ -74,6 +88,11 @@ public class Mago extends Personagem {
         }
     }
 
+    @Override
+    public boolean podeUsarHabilidadeEspecial() {
+        return mana >= 30;
+    }
+
     /**
      * Regenera mana até o máximo.
      */
@@ -89,6 +108,10 @@ public class Mago extends Personagem {
         return manaMaxima;
     }
 
+    public int getPoderMagico() {
+        return poderMagico;
+    }
+
     @Override
     public String getStatus() {
         return super.getStatus() + String.format(" | MANA: %d/%d", mana, manaMaxima);
@@ -2,6 +2,9 @@ package personagens;
 
 import itens.Inventario;
 import interfaces.Atacavel;
+import sistema.Dado;
+import sistema.RoladorDados;
+import sistema.Saida;
 
 /**
  * Representa um personagem genérico do jogo.
@@ -17,6 +20,8 @@ public abstract class Personagem implements Atacavel {
     private int defesa;
     private int nivel;
     private Inventario inventario;
+    private RoladorDados dado;
+    private Saida saida;
 
     /**
      * Construtor principal de Personagem.
@@ -49,10 +54,12 @@ public abstract class Personagem implements Atacavel {
         this.defesa = defesa;
         this.nivel = nivel;
         this.inventario = new Inventario(20);
+        this.dado = Dado.padrao();
+        this.saida = Saida.DIRETA;
     }
 
     /**
-     * Construtor de cópia. Faz cópia profunda do inventário.
+     * Construtor de cópia. O inventário é copiado em O(1) (estado compartilhado, ver {@link Inventario}).
      *
      * @param outro personagem a ser copiado
      */
@@ -64,6 +71,8 @@ public abstract class Personagem implements Atacavel {
         this.defesa = outro.defesa;
         this.nivel = outro.nivel;
         this.inventario = new Inventario(outro.inventario);
+        this.dado = outro.dado;
+        this.saida = outro.saida;
     }
 
     public String getNome() {
@@ -138,6 +147,43 @@ public abstract class Personagem implements Atacavel {
         return inventario;
     }
 
+    /**
+     * @return rolador usado nas rolagens próprias do personagem (críticos, precisão, etc.)
+     */
+    public RoladorDados getDado() {
+        return dado;
+    }
+
+    /**
+     * Define o rolador usado pelo personagem.
+     * Por padrão, é o {@link Dado} estático ({@link Dado#padrao()}).
+     *
+     * @throws IllegalArgumentException se dado for nulo
+     */
+    public void setDado(RoladorDados dado) {
+        if (dado == null) {
+            throw new IllegalArgumentException("Rolador não pode ser nulo");
+        }
+        this.dado = dado;
+    }
+
+    public Saida getSaida() {
+        return saida;
+    }
+
+    /**
+     * Define onde as mensagens de combate do personagem são exibidas.
+     * Por padrão, {@link Saida#DIRETA}.
+     *
+     * @throws IllegalArgumentException se saida for nula
+     */
+    public void setSaida(Saida saida) {
+        if (saida == null) {
+            throw new IllegalArgumentException("Saída não pode ser nula");
+        }
+        this.saida = saida;
+    }
+
     /**
      * Cálculo padrão de dano: ataque base + rolagem do dado.
      * Subclasses podem sobrescrever para adicionar efeitos especiais.
@@ -186,6 +232,34 @@ public abstract class Personagem implements Atacavel {
      */
     public abstract String usarHabilidadeEspecial(Personagem alvo);
 
+    /**
+     * Cópia do personagem, da mesma classe, via construtor de cópia. Os
+     * atributos são copiados; o inventário é copiado em O(1), com a estrutura
+     * compartilhada com o original ({@link Inventario#Inventario(Inventario)})
+     * e pilhas somente leitura, e os dois evoluem de forma independente.
+     * Usada para fotografar o estado da partida (ex.: autosave).
+     */
+    public abstract Personagem copiar();
+
+    /**
+     * Indica se a habilidade especial teria efeito agora
+     * (ex.: mana ou flechas suficientes).
+     * Subclasses com custo devem sobrescrever.
+     */
+    public boolean podeUsarHabilidadeEspecial() {
+        return true;
+    }
+
+    /**
+     * Exibe uma mensagem de combate (crítico, magia, etc.) na saída do personagem,
+     * a menos que o rolador do personagem esteja em modo silencioso.
+     */
+    protected void anunciar(String mensagem) {
+        if (!dado.isSilencioso()) {
+            saida.println(mensagem);
+        }
+    }
+
     /**
      * Retorna uma representação textual do status atual do personagem.
      */
@@ -0,0 +1,440 @@
+package personagens;
+
+import conteudo.TabelasJogo;
+import interfaces.Atacavel;
+import itens.CatalogoItens;
+import itens.Item;
+import itens.ItemDef;
+import sistema.RoladorDados;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Inimigos guardados em colunas de {@code int} (struct-of-arrays), para
+ * simular hordas sem criar um {@link Inimigo} por monstro.
+ * <p>
+ * Cada inimigo ocupa uma posição ({@code slot}) de 0 a {@link #getTamanho()} - 1
+ * em vetores de HP, HP máximo, ataque, defesa, nível e espécie. O loot fica em
+ * até {@value #LOOT_POR_INIMIGO} pares id de item/quantidade por inimigo, cada
+ * par compactado em um {@code int}. Um {@link Inimigo} completo custa um objeto,
+ * um inventário de 20 posições com seus mapas e uma pilha por item; aqui são
+ * 9 {@code int}s.
+ * <p>
+ * {@link #gerar(int, int, RoladorDados)} consome exatamente as mesmas rolagens de
+ * {@link Inimigo#criarInimigoAleatorio(int, RoladorDados)}, na mesma ordem: com a
+ * mesma seed e as mesmas tabelas, {@link #materializar(int, RoladorDados)} devolve o mesmo inimigo
+ * que o jogo teria criado. Dano em área e contagem de vivos são laços simples
+ * sobre vetores primitivos, que o JIT pode vetorizar; {@link #varrerMortos()}
+ * compacta os sobreviventes em uma passada.
+ * <p>
+ * {@link #vista(int)} dá acesso a um inimigo com a API de {@link Inimigo}, sem copiá-lo.
+ * Não é thread-safe.
+ */
+public class PoolInimigos {
+    /** Máximo de tipos de item no loot de um inimigo (o loot sorteia de 1 a 3 itens). */
+    public static final int LOOT_POR_INIMIGO = 3;
+
+    private static final int BITS_QUANTIDADE = 8;
+    private static final int MASCARA_QUANTIDADE = (1 << BITS_QUANTIDADE) - 1;
+
+    private final TabelasJogo tabelas;
+    private int tamanho;
+    private int[] pontosVida;
+    private int[] pontosVidaMaximos;
+    private int[] ataque;
+    private int[] defesa;
+    private int[] nivel;
+    private int[] especie;
+    private int[] loot;
+
+    /**
+     * @param capacidadeInicial número de inimigos antes de o pool precisar crescer
+     * @throws IllegalArgumentException se a capacidade for negativa
+     */
+    public PoolInimigos(int capacidadeInicial) {
+        this(capacidadeInicial, TabelasJogo.atuais());
+    }
+
+    /**
+     * @param capacidadeInicial número de inimigos antes de o pool precisar crescer
+     * @param tabelas           tabelas de encontros e saque usadas em {@link #gerar(int, int, RoladorDados)}
+     * @throws IllegalArgumentException se a capacidade for negativa ou as tabelas forem nulas
+     */
+    public PoolInimigos(int capacidadeInicial, TabelasJogo tabelas) {
+        if (capacidadeInicial < 0) {
+            throw new IllegalArgumentException("Capacidade não pode ser negativa");
+        }
+        if (tabelas == null) {
+            throw new IllegalArgumentException("Tabelas não podem ser nulas");
+        }
+        this.tabelas = tabelas;
+        pontosVida = new int[capacidadeInicial];
+        pontosVidaMaximos = new int[capacidadeInicial];
+        ataque = new int[capacidadeInicial];
+        defesa = new int[capacidadeInicial];
+        nivel = new int[capacidadeInicial];
+        especie = new int[capacidadeInicial];
+        loot = new int[capacidadeInicial * LOOT_POR_INIMIGO];
+    }
+
+    /**
+     * @return número de inimigos no pool (vivos e mortos ainda não varridos)
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public int getCapacidade() {
+        return pontosVida.length;
+    }
+
+    /**
+     * Gera inimigos aleatórios, como uma sequência de chamadas a
+     * {@link Inimigo#criarInimigoAleatorio(int, RoladorDados)}.
+     *
+     * @param quantidade   número de inimigos
+     * @param nivelJogador nível atual do jogador
+     * @param dado         rolador usado na criação e no loot
+     * @return posição do primeiro inimigo gerado
+     * @throws IllegalArgumentException se a quantidade for negativa ou dado for nulo
+     */
+    public int gerar(int quantidade, int nivelJogador, RoladorDados dado) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade não pode ser negativa");
+        }
+        if (dado == null) {
+            throw new IllegalArgumentException("Rolador não pode ser nulo");
+        }
+        int inicio = tamanho;
+        int fim = inicio + quantidade;
+        garantirCapacidade(fim);
+
+        // As rolagens são sequenciais; os atributos saem delas em um segundo laço.
+        for (int i = inicio; i < fim; i++) {
+            nivel[i] = Math.max(1, nivelJogador + dado.rolar(3) - 2);
+            especie[i] = tabelas.sortearEspecie(nivelJogador, dado).getId();
+            sortearLoot(i, dado);
+        }
+        for (int i = inicio; i < fim; i++) {
+            EspecieInimigo esp = tabelas.getEspecie(especie[i]);
+            pontosVidaMaximos[i] = esp.pontosVida(nivel[i]);
+            ataque[i] = esp.ataque(nivel[i]);
+            defesa[i] = esp.defesa(nivel[i]);
+        }
+        System.arraycopy(pontosVidaMaximos, inicio, pontosVida, inicio, quantidade);
+        tamanho = fim;
+        return inicio;
+    }
+
+    /**
+     * Gera um inimigo aleatório, como {@link Inimigo#criarInimigoAleatorio(int, RoladorDados)}.
+     *
+     * @return posição do inimigo gerado
+     */
+    public int gerar(int nivelJogador, RoladorDados dado) {
+        return gerar(1, nivelJogador, dado);
+    }
+
+    /**
+     * Mesmas rolagens de {@code Inimigo.gerarLoot}; itens repetidos viram um par com quantidade maior.
+     */
+    private void sortearLoot(int slot, RoladorDados dado) {
+        int base = slot * LOOT_POR_INIMIGO;
+        Arrays.fill(loot, base, base + LOOT_POR_INIMIGO, 0);
+        int numeroItens = dado.rolar(3);
+        for (int n = 0; n < numeroItens; n++) {
+            ItemDef def = tabelas.sortearSaque(nivel[slot], dado);
+            int id = def.getId();
+            for (int k = base; k < base + LOOT_POR_INIMIGO; k++) {
+                if (loot[k] == 0) {
+                    loot[k] = (id << BITS_QUANTIDADE) | 1;
+                    break;
+                }
+                if (loot[k] >>> BITS_QUANTIDADE == id) {
+                    loot[k]++;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void garantirCapacidade(int necessaria) {
+        int atual = pontosVida.length;
+        if (necessaria <= atual) {
+            return;
+        }
+        int nova = Math.max(necessaria, Math.max(16, atual + (atual >> 1)));
+        pontosVida = Arrays.copyOf(pontosVida, nova);
+        pontosVidaMaximos = Arrays.copyOf(pontosVidaMaximos, nova);
+        ataque = Arrays.copyOf(ataque, nova);
+        defesa = Arrays.copyOf(defesa, nova);
+        nivel = Arrays.copyOf(nivel, nova);
+        especie = Arrays.copyOf(especie, nova);
+        loot = Arrays.copyOf(loot, nova * LOOT_POR_INIMIGO);
+    }
+
+    /**
+     * Aplica o mesmo dano bruto a todos os inimigos, descontando a defesa de
+     * cada um como {@link Personagem#receberDano(int)}.
+     */
+    public void aplicarDano(int dano) {
+        aplicarDano(0, tamanho, dano);
+    }
+
+    /**
+     * Aplica o mesmo dano bruto aos inimigos das posições {@code de} (inclusive)
+     * a {@code ate} (exclusive).
+     *
+     * @throws IndexOutOfBoundsException se o intervalo sair do pool
+     */
+    public void aplicarDano(int de, int ate, int dano) {
+        verificarIntervalo(de, ate);
+        int[] hp = pontosVida;
+        int[] def = defesa;
+        for (int i = de; i < ate; i++) {
+            hp[i] = Math.max(0, hp[i] - Math.max(0, dano - def[i]));
+        }
+    }
+
+    /**
+     * Aplica a cada inimigo o dano bruto da posição correspondente.
+     *
+     * @param danos dano bruto por posição; precisa cobrir todo o pool
+     * @throws IllegalArgumentException se danos tiver menos posições que o pool
+     */
+    public void aplicarDano(int[] danos) {
+        if (danos.length < tamanho) {
+            throw new IllegalArgumentException("Esperados " + tamanho + " danos, recebidos " + danos.length);
+        }
+        int[] hp = pontosVida;
+        int[] def = defesa;
+        for (int i = 0; i < tamanho; i++) {
+            hp[i] = Math.max(0, hp[i] - Math.max(0, danos[i] - def[i]));
+        }
+    }
+
+    /**
+     * @return inimigos com HP &gt; 0
+     */
+    public int contarVivos() {
+        int vivos = 0;
+        int[] hp = pontosVida;
+        for (int i = 0; i < tamanho; i++) {
+            vivos += hp[i] > 0 ? 1 : 0;
+        }
+        return vivos;
+    }
+
+    /**
+     * @return soma do XP dos inimigos mortos ainda no pool (antes de {@link #varrerMortos()})
+     */
+    public long somarRecompensaXPMortos() {
+        long total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += pontosVida[i] == 0 ? Inimigo.recompensaXP(nivel[i]) : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Remove os inimigos mortos, mantendo os vivos na mesma ordem relativa.
+     * As posições dos sobreviventes mudam; vistas antigas deixam de valer.
+     *
+     * @return número de inimigos removidos
+     */
+    public int varrerMortos() {
+        int destino = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (pontosVida[i] == 0) {
+                continue;
+            }
+            if (destino != i) {
+                pontosVida[destino] = pontosVida[i];
+                pontosVidaMaximos[destino] = pontosVidaMaximos[i];
+                ataque[destino] = ataque[i];
+                defesa[destino] = defesa[i];
+                nivel[destino] = nivel[i];
+                especie[destino] = especie[i];
+                System.arraycopy(loot, i * LOOT_POR_INIMIGO, loot, destino * LOOT_POR_INIMIGO, LOOT_POR_INIMIGO);
+            }
+            destino++;
+        }
+        int removidos = tamanho - destino;
+        tamanho = destino;
+        return removidos;
+    }
+
+    /**
+     * Esvazia o pool, mantendo a capacidade.
+     */
+    public void limpar() {
+        tamanho = 0;
+    }
+
+    /**
+     * Visão do inimigo da posição indicada, com a API de {@link Inimigo}.
+     * Alterações feitas pela visão vão direto para o pool.
+     *
+     * @throws IndexOutOfBoundsException se a posição não existir
+     */
+    public Vista vista(int slot) {
+        verificarSlot(slot);
+        return new Vista(slot);
+    }
+
+    /**
+     * Cria um {@link Inimigo} completo com o estado da posição indicada
+     * (atributos, HP atual e loot), para entrar no combate normal do jogo.
+     *
+     * @param dado rolador atribuído ao inimigo; não é usado na criação
+     * @throws IndexOutOfBoundsException se a posição não existir
+     */
+    public Inimigo materializar(int slot, RoladorDados dado) {
+        verificarSlot(slot);
+        Inimigo inimigo = new Inimigo(nome(slot), pontosVidaMaximos[slot], ataque[slot], defesa[slot],
+                nivel[slot], tipo(slot), dado, null);
+        inimigo.setPontosVida(pontosVida[slot]);
+        for (Item item : listarLoot(slot)) {
+            inimigo.getInventario().adicionar(item);
+        }
+        return inimigo;
+    }
+
+    public int getPontosVida(int slot) {
+        verificarSlot(slot);
+        return pontosVida[slot];
+    }
+
+    public int getAtaque(int slot) {
+        verificarSlot(slot);
+        return ataque[slot];
+    }
+
+    public int getDefesa(int slot) {
+        verificarSlot(slot);
+        return defesa[slot];
+    }
+
+    public int getNivel(int slot) {
+        verificarSlot(slot);
+        return nivel[slot];
+    }
+
+    public EspecieInimigo getEspecie(int slot) {
+        verificarSlot(slot);
+        return tabelas.getEspecie(especie[slot]);
+    }
+
+    private String nome(int slot) {
+        return tabelas.getEspecie(especie[slot]).getNome();
+    }
+
+    private String tipo(int slot) {
+        return tabelas.getEspecie(especie[slot]).getTipo();
+    }
+
+    /**
+     * @return pilhas do loot da posição, na ordem em que foram sorteadas
+     */
+    private List<Item> listarLoot(int slot) {
+        List<Item> itens = new ArrayList<>(LOOT_POR_INIMIGO);
+        int base = slot * LOOT_POR_INIMIGO;
+        for (int k = base; k < base + LOOT_POR_INIMIGO && loot[k] != 0; k++) {
+            itens.add(new Item(CatalogoItens.porId(loot[k] >>> BITS_QUANTIDADE), loot[k] & MASCARA_QUANTIDADE));
+        }
+        return itens;
+    }
+
+    private void verificarSlot(int slot) {
+        if (slot < 0 || slot >= tamanho) {
+            throw new IndexOutOfBoundsException("Posição " + slot + " fora do pool (tamanho " + tamanho + ")");
+        }
+    }
+
+    private void verificarIntervalo(int de, int ate) {
+        if (de < 0 || ate > tamanho || de > ate) {
+            throw new IndexOutOfBoundsException("Intervalo [" + de + ", " + ate + ") fora do pool (tamanho " + tamanho + ")");
+        }
+    }
+
+    /**
+     * Inimigo de uma posição do pool visto com a API de {@link Inimigo}.
+     * Não guarda estado próprio: lê e escreve nos vetores do pool.
+     */
+    public final class Vista implements Atacavel {
+        private final int slot;
+
+        private Vista(int slot) {
+            this.slot = slot;
+        }
+
+        public int getSlot() { return slot; }
+        public String getNome() { return nome(slot); }
+        public String getTipo() { return tipo(slot); }
+        public int getPontosVida() { return pontosVida[slot]; }
+        public int getPontosVidaMaximos() { return pontosVidaMaximos[slot]; }
+        public int getAtaque() { return ataque[slot]; }
+        public int getDefesa() { return defesa[slot]; }
+        public int getNivel() { return nivel[slot]; }
+        public int getRecompensaXP() { return Inimigo.recompensaXP(nivel[slot]); }
+
+        /**
+         * @see Personagem#setPontosVida(int)
+         */
+        public void setPontosVida(int valor) {
+            pontosVida[slot] = Math.max(0, Math.min(valor, pontosVidaMaximos[slot]));
+        }
+
+        /**
+         * @see Personagem#curar(int)
+         */
+        public void curar(int quantidade) {
+            if (quantidade <= 0) return;
+            pontosVida[slot] = Math.min(pontosVida[slot] + quantidade, pontosVidaMaximos[slot]);
+        }
+
+        @Override
+        public int calcularDano(int rolagemDado) {
+            return ataque[slot] + rolagemDado;
+        }
+
+        @Override
+        public void receberDano(int dano) {
+            pontosVida[slot] = Math.max(0, pontosVida[slot] - Math.max(0, dano - defesa[slot]));
+        }
+
+        @Override
+        public boolean estaVivo() {
+            return pontosVida[slot] > 0;
+        }
+
+        /**
+         * @return cópias das pilhas do loot (alterá-las não muda o pool)
+         */
+        public List<Item> getLoot() {
+            return listarLoot(slot);
+        }
+
+        /**
+         * @see PoolInimigos#materializar(int, RoladorDados)
+         */
+        public Inimigo materializar(RoladorDados dado) {
+            return PoolInimigos.this.materializar(slot, dado);
+        }
+
+        /**
+         * @see Personagem#getStatus()
+         */
+        public String getStatus() {
+            return String.format("%s (Nível %d) - HP: %d/%d | ATK: %d | DEF: %d",
+                    getNome(), nivel[slot], pontosVida[slot], pontosVidaMaximos[slot], ataque[slot], defesa[slot]);
+        }
+
+        @Override
+        public String toString() {
+            return getStatus();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package servidor;
+
+import sistema.Entrada;
+import sistema.Saida;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Uma conexão da {@link FrenteNio}. A thread do seletor lê, separa as linhas
+ * e escreve; a thread da sessão consome as linhas ({@link #entrada()}) e
+ * produz o texto ({@link #saida()}).
+ * <p>
+ * Os campos marcados "seletor" só são tocados pela thread do seletor; a fila
+ * de saída e os estados de fechamento são protegidos pelo monitor da conexão.
+ */
+final class ConexaoNio {
+    /** Marca o fim da entrada na fila (comparada por identidade). */
+    private static final String FIM = new String("");
+
+    private static final int IAC = 0xFF;
+    private static final int GA = 0xF9;
+    private static final int SB = 0xFA;
+    private static final int SE = 0xF0;
+    private static final int WILL = 0xFB;
+    private static final int DONT = 0xFE;
+    private static final byte[] GO_AHEAD = {(byte) IAC, (byte) GA};
+
+    private final FrenteNio frente;
+    final SocketChannel canal;
+    SelectionKey chave;
+
+    // Entrada (seletor): bytes da linha em andamento e estado do filtro telnet.
+    private byte[] linha = new byte[0];
+    private int tamanhoLinha;
+    private int estadoTelnet;
+    /** Seletor: leitura suspensa porque o jogo não está consumindo as linhas. */
+    boolean leituraSuspensa;
+    /** Seletor: o cliente fechou o envio. */
+    boolean entradaEncerrada;
+    /** Seletor: instante da última leitura ou escrita com progresso. */
+    long ultimaAtividade;
+
+    private final BlockingQueue<String> linhas = new LinkedBlockingQueue<>();
+
+    // Saída (monitor da conexão).
+    private final ArrayDeque<ByteBuffer> pendentes = new ArrayDeque<>();
+    private long bytesPendentes;
+    private boolean fechada;
+    private boolean fecharAposEnvio;
+
+    ConexaoNio(FrenteNio frente, SocketChannel canal, long agora) {
+        this.frente = frente;
+        this.canal = canal;
+        this.ultimaAtividade = agora;
+    }
+
+    /**
+     * @return entrada da sessão: bloqueia até o jogador mandar uma linha
+     */
+    Entrada entrada() {
+        return () -> {
+            String recebida;
+            try {
+                recebida = linhas.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Sessão interrompida");
+            }
+            if (recebida == FIM) {
+                linhas.add(FIM);
+                return null;
+            }
+            if (linhas.size() < frente.linhasPendentes / 2) {
+                // O seletor retoma a leitura se ela estava suspensa.
+                frente.solicitar(this);
+            }
+            return recebida;
+        };
+    }
+
+    /**
+     * @return saída da sessão: bloqueia enquanto o cliente estiver atrasado
+     *         mais que o limite de saída (contrapressão)
+     */
+    Saida saida() {
+        return Saida.para(texto -> enfileirar(texto.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void enfileirar(byte[] bytes) throws IOException {
+        synchronized (this) {
+            while (bytesPendentes > frente.limiteSaida && !fechada) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Sessão interrompida");
+                }
+            }
+            if (fechada) {
+                throw new IOException("Conexão fechada");
+            }
+            pendentes.add(ByteBuffer.wrap(bytes));
+            bytesPendentes += bytes.length;
+            if (frente.goAhead) {
+                pendentes.add(ByteBuffer.wrap(GO_AHEAD));
+                bytesPendentes += GO_AHEAD.length;
+            }
+        }
+        frente.solicitar(this);
+    }
+
+    /**
+     * Seletor: processa os bytes lidos do cliente.
+     */
+    void receber(ByteBuffer lidos) {
+        while (lidos.hasRemaining()) {
+            int b = lidos.get() & 0xFF;
+            switch (estadoTelnet) {
+                case 0:
+                    if (b == IAC) {
+                        estadoTelnet = 1;
+                    } else if (b == '\n') {
+                        fecharLinha();
+                    } else {
+                        acrescentar(b);
+                    }
+                    break;
+                case 1:
+                    // Comando telnet: WILL/WONT/DO/DONT têm um byte de opção; SB vai até IAC SE.
+                    if (b == IAC) {
+                        acrescentar(b);
+                        estadoTelnet = 0;
+                    } else if (b >= WILL && b <= DONT) {
+                        estadoTelnet = 2;
+                    } else if (b == SB) {
+                        estadoTelnet = 3;
+                    } else {
+                        estadoTelnet = 0;
+                    }
+                    break;
+                case 2:
+                    estadoTelnet = 0;
+                    break;
+                case 3:
+                    if (b == IAC) {
+                        estadoTelnet = 4;
+                    }
+                    break;
+                default:
+                    estadoTelnet = b == SE ? 0 : 3;
+            }
+        }
+    }
+
+    private void acrescentar(int b) {
+        if (tamanhoLinha == frente.tamanhoMaximoLinha) {
+            fecharLinha();
+        }
+        if (tamanhoLinha == linha.length) {
+            linha = Arrays.copyOf(linha, Math.min(Math.max(64, linha.length * 2), frente.tamanhoMaximoLinha));
+        }
+        linha[tamanhoLinha++] = (byte) b;
+    }
+
+    private void fecharLinha() {
+        int fim = tamanhoLinha;
+        if (fim > 0 && linha[fim - 1] == '\r') {
+            fim--;
+        }
+        // Uma única String por linha, decodificada direto dos bytes.
+        linhas.add(new String(linha, 0, fim, StandardCharsets.UTF_8));
+        tamanhoLinha = 0;
+        if (linha.length > 256) {
+            linha = new byte[0];
+        }
+    }
+
+    /**
+     * Seletor: o cliente fechou o envio. Uma linha sem terminador vale como linha.
+     */
+    void fimDaEntrada() {
+        if (tamanhoLinha > 0) {
+            fecharLinha();
+        }
+        entradaEncerrada = true;
+        linhas.add(FIM);
+    }
+
+    /**
+     * @return seletor: true se há linhas demais esperando o jogo
+     */
+    boolean entradaCheia() {
+        return linhas.size() >= frente.linhasPendentes;
+    }
+
+    /**
+     * Seletor: escreve o que o canal aceitar.
+     *
+     * @return true se houve progresso
+     */
+    boolean escrever() throws IOException {
+        boolean progresso = false;
+        synchronized (this) {
+            while (!pendentes.isEmpty()) {
+                ByteBuffer primeiro = pendentes.peek();
+                int escritos = canal.write(primeiro);
+                if (escritos > 0) {
+                    progresso = true;
+                    bytesPendentes -= escritos;
+                }
+                if (primeiro.hasRemaining()) {
+                    break;
+                }
+                pendentes.poll();
+            }
+            if (progresso) {
+                notifyAll();
+            }
+        }
+        return progresso;
+    }
+
+    /**
+     * @return seletor: operações de interesse no canal
+     */
+    synchronized int interesse() {
+        int ops = pendentes.isEmpty() ? 0 : SelectionKey.OP_WRITE;
+        if (!leituraSuspensa && !entradaEncerrada && !fecharAposEnvio) {
+            ops |= SelectionKey.OP_READ;
+        }
+        return ops;
+    }
+
+    /**
+     * @return seletor: true se a sessão terminou e toda a saída já foi enviada
+     */
+    synchronized boolean prontaParaFechar() {
+        return fecharAposEnvio && pendentes.isEmpty();
+    }
+
+    /**
+     * Encerra a entrada do jogo e fecha a conexão depois de enviar o que falta
+     * (chamado pela sessão quando o jogo termina ou o servidor fecha).
+     */
+    void encerrar() {
+        synchronized (this) {
+            if (fechada) {
+                return;
+            }
+            fecharAposEnvio = true;
+        }
+        linhas.add(FIM);
+        frente.solicitar(this);
+    }
+
+    /**
+     * Fecha o canal imediatamente e libera a sessão (entrada encerrada,
+     * escritas pendentes falham).
+     */
+    void fechar() {
+        synchronized (this) {
+            if (fechada) {
+                return;
+            }
+            fechada = true;
+            pendentes.clear();
+            bytesPendentes = 0;
+            notifyAll();
+        }
+        linhas.add(FIM);
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // Nada a fazer.
+        }
+    }
+
+    synchronized boolean isFechada() {
+        return fechada;
+    }
+}
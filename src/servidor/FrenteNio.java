@@ -0,0 +1,360 @@
+package servidor;
+
+import sistema.FabricaThreads;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Frente de rede não bloqueante para o {@link ServidorJogo}, no estilo telnet:
+ * clientes de texto por linha, em UTF-8.
+ * <p>
+ * Uma única thread com um {@link Selector} aceita as conexões, lê, separa as
+ * linhas e escreve em todos os sockets; nenhuma thread fica presa esperando um
+ * cliente. Os bytes lidos vão para um buffer compartilhado e só o trecho da
+ * linha em andamento fica na conexão; cada linha completa vira uma única
+ * {@code String}, decodificada direto dos bytes (comandos telnet {@code IAC}
+ * são descartados). O jogo continua sendo o mesmo {@link sistema.Jogo} de
+ * leitura bloqueante: cada sessão roda na thread do {@link ServidorJogo}
+ * (virtual quando disponível) e conversa com o seletor por filas.
+ * <p>
+ * Contrapressão:
+ * <ul>
+ *   <li>saída: se o cliente lê devagar e há mais de {@code limiteSaida} bytes
+ *       esperando, a sessão bloqueia na próxima tela até o socket escoar;</li>
+ *   <li>entrada: se o cliente manda linhas mais rápido do que o jogo as
+ *       consome, o seletor para de ler o socket até a fila esvaziar.</li>
+ * </ul>
+ * Conexões sem nenhuma leitura nem escrita por {@code tempoOcioso} são fechadas,
+ * o que também derruba clientes que pararam de ler com saída pendente.
+ * <p>
+ * Com {@code goAhead}, cada tela termina com {@code IAC GA} (o "go ahead" do
+ * telnet), que diz ao cliente que o jogo espera uma resposta; clientes
+ * automáticos usam isso para saber onde a tela acaba.
+ */
+public class FrenteNio implements AutoCloseable {
+    /** Tempo sem atividade após o qual a conexão é fechada. */
+    public static final long TEMPO_OCIOSO_PADRAO_MS = 10 * 60_000;
+    /** Bytes de saída pendentes por conexão antes de a sessão esperar o cliente. */
+    public static final int LIMITE_SAIDA_PADRAO = 64 * 1024;
+    /** Linhas recebidas e ainda não lidas pelo jogo antes de parar de ler o socket. */
+    static final int LINHAS_PENDENTES = 16;
+    static final int TAMANHO_MAXIMO_LINHA = LeitorLinhas.TAMANHO_MAXIMO_LINHA;
+    private static final int TAMANHO_LEITURA = 16 * 1024;
+    private static final long VARREDURA_MS = 1_000;
+
+    final int limiteSaida;
+    final boolean goAhead;
+    final int linhasPendentes = LINHAS_PENDENTES;
+    final int tamanhoMaximoLinha = TAMANHO_MAXIMO_LINHA;
+    private final long tempoOciosoNanos;
+
+    private final ServidorJogo servidor;
+    private final Selector seletor;
+    private final Queue<ConexaoNio> solicitacoes = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer leitura = ByteBuffer.allocateDirect(TAMANHO_LEITURA);
+    private ServerSocketChannel canalServidor;
+    private Thread thread;
+    private volatile boolean fechado;
+
+    // Escritos só pelo seletor.
+    private volatile int conexoes;
+    private volatile long aceitas;
+    private volatile long fechadasPorInatividade;
+
+    /**
+     * Frente com os limites padrão e sem {@code IAC GA}.
+     */
+    public FrenteNio(ServidorJogo servidor) throws IOException {
+        this(servidor, TEMPO_OCIOSO_PADRAO_MS, LIMITE_SAIDA_PADRAO, false);
+    }
+
+    /**
+     * @param servidor     servidor que roda as sessões (não é fechado junto com a frente)
+     * @param tempoOciosoMs tempo sem atividade após o qual a conexão é fechada
+     * @param limiteSaida  bytes de saída pendentes por conexão antes de a sessão esperar
+     * @param goAhead      se true, termina cada tela com {@code IAC GA}
+     */
+    public FrenteNio(ServidorJogo servidor, long tempoOciosoMs, int limiteSaida, boolean goAhead) throws IOException {
+        if (servidor == null) {
+            throw new IllegalArgumentException("Servidor não pode ser nulo");
+        }
+        if (tempoOciosoMs <= 0 || limiteSaida <= 0) {
+            throw new IllegalArgumentException("Tempo ocioso e limite de saída devem ser positivos");
+        }
+        this.servidor = servidor;
+        this.tempoOciosoNanos = tempoOciosoMs * 1_000_000L;
+        this.limiteSaida = limiteSaida;
+        this.goAhead = goAhead;
+        this.seletor = Selector.open();
+    }
+
+    /**
+     * Passa a aceitar conexões no endereço local (loopback) e inicia a thread do seletor.
+     *
+     * @param porta porta (0 escolhe uma livre)
+     * @return porta em que a frente está escutando
+     * @throws IOException se não for possível abrir a porta
+     * @throws IllegalStateException se a frente já está escutando ou foi fechada
+     */
+    public synchronized int escutar(int porta) throws IOException {
+        if (fechado) {
+            throw new IllegalStateException("Frente fechada");
+        }
+        if (canalServidor != null) {
+            throw new IllegalStateException("Frente já está escutando");
+        }
+        ServerSocketChannel canal = ServerSocketChannel.open();
+        canal.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), 1024);
+        canal.configureBlocking(false);
+        canal.register(seletor, SelectionKey.OP_ACCEPT);
+        canalServidor = canal;
+
+        thread = FabricaThreads.daemon("frente-nio").newThread(this::executar);
+        thread.start();
+        return canal.socket().getLocalPort();
+    }
+
+    /**
+     * Pede ao seletor que reavalie a conexão (saída nova, leitura a retomar, fim).
+     */
+    void solicitar(ConexaoNio conexao) {
+        solicitacoes.add(conexao);
+        seletor.wakeup();
+    }
+
+    private void executar() {
+        long proximaVarredura = System.nanoTime() + VARREDURA_MS * 1_000_000L;
+        try {
+            while (!fechado) {
+                seletor.select(VARREDURA_MS);
+                long agora = System.nanoTime();
+
+                ConexaoNio solicitada;
+                while ((solicitada = solicitacoes.poll()) != null) {
+                    atualizar(solicitada);
+                }
+
+                Iterator<SelectionKey> prontas = seletor.selectedKeys().iterator();
+                while (prontas.hasNext()) {
+                    SelectionKey chave = prontas.next();
+                    prontas.remove();
+                    if (!chave.isValid()) {
+                        continue;
+                    }
+                    if (chave.isAcceptable()) {
+                        aceitar(agora);
+                        continue;
+                    }
+                    ConexaoNio conexao = (ConexaoNio) chave.attachment();
+                    try {
+                        if (chave.isReadable()) {
+                            ler(conexao, agora);
+                        }
+                        if (chave.isValid() && chave.isWritable() && conexao.escrever()) {
+                            conexao.ultimaAtividade = agora;
+                        }
+                    } catch (IOException e) {
+                        fechar(conexao);
+                        continue;
+                    }
+                    atualizar(conexao);
+                }
+
+                if (agora - proximaVarredura >= 0) {
+                    fecharOciosas(agora);
+                    proximaVarredura = agora + VARREDURA_MS * 1_000_000L;
+                }
+            }
+        } catch (IOException e) {
+            // Seletor inutilizável: encerra todas as conexões abaixo.
+        } finally {
+            encerrarTudo();
+        }
+    }
+
+    private void aceitar(long agora) {
+        while (true) {
+            SocketChannel canal;
+            try {
+                canal = canalServidor.accept();
+            } catch (IOException e) {
+                return;
+            }
+            if (canal == null) {
+                return;
+            }
+            ConexaoNio conexao = new ConexaoNio(this, canal, agora);
+            try {
+                canal.configureBlocking(false);
+                canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                conexao.chave = canal.register(seletor, SelectionKey.OP_READ, conexao);
+                servidor.iniciarSessao(conexao.entrada(), conexao.saida(), conexao::encerrar);
+            } catch (IOException | IllegalStateException e) {
+                conexao.fechar();
+                continue;
+            }
+            conexoes++;
+            aceitas++;
+        }
+    }
+
+    private void ler(ConexaoNio conexao, long agora) throws IOException {
+        leitura.clear();
+        int lidos = conexao.canal.read(leitura);
+        if (lidos < 0) {
+            conexao.fimDaEntrada();
+            return;
+        }
+        if (lidos > 0) {
+            leitura.flip();
+            conexao.receber(leitura);
+            conexao.ultimaAtividade = agora;
+            if (conexao.entradaCheia()) {
+                conexao.leituraSuspensa = true;
+            }
+        }
+    }
+
+    private void atualizar(ConexaoNio conexao) {
+        SelectionKey chave = conexao.chave;
+        if (chave == null || !chave.isValid()) {
+            return;
+        }
+        if (conexao.isFechada() || conexao.prontaParaFechar()) {
+            fechar(conexao);
+            return;
+        }
+        if (conexao.leituraSuspensa && !conexao.entradaCheia()) {
+            conexao.leituraSuspensa = false;
+        }
+        chave.interestOps(conexao.interesse());
+    }
+
+    private void fecharOciosas(long agora) {
+        for (SelectionKey chave : seletor.keys()) {
+            if (chave.isValid() && chave.attachment() instanceof ConexaoNio) {
+                ConexaoNio conexao = (ConexaoNio) chave.attachment();
+                if (agora - conexao.ultimaAtividade > tempoOciosoNanos) {
+                    fechar(conexao);
+                    fechadasPorInatividade++;
+                }
+            }
+        }
+    }
+
+    private void fechar(ConexaoNio conexao) {
+        SelectionKey chave = conexao.chave;
+        if (chave != null && chave.isValid()) {
+            chave.cancel();
+            conexoes--;
+        }
+        conexao.fechar();
+    }
+
+    private void encerrarTudo() {
+        List<ConexaoNio> abertas = new ArrayList<>();
+        for (SelectionKey chave : seletor.keys()) {
+            if (chave.attachment() instanceof ConexaoNio) {
+                abertas.add((ConexaoNio) chave.attachment());
+            }
+        }
+        for (ConexaoNio conexao : abertas) {
+            fechar(conexao);
+        }
+        try {
+            if (canalServidor != null) {
+                canalServidor.close();
+            }
+            seletor.close();
+        } catch (IOException e) {
+            // Nada a fazer.
+        }
+    }
+
+    /**
+     * @return conexões abertas
+     */
+    public int getConexoes() {
+        return conexoes;
+    }
+
+    /**
+     * @return conexões aceitas desde a criação da frente
+     */
+    public long getAceitas() {
+        return aceitas;
+    }
+
+    /**
+     * @return conexões fechadas por ficarem ociosas além do limite
+     */
+    public long getFechadasPorInatividade() {
+        return fechadasPorInatividade;
+    }
+
+    /**
+     * Para de aceitar conexões e fecha as abertas; as sessões terminam na
+     * próxima leitura. O {@link ServidorJogo} continua aberto.
+     */
+    @Override
+    public void close() {
+        Thread seletora;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            seletora = thread;
+        }
+        seletor.wakeup();
+        if (seletora == null) {
+            encerrarTudo();
+            return;
+        }
+        try {
+            seletora.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Inicia um servidor com a frente NIO na porta indicada (padrão 4000) e
+     * espera até o processo ser encerrado. Conecte com {@code telnet localhost 4000}.
+     * Com {@code --go-ahead}, cada tela termina com {@code IAC GA} (para clientes automáticos).
+     */
+    public static void main(String[] args) throws Exception {
+        int porta = 4000;
+        boolean goAhead = false;
+        for (String arg : args) {
+            if (arg.equals("--go-ahead")) {
+                goAhead = true;
+            } else {
+                porta = Integer.parseInt(arg);
+            }
+        }
+        ServidorJogo servidor = new ServidorJogo();
+        FrenteNio frente = new FrenteNio(servidor, TEMPO_OCIOSO_PADRAO_MS, LIMITE_SAIDA_PADRAO, goAhead);
+        int escutando = frente.escutar(porta);
+        System.out.println("Servidor do RPG (NIO) escutando em localhost:" + escutando
+                + (FabricaThreads.suportaThreadsVirtuais() ? " (threads virtuais)" : " (threads de plataforma)"));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            frente.close();
+            servidor.close();
+        }));
+        Thread.currentThread().join();
+    }
+}
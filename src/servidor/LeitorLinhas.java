@@ -0,0 +1,78 @@
+package servidor;
+
+import sistema.Entrada;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Entrada de uma conexão: separa as linhas dos bytes recebidos e as
+ * decodifica em UTF-8 ({@code \r\n} ou {@code \n}).
+ * <p>
+ * Ao contrário de um {@code BufferedReader} sobre um {@code InputStreamReader}
+ * (16 KB de buffers por conexão), começa com {@value #TAMANHO_INICIAL} bytes e
+ * só cresce para linhas longas, o que importa com milhares de sessões ociosas.
+ * Linhas com mais de {@value #TAMANHO_MAXIMO_LINHA} bytes são quebradas.
+ */
+final class LeitorLinhas implements Entrada {
+    static final int TAMANHO_INICIAL = 128;
+    static final int TAMANHO_MAXIMO_LINHA = 4096;
+
+    private final InputStream origem;
+    private byte[] buffer = new byte[TAMANHO_INICIAL];
+    private int inicio;
+    private int varrido;
+    private int fim;
+
+    LeitorLinhas(InputStream origem) {
+        this.origem = origem;
+    }
+
+    @Override
+    public String lerLinha() throws IOException {
+        while (true) {
+            for (; varrido < fim; varrido++) {
+                if (buffer[varrido] == '\n') {
+                    String linha = decodificar(inicio, varrido);
+                    inicio = ++varrido;
+                    return linha;
+                }
+            }
+            if (fim - inicio >= TAMANHO_MAXIMO_LINHA) {
+                String linha = decodificar(inicio, fim);
+                inicio = varrido = fim;
+                return linha;
+            }
+
+            if (inicio > 0) {
+                System.arraycopy(buffer, inicio, buffer, 0, fim - inicio);
+                fim -= inicio;
+                varrido -= inicio;
+                inicio = 0;
+            }
+            if (fim == buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, TAMANHO_MAXIMO_LINHA));
+            }
+
+            int lidos = origem.read(buffer, fim, buffer.length - fim);
+            if (lidos < 0) {
+                if (fim > inicio) {
+                    String linha = decodificar(inicio, fim);
+                    inicio = varrido = fim;
+                    return linha;
+                }
+                return null;
+            }
+            fim += lidos;
+        }
+    }
+
+    private String decodificar(int de, int ate) {
+        if (ate > de && buffer[ate - 1] == '\r') {
+            ate--;
+        }
+        return new String(buffer, de, ate - de, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,246 @@
+package servidor;
+
+import sistema.Entrada;
+import sistema.FabricaThreads;
+import sistema.Jogo;
+import sistema.RoladorComLog;
+import sistema.RoladorDados;
+import sistema.RoladorSilencioso;
+import sistema.Saida;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor que hospeda várias partidas de {@link Jogo} no mesmo processo,
+ * uma por sessão.
+ * <p>
+ * Cada sessão tem a sua entrada, a sua saída e o seu rolador de dados
+ * (um {@link RoladorSilencioso} com seed própria, derivada da seed do servidor,
+ * que imprime as rolagens na saída da sessão); nada passa pelo {@code Dado}
+ * estático nem por {@code System.in}/{@code System.out}. Sessões de servidor não
+ * gravam nem carregam saves ({@link Jogo#setGravacaoSaves},
+ * {@link Jogo#setCarregamentoSaves}), porque a pasta de saves e o autosave são
+ * do processo, não do jogador; assim a sessão também não abre o catálogo de
+ * saves nem o seu observador da pasta. Pelo mesmo motivo, não escrevem o log
+ * de eventos de {@code -Drpg.eventos.log} ({@link Jogo#setLogEventos}), que
+ * cada sessão truncaria.
+ * <p>
+ * Cada sessão roda em uma thread virtual; no Java 17, em uma thread de
+ * plataforma com pilha reduzida ({@link #TAMANHO_PILHA_SESSAO}). Sessões
+ * ociosas ficam bloqueadas na leitura da resposta do jogador.
+ * <p>
+ * As sessões chegam por uma conexão TCP local ({@link #escutar(int)}) ou pelo
+ * próprio processo ({@link #abrirSessaoLocal()}).
+ */
+public class ServidorJogo implements AutoCloseable {
+    /** Pilha das threads de sessão quando não há threads virtuais. */
+    public static final long TAMANHO_PILHA_SESSAO = 256 * 1024;
+    /** Espera máxima pelo fim das sessões em {@link #close()}. */
+    private static final long ESPERA_FECHAMENTO_MS = 5_000;
+
+    private final SplittableRandom seeds;
+    private final ThreadFactory threads = FabricaThreads.virtuaisOuDaemon("sessao", TAMANHO_PILHA_SESSAO);
+    private final Map<Long, SessaoJogo> sessoes = new ConcurrentHashMap<>();
+    private final AtomicLong proximoId = new AtomicLong(1);
+    private final AtomicLong encerradas = new AtomicLong();
+    private volatile boolean fechado;
+    private ServerSocket socketServidor;
+
+    /**
+     * Servidor com seed aleatória.
+     */
+    public ServidorJogo() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param seed seed da qual as seeds das sessões são derivadas, na ordem de abertura
+     */
+    public ServidorJogo(long seed) {
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    /**
+     * Inicia uma sessão com a entrada e a saída indicadas.
+     *
+     * @param conexao fechada quando o jogo termina; fechá-la deve encerrar a entrada
+     * @throws IllegalStateException se o servidor já foi fechado
+     */
+    public SessaoJogo iniciarSessao(Entrada entrada, Saida saida, Closeable conexao) {
+        if (entrada == null || saida == null || conexao == null) {
+            throw new IllegalArgumentException("Entrada, saída e conexão não podem ser nulas");
+        }
+        if (fechado) {
+            throw new IllegalStateException("Servidor fechado");
+        }
+        long seed;
+        synchronized (seeds) {
+            seed = seeds.nextLong();
+        }
+
+        SessaoJogo sessao = new SessaoJogo(proximoId.getAndIncrement(), conexao);
+        sessoes.put(sessao.getId(), sessao);
+        sessao.iniciar(threads.newThread(() -> executar(sessao, entrada, saida, seed)));
+        return sessao;
+    }
+
+    private void executar(SessaoJogo sessao, Entrada entrada, Saida saida, long seed) {
+        try {
+            RoladorDados dado = new RoladorComLog(new RoladorSilencioso(seed), saida);
+            Jogo jogo = new Jogo(dado, saida, entrada);
+            jogo.setGravacaoSaves(false);
+            jogo.setCarregamentoSaves(false);
+            jogo.setLogEventos(false);
+            jogo.iniciar();
+        } catch (RuntimeException | Error e) {
+            sessao.registrarErro(e);
+        } finally {
+            sessao.encerrar();
+            sessoes.remove(sessao.getId());
+            encerradas.incrementAndGet();
+        }
+    }
+
+    /**
+     * Abre uma sessão sem rede, controlada pelo próprio processo.
+     *
+     * @throws IllegalStateException se o servidor já foi fechado
+     */
+    public SessaoLocal abrirSessaoLocal() {
+        SessaoLocal local = new SessaoLocal();
+        local.associar(iniciarSessao(local.entradaDoJogo(), local.saidaDoJogo(), local::close));
+        return local;
+    }
+
+    /**
+     * Passa a aceitar conexões TCP de texto no endereço local (loopback).
+     * Cada conexão é uma sessão; as linhas são lidas em UTF-8.
+     *
+     * @param porta porta (0 escolhe uma livre)
+     * @return porta em que o servidor está escutando
+     * @throws IOException se não for possível abrir a porta
+     * @throws IllegalStateException se o servidor já está escutando ou foi fechado
+     */
+    public synchronized int escutar(int porta) throws IOException {
+        if (fechado) {
+            throw new IllegalStateException("Servidor fechado");
+        }
+        if (socketServidor != null) {
+            throw new IllegalStateException("Servidor já está escutando na porta " + socketServidor.getLocalPort());
+        }
+        ServerSocket socket = new ServerSocket();
+        socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), porta), 128);
+        socketServidor = socket;
+
+        Thread aceitador = FabricaThreads.daemon("servidor-jogo").newThread(() -> aceitar(socket));
+        aceitador.start();
+        return socket.getLocalPort();
+    }
+
+    private void aceitar(ServerSocket socket) {
+        while (!fechado) {
+            Socket conexao;
+            try {
+                conexao = socket.accept();
+            } catch (IOException e) {
+                // Socket fechado em close().
+                return;
+            }
+            try {
+                conexao.setTcpNoDelay(true);
+                OutputStream saida = conexao.getOutputStream();
+                iniciarSessao(new LeitorLinhas(conexao.getInputStream()), Saida.para(texto -> {
+                    saida.write(texto.toString().getBytes(StandardCharsets.UTF_8));
+                    saida.flush();
+                }), conexao);
+            } catch (IOException | IllegalStateException e) {
+                fecharEmSilencio(conexao);
+            }
+        }
+    }
+
+    private static void fecharEmSilencio(Closeable conexao) {
+        try {
+            conexao.close();
+        } catch (IOException e) {
+            // Nada a fazer.
+        }
+    }
+
+    /**
+     * @return sessões com jogo em andamento
+     */
+    public int getSessoesAtivas() {
+        return sessoes.size();
+    }
+
+    /**
+     * @return sessões já terminadas desde a criação do servidor
+     */
+    public long getSessoesEncerradas() {
+        return encerradas.get();
+    }
+
+    /**
+     * Para de aceitar conexões, encerra todas as sessões e espera (por até
+     * alguns segundos) os jogos terminarem.
+     */
+    @Override
+    public void close() {
+        ServerSocket socket;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            socket = socketServidor;
+        }
+        if (socket != null) {
+            fecharEmSilencio(socket);
+        }
+
+        List<SessaoJogo> abertas = new ArrayList<>(sessoes.values());
+        for (SessaoJogo sessao : abertas) {
+            sessao.encerrar();
+        }
+        long limite = System.nanoTime() + ESPERA_FECHAMENTO_MS * 1_000_000L;
+        try {
+            for (SessaoJogo sessao : abertas) {
+                long restante = (limite - System.nanoTime()) / 1_000_000L;
+                if (restante <= 0 || !sessao.aguardar(restante)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Inicia um servidor na porta indicada (padrão 4000) e espera até o processo ser encerrado.
+     * Conecte com {@code telnet localhost 4000} ou {@code nc localhost 4000}.
+     */
+    public static void main(String[] args) throws Exception {
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        ServidorJogo servidor = new ServidorJogo();
+        int escutando = servidor.escutar(porta);
+        System.out.println("Servidor do RPG escutando em localhost:" + escutando
+                + (FabricaThreads.suportaThreadsVirtuais() ? " (threads virtuais)" : " (threads de plataforma)"));
+        Runtime.getRuntime().addShutdownHook(new Thread(servidor::close));
+        Thread.currentThread().join();
+    }
+}
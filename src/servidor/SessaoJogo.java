@@ -0,0 +1,68 @@
+package servidor;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sessão de jogo em andamento no {@link ServidorJogo}: um {@link sistema.Jogo}
+ * com entrada, saída e dados próprios, rodando em sua própria thread.
+ */
+public class SessaoJogo {
+    private final long id;
+    private final Closeable conexao;
+    private Thread thread;
+    private volatile Throwable erro;
+
+    SessaoJogo(long id, Closeable conexao) {
+        this.id = id;
+        this.conexao = conexao;
+    }
+
+    void iniciar(Thread thread) {
+        this.thread = thread;
+        thread.start();
+    }
+
+    void registrarErro(Throwable erro) {
+        this.erro = erro;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return true enquanto o jogo da sessão está rodando
+     */
+    public boolean isAtiva() {
+        return thread.isAlive();
+    }
+
+    /**
+     * @return erro inesperado que encerrou o jogo, ou null
+     */
+    public Throwable getErro() {
+        return erro;
+    }
+
+    /**
+     * Espera o jogo da sessão terminar.
+     *
+     * @return true se terminou dentro do prazo
+     */
+    public boolean aguardar(long millis) throws InterruptedException {
+        thread.join(millis);
+        return !thread.isAlive();
+    }
+
+    /**
+     * Fecha a conexão do jogador; o jogo termina na próxima leitura.
+     */
+    public void encerrar() {
+        try {
+            conexao.close();
+        } catch (IOException e) {
+            // A conexão já estava fechada.
+        }
+    }
+}
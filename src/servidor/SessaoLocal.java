@@ -0,0 +1,132 @@
+package servidor;
+
+import sistema.Entrada;
+import sistema.Saida;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Lado do jogador de uma sessão no mesmo processo do servidor, sem rede:
+ * as respostas vão por uma fila e o texto do jogo volta por um buffer.
+ * Usada em testes, bots e medições.
+ * <p>
+ * O jogo entrega o texto a cada pergunta ao jogador, então cada
+ * {@link #receber(long)} devolve tipicamente uma tela inteira, terminando
+ * na pergunta.
+ */
+public class SessaoLocal implements AutoCloseable {
+    /** Marca o fim da entrada na fila (comparada por identidade). */
+    private static final String FIM = new String("");
+
+    private final BlockingQueue<String> respostas = new LinkedBlockingQueue<>();
+    private final StringBuilder texto = new StringBuilder();
+    private boolean encerrada;
+    private SessaoJogo sessao;
+
+    SessaoLocal() {
+    }
+
+    void associar(SessaoJogo sessao) {
+        this.sessao = sessao;
+    }
+
+    /**
+     * @return entrada lida pelo jogo
+     */
+    Entrada entradaDoJogo() {
+        return () -> {
+            String linha;
+            try {
+                linha = respostas.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Sessão interrompida");
+            }
+            if (linha == FIM) {
+                respostas.add(FIM);
+                return null;
+            }
+            return linha;
+        };
+    }
+
+    /**
+     * @return saída escrita pelo jogo
+     */
+    Saida saidaDoJogo() {
+        return Saida.para(recebido -> {
+            synchronized (this) {
+                texto.append(recebido);
+                notifyAll();
+            }
+        });
+    }
+
+    /**
+     * @return sessão do servidor que roda o jogo
+     */
+    public SessaoJogo getSessao() {
+        return sessao;
+    }
+
+    /**
+     * Envia uma resposta ao jogo, como se o jogador a digitasse.
+     *
+     * @throws IllegalStateException se a sessão já foi fechada
+     */
+    public void enviar(String linha) {
+        if (linha == null) {
+            throw new IllegalArgumentException("Linha não pode ser nula");
+        }
+        synchronized (this) {
+            if (encerrada) {
+                throw new IllegalStateException("Sessão encerrada");
+            }
+        }
+        respostas.add(linha);
+    }
+
+    /**
+     * Espera o jogo escrever algo e devolve todo o texto pendente.
+     *
+     * @param timeoutMillis espera máxima
+     * @return texto recebido; vazio se nada chegou no prazo ou se a sessão terminou
+     */
+    public synchronized String receber(long timeoutMillis) throws InterruptedException {
+        long limite = System.nanoTime() + timeoutMillis * 1_000_000L;
+        while (texto.length() == 0 && !encerrada) {
+            long restante = (limite - System.nanoTime()) / 1_000_000L;
+            if (restante <= 0) {
+                break;
+            }
+            wait(restante);
+        }
+        String recebido = texto.toString();
+        texto.setLength(0);
+        return recebido;
+    }
+
+    /**
+     * @return true se a sessão foi fechada (pelo jogador ou porque o jogo terminou)
+     */
+    public synchronized boolean isEncerrada() {
+        return encerrada;
+    }
+
+    /**
+     * Fecha a entrada do jogo; ele termina na próxima leitura.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (encerrada) {
+                return;
+            }
+            encerrada = true;
+            notifyAll();
+        }
+        respostas.add(FIM);
+    }
+}
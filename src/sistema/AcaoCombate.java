@@ -0,0 +1,13 @@
+package sistema;
+
+/**
+ * Ações disponíveis para o jogador em um turno de combate.
+ * <p>
+ * Espelham as opções do menu de {@link Jogo} durante uma batalha.
+ */
+public enum AcaoCombate {
+    ATACAR,
+    USAR_ITEM,
+    FUGIR,
+    HABILIDADE_ESPECIAL
+}
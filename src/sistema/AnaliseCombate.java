@@ -0,0 +1,45 @@
+package sistema;
+
+/**
+ * Resultado exato de {@link SolucionadorCombate#resolver}: chance de vitória
+ * e número esperado de turnos de um combate jogado com uma estratégia.
+ */
+public class AnaliseCombate {
+    private final SolucionadorCombate.Estrategia estrategia;
+    private final double chanceVitoria;
+    private final double turnosEsperados;
+    private final long estados;
+    private final long nanos;
+
+    AnaliseCombate(SolucionadorCombate.Estrategia estrategia, double chanceVitoria, double turnosEsperados,
+                   long estados, long nanos) {
+        this.estrategia = estrategia;
+        this.chanceVitoria = chanceVitoria;
+        this.turnosEsperados = turnosEsperados;
+        this.estados = estados;
+        this.nanos = nanos;
+    }
+
+    public SolucionadorCombate.Estrategia getEstrategia() { return estrategia; }
+
+    /** @return probabilidade de vencer, entre 0 e 1 */
+    public double getChanceVitoria() { return chanceVitoria; }
+
+    /**
+     * @return média de turnos até o fim do combate, contando cada decisão do
+     *         jogador (inclusive usar item), como {@link ResultadoCombate#getTurnos()};
+     *         infinito se o combate puder não terminar
+     */
+    public double getTurnosEsperados() { return turnosEsperados; }
+
+    /** @return estados distintos resolvidos (as consultas à memória não contam) */
+    public long getEstados() { return estados; }
+
+    public long getNanos() { return nanos; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: vitória %.2f%% | %.2f turnos | %,d estados | %d µs",
+                estrategia, chanceVitoria * 100, turnosEsperados, estados, nanos / 1000);
+    }
+}
@@ -0,0 +1,415 @@
+package sistema;
+
+import itens.Item;
+import personagens.Inimigo;
+import personagens.Personagem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Sugere a ação de combate com maior chance de vitória, por busca expectimax
+ * sobre {@link EstadoCombate}.
+ * <p>
+ * A árvore alterna decisões do jogador (máximo entre as ações) e rolagens
+ * (média pelos resultados, com as probabilidades exatas dos dados). Resultados
+ * que levam ao mesmo HP são somados, e todos os golpes letais viram um só.
+ * Cada nível da busca tem um estado pré-alocado: expandir um filho é copiar o
+ * pai sobre ele e ajustar o HP de cada resultado, sem criar objetos.
+ * <p>
+ * A busca aprofunda uma decisão por vez (aprofundamento iterativo) até o
+ * limite de estados ou o prazo, e a sugestão vem da última profundidade
+ * completa; onde ela para, {@link EstadoCombate#estimarVitoria()} estima o
+ * resto. Na batalha contra o chefe, as ações da raiz são avaliadas em
+ * paralelo no {@link ForkJoinPool}, cada uma com sua parte do limite.
+ * <p>
+ * Não rola dados: pedir uma sugestão não muda a sequência de rolagens do
+ * jogo. Com o prazo folgado, o resultado depende só do limite de estados.
+ */
+public class ConselheiroCombate {
+    /** Estados visitados por sugestão (decisões expandidas e folhas estimadas), no máximo. */
+    public static final int LIMITE_ESTADOS_PADRAO = 100_000;
+    /** Prazo de cada sugestão. */
+    public static final long PRAZO_PADRAO_MS = 250;
+    /** Avaliação de uma fuga bem-sucedida (sobrevive, mas sem XP nem saque). */
+    public static final double VALOR_FUGA_PADRAO = 0.5;
+
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+
+    private final int limiteEstados;
+    private final long prazoNanos;
+    private final double valorFuga;
+    private final ForkJoinPool pool;
+
+    /**
+     * Conselheiro com os limites padrão, paralelo no pool comum.
+     */
+    public ConselheiroCombate() {
+        this(LIMITE_ESTADOS_PADRAO, PRAZO_PADRAO_MS, VALOR_FUGA_PADRAO, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param limiteEstados estados visitados por sugestão (&gt; 0)
+     * @param prazoMs       tempo máximo por sugestão (&gt; 0)
+     * @param valorFuga     avaliação de uma fuga bem-sucedida, entre 0 e 1
+     * @param pool          pool da busca paralela (contra o chefe)
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public ConselheiroCombate(int limiteEstados, long prazoMs, double valorFuga, ForkJoinPool pool) {
+        if (limiteEstados <= 0 || prazoMs <= 0) {
+            throw new IllegalArgumentException("Limite de estados e prazo devem ser positivos");
+        }
+        if (valorFuga < 0 || valorFuga > 1) {
+            throw new IllegalArgumentException("Valor da fuga deve estar entre 0 e 1");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool não pode ser nulo");
+        }
+        this.limiteEstados = limiteEstados;
+        this.prazoNanos = prazoMs * 1_000_000L;
+        this.valorFuga = valorFuga;
+        this.pool = pool;
+    }
+
+    /**
+     * Sugere a ação do turno. Não altera jogador nem inimigo.
+     *
+     * @param boss true na batalha contra o chefe
+     */
+    public SugestaoCombate sugerir(Personagem jogador, Personagem inimigo, boolean boss) {
+        return sugerir(EstadoCombate.de(jogador, inimigo, boss));
+    }
+
+    /**
+     * Sugere a ação para o estado. Pode ser chamado de várias threads.
+     *
+     * @throws IllegalArgumentException se o combate já terminou
+     */
+    public SugestaoCombate sugerir(EstadoCombate estado) {
+        if (estado.isTerminado()) {
+            throw new IllegalArgumentException("Combate já terminou");
+        }
+        long inicio = System.nanoTime();
+        long prazo = inicio + prazoNanos;
+        int[] acoes = new int[3 + estado.quantidadeItens()];
+        int quantidade = estado.acoes(acoes);
+        boolean paralela = estado.isBoss() && quantidade > 1 && pool.getParallelism() > 1;
+
+        Busca[] buscas = new Busca[paralela ? quantidade : 1];
+        for (int i = 0; i < buscas.length; i++) {
+            buscas[i] = new Busca(estado, limiteEstados / buscas.length, prazo);
+        }
+
+        double[] valores = null;
+        int profundidade = 0;
+        boolean exata = false;
+        for (int p = 1; p <= PROFUNDIDADE_MAXIMA; p++) {
+            double[] tentativa = paralela
+                    ? avaliarEmParalelo(buscas, estado, acoes, quantidade, p)
+                    : buscas[0].avaliarRaiz(estado, acoes, quantidade, p);
+            // A primeira profundidade sempre conta, para haver alguma sugestão.
+            if (tentativa == null && valores != null) {
+                break;
+            }
+            if (tentativa == null) {
+                tentativa = new Busca(estado, Long.MAX_VALUE, Long.MAX_VALUE).avaliarRaiz(estado, acoes, quantidade, p);
+            }
+            valores = tentativa;
+            profundidade = p;
+            boolean cortada = false;
+            for (Busca busca : buscas) {
+                cortada |= busca.cortada;
+            }
+            if (!cortada) {
+                exata = true;
+                break;
+            }
+        }
+
+        long nos = 0;
+        for (Busca busca : buscas) {
+            nos += busca.nos;
+        }
+        return montar(estado, acoes, quantidade, valores, profundidade, exata, nos, System.nanoTime() - inicio);
+    }
+
+    private double[] avaliarEmParalelo(Busca[] buscas, EstadoCombate estado, int[] acoes, int quantidade,
+                                       int profundidade) {
+        List<Callable<Double>> tarefas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Busca busca = buscas[i];
+            int acao = acoes[i];
+            tarefas.add(() -> busca.avaliar(estado, acao, profundidade));
+        }
+        double[] valores = new double[quantidade];
+        try {
+            List<Future<Double>> resultados = pool.invokeAll(tarefas);
+            for (int i = 0; i < quantidade; i++) {
+                valores[i] = resultados.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na busca paralela", e.getCause());
+        }
+        for (Busca busca : buscas) {
+            if (busca.abortada) {
+                return null;
+            }
+        }
+        return valores;
+    }
+
+    private static SugestaoCombate montar(EstadoCombate estado, int[] acoes, int quantidade, double[] valores,
+                                          int profundidade, boolean exata, long nos, long nanos) {
+        List<SugestaoCombate.Opcao> opcoes = new ArrayList<>(quantidade);
+        SugestaoCombate.Opcao melhor = null;
+        for (int i = 0; i < quantidade; i++) {
+            SugestaoCombate.Opcao opcao = opcao(estado, acoes[i], valores[i]);
+            opcoes.add(opcao);
+            // Empates ficam com a primeira ação: atacar antes de gastar recursos.
+            if (melhor == null || opcao.getValor() > melhor.getValor() + 1e-9) {
+                melhor = opcao;
+            }
+        }
+        return new SugestaoCombate(melhor, opcoes, profundidade, exata, nos, nanos);
+    }
+
+    private static SugestaoCombate.Opcao opcao(EstadoCombate estado, int acao, double valor) {
+        switch (acao) {
+            case EstadoCombate.ATACAR:
+                return new SugestaoCombate.Opcao(AcaoCombate.ATACAR, null, -1, valor);
+            case EstadoCombate.HABILIDADE:
+                return new SugestaoCombate.Opcao(AcaoCombate.HABILIDADE_ESPECIAL, null, -1, valor);
+            case EstadoCombate.FUGIR:
+                return new SugestaoCombate.Opcao(AcaoCombate.FUGIR, null, -1, valor);
+            default:
+                int posicao = acao - EstadoCombate.ITEM;
+                return new SugestaoCombate.Opcao(AcaoCombate.USAR_ITEM, estado.getItem(posicao),
+                        estado.indiceAtual(posicao), valor);
+        }
+    }
+
+    /**
+     * Política que joga com as sugestões deste conselheiro, para o
+     * {@link MotorCombate}. Guarda a última sugestão entre
+     * {@code escolherAcao} e {@code escolherItem}: use uma por combate
+     * (ou por thread).
+     *
+     * @param boss true se for usada em {@link MotorCombate#batalharBoss}
+     */
+    public PoliticaCombate politica(boolean boss) {
+        return new PoliticaCombate() {
+            private Item itemSugerido;
+
+            @Override
+            public AcaoCombate escolherAcao(Personagem jogador, Personagem inimigo) {
+                SugestaoCombate sugestao = sugerir(jogador, inimigo, boss);
+                itemSugerido = sugestao.getItem();
+                return sugestao.getAcao();
+            }
+
+            @Override
+            public Item escolherItem(Personagem jogador) {
+                return itemSugerido != null ? itemSugerido : PoliticaCombate.super.escolherItem(jogador);
+            }
+        };
+    }
+
+    /**
+     * Compara o conselheiro com as políticas simples em lutas resolvidas pelo
+     * {@link MotorCombate}: inimigos aleatórios do nível do jogador e o chefe final.
+     * <p>
+     * Uso: {@code java -cp bin sistema.ConselheiroCombate [lutas] [classe] [nível] [estados] [seed]}
+     */
+    public static void main(String[] args) {
+        int lutas = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        String classe = args.length > 1 ? args[1] : "Guerreiro";
+        int nivel = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int estados = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42L;
+
+        ConselheiroCombate conselheiro = new ConselheiroCombate(estados, 10_000, VALOR_FUGA_PADRAO,
+                ForkJoinPool.commonPool());
+        String[] nomes = {"conselheiro", "curar abaixo de 30%", "especial quando possível"};
+        System.out.printf("%s nível %d, %d lutas por cenário, até %,d estados por decisão%n",
+                classe, nivel, lutas, estados);
+        for (boolean boss : new boolean[] {false, true}) {
+            PoliticaCombate[] politicas = {
+                conselheiro.politica(boss), PoliticaCombate.curarAbaixoDe(0.3), PoliticaCombate.especialQuandoPossivel()
+            };
+            System.out.println(boss ? "\nChefe final:" : "\nInimigos aleatórios:");
+            for (int i = 0; i < politicas.length; i++) {
+                RoladorDados dado = new RoladorSilencioso(seed);
+                MotorCombate motor = new MotorCombate(politicas[i], dado);
+                int vitorias = 0;
+                int fugas = 0;
+                long inicio = System.nanoTime();
+                for (int luta = 0; luta < lutas; luta++) {
+                    Personagem jogador = heroi(classe, nivel);
+                    jogador.setDado(dado);
+                    Inimigo inimigo = boss ? chefe(nivel, dado) : Inimigo.criarInimigoAleatorio(nivel, dado);
+                    ResultadoCombate resultado = boss ? motor.batalharBoss(jogador, inimigo) : motor.batalhar(jogador, inimigo);
+                    if (resultado.isVitoria()) {
+                        vitorias++;
+                    } else if (resultado.getDesfecho() == ResultadoCombate.Desfecho.FUGA) {
+                        fugas++;
+                    }
+                }
+                System.out.printf("  %-26s vitórias %5.1f%% | fugas %5.1f%% | %d ms%n", nomes[i],
+                        100.0 * vitorias / lutas, 100.0 * fugas / lutas, (System.nanoTime() - inicio) / 1_000_000);
+            }
+        }
+    }
+
+    /** Personagem de novo jogo levado ao nível com os ganhos de {@code Jogo.levelUp}. */
+    static Personagem heroi(String classe, int nivel) {
+        Personagem jogador = SimulacaoMonteCarlo.novoPersonagem(classe);
+        for (int n = 1; n < nivel; n++) {
+            jogador.setNivel(jogador.getNivel() + 1);
+            jogador.setPontosVidaMaximos(jogador.getPontosVidaMaximos() + 20);
+            jogador.setAtaque(jogador.getAtaque() + 3);
+            jogador.setDefesa(jogador.getDefesa() + 2);
+        }
+        jogador.setPontosVida(jogador.getPontosVidaMaximos());
+        return jogador;
+    }
+
+    /** O chefe de {@code Jogo.iniciarBossFight}, sem o loot. */
+    static Inimigo chefe(int nivel, RoladorDados dado) {
+        return new Inimigo("Vorath, o Eterno", 200 + nivel * 20, 20 + nivel * 2, 15 + nivel, nivel + 2,
+                "Boss Final", dado);
+    }
+
+    /**
+     * Uma busca sequencial, com os estados e resultados de cada nível já alocados.
+     */
+    private final class Busca {
+        private final EstadoCombate[] estados = new EstadoCombate[PROFUNDIDADE_MAXIMA + 1];
+        private final EstadoCombate.Resultados[] danosJogador = new EstadoCombate.Resultados[PROFUNDIDADE_MAXIMA + 1];
+        private final EstadoCombate.Resultados[] danosInimigo = new EstadoCombate.Resultados[PROFUNDIDADE_MAXIMA + 1];
+        private final int[][] acoes = new int[PROFUNDIDADE_MAXIMA + 1][];
+        private final long limite;
+        private final long prazo;
+        long nos;
+        boolean abortada;
+        // true se alguma folha foi estimada (a busca não chegou ao fim do combate)
+        boolean cortada;
+
+        Busca(EstadoCombate raiz, long limite, long prazo) {
+            for (int p = 0; p <= PROFUNDIDADE_MAXIMA; p++) {
+                estados[p] = raiz.copiar();
+                danosJogador[p] = new EstadoCombate.Resultados();
+                danosInimigo[p] = new EstadoCombate.Resultados();
+                acoes[p] = new int[3 + raiz.quantidadeItens()];
+            }
+            this.limite = limite;
+            this.prazo = prazo;
+        }
+
+        /**
+         * @return avaliação de cada ação da raiz, ou null se a busca estourou o limite ou o prazo
+         */
+        double[] avaliarRaiz(EstadoCombate raiz, int[] acoesRaiz, int quantidade, int profundidade) {
+            abortada = false;
+            cortada = false;
+            nos++;
+            double[] valores = new double[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                valores[i] = valorAcao(raiz, acoesRaiz[i], profundidade);
+                if (abortada) {
+                    return null;
+                }
+            }
+            return valores;
+        }
+
+        /**
+         * Avalia uma só ação da raiz (uma tarefa da busca paralela).
+         */
+        double avaliar(EstadoCombate raiz, int acao, int profundidade) {
+            abortada = false;
+            cortada = false;
+            return valorAcao(raiz, acao, profundidade);
+        }
+
+        private double valorDecisao(EstadoCombate estado, int profundidade) {
+            if (nos >= limite || ((++nos & 0xFF) == 0 && System.nanoTime() > prazo)) {
+                abortada = true;
+                return 0;
+            }
+            if (profundidade == 0) {
+                cortada = true;
+                return estado.estimarVitoria();
+            }
+            int[] opcoes = acoes[profundidade];
+            int quantidade = estado.acoes(opcoes);
+            double melhor = 0;
+            for (int i = 0; i < quantidade; i++) {
+                double valor = valorAcao(estado, opcoes[i], profundidade);
+                if (abortada) {
+                    return 0;
+                }
+                melhor = Math.max(melhor, valor);
+            }
+            return melhor;
+        }
+
+        private double valorAcao(EstadoCombate estado, int acao, int profundidade) {
+            EstadoCombate filho = estados[profundidade];
+            filho.copiarDe(estado);
+            EstadoCombate.Resultados danos = danosJogador[profundidade];
+            filho.aplicarAcao(acao, danos);
+            boolean passaTurno = EstadoCombate.passaTurno(acao);
+
+            if (acao == EstadoCombate.FUGIR) {
+                double falha = turnoInimigo(filho, profundidade);
+                return EstadoCombate.PROBABILIDADE_FUGA * valorFuga + (1 - EstadoCombate.PROBABILIDADE_FUGA) * falha;
+            }
+            if (danos.tamanho() == 0) {
+                return passaTurno ? turnoInimigo(filho, profundidade) : valorDecisao(filho, profundidade - 1);
+            }
+
+            int hp = filho.hpInimigo;
+            double total = 0;
+            for (int i = 0; i < danos.tamanho(); i++) {
+                filho.hpInimigo = hp - danos.valor(i);
+                double valor;
+                if (filho.hpInimigo == 0) {
+                    valor = 1;
+                } else {
+                    valor = passaTurno ? turnoInimigo(filho, profundidade) : valorDecisao(filho, profundidade - 1);
+                }
+                if (abortada) {
+                    return 0;
+                }
+                total += danos.probabilidade(i) * valor;
+            }
+            filho.hpInimigo = hp;
+            return total;
+        }
+
+        private double turnoInimigo(EstadoCombate estado, int profundidade) {
+            EstadoCombate.Resultados danos = danosInimigo[profundidade];
+            estado.turnoInimigo(danos);
+            int hp = estado.hpJogador;
+            double total = 0;
+            for (int i = 0; i < danos.tamanho(); i++) {
+                estado.hpJogador = hp - danos.valor(i);
+                if (estado.hpJogador > 0) {
+                    total += danos.probabilidade(i) * valorDecisao(estado, profundidade - 1);
+                    if (abortada) {
+                        break;
+                    }
+                }
+            }
+            estado.hpJogador = hp;
+            return total;
+        }
+    }
+}
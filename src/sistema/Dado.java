@@ -6,12 +6,58 @@ import java.util.Random;
  * Utilitário de rolagem de dados.
  * <p>
  * Possui suporte a seed para permitir testes determinísticos.
+ * Simulações paralelas reproduzíveis não usam esta classe: cada uma injeta
+ * o seu {@link RoladorDados} (ver {@link RoladorSilencioso}).
  * Sempre imprime o resultado da rolagem para que o jogador
- * veja o valor tirado, como em um RPG de mesa.
+ * veja o valor tirado, como em um RPG de mesa, direto no console
+ * ({@link Saida#DIRETA}). Para imprimir na saída de uma partida, combine
+ * {@link #semLog()} com um {@link RoladorComLog} dessa saída: a saída é de
+ * cada rolador, não desta classe, e sessões no mesmo processo não se misturam.
  */
 public class Dado {
     private static Random random = new Random();
     private static Long seed = null;
+    private static volatile boolean silencioso = false;
+
+    private static final RoladorDados PADRAO = new RoladorDados() {
+        @Override
+        public int rolar(int faces) {
+            return Dado.rolar(faces);
+        }
+
+        @Override
+        public boolean isSilencioso() {
+            return silencioso;
+        }
+    };
+
+    private static final RoladorDados SEM_LOG = new RoladorDados() {
+        @Override
+        public int rolar(int faces) {
+            return sortear(faces);
+        }
+
+        @Override
+        public boolean isSilencioso() {
+            return true;
+        }
+    };
+
+    /**
+     * @return rolador que delega para os métodos estáticos desta classe
+     *         (respeita seed e modo silencioso).
+     */
+    public static RoladorDados padrao() {
+        return PADRAO;
+    }
+
+    /**
+     * @return rolador que usa o gerador (e a seed) desta classe sem imprimir nada,
+     *         para ser envolvido por um {@link RoladorComLog}
+     */
+    public static RoladorDados semLog() {
+        return SEM_LOG;
+    }
 
     /**
      * Define a seed do gerador de números aleatórios.
@@ -40,12 +86,18 @@ public class Dado {
      * @throws IllegalArgumentException se faces &lt;= 0
      */
     public static int rolar(int faces) {
+        int resultado = sortear(faces);
+        if (!silencioso) {
+            Saida.DIRETA.printf("[DADO] d%d -> %d%n", faces, resultado);
+        }
+        return resultado;
+    }
+
+    private static int sortear(int faces) {
         if (faces <= 0) {
             throw new IllegalArgumentException("Número de faces deve ser positivo");
         }
-        int resultado = random.nextInt(faces) + 1;
-        System.out.println(String.format("[DADO] d%d -> %d", faces, resultado));
-        return resultado;
+        return random.nextInt(faces) + 1;
     }
 
     /**
@@ -62,6 +114,23 @@ public class Dado {
         return rolar(20);
     }
 
+    /**
+     * Liga ou desliga a impressão das rolagens (e das mensagens de combate
+     * dos personagens). Usado em simulações sem console.
+     *
+     * @param silencioso true para não imprimir nada
+     */
+    public static void setSilencioso(boolean silencioso) {
+        Dado.silencioso = silencioso;
+    }
+
+    /**
+     * @return true se as rolagens não estão sendo impressas.
+     */
+    public static boolean isSilencioso() {
+        return silencioso;
+    }
+
     /**
      * @return seed atual (se definida) ou null se aleatório padrão.
      */
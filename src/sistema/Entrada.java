@@ -0,0 +1,45 @@
+package sistema;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fonte das respostas do jogador, linha a linha.
+ * <p>
+ * Pode ser injetada no {@link Jogo}, como o {@link RoladorDados}: o console,
+ * um {@link Reader} qualquer (sessão de rede, roteiro de teste) ou a
+ * reprodução de uma {@link SessaoGravada}.
+ */
+@FunctionalInterface
+public interface Entrada {
+
+    /**
+     * @return próxima linha, sem o terminador, ou null se a entrada acabou
+     * @throws IOException se a leitura falhar
+     */
+    String lerLinha() throws IOException;
+
+    /**
+     * @return entrada que lê {@code System.in} em UTF-8
+     */
+    static Entrada console() {
+        return de(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param leitor texto da entrada (é bufferizado se ainda não for um {@link BufferedReader})
+     * @throws IllegalArgumentException se leitor for nulo
+     */
+    static Entrada de(Reader leitor) {
+        if (leitor == null) {
+            throw new IllegalArgumentException("Leitor não pode ser nulo");
+        }
+        BufferedReader bufferizado = leitor instanceof BufferedReader
+                ? (BufferedReader) leitor
+                : new BufferedReader(leitor);
+        return bufferizado::readLine;
+    }
+}
@@ -0,0 +1,567 @@
+package sistema;
+
+import itens.Efeito;
+import itens.Item;
+import personagens.Arqueiro;
+import personagens.Guerreiro;
+import personagens.Mago;
+import personagens.Personagem;
+
+import java.util.List;
+
+/**
+ * Estado de um combate reduzido a inteiros, para buscas que expandem muitos
+ * estados por decisão ({@link ConselheiroCombate}, {@link SolucionadorCombate}).
+ * <p>
+ * Guarda só o que muda o desfecho: HP, ataque e defesa dos dois lados, o
+ * recurso da classe do jogador (mana, flechas ou fúria) e a quantidade de cada
+ * pilha do inventário. As regras são as de {@link MotorCombate} e do
+ * {@code calcularDano} de cada classe, mas em vez de rolar os dados o estado
+ * enumera os resultados possíveis com suas probabilidades. Copiar um estado
+ * sobre outro ({@link #copiarDe}) não aloca nada depois da primeira vez.
+ * <p>
+ * O inimigo é tratado como {@link personagens.Inimigo}: ataque + 1d6 (com o
+ * ataque sombrio, no chefe). Classes de jogador desconhecidas atacam com
+ * ataque + 1d6 e não têm habilidade especial.
+ */
+public final class EstadoCombate {
+    /** Ações, como devolvidas por {@link #acoes(int[])}; itens são {@code ITEM + posição}. */
+    static final int ATACAR = 0;
+    static final int HABILIDADE = 1;
+    static final int FUGIR = 2;
+    static final int ITEM = 3;
+
+    /** Chance de fuga: d20 &gt;= {@link MotorCombate#MINIMO_FUGA}. */
+    static final double PROBABILIDADE_FUGA = (21 - MotorCombate.MINIMO_FUGA) / 20.0;
+    /** Chance do ataque sombrio do chefe: d10 &gt;= {@link MotorCombate#MINIMO_ATAQUE_SOMBRIO}. */
+    static final double PROBABILIDADE_SOMBRIO = (11 - MotorCombate.MINIMO_ATAQUE_SOMBRIO) / 10.0;
+
+    private static final double SEXTO = 1.0 / 6;
+    /** Combinações de 3d6 por soma (3 a 18), para a Rajada de Flechas. */
+    private static final int[] COMBINACOES_3D6 = {1, 3, 6, 10, 15, 21, 25, 27, 27, 25, 21, 15, 10, 6, 3, 1};
+
+    enum Classe { BASICA, GUERREIRO, MAGO, ARQUEIRO }
+
+    private Classe classe;
+    private boolean boss;
+
+    int hpJogador;
+    private int hpMaximoJogador;
+    private int ataqueJogador;
+    private int defesaJogador;
+    // mana (Mago) ou flechas (Arqueiro)
+    private int recurso;
+    private boolean furia;
+    // chance de crítico (Guerreiro) ou de tiro preciso (Arqueiro), de 0 a 1
+    private double chanceBonus;
+    private int poderMagico;
+
+    int hpInimigo;
+    private int ataqueInimigo;
+    private int defesaInimigo;
+
+    // pilhas do inventário na ordem de getItensOrdenados(); só as quantidades mudam
+    private Item[] itens;
+    private int[] quantidades;
+    // quantidades na fotografia (compartilhado entre cópias, como itens)
+    private int[] iniciais;
+
+    private EstadoCombate() {
+    }
+
+    /**
+     * Fotografa o combate atual. Nada do que a busca fizer com o estado altera
+     * os personagens.
+     *
+     * @param boss true na batalha contra o chefe (sem fuga, com ataque sombrio)
+     * @throws IllegalArgumentException se jogador ou inimigo forem nulos
+     */
+    public static EstadoCombate de(Personagem jogador, Personagem inimigo, boolean boss) {
+        if (jogador == null || inimigo == null) {
+            throw new IllegalArgumentException("Jogador e inimigo não podem ser nulos");
+        }
+        EstadoCombate estado = new EstadoCombate();
+        estado.boss = boss;
+        estado.hpJogador = jogador.getPontosVida();
+        estado.hpMaximoJogador = jogador.getPontosVidaMaximos();
+        estado.ataqueJogador = jogador.getAtaque();
+        estado.defesaJogador = jogador.getDefesa();
+        estado.hpInimigo = inimigo.getPontosVida();
+        estado.ataqueInimigo = inimigo.getAtaque();
+        estado.defesaInimigo = inimigo.getDefesa();
+
+        if (jogador instanceof Guerreiro) {
+            Guerreiro guerreiro = (Guerreiro) jogador;
+            estado.classe = Classe.GUERREIRO;
+            estado.furia = guerreiro.isFuria();
+            estado.chanceBonus = porcentagem(guerreiro.getChanceCritico());
+        } else if (jogador instanceof Mago) {
+            Mago mago = (Mago) jogador;
+            estado.classe = Classe.MAGO;
+            estado.recurso = mago.getMana();
+            estado.poderMagico = mago.getPoderMagico();
+        } else if (jogador instanceof Arqueiro) {
+            Arqueiro arqueiro = (Arqueiro) jogador;
+            estado.classe = Classe.ARQUEIRO;
+            estado.recurso = arqueiro.getFlechas();
+            estado.chanceBonus = porcentagem(arqueiro.getPrecisao());
+        } else {
+            estado.classe = Classe.BASICA;
+        }
+
+        List<Item> ordenados = jogador.getInventario().getItensOrdenados();
+        estado.itens = ordenados.toArray(new Item[0]);
+        estado.quantidades = new int[estado.itens.length];
+        for (int i = 0; i < estado.itens.length; i++) {
+            estado.quantidades[i] = estado.itens[i].getQuantidade();
+        }
+        estado.iniciais = estado.quantidades.clone();
+        return estado;
+    }
+
+    /** Chance de uma rolagem de d100 menor ou igual ao valor. */
+    private static double porcentagem(int valor) {
+        return Math.max(0, Math.min(100, valor)) / 100.0;
+    }
+
+    /**
+     * @return cópia independente deste estado
+     */
+    public EstadoCombate copiar() {
+        EstadoCombate copia = new EstadoCombate();
+        copia.copiarDe(this);
+        return copia;
+    }
+
+    /**
+     * Torna este estado igual ao outro, reaproveitando o vetor de quantidades
+     * quando os dois vêm do mesmo combate.
+     */
+    void copiarDe(EstadoCombate outro) {
+        classe = outro.classe;
+        boss = outro.boss;
+        hpJogador = outro.hpJogador;
+        hpMaximoJogador = outro.hpMaximoJogador;
+        ataqueJogador = outro.ataqueJogador;
+        defesaJogador = outro.defesaJogador;
+        recurso = outro.recurso;
+        furia = outro.furia;
+        chanceBonus = outro.chanceBonus;
+        poderMagico = outro.poderMagico;
+        hpInimigo = outro.hpInimigo;
+        ataqueInimigo = outro.ataqueInimigo;
+        defesaInimigo = outro.defesaInimigo;
+        itens = outro.itens;
+        iniciais = outro.iniciais;
+        if (quantidades == null || quantidades.length != outro.quantidades.length) {
+            quantidades = outro.quantidades.clone();
+        } else {
+            System.arraycopy(outro.quantidades, 0, quantidades, 0, quantidades.length);
+        }
+    }
+
+    public boolean isBoss() { return boss; }
+    public int getHpJogador() { return hpJogador; }
+    public int getHpInimigo() { return hpInimigo; }
+
+    /**
+     * @return true se o combate acabou (alguém com HP zero)
+     */
+    public boolean isTerminado() {
+        return hpJogador == 0 || hpInimigo == 0;
+    }
+
+    /**
+     * @return número de pilhas na fotografia do inventário (inclusive as que acabaram)
+     */
+    int quantidadeItens() {
+        return itens.length;
+    }
+
+    /**
+     * @return pilha do inventário na posição (ordem de {@code getItensOrdenados()} na fotografia)
+     */
+    Item getItem(int posicao) {
+        return itens[posicao];
+    }
+
+    /**
+     * @return índice atual da pilha no inventário, descontando as que acabaram antes dela
+     */
+    int indiceAtual(int posicao) {
+        int indice = 0;
+        for (int i = 0; i < posicao; i++) {
+            if (quantidades[i] > 0) {
+                indice++;
+            }
+        }
+        return indice;
+    }
+
+    /**
+     * Lista as ações que valem a pena considerar. Ficam de fora as que não
+     * mudam nada além de gastar o turno ou um item: habilidade sem recurso,
+     * fúria já ativa, cura com HP cheio, itens sem efeito e pilhas com o mesmo
+     * efeito e valor de uma anterior.
+     *
+     * @param destino vetor com pelo menos {@code 3 + itens} posições
+     * @return número de ações escritas
+     */
+    int acoes(int[] destino) {
+        int n = 0;
+        destino[n++] = ATACAR;
+        if (podeUsarHabilidade()) {
+            destino[n++] = HABILIDADE;
+        }
+        for (int i = 0; i < itens.length; i++) {
+            if (quantidades[i] > 0 && itemUtil(i) && !repetido(i)) {
+                destino[n++] = ITEM + i;
+            }
+        }
+        if (!boss) {
+            destino[n++] = FUGIR;
+        }
+        return n;
+    }
+
+    /**
+     * @return true se a habilidade especial tem efeito, como em {@code podeUsarHabilidadeEspecial}
+     */
+    boolean podeUsarHabilidade() {
+        switch (classe) {
+            case GUERREIRO:
+                return !furia;
+            case MAGO:
+                return recurso >= 30;
+            case ARQUEIRO:
+                return recurso >= 3;
+            default:
+                return false;
+        }
+    }
+
+    private boolean itemUtil(int posicao) {
+        Item item = itens[posicao];
+        switch (item.getEfeito()) {
+            case CURA:
+                return item.getValorEfeito() > 0 && hpJogador < hpMaximoJogador;
+            case BUFF_ATAQUE:
+            case BUFF_DEFESA:
+            case DANO:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean repetido(int posicao) {
+        Item item = itens[posicao];
+        for (int i = 0; i < posicao; i++) {
+            if (quantidades[i] > 0 && itens[i].getEfeito() == item.getEfeito()
+                    && itens[i].getValorEfeito() == item.getValorEfeito()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Diz se {@link #chaveAlta()} e {@link #chaveBaixa()} identificam todos os
+     * estados alcançáveis a partir deste: HP, recurso, ataque e defesa (mesmo
+     * depois de todos os bônus) em 16 bits, e as quantidades de itens em 48.
+     */
+    boolean cabeEmChave() {
+        long ataque = ataqueJogador;
+        long defesa = defesaJogador;
+        long combinacoes = 1;
+        for (int i = 0; i < itens.length; i++) {
+            int valor = Math.max(0, itens[i].getValorEfeito());
+            if (itens[i].getEfeito() == Efeito.BUFF_ATAQUE) {
+                ataque += (long) quantidades[i] * valor;
+            } else if (itens[i].getEfeito() == Efeito.BUFF_DEFESA) {
+                defesa += (long) quantidades[i] * valor;
+            }
+            combinacoes *= iniciais[i] + 1;
+            if (combinacoes > 1L << 48) {
+                return false;
+            }
+        }
+        return Math.max(hpMaximoJogador, hpJogador) <= 0xFFFF && hpInimigo <= 0xFFFF && recurso <= 0xFFFF
+                && ataque <= 0x7FFF && defesa <= 0xFFFF;
+    }
+
+    /**
+     * @return HP dos dois lados, recurso, ataque e fúria, para memorizar estados
+     */
+    long chaveAlta() {
+        return hpJogador | (long) hpInimigo << 16 | (long) recurso << 32 | (long) ataqueJogador << 48
+                | (furia ? 1L << 63 : 0);
+    }
+
+    /**
+     * @return defesa e quantidades dos itens (em base mista), para memorizar estados
+     */
+    long chaveBaixa() {
+        long itensRestantes = 0;
+        for (int i = 0; i < itens.length; i++) {
+            itensRestantes = itensRestantes * (iniciais[i] + 1) + quantidades[i];
+        }
+        return defesaJogador | itensRestantes << 16;
+    }
+
+    /**
+     * @return false para itens: como no jogo, usar item não passa o turno
+     */
+    static boolean passaTurno(int acao) {
+        return acao < ITEM;
+    }
+
+    /**
+     * Aplica a parte certa da ação (gasto de mana, flechas e itens, fúria,
+     * cura, bônus) e enumera o dano que ela pode causar no inimigo.
+     * A fuga não entra aqui: a chance é {@link #PROBABILIDADE_FUGA}.
+     *
+     * @param danos recebe o HP que o inimigo perde em cada resultado (vazio se a ação não causa dano)
+     */
+    void aplicarAcao(int acao, Resultados danos) {
+        danos.limpar();
+        if (acao == ATACAR) {
+            aplicarAtaque(danos);
+        } else if (acao == HABILIDADE) {
+            aplicarHabilidade(danos);
+        } else if (acao >= ITEM) {
+            aplicarItem(acao - ITEM, danos);
+        }
+    }
+
+    private void aplicarAtaque(Resultados danos) {
+        switch (classe) {
+            case GUERREIRO:
+                for (int r = 1; r <= 6; r++) {
+                    int base = ataqueJogador + r;
+                    danos.somar(danoNoInimigo(furia(base * 2)), SEXTO * chanceBonus);
+                    danos.somar(danoNoInimigo(furia(base)), SEXTO * (1 - chanceBonus));
+                }
+                break;
+            case MAGO:
+                int bonus = 0;
+                if (recurso >= 10) {
+                    recurso -= 10;
+                    bonus = poderMagico;
+                }
+                for (int r = 1; r <= 6; r++) {
+                    danos.somar(danoNoInimigo(ataqueJogador + r + bonus), SEXTO);
+                }
+                break;
+            case ARQUEIRO:
+                if (recurso <= 0) {
+                    for (int r = 1; r <= 6; r++) {
+                        danos.somar(danoNoInimigo((ataqueJogador + r) / 2), SEXTO);
+                    }
+                    break;
+                }
+                recurso--;
+                for (int r = 1; r <= 6; r++) {
+                    int base = ataqueJogador + r;
+                    danos.somar(danoNoInimigo(base + 10), SEXTO * chanceBonus);
+                    danos.somar(danoNoInimigo(base), SEXTO * (1 - chanceBonus));
+                }
+                break;
+            default:
+                for (int r = 1; r <= 6; r++) {
+                    danos.somar(danoNoInimigo(ataqueJogador + r), SEXTO);
+                }
+        }
+    }
+
+    private int furia(int dano) {
+        return furia ? (int) (dano * 1.5) : dano;
+    }
+
+    private void aplicarHabilidade(Resultados danos) {
+        switch (classe) {
+            case GUERREIRO:
+                furia = true;
+                defesaJogador = Math.max(0, defesaJogador - 3);
+                break;
+            case MAGO:
+                recurso -= 30;
+                for (int r = 1; r <= 6; r++) {
+                    danos.somar(danoNoInimigo(poderMagico + 10 + r), SEXTO);
+                }
+                break;
+            case ARQUEIRO:
+                recurso -= 3;
+                for (int soma = 3; soma <= 18; soma++) {
+                    danos.somar(danoNoInimigo(3 * ataqueJogador + soma), COMBINACOES_3D6[soma - 3] / 216.0);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void aplicarItem(int posicao, Resultados danos) {
+        quantidades[posicao]--;
+        int valor = itens[posicao].getValorEfeito();
+        switch (itens[posicao].getEfeito()) {
+            case CURA:
+                if (valor > 0) {
+                    hpJogador = Math.min(hpJogador + valor, hpMaximoJogador);
+                }
+                break;
+            case BUFF_ATAQUE:
+                ataqueJogador = Math.max(0, ataqueJogador + valor);
+                break;
+            case BUFF_DEFESA:
+                defesaJogador = Math.max(0, defesaJogador + valor);
+                break;
+            case DANO:
+                for (int r = 1; r <= 6; r++) {
+                    danos.somar(danoNoInimigo(Math.max(1, valor + r - 3)), SEXTO);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Enumera o HP que o jogador perde no turno do inimigo.
+     */
+    void turnoInimigo(Resultados danos) {
+        danos.limpar();
+        for (int r = 1; r <= 6; r++) {
+            int dano = ataqueInimigo + r;
+            if (boss) {
+                danos.somar(danoNoJogador(dano * 2), SEXTO * PROBABILIDADE_SOMBRIO);
+                danos.somar(danoNoJogador(dano), SEXTO * (1 - PROBABILIDADE_SOMBRIO));
+            } else {
+                danos.somar(danoNoJogador(dano), SEXTO);
+            }
+        }
+    }
+
+    /** HP perdido pelo inimigo, limitado ao que ele tem (os golpes letais viram um só resultado). */
+    private int danoNoInimigo(int dano) {
+        return Math.min(hpInimigo, Math.max(0, dano - defesaInimigo));
+    }
+
+    private int danoNoJogador(int dano) {
+        return Math.min(hpJogador, Math.max(0, dano - defesaJogador));
+    }
+
+    /**
+     * Estimativa da chance de vitória, para os estados em que a busca para
+     * antes do fim: compara quantos turnos cada lado precisa para derrubar o
+     * outro com o dano médio de um ataque comum, contando a cura e as bombas
+     * que restam.
+     *
+     * @return valor entre 0 e 1
+     */
+    double estimarVitoria() {
+        if (hpInimigo == 0) {
+            return 1;
+        }
+        if (hpJogador == 0) {
+            return 0;
+        }
+        double vidaJogador = hpJogador;
+        double vidaInimigo = hpInimigo;
+        for (int i = 0; i < itens.length; i++) {
+            int valor = itens[i].getValorEfeito();
+            if (itens[i].getEfeito() == Efeito.CURA) {
+                vidaJogador += quantidades[i] * (double) Math.min(Math.max(0, valor), hpMaximoJogador);
+            } else if (itens[i].getEfeito() == Efeito.DANO) {
+                vidaInimigo -= quantidades[i] * (double) Math.max(0, Math.max(1, valor) - defesaInimigo);
+            }
+        }
+        if (vidaInimigo <= 0) {
+            return 1;
+        }
+
+        double danoJogador = 0;
+        double danoInimigo = 0;
+        for (int r = 1; r <= 6; r++) {
+            danoJogador += danoMedioAtaque(ataqueJogador + r);
+            int dano = ataqueInimigo + r;
+            danoInimigo += boss
+                    ? PROBABILIDADE_SOMBRIO * liquido(dano * 2, defesaJogador)
+                            + (1 - PROBABILIDADE_SOMBRIO) * liquido(dano, defesaJogador)
+                    : liquido(dano, defesaJogador);
+        }
+        if (danoJogador == 0) {
+            return 0;
+        }
+        if (danoInimigo == 0) {
+            return 1;
+        }
+        double turnosJogador = Math.ceil(vidaInimigo / (danoJogador * SEXTO));
+        double turnosInimigo = Math.ceil(vidaJogador / (danoInimigo * SEXTO));
+        // O jogador ataca primeiro: empatar em turnos já é vitória.
+        return 1 / (1 + Math.exp(-(turnosInimigo - turnosJogador + 0.5)));
+    }
+
+    private double danoMedioAtaque(int base) {
+        switch (classe) {
+            case GUERREIRO:
+                return chanceBonus * liquido(furia(base * 2), defesaInimigo)
+                        + (1 - chanceBonus) * liquido(furia(base), defesaInimigo);
+            case MAGO:
+                return liquido(recurso >= 10 ? base + poderMagico : base, defesaInimigo);
+            case ARQUEIRO:
+                if (recurso <= 0) {
+                    return liquido(base / 2, defesaInimigo);
+                }
+                return chanceBonus * liquido(base + 10, defesaInimigo)
+                        + (1 - chanceBonus) * liquido(base, defesaInimigo);
+            default:
+                return liquido(base, defesaInimigo);
+        }
+    }
+
+    private static int liquido(int dano, int defesa) {
+        return Math.max(0, dano - defesa);
+    }
+
+    /**
+     * Resultados de uma rolagem, agrupados por valor (HP perdido), com a
+     * probabilidade de cada um. Reaproveitável: {@link #limpar()} não aloca.
+     */
+    static final class Resultados {
+        // 3d6 tem 16 somas; ataque com crítico ou tiro preciso, até 12 valores
+        private final int[] valores = new int[16];
+        private final double[] probabilidades = new double[16];
+        private int tamanho;
+
+        void limpar() {
+            tamanho = 0;
+        }
+
+        void somar(int valor, double probabilidade) {
+            if (probabilidade == 0) {
+                return;
+            }
+            for (int i = 0; i < tamanho; i++) {
+                if (valores[i] == valor) {
+                    probabilidades[i] += probabilidade;
+                    return;
+                }
+            }
+            valores[tamanho] = valor;
+            probabilidades[tamanho++] = probabilidade;
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        int valor(int i) {
+            return valores[i];
+        }
+
+        double probabilidade(int i) {
+            return probabilidades[i];
+        }
+    }
+}
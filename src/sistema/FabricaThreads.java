@@ -0,0 +1,101 @@
+package sistema;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cria threads para tarefas de fundo (autosave, sessões, etc.).
+ * <p>
+ * Em um runtime com threads virtuais (Java 21 ou superior) usa
+ * {@code Thread.ofVirtual()}; no Java 17, que é o mínimo do projeto,
+ * cai para threads de plataforma daemon. A detecção é feita por reflexão
+ * para que o código continue compilando no Java 17.
+ */
+public final class FabricaThreads {
+    private static final Method OF_VIRTUAL;
+    private static final Method NOME_COM_CONTADOR;
+    private static final Method FABRICA;
+
+    static {
+        Method ofVirtual = null;
+        Method nome = null;
+        Method fabrica = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> construtor = Class.forName("java.lang.Thread$Builder");
+            nome = construtor.getMethod("name", String.class, long.class);
+            fabrica = construtor.getMethod("factory");
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NOME_COM_CONTADOR = nome;
+        FABRICA = fabrica;
+    }
+
+    private FabricaThreads() {
+    }
+
+    /**
+     * @return true se o runtime atual oferece threads virtuais
+     */
+    public static boolean suportaThreadsVirtuais() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Fábrica de threads virtuais, ou de threads daemon de plataforma
+     * quando o runtime não tiver threads virtuais.
+     *
+     * @param prefixo prefixo do nome das threads (seguido de um contador)
+     */
+    public static ThreadFactory virtuaisOuDaemon(String prefixo) {
+        return virtuaisOuDaemon(prefixo, 0);
+    }
+
+    /**
+     * Como {@link #virtuaisOuDaemon(String)}, mas as threads de plataforma usadas
+     * na falta de threads virtuais reservam só {@code tamanhoPilha} bytes de
+     * pilha, para caber muitas (ex.: uma por sessão de jogo).
+     *
+     * @param prefixo      prefixo do nome das threads (seguido de um contador)
+     * @param tamanhoPilha tamanho da pilha das threads de plataforma em bytes (0 usa o padrão da JVM)
+     */
+    public static ThreadFactory virtuaisOuDaemon(String prefixo, long tamanhoPilha) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Object construtor = OF_VIRTUAL.invoke(null);
+                construtor = NOME_COM_CONTADOR.invoke(construtor, prefixo + "-", 0L);
+                return (ThreadFactory) FABRICA.invoke(construtor);
+            } catch (ReflectiveOperationException e) {
+                // Segue para as threads de plataforma.
+            }
+        }
+        return daemon(prefixo, tamanhoPilha);
+    }
+
+    /**
+     * Fábrica de threads daemon de plataforma.
+     *
+     * @param prefixo prefixo do nome das threads (seguido de um contador)
+     */
+    public static ThreadFactory daemon(String prefixo) {
+        return daemon(prefixo, 0);
+    }
+
+    /**
+     * Fábrica de threads daemon de plataforma com o tamanho de pilha indicado.
+     *
+     * @param prefixo      prefixo do nome das threads (seguido de um contador)
+     * @param tamanhoPilha tamanho da pilha em bytes (0 usa o padrão da JVM)
+     */
+    public static ThreadFactory daemon(String prefixo, long tamanhoPilha) {
+        AtomicLong contador = new AtomicLong();
+        return tarefa -> {
+            Thread thread = new Thread(null, tarefa, prefixo + "-" + contador.getAndIncrement(), tamanhoPilha);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,27 +1,61 @@
 package sistema;
 
+import conteudo.TabelasJogo;
+import eventos.BarramentoEventos;
+import eventos.Evento;
+import eventos.LogBinarioEventos;
 import personagens.*;
 import itens.*;
-import java.io.BufferedReader;
+import persistencia.Autosave;
+import persistencia.EstadoJogo;
+import persistencia.GravadorSaves;
+import persistencia.IndiceSaves;
+import persistencia.ResumoSave;
+import persistencia.SaveIncremental;
+import persistencia.Saves;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.FileReader;
-import java.io.PrintWriter;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.util.List;
-import java.util.ArrayList;
-import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Classe principal de controle do RPG de texto.
  * <p>
  * Gerencia o loop principal do jogo, menus, exploração, combate,
  * save/load e progresso da história.
+ * <p>
+ * Os acontecimentos da partida (rolagens, dano, itens, níveis, inimigos,
+ * capítulos) também são publicados como eventos em {@link #getEventos()}.
+ * Com a propriedade {@code rpg.eventos.log=<arquivo>}, eles são gravados
+ * em um {@link LogBinarioEventos}.
  */
 public class Jogo {
+    /** Saves exibidos por página no menu de carregar. */
+    private static final int SAVES_POR_PAGINA = 10;
+
     private Personagem jogador;
-    private BufferedReader reader;
+    private final Entrada entrada;
+    private final RoladorDados dado;
+    private final Saida saida;
+    private final BarramentoEventos eventos = new BarramentoEventos();
+    private LogBinarioEventos logEventos;
+    /** Mensagens de outras threads (ex.: falha de save em segundo plano), exibidas no próximo prompt. */
+    private final Queue<String> avisos = new ConcurrentLinkedQueue<>();
+    private final GravadorSaves gravador;
+    private final Autosave autosave;
+    /** Opção "Sugerir jogada" do combate; não rola dados, então não muda a partida. */
+    private final ConselheiroCombate conselheiro = new ConselheiroCombate();
+    private IndiceSaves indiceSaves;
+    private SaveIncremental saveAtual;
+    private boolean gravacaoSaves = true;
+    private boolean carregamentoSaves = true;
+    private boolean logEventosArquivo = true;
     private int xpAtual;
     private int xpProximoNivel;
     private boolean jogoAtivo;
@@ -31,9 +65,49 @@ public class Jogo {
 
     /**
      * Cria uma instância de jogo pronta para ser iniciada via {@link #iniciar()}.
+     * As rolagens usam o gerador do {@link Dado} estático e são impressas na
+     * saída deste jogo, para manter a ordem das mensagens.
      */
     public Jogo() {
-        this.reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        this(Saida.console());
+    }
+
+    private Jogo(Saida saida) {
+        this(new RoladorComLog(Dado.semLog(), saida), saida);
+    }
+
+    /**
+     * Cria uma instância de jogo que usa o rolador indicado em todas as rolagens
+     * (do jogo, do jogador e dos inimigos), com saída bufferizada no console.
+     *
+     * @param dado rolador de dados da partida
+     */
+    public Jogo(RoladorDados dado) {
+        this(dado, Saida.console());
+    }
+
+    /**
+     * @param dado  rolador de dados da partida
+     * @param saida saída de texto do jogo (use {@link Saida#nula()} para rodar sem console)
+     */
+    public Jogo(RoladorDados dado, Saida saida) {
+        this(dado, saida, Entrada.console());
+    }
+
+    /**
+     * @param dado    rolador de dados da partida
+     * @param saida   saída de texto do jogo (use {@link Saida#nula()} para rodar sem console)
+     * @param entrada respostas do jogador
+     */
+    public Jogo(RoladorDados dado, Saida saida, Entrada entrada) {
+        if (dado == null || saida == null || entrada == null) {
+            throw new IllegalArgumentException("Rolador, saída e entrada não podem ser nulos");
+        }
+        this.dado = new RoladorComEventos(dado, eventos);
+        this.saida = saida;
+        this.gravador = new GravadorSaves();
+        this.autosave = Autosave.daConfiguracao(gravador);
+        this.entrada = entrada;
         this.xpAtual = 0;
         this.xpProximoNivel = 100;
         this.jogoAtivo = true;
@@ -44,26 +118,123 @@ public class Jogo {
 
     /**
      * Inicia o jogo, exibindo a tela inicial e o loop principal.
+     * <p>
+     * Se a entrada acabar ou a comunicação com o jogador falhar (ex.: a
+     * conexão caiu), a partida termina normalmente nesse ponto.
      */
     public void iniciar() {
-        exibirBanner();
-        telaInicial();
-        if (jogador == null) {
-            System.out.println("Encerrando jogo.");
+        try {
+            abrirLogEventos();
+            exibirBanner();
+            telaInicial();
+            if (jogador == null) {
+                saida.println("Encerrando jogo.");
+                return;
+            }
+            introducaoSeForNovoJogo();
+            loopPrincipal();
+        } catch (UncheckedIOException e) {
+            // Jogador desconectado: não há mais a quem responder.
+            jogoAtivo = false;
+        } finally {
+            encerrarGravador();
+            try {
+                aguardarEntrada();
+            } catch (UncheckedIOException e) {
+                // Idem.
+            }
+        }
+    }
+
+    /**
+     * Liga ou desliga a escrita de saves no disco (save manual e autosave).
+     * Desligada, o jogo segue os mesmos menus, mas não grava nada; usado na
+     * reprodução de sessões ({@link SessaoGravada}) e nas sessões de servidor.
+     */
+    public void setGravacaoSaves(boolean gravacaoSaves) {
+        this.gravacaoSaves = gravacaoSaves;
+    }
+
+    /**
+     * Liga ou desliga o carregamento de saves da pasta {@link Saves#PASTA}.
+     * Desligado, a opção "Carregar jogo" só avisa e volta à tela inicial, sem
+     * listar a pasta nem abrir o catálogo ({@link IndiceSaves}); usado nas
+     * sessões de servidor, cujos jogadores não devem ver os saves do host.
+     */
+    public void setCarregamentoSaves(boolean carregamentoSaves) {
+        this.carregamentoSaves = carregamentoSaves;
+    }
+
+    /**
+     * Liga ou desliga o log binário de eventos em {@code -Drpg.eventos.log}.
+     * O arquivo é um só por processo e é truncado a cada partida, então sessões
+     * de servidor o desligam para não sobrescrever umas às outras.
+     */
+    public void setLogEventos(boolean logEventosArquivo) {
+        this.logEventosArquivo = logEventosArquivo;
+    }
+
+    /**
+     * @return barramento onde os eventos da partida são publicados
+     */
+    public BarramentoEventos getEventos() {
+        return eventos;
+    }
+
+    private void abrirLogEventos() {
+        String caminho = System.getProperty("rpg.eventos.log");
+        if (!logEventosArquivo || caminho == null || caminho.trim().isEmpty()) {
             return;
         }
-        introducaoSeForNovoJogo();
-        loopPrincipal();
+        try {
+            logEventos = new LogBinarioEventos(new BufferedOutputStream(new FileOutputStream(caminho.trim())));
+            eventos.inscrever(logEventos);
+        } catch (IOException e) {
+            saida.println("Não foi possível abrir o log de eventos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Espera os saves em segundo plano terminarem antes de sair
+     * e fecha o catálogo de saves e o log de eventos.
+     */
+    private void encerrarGravador() {
+        if (logEventos != null) {
+            eventos.cancelar(logEventos);
+            try {
+                logEventos.close();
+                if (logEventos.getUltimoErro() != null) {
+                    throw logEventos.getUltimoErro();
+                }
+            } catch (IOException e) {
+                saida.println("Erro ao gravar o log de eventos: " + e.getMessage());
+            }
+            logEventos = null;
+        }
+        autosave.close();
+        informarErroAutosave();
+        try {
+            gravador.close();
+        } catch (IOException e) {
+            saida.println("Erro ao gravar saves pendentes: " + e.getMessage());
+        }
+        if (indiceSaves != null) {
+            try {
+                indiceSaves.close();
+            } catch (IOException e) {
+                // O catálogo é refeito a partir da pasta na próxima execução.
+            }
+        }
     }
 
     private void telaInicial() {
         boolean escolhendo = true;
 
         while (escolhendo) {
-            System.out.println("1. Novo jogo");
-            System.out.println("2. Carregar jogo");
-            System.out.println("0. Sair");
-            System.out.print("Escolha: ");
+            saida.println("1. Novo jogo");
+            saida.println("2. Carregar jogo");
+            saida.println("0. Sair");
+            saida.print("Escolha: ");
 
             int opcao = lerOpcao(0, 2);
 
@@ -87,40 +258,42 @@ public class Jogo {
     }
 
     private void exibirBanner() {
-        System.out.println("╔═══════════════════════════════════╗");
-        System.out.println("║    RPG DE TEXTO - AVENTURA POO    ║");
-        System.out.println("╚═══════════════════════════════════╝");
-        System.out.println();
+        saida.println("╔═══════════════════════════════════╗");
+        saida.println("║    RPG DE TEXTO - AVENTURA POO    ║");
+        saida.println("╚═══════════════════════════════════╝");
+        saida.println();
     }
 
     private void criarPersonagem() {
-        System.out.println("Escolha sua classe:");
-        System.out.println("1. Guerreiro - Alto HP e defesa, golpes críticos");
-        System.out.println("2. Mago - Magia poderosa, baixa defesa");
-        System.out.println("3. Arqueiro - Ataques precisos à distância");
+        saida.println("Escolha sua classe:");
+        saida.println("1. Guerreiro - Alto HP e defesa, golpes críticos");
+        saida.println("2. Mago - Magia poderosa, baixa defesa");
+        saida.println("3. Arqueiro - Ataques precisos à distância");
         
         int escolha = lerOpcao(1, 3);
         
-        System.out.print("\nDigite o nome do seu personagem: ");
+        saida.print("\nDigite o nome do seu personagem: ");
         String nome = lerLinha();
         
         switch (escolha) {
             case 1:
-                jogador = new Guerreiro(nome, 120, 15, 10, 1);
+                jogador = new Guerreiro(nome, TabelasJogo.atuais().getClasse("Guerreiro"));
                 break;
             case 2:
-                jogador = new Mago(nome, 80, 10, 5, 1);
+                jogador = new Mago(nome, TabelasJogo.atuais().getClasse("Mago"));
                 break;
             case 3:
-                jogador = new Arqueiro(nome, 100, 12, 7, 1);
+                jogador = new Arqueiro(nome, TabelasJogo.atuais().getClasse("Arqueiro"));
                 break;
         }
         
-        jogador.getInventario().adicionar(new Item("Poção de Vida", "Restaura 30 HP", Efeito.CURA, 3, 30));
-        jogador.getInventario().adicionar(new Item("Poção de Força", "Aumenta ataque em 5", Efeito.BUFF_ATAQUE, 1, 5));
+        jogador.setDado(dado);
+        jogador.setSaida(saida);
+        jogador.getInventario().adicionar(new Item(CatalogoItens.POCAO_VIDA, 3));
+        jogador.getInventario().adicionar(new Item(CatalogoItens.POCAO_FORCA, 1));
         
-        System.out.println("\nPersonagem criado com sucesso!");
-        System.out.println(jogador.getStatus());
+        saida.println("\nPersonagem criado com sucesso!");
+        saida.println(jogador.getStatus());
     }
 
     private void introducaoSeForNovoJogo() {
@@ -130,15 +303,15 @@ public class Jogo {
     }
 
     private void introducao() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("CAPÍTULO 1: O DESPERTAR");
-        System.out.println("=".repeat(50));
-        System.out.println("Você acorda em uma floresta escura...");
-        System.out.println("Não se lembra de como chegou aqui.");
-        System.out.println("Ao longe, você vê as ruínas de um castelo antigo.");
-        System.out.println("Dizem que um poderoso ser habita lá...");
-        System.out.println("Sua jornada começa agora!");
-        System.out.println("=".repeat(50) + "\n");
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("CAPÍTULO 1: O DESPERTAR");
+        saida.println(Saida.SEPARADOR);
+        saida.println("Você acorda em uma floresta escura...");
+        saida.println("Não se lembra de como chegou aqui.");
+        saida.println("Ao longe, você vê as ruínas de um castelo antigo.");
+        saida.println("Dizem que um poderoso ser habita lá...");
+        saida.println("Sua jornada começa agora!");
+        saida.println(Saida.SEPARADOR + "\n");
         aguardarEnter();
     }
 
@@ -150,6 +323,7 @@ public class Jogo {
             switch (opcao) {
                 case 1:
                     explorar();
+                    autosalvar(Autosave.Gatilho.EXPLORACOES);
                     break;
                 case 2:
                     usarItem(null);
@@ -177,20 +351,20 @@ public class Jogo {
     }
 
     private void exibirMenu() {
-        System.out.println("\n" + "─".repeat(50));
-        System.out.println("Capítulo " + capituloAtual + " | Explorações: " + exploracoesRealizadas);
-        System.out.println("O que deseja fazer?");
-        System.out.println("1. Explorar");
-        System.out.println("2. Usar item");
-        System.out.println("3. Ver inventário");
-        System.out.println("4. Ver status");
-        System.out.println("5. Salvar jogo");
-        System.out.println("6. Sair do jogo");
-        System.out.print("Escolha: ");
+        saida.println("\n" + Saida.SEPARADOR_MENU);
+        saida.println("Capítulo " + capituloAtual + " | Explorações: " + exploracoesRealizadas);
+        saida.println("O que deseja fazer?");
+        saida.println("1. Explorar");
+        saida.println("2. Usar item");
+        saida.println("3. Ver inventário");
+        saida.println("4. Ver status");
+        saida.println("5. Salvar jogo");
+        saida.println("6. Sair do jogo");
+        saida.print("Escolha: ");
     }
 
     private void explorar() {
-        System.out.println("\nExplorando...");
+        saida.println("\nExplorando...");
         exploracoesRealizadas++;
         
         if (exploracoesRealizadas % 2 == 0) {
@@ -198,7 +372,7 @@ public class Jogo {
             return;
         }
         
-        int evento = Dado.rolar(10);
+        int evento = dado.rolar(10);
         
         if (evento <= 5) {
             encontrarInimigo();
@@ -207,50 +381,56 @@ public class Jogo {
         } else if (evento == 8) {
             armadilha();
         } else {
-            System.out.println("Você explorou a área mas não encontrou nada interessante.");
+            saida.println("Você explorou a área mas não encontrou nada interessante.");
         }
     }
 
     private void avancarHistoria() {
         capituloAtual++;
+        if (eventos.isAtivo(Evento.Tipo.CAPITULO_AVANCADO)) {
+            eventos.publicar(new Evento.CapituloAvancado(capituloAtual));
+        }
+        if (capituloAtual < 6) {
+            autosalvar(Autosave.Gatilho.CAPITULO);
+        }
         
-        System.out.println("\n" + "=".repeat(50));
+        saida.println("\n" + Saida.SEPARADOR);
         
         switch (capituloAtual) {
             case 2:
-                System.out.println("CAPÍTULO 2: A VILA ABANDONADA");
-                System.out.println("=".repeat(50));
-                System.out.println("Você encontra uma vila abandonada.");
-                System.out.println("Sinais de batalha estão por toda parte.");
-                System.out.println("Nas paredes, escritos em sangue: 'Ele vem à noite'.");
-                System.out.println("Você sente que está se aproximando do castelo...");
+                saida.println("CAPÍTULO 2: A VILA ABANDONADA");
+                saida.println(Saida.SEPARADOR);
+                saida.println("Você encontra uma vila abandonada.");
+                saida.println("Sinais de batalha estão por toda parte.");
+                saida.println("Nas paredes, escritos em sangue: 'Ele vem à noite'.");
+                saida.println("Você sente que está se aproximando do castelo...");
                 break;
             
             case 3:
-                System.out.println("CAPÍTULO 3: O CEMITÉRIO AMALDIÇOADO");
-                System.out.println("=".repeat(50));
-                System.out.println("Um cemitério surge à sua frente.");
-                System.out.println("Mortos-vivos vagam entre as lápides.");
-                System.out.println("Uma energia sombria emana do solo.");
-                System.out.println("O castelo está cada vez mais próximo...");
+                saida.println("CAPÍTULO 3: O CEMITÉRIO AMALDIÇOADO");
+                saida.println(Saida.SEPARADOR);
+                saida.println("Um cemitério surge à sua frente.");
+                saida.println("Mortos-vivos vagam entre as lápides.");
+                saida.println("Uma energia sombria emana do solo.");
+                saida.println("O castelo está cada vez mais próximo...");
                 break;
             
             case 4:
-                System.out.println("CAPÍTULO 4: A PONTE QUEBRADA");
-                System.out.println("=".repeat(50));
-                System.out.println("Você chega a uma ponte sobre um abismo.");
-                System.out.println("Do outro lado, o castelo se ergue imponente.");
-                System.out.println("Criaturas guardam a passagem.");
-                System.out.println("Você está quase lá...");
+                saida.println("CAPÍTULO 4: A PONTE QUEBRADA");
+                saida.println(Saida.SEPARADOR);
+                saida.println("Você chega a uma ponte sobre um abismo.");
+                saida.println("Do outro lado, o castelo se ergue imponente.");
+                saida.println("Criaturas guardam a passagem.");
+                saida.println("Você está quase lá...");
                 break;
             
             case 5:
-                System.out.println("CAPÍTULO 5: OS PORTÕES DO CASTELO");
-                System.out.println("=".repeat(50));
-                System.out.println("Finalmente, você alcança os portões do castelo.");
-                System.out.println("Eles se abrem lentamente, rangendo.");
-                System.out.println("Uma voz ecoa: 'Bem-vindo, aventureiro...'");
-                System.out.println("Prepare-se para o confronto final!");
+                saida.println("CAPÍTULO 5: OS PORTÕES DO CASTELO");
+                saida.println(Saida.SEPARADOR);
+                saida.println("Finalmente, você alcança os portões do castelo.");
+                saida.println("Eles se abrem lentamente, rangendo.");
+                saida.println("Uma voz ecoa: 'Bem-vindo, aventureiro...'");
+                saida.println("Prepare-se para o confronto final!");
                 break;
             
             default:
@@ -260,19 +440,20 @@ public class Jogo {
                 }
         }
         
-        System.out.println("=".repeat(50));
+        saida.println(Saida.SEPARADOR);
         aguardarEnter();
     }
 
     private void iniciarBossFight() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("CAPÍTULO FINAL: O VORATH O ETERNO");
-        System.out.println("=".repeat(50));
-        System.out.println("Você entra no salão principal do castelo.");
-        System.out.println("No trono, uma figura sombria se levanta.");
-        System.out.println("'Você chegou longe, " + jogador.getNome() + "...'");
-        System.out.println("'Mas sua jornada termina aqui!'");
-        System.out.println("=".repeat(50));
+        autosalvar(Autosave.Gatilho.ANTES_DO_BOSS);
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("CAPÍTULO FINAL: O VORATH O ETERNO");
+        saida.println(Saida.SEPARADOR);
+        saida.println("Você entra no salão principal do castelo.");
+        saida.println("No trono, uma figura sombria se levanta.");
+        saida.println("'Você chegou longe, " + jogador.getNome() + "...'");
+        saida.println("'Mas sua jornada termina aqui!'");
+        saida.println(Saida.SEPARADOR);
         aguardarEnter();
         
         Inimigo boss = new Inimigo(
@@ -281,48 +462,54 @@ public class Jogo {
             20 + (jogador.getNivel() * 2),
             15 + jogador.getNivel(),
             jogador.getNivel() + 2,
-            "Boss Final" 
+            "Boss Final",
+            dado
         );
         
-        boss.getInventario().adicionar(new Item("Elixir Lendário", "Restaura 100 HP", Efeito.CURA, 2, 100));
-        boss.getInventario().adicionar(new Item("Essência das Trevas", "Aumenta ataque em 10", Efeito.BUFF_ATAQUE, 1, 10));
+        boss.setSaida(saida);
+        boss.getInventario().adicionar(new Item(CatalogoItens.ELIXIR_LENDARIO, 2));
+        boss.getInventario().adicionar(new Item(CatalogoItens.ESSENCIA_TREVAS, 1));
         
-        System.out.println("\n" + boss.getStatus());
+        publicarInimigo(boss);
+        saida.println("\n" + boss.getStatus());
         aguardarEnter();
         
         batalharBoss(boss);
     }
 
     private void batalharBoss(Inimigo boss) {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("BATALHA FINAL!");
-        System.out.println("=".repeat(50));
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("BATALHA FINAL!");
+        saida.println(Saida.SEPARADOR);
         
         while (jogador.estaVivo() && boss.estaVivo()) {
-            System.out.println("\n--- Seu turno ---");
-            System.out.println("1. Atacar");
-            System.out.println("2. Usar item");
-            System.out.println("3. Habilidade especial");
+            saida.println("\n--- Seu turno ---");
+            saida.println("1. Atacar");
+            saida.println("2. Usar item");
+            saida.println("3. Habilidade especial");
+            saida.println("4. Sugerir jogada");
             
-            int acao = lerOpcao(1, 3);
+            int acao = lerOpcao(1, 4);
             
             if (acao == 1) {
-                int rolagemJogador = Dado.rolarD6();
-                System.out.println("Você rolou: " + rolagemJogador);
+                int rolagemJogador = dado.rolarD6();
+                saida.println("Você rolou: " + rolagemJogador);
                 
-                int danoJogador = jogador.calcularDano(rolagemJogador);
-                boss.receberDano(danoJogador);
+                int danoJogador = MotorCombate.atacar(jogador, boss, rolagemJogador, eventos);
                 
-                System.out.println("Você causou " + danoJogador + " de dano!");
-                System.out.println(boss.getStatus());
+                saida.println("Você causou " + danoJogador + " de dano!");
+                saida.println(boss.getStatus());
                 
             } else if (acao == 2) {
                 usarItem(boss);
                 continue;
             } else if (acao == 3) {
-                String resultado = jogador.usarHabilidadeEspecial(boss);
-                System.out.println(resultado);
-                System.out.println(boss.getStatus());
+                String resultado = MotorCombate.usarHabilidadeEspecial(jogador, boss, eventos);
+                saida.println(resultado);
+                saida.println(boss.getStatus());
+            } else {
+                sugerirJogada(boss, true);
+                continue;
             }
             
             if (!boss.estaVivo()) {
@@ -330,104 +517,116 @@ public class Jogo {
                 return;
             }
             
-            System.out.println("\n--- Turno do " + boss.getNome() + " ---");
-            int rolagemBoss = Dado.rolarD6();
-            System.out.println(boss.getNome() + " rolou: " + rolagemBoss);
+            saida.println("\n--- Turno do " + boss.getNome() + " ---");
+            int rolagemBoss = dado.rolarD6();
+            saida.println(boss.getNome() + " rolou: " + rolagemBoss);
             
-            if (Dado.rolar(10) >= 7) {
-                System.out.println(boss.getNome() + " usa ATAQUE SOMBRIO!");
+            if (MotorCombate.ataqueSombrio(dado)) {
+                saida.println(boss.getNome() + " usa ATAQUE SOMBRIO!");
                 int danoEspecial = boss.calcularDano(rolagemBoss) * 2;
-                jogador.receberDano(danoEspecial);
-                System.out.println("Você recebeu " + danoEspecial + " de dano devastador!");
+                MotorCombate.aplicarDano(Evento.OrigemDano.ATAQUE_SOMBRIO, boss, jogador, danoEspecial, eventos);
+                saida.println("Você recebeu " + danoEspecial + " de dano devastador!");
             } else {
                 int danoBoss = boss.calcularDano(rolagemBoss);
-                jogador.receberDano(danoBoss);
-                System.out.println("Você recebeu " + danoBoss + " de dano!");
+                MotorCombate.aplicarDano(Evento.OrigemDano.ATAQUE, boss, jogador, danoBoss, eventos);
+                saida.println("Você recebeu " + danoBoss + " de dano!");
             }
             
-            System.out.println(jogador.getStatus());
+            saida.println(jogador.getStatus());
             aguardarEnter();
         }
     }
 
     private void vitoriaBoss(Inimigo boss) {
         bossDerrotado = true;
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("VITÓRIA ÉPICA!");
-        System.out.println("=".repeat(50));
-        System.out.println("Você derrotou o " + boss.getNome() + "!");
-        System.out.println("O castelo começa a desmoronar...");
-        System.out.println("A escuridão se dissipa...");
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("VITÓRIA ÉPICA!");
+        saida.println(Saida.SEPARADOR);
+        saida.println("Você derrotou o " + boss.getNome() + "!");
+        saida.println("O castelo começa a desmoronar...");
+        saida.println("A escuridão se dissipa...");
         
         int xpGanho = boss.getRecompensaXP() * 3;
         xpAtual += xpGanho;
-        System.out.println("\n" + xpGanho + " XP ganhos!");
+        saida.println("\n" + xpGanho + " XP ganhos!");
         
         saquearInimigo(boss);
         aguardarEnter();
     }
 
     private void finalVitorioso() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("FINAL - A LUZ RETORNA");
-        System.out.println("=".repeat(50));
-        System.out.println("Com o Vorath, o Eterno derrotado,");
-        System.out.println("a paz retorna às terras.");
-        System.out.println("Você é aclamado como herói!");
-        System.out.println("\nEstatísticas finais:");
-        System.out.println("Nível alcançado: " + jogador.getNivel());
-        System.out.println("XP total: " + xpAtual);
-        System.out.println("Explorações realizadas: " + exploracoesRealizadas);
-        System.out.println("\nParabéns, " + jogador.getNome() + "!");
-        System.out.println("=".repeat(50));
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("FINAL - A LUZ RETORNA");
+        saida.println(Saida.SEPARADOR);
+        saida.println("Com o Vorath, o Eterno derrotado,");
+        saida.println("a paz retorna às terras.");
+        saida.println("Você é aclamado como herói!");
+        saida.println("\nEstatísticas finais:");
+        saida.println("Nível alcançado: " + jogador.getNivel());
+        saida.println("XP total: " + xpAtual);
+        saida.println("Explorações realizadas: " + exploracoesRealizadas);
+        saida.println("\nParabéns, " + jogador.getNome() + "!");
+        saida.println(Saida.SEPARADOR);
     }
 
     private void encontrarInimigo() {
-        Inimigo inimigo = Inimigo.criarInimigoAleatorio(jogador.getNivel());
-        System.out.println("\nUm " + inimigo.getNome() + " apareceu!");
-        System.out.println(inimigo.getStatus());
+        Inimigo inimigo = Inimigo.criarInimigoAleatorio(jogador.getNivel(), dado);
+        inimigo.setSaida(saida);
+        publicarInimigo(inimigo);
+        saida.println("\nUm " + inimigo.getNome() + " apareceu!");
+        saida.println(inimigo.getStatus());
         
         batalhar(inimigo);
     }
 
+    private void publicarInimigo(Inimigo inimigo) {
+        if (eventos.isAtivo(Evento.Tipo.INIMIGO_SURGIU)) {
+            eventos.publicar(new Evento.InimigoSurgiu(inimigo.getNome(), inimigo.getTipo(), inimigo.getNivel(),
+                    inimigo.getPontosVida(), inimigo.getAtaque(), inimigo.getDefesa()));
+        }
+    }
+
     private void batalhar(Inimigo inimigo) {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("COMBATE INICIADO!");
-        System.out.println("=".repeat(50));
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("COMBATE INICIADO!");
+        saida.println(Saida.SEPARADOR);
         
         while (jogador.estaVivo() && inimigo.estaVivo()) {
-            System.out.println("\n--- Seu turno ---");
-            System.out.println("1. Atacar");
-            System.out.println("2. Usar item");
-            System.out.println("3. Tentar fugir");
-            System.out.println("4. Habilidade especial");
+            saida.println("\n--- Seu turno ---");
+            saida.println("1. Atacar");
+            saida.println("2. Usar item");
+            saida.println("3. Tentar fugir");
+            saida.println("4. Habilidade especial");
+            saida.println("5. Sugerir jogada");
             
-            int acao = lerOpcao(1, 4);
+            int acao = lerOpcao(1, 5);
             
             if (acao == 1) {
-                int rolagemJogador = Dado.rolarD6();
-                System.out.println("Você rolou: " + rolagemJogador);
+                int rolagemJogador = dado.rolarD6();
+                saida.println("Você rolou: " + rolagemJogador);
                 
-                int danoJogador = jogador.calcularDano(rolagemJogador);
-                inimigo.receberDano(danoJogador);
+                int danoJogador = MotorCombate.atacar(jogador, inimigo, rolagemJogador, eventos);
                 
-                System.out.println("Você causou " + danoJogador + " de dano!");
-                System.out.println(inimigo.getStatus());
+                saida.println("Você causou " + danoJogador + " de dano!");
+                saida.println(inimigo.getStatus());
                 
             } else if (acao == 2) {
                 usarItem(inimigo);
                 continue;
             } else if (acao == 3) {
-                if (tentarFugir()) {
-                    System.out.println("Você fugiu com sucesso!");
+                if (MotorCombate.tentarFugir(dado)) {
+                    saida.println("Você fugiu com sucesso!");
                     return;
                 } else {
-                    System.out.println("Não conseguiu fugir!");
+                    saida.println("Não conseguiu fugir!");
                 }
             } else if (acao == 4) {
-                String resultado = jogador.usarHabilidadeEspecial(inimigo);
-                System.out.println(resultado);
-                System.out.println(inimigo.getStatus());
+                String resultado = MotorCombate.usarHabilidadeEspecial(jogador, inimigo, eventos);
+                saida.println(resultado);
+                saida.println(inimigo.getStatus());
+            } else {
+                sugerirJogada(inimigo, false);
+                continue;
             }
             
             if (!inimigo.estaVivo()) {
@@ -435,34 +634,32 @@ public class Jogo {
                 return;
             }
             
-            System.out.println("\n--- Turno do inimigo ---");
-            int rolagemInimigo = Dado.rolarD6();
-            System.out.println(inimigo.getNome() + " rolou: " + rolagemInimigo);
+            saida.println("\n--- Turno do inimigo ---");
+            int rolagemInimigo = dado.rolarD6();
+            saida.println(inimigo.getNome() + " rolou: " + rolagemInimigo);
             
-            int danoInimigo = inimigo.calcularDano(rolagemInimigo);
-            jogador.receberDano(danoInimigo);
+            int danoInimigo = MotorCombate.atacar(inimigo, jogador, rolagemInimigo, eventos);
             
-            System.out.println("Você recebeu " + danoInimigo + " de dano!");
-            System.out.println(jogador.getStatus());
+            saida.println("Você recebeu " + danoInimigo + " de dano!");
+            saida.println(jogador.getStatus());
             
             aguardarEnter();
         }
     }
 
-    private boolean tentarFugir() {
-        int rolagem = Dado.rolarD20();
-        return rolagem >= 12;
+    private void sugerirJogada(Inimigo inimigo, boolean boss) {
+        saida.println("\n" + conselheiro.sugerir(jogador, inimigo, boss));
     }
 
     private void vitoria(Inimigo inimigo) {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("VITÓRIA!");
-        System.out.println("=".repeat(50));
-        System.out.println("Você derrotou " + inimigo.getNome() + "!");
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("VITÓRIA!");
+        saida.println(Saida.SEPARADOR);
+        saida.println("Você derrotou " + inimigo.getNome() + "!");
         
         int xpGanho = inimigo.getRecompensaXP();
         xpAtual += xpGanho;
-        System.out.println(xpGanho + " XP");
+        saida.println(xpGanho + " XP");
         
         if (xpAtual >= xpProximoNivel) {
             levelUp();
@@ -481,10 +678,14 @@ public class Jogo {
         jogador.setPontosVida(jogador.getPontosVidaMaximos());
         jogador.setAtaque(jogador.getAtaque() + 3);
         jogador.setDefesa(jogador.getDefesa() + 2);
+        if (eventos.isAtivo(Evento.Tipo.NIVEL_ALCANCADO)) {
+            eventos.publicar(new Evento.NivelAlcancado(jogador.getNome(), jogador.getNivel(),
+                    jogador.getPontosVidaMaximos(), jogador.getAtaque(), jogador.getDefesa()));
+        }
         
-        System.out.println("\nLEVEL UP! Agora você é nível " + jogador.getNivel());
-        System.out.println("HP máximo aumentado!");
-        System.out.println("Ataque e defesa aumentados!");
+        saida.println("\nLEVEL UP! Agora você é nível " + jogador.getNivel());
+        saida.println("HP máximo aumentado!");
+        saida.println("Ataque e defesa aumentados!");
     }
 
     /**
@@ -492,63 +693,47 @@ public class Jogo {
      * Se o inventário estiver cheio, imprime uma mensagem e ignora o item.
      */
     private void saquearInimigo(Inimigo inimigo) {
-        List<Item> itensInimigo = inimigo.getInventario().listarOrdenado();
+        List<Item> itensInimigo = inimigo.getInventario().getItensOrdenados();
         
         if (itensInimigo.isEmpty()) {
-            System.out.println("O inimigo não tinha itens.");
+            saida.println("O inimigo não tinha itens.");
             return;
         }
         
-        System.out.println("\nItens encontrados:");
+        saida.println("\nItens encontrados:");
         for (Item item : itensInimigo) {
-            System.out.println("  - " + item.getNome() + " (x" + item.getQuantidade() + ")");
+            saida.println("  - " + item.getNome() + " (x" + item.getQuantidade() + ")");
             try {
                 jogador.getInventario().adicionar(item);
             } catch (IllegalStateException e) {
-                System.out.println("Inventário cheio! Você não pode carregar: " + item.getNome());
+                saida.println("Inventário cheio! Você não pode carregar: " + item.getNome());
             }
         }
     }
 
     private void encontrarItem() {
-        int tipoItem = Dado.rolar(4);
-        Item item = null;
+        Item item = new Item(TabelasJogo.atuais().sortearAchado(jogador.getNivel(), dado), 1);
         
-        switch (tipoItem) {
-            case 1:
-                item = new Item("Poção de Vida", "Restaura 30 HP", Efeito.CURA, 1, 30);
-                break;
-            case 2:
-                item = new Item("Poção de Força", "Aumenta ataque em 5", Efeito.BUFF_ATAQUE, 1, 5);
-                break;
-            case 3:
-                item = new Item("Poção de Defesa", "Aumenta defesa em 5", Efeito.BUFF_DEFESA, 1, 5);
-                break;
-            case 4:
-                item = new Item("Elixir Raro", "Restaura 50 HP", Efeito.CURA, 1, 50);
-                break;
-        }
-        
-        System.out.println("Você encontrou: " + item.getNome() + "!");
+        saida.println("Você encontrou: " + item.getNome() + "!");
         jogador.getInventario().adicionar(item);
     }
 
     private void armadilha() {
-        System.out.println("Você caiu em uma armadilha!");
-        int dano = Dado.rolar(15);
-        jogador.receberDano(dano);
-        System.out.println("Você recebeu " + dano + " de dano!");
-        System.out.println(jogador.getStatus());
+        saida.println("Você caiu em uma armadilha!");
+        int dano = dado.rolar(15);
+        MotorCombate.aplicarDano(Evento.OrigemDano.ARMADILHA, null, jogador, dano, eventos);
+        saida.println("Você recebeu " + dano + " de dano!");
+        saida.println(jogador.getStatus());
     }
 
     private void usarItem(Inimigo alvoEmCombate) {
         if (jogador.getInventario().estaVazio()) {
-            System.out.println("Seu inventário está vazio!");
+            saida.println("Seu inventário está vazio!");
             return;
         }
         
-        System.out.println("\n" + jogador.getInventario());
-        System.out.print("Digite o número do item (ou 0 para cancelar): ");
+        saida.println("\n" + jogador.getInventario());
+        saida.print("Digite o número do item (ou 0 para cancelar): ");
         
         int escolha = lerOpcao(0, jogador.getInventario().getTamanho());
         
@@ -559,310 +744,346 @@ public class Jogo {
         Item item = jogador.getInventario().buscarPorIndice(escolha - 1);
 
         if (item == null) {
-            System.out.println("Item inválido!");
+            saida.println("Item inválido!");
             return;
         }
         
         boolean consumiu = aplicarEfeitoItem(item, alvoEmCombate);
         if (consumiu) {
             jogador.getInventario().remover(item.getNome(), 1);
-            System.out.println(item.getNome() + " usado!");
+            saida.println(item.getNome() + " usado!");
         }
     }
 
     private boolean aplicarEfeitoItem(Item item, Inimigo alvoEmCombate) {
+        int valor = MotorCombate.aplicarEfeitoItem(jogador, item, alvoEmCombate, dado, eventos);
+
         switch (item.getEfeito()) {
             case CURA:
-                jogador.curar(item.getValorEfeito());
-                System.out.println("Você recuperou " + item.getValorEfeito() + " HP!");
+                saida.println("Você recuperou " + valor + " HP!");
                 return true;
 
             case BUFF_ATAQUE:
-                jogador.setAtaque(jogador.getAtaque() + item.getValorEfeito());
-                System.out.println("Seu ataque aumentou em " + item.getValorEfeito() + "!");
+                saida.println("Seu ataque aumentou em " + valor + "!");
                 return true;
 
             case BUFF_DEFESA:
-                jogador.setDefesa(jogador.getDefesa() + item.getValorEfeito());
-                System.out.println("Sua defesa aumentou em " + item.getValorEfeito() + "!");
+                saida.println("Sua defesa aumentou em " + valor + "!");
                 return true;
 
             case DANO:
-                if (alvoEmCombate == null) {
-                    System.out.println("Este item só pode ser usado em combate!");
+                if (valor < 0) {
+                    saida.println("Este item só pode ser usado em combate!");
                     return false;
                 }
-                int danoBase = item.getValorEfeito();
-                int variacao = Dado.rolarD6() - 3;
-                int danoTotal = Math.max(1, danoBase + variacao);
-                alvoEmCombate.receberDano(danoTotal);
-                System.out.println("Você usou " + item.getNome() + " e causou " + danoTotal + " de dano em " + alvoEmCombate.getNome() + "!");
-                System.out.println(alvoEmCombate.getStatus());
+                saida.println("Você usou " + item.getNome() + " e causou " + valor + " de dano em " + alvoEmCombate.getNome() + "!");
+                saida.println(alvoEmCombate.getStatus());
                 return true;
 
             default:
-                System.out.println("Efeito especial aplicado!");
+                saida.println("Efeito especial aplicado!");
                 return true;
         }
     }
 
     private void verInventario() {
-        System.out.println("\n" + jogador.getInventario());
+        saida.println("\n" + jogador.getInventario());
     }
 
     private void verStatus() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println(jogador.getStatus());
-        System.out.println("XP: " + xpAtual + "/" + xpProximoNivel);
-        System.out.println("Capítulo: " + capituloAtual);
-        System.out.println("Explorações: " + exploracoesRealizadas);
-        System.out.println("=".repeat(50));
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println(jogador.getStatus());
+        saida.println("XP: " + xpAtual + "/" + xpProximoNivel);
+        saida.println("Capítulo: " + capituloAtual);
+        saida.println("Explorações: " + exploracoesRealizadas);
+        saida.println(Saida.SEPARADOR);
     }
 
     private void salvarJogo() {
         if (jogador == null) {
-            System.out.println("Não há jogo em andamento para salvar.");
+            saida.println("Não há jogo em andamento para salvar.");
             return;
         }
 
-        System.out.print("Digite o nome do save: ");
+        saida.print("Digite o nome do save: ");
         String nomeSave = lerLinha();
         if (nomeSave == null || nomeSave.trim().isEmpty()) {
-            System.out.println("Nome de save inválido!");
+            saida.println("Nome de save inválido!");
             return;
         }
 
         nomeSave = nomeSave.trim();
+        if (!gravacaoSaves) {
+            saida.println("Saves desativados nesta sessão.");
+            return;
+        }
 
         try {
-            File pastaSaves = new File("src/saves");
+            File pastaSaves = Saves.PASTA;
             if (!pastaSaves.exists()) {
                 pastaSaves.mkdirs();
             }
 
-            File arquivoSave = new File(pastaSaves, nomeSave + ".txt");
-            try (PrintWriter pw = new PrintWriter(new FileWriter(arquivoSave))) {
-                pw.println("CLASSE=" + jogador.getClass().getSimpleName());
-                pw.println("NOME=" + jogador.getNome());
-                pw.println("NIVEL=" + jogador.getNivel());
-                pw.println("HP_ATUAL=" + jogador.getPontosVida());
-                pw.println("HP_MAX=" + jogador.getPontosVidaMaximos());
-                pw.println("ATAQUE=" + jogador.getAtaque());
-                pw.println("DEFESA=" + jogador.getDefesa());
-                pw.println("XP_ATUAL=" + xpAtual);
-                pw.println("XP_PROX=" + xpProximoNivel);
-                pw.println("CAPITULO=" + capituloAtual);
-                pw.println("EXPLORACOES=" + exploracoesRealizadas);
-                pw.println("BOSS_DERROTADO=" + bossDerrotado);
-
-                pw.println("ITENS_INICIO");
-                for (Item item : jogador.getInventario().listarOrdenado()) {
-                    pw.println(
-                        item.getNome() + ";" +
-                        item.getDescricao() + ";" +
-                        item.getEfeito().name() + ";" +
-                        item.getQuantidade() + ";" +
-                        item.getValorEfeito()
-                    );
-                }
-                pw.println("ITENS_FIM");
+            File arquivoSave = Saves.arquivo(nomeSave);
+            if (saveAtual == null || !saveAtual.getArquivo().equals(arquivoSave)) {
+                saveAtual = new SaveIncremental(arquivoSave);
             }
-
-            System.out.println("Jogo salvo em: " + arquivoSave.getPath());
+            // O catálogo aberto recebe o save assim que o gravador terminar de escrevê-lo.
+            abrirIndiceSaves();
+            // O delta é calculado agora; a escrita segue em segundo plano, e o
+            // resultado aparece como aviso no próximo prompt.
+            gravador.gravarEmSegundoPlano(saveAtual, estadoAtual())
+                    .thenAccept(arquivo -> avisos.add("Jogo salvo em: " + arquivo.getPath()))
+                    .exceptionally(e -> {
+                        Throwable causa = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        avisos.add("Erro ao salvar jogo: " + causa.getMessage());
+                        return null;
+                    });
+
+            saida.println("Salvando em: " + arquivoSave.getPath());
         } catch (Exception e) {
-            System.out.println("Erro ao salvar jogo: " + e.getMessage());
+            saida.println("Erro ao salvar jogo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Agenda um autosave se a configuração pedir um neste momento.
+     * Só copia o estado; a gravação é feita em segundo plano, e uma falha
+     * de um autosave anterior aparece como aviso no próximo prompt.
+     */
+    private void autosalvar(Autosave.Gatilho gatilho) {
+        informarErroAutosave();
+        if (gravacaoSaves && jogador.estaVivo() && autosave.deveSalvar(gatilho, exploracoesRealizadas)) {
+            abrirIndiceSaves();
+            autosave.agendar(estadoAtual().copiar());
+        }
+    }
+
+    private void informarErroAutosave() {
+        Exception erro = autosave.consumirErro();
+        if (erro != null) {
+            avisos.add("Erro no autosave: " + erro.getMessage());
         }
     }
 
+    /**
+     * Abre o catálogo de saves na primeira vez que ele é necessário e o
+     * entrega ao gravador, que registra nele cada save gravado (inclusive
+     * os deltas do autosave).
+     *
+     * @return catálogo, ou null se não foi possível abri-lo
+     */
+    private IndiceSaves abrirIndiceSaves() {
+        if (indiceSaves == null) {
+            try {
+                indiceSaves = IndiceSaves.abrir(Saves.PASTA);
+                gravador.setIndice(indiceSaves);
+            } catch (IOException e) {
+                saida.println("Não foi possível abrir o catálogo de saves: " + e.getMessage());
+            }
+        }
+        return indiceSaves;
+    }
+
     private boolean carregarJogo(boolean fromTelaInicial) {
-        File pastaSaves = new File("src/saves");
+        if (!carregamentoSaves) {
+            saida.println("Carregar saves está desativado nesta sessão.");
+            return false;
+        }
+        File pastaSaves = Saves.PASTA;
         if (!pastaSaves.exists() || !pastaSaves.isDirectory()) {
-            System.out.println("Nenhum save encontrado (pasta src/saves não existe).");
+            saida.println("Nenhum save encontrado (pasta src/saves não existe).");
             return false;
         }
 
-        File[] arquivos = pastaSaves.listFiles((dir, name) -> name.toLowerCase().endsWith(".txt"));
-        if (arquivos == null || arquivos.length == 0) {
-            System.out.println("Nenhum arquivo de save encontrado em src/saves.");
+        IndiceSaves indice = abrirIndiceSaves();
+        if (indice == null) {
             return false;
         }
-
-        System.out.println("\n=== Saves disponíveis ===");
-        List<File> listaSaves = new ArrayList<>();
-        for (File f : arquivos) {
-            listaSaves.add(f);
+        try {
+            indice.atualizar();
+        } catch (IOException e) {
+            saida.println("Erro ao atualizar o catálogo de saves: " + e.getMessage());
+        }
+        if (indice.getTotal() == 0) {
+            saida.println("Nenhum arquivo de save encontrado em src/saves.");
+            return false;
         }
-        listaSaves.sort((a, b) -> a.getName().compareToIgnoreCase(b.getName()));
 
-        for (int i = 0; i < listaSaves.size(); i++) {
-            String nome = listaSaves.get(i).getName();
-            if (nome.toLowerCase().endsWith(".txt")) {
-                nome = nome.substring(0, nome.length() - 4);
-            }
-            System.out.printf("%d. %s%n", i + 1, nome);
+        ResumoSave escolhido = escolherSave(indice);
+        if (escolhido == null) {
+            saida.println("Carregamento cancelado.");
+            return false;
         }
-        System.out.println("0. Cancelar");
-        System.out.print("Escolha o save: ");
 
-        int escolha = lerOpcao(0, listaSaves.size());
-        if (escolha == 0) {
-            System.out.println("Carregamento cancelado.");
+        File arquivoSave = indice.arquivo(escolhido);
+
+        try {
+            aplicarEstado(Saves.ler(arquivoSave));
+
+            saida.println("\nSave carregado com sucesso!");
+            saida.println(jogador.getStatus());
+            saida.println("Capítulo: " + capituloAtual + " | Explorações: " + exploracoesRealizadas);
+
+            return true;
+        } catch (Exception e) {
+            saida.println("Erro ao carregar jogo: " + e.getMessage());
             return false;
         }
+    }
 
-        File arquivoSave = listaSaves.get(escolha - 1);
-
-        try (BufferedReader br = new BufferedReader(new FileReader(arquivoSave))) {
-            String linha;
-            String classe = null;
-            String nome = null;
-            int nivel = 1;
-            int hpAtual = 0;
-            int hpMax = 0;
-            int ataque = 0;
-            int defesa = 0;
-            int xpAtualLido = 0;
-            int xpProxLido = 100;
-            int capituloLido = 1;
-            int exploracoesLidas = 0;
-            boolean bossDerrotadoLido = false;
-
-            List<Item> itensLidos = new ArrayList<>();
-            boolean lendoItens = false;
-
-            while ((linha = br.readLine()) != null) {
-                if ("ITENS_INICIO".equals(linha)) {
-                    lendoItens = true;
-                    continue;
-                }
-                if ("ITENS_FIM".equals(linha)) {
-                    lendoItens = false;
-                    continue;
-                }
+    /**
+     * Menu paginado de saves, com busca por nome do save ou do personagem.
+     *
+     * @return save escolhido ou null se o jogador cancelou
+     */
+    private ResumoSave escolherSave(IndiceSaves indice) {
+        String busca = "";
+        int pagina = 0;
 
-                if (lendoItens) {
-                    String[] partes = linha.split(";");
-                    if (partes.length == 5) {
-                        String nItem = partes[0];
-                        String desc = partes[1];
-                        Efeito efeito = Efeito.valueOf(partes[2]);
-                        int qtd = Integer.parseInt(partes[3]);
-                        int val = Integer.parseInt(partes[4]);
-                        itensLidos.add(new Item(nItem, desc, efeito, qtd, val));
-                    }
-                } else {
-                    String[] partes = linha.split("=", 2);
-                    if (partes.length != 2) continue;
-                    String chave = partes[0];
-                    String valor = partes[1];
-
-                    switch (chave) {
-                        case "CLASSE": classe = valor; break;
-                        case "NOME": nome = valor; break;
-                        case "NIVEL": nivel = Integer.parseInt(valor); break;
-                        case "HP_ATUAL": hpAtual = Integer.parseInt(valor); break;
-                        case "HP_MAX": hpMax = Integer.parseInt(valor); break;
-                        case "ATAQUE": ataque = Integer.parseInt(valor); break;
-                        case "DEFESA": defesa = Integer.parseInt(valor); break;
-                        case "XP_ATUAL": xpAtualLido = Integer.parseInt(valor); break;
-                        case "XP_PROX": xpProxLido = Integer.parseInt(valor); break;
-                        case "CAPITULO": capituloLido = Integer.parseInt(valor); break;
-                        case "EXPLORACOES": exploracoesLidas = Integer.parseInt(valor); break;
-                        case "BOSS_DERROTADO": bossDerrotadoLido = Boolean.parseBoolean(valor); break;
-                    }
+        while (true) {
+            int total = indice.contar(busca);
+            int paginas = Math.max(1, (total + SAVES_POR_PAGINA - 1) / SAVES_POR_PAGINA);
+            pagina = Math.min(pagina, paginas - 1);
+            List<ResumoSave> saves = indice.buscar(busca, pagina * SAVES_POR_PAGINA, SAVES_POR_PAGINA);
+
+            saida.println("\n=== Saves disponíveis ===");
+            if (!busca.isEmpty()) {
+                saida.println("Busca: \"" + busca + "\" (" + total + " encontrados)");
+            }
+            for (int i = 0; i < saves.size(); i++) {
+                ResumoSave resumo = saves.get(i);
+                String linha = resumo.toString();
+                if (resumo.isTexto()) {
+                    linha += " (formato antigo)";
                 }
+                saida.printf("%d. %s%n", i + 1, linha);
             }
-
-            if ("Guerreiro".equals(classe)) {
-                jogador = new Guerreiro(nome, hpMax, ataque, defesa, nivel);
-            } else if ("Mago".equals(classe)) {
-                jogador = new Mago(nome, hpMax, ataque, defesa, nivel);
-            } else if ("Arqueiro".equals(classe)) {
-                jogador = new Arqueiro(nome, hpMax, ataque, defesa, nivel);
+            saida.println("Página " + (pagina + 1) + "/" + paginas
+                    + " | P: próxima | A: anterior | B <texto>: buscar | 0: cancelar");
+            saida.print("Escolha o save: ");
+
+            String entrada = lerLinha();
+            if (entrada.equals("0")) {
+                return null;
+            } else if (entrada.equalsIgnoreCase("p")) {
+                pagina = Math.min(pagina + 1, paginas - 1);
+            } else if (entrada.equalsIgnoreCase("a")) {
+                pagina = Math.max(pagina - 1, 0);
+            } else if (entrada.length() >= 1 && (entrada.charAt(0) == 'b' || entrada.charAt(0) == 'B')
+                    && (entrada.length() == 1 || entrada.charAt(1) == ' ')) {
+                busca = entrada.substring(1).trim();
+                pagina = 0;
             } else {
-                System.out.println("Classe inválida no save!");
-                return false;
-            }
-
-            jogador.setPontosVidaMaximos(hpMax);
-            jogador.setPontosVida(hpAtual);
-            jogador.setAtaque(ataque);
-            jogador.setDefesa(defesa);
-            jogador.setNivel(nivel);
-
-            jogador.getInventario().limpar();
-            for (Item item : itensLidos) {
-                jogador.getInventario().adicionar(item);
+                try {
+                    int escolha = Integer.parseInt(entrada);
+                    if (escolha >= 1 && escolha <= saves.size()) {
+                        return saves.get(escolha - 1);
+                    }
+                } catch (NumberFormatException e) {
+                    // Tratado abaixo.
+                }
+                saida.println("Opção inválida!");
             }
+        }
+    }
 
-            this.xpAtual = xpAtualLido;
-            this.xpProximoNivel = xpProxLido;
-            this.capituloAtual = capituloLido;
-            this.exploracoesRealizadas = exploracoesLidas;
-            this.bossDerrotado = bossDerrotadoLido;
-
-            System.out.println("\nSave carregado com sucesso!");
-            System.out.println(jogador.getStatus());
-            System.out.println("Capítulo: " + capituloAtual + " | Explorações: " + exploracoesRealizadas);
+    /**
+     * @return estado atual da partida, para gravação
+     */
+    private EstadoJogo estadoAtual() {
+        return new EstadoJogo(jogador, xpAtual, xpProximoNivel,
+                capituloAtual, exploracoesRealizadas, bossDerrotado);
+    }
 
-            return true;
-        } catch (Exception e) {
-            System.out.println("Erro ao carregar jogo: " + e.getMessage());
-            return false;
-        }
+    /**
+     * Substitui a partida atual pelo estado carregado.
+     */
+    private void aplicarEstado(EstadoJogo estado) {
+        saveAtual = null;
+        jogador = estado.getJogador();
+        jogador.setDado(dado);
+        jogador.setSaida(saida);
+        xpAtual = estado.getXpAtual();
+        xpProximoNivel = estado.getXpProximoNivel();
+        capituloAtual = estado.getCapitulo();
+        exploracoesRealizadas = estado.getExploracoes();
+        bossDerrotado = estado.isBossDerrotado();
     }
 
     private void sair() {
-        System.out.println("\nTem certeza que deseja sair? (s/n)");
+        saida.println("\nTem certeza que deseja sair? (s/n)");
         String resposta = lerLinha();
         if (resposta.equalsIgnoreCase("s")) {
             jogoAtivo = false;
-            System.out.println("\nObrigado por jogar!");
+            saida.println("\nObrigado por jogar!");
         }
     }
 
     private void gameOver() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("GAME OVER");
-        System.out.println("=".repeat(50));
-        System.out.println("Você foi derrotado...");
-        System.out.println("Nível alcançado: " + jogador.getNivel());
-        System.out.println("XP total: " + xpAtual);
-        System.out.println("Capítulo alcançado: " + capituloAtual);
+        saida.println("\n" + Saida.SEPARADOR);
+        saida.println("GAME OVER");
+        saida.println(Saida.SEPARADOR);
+        saida.println("Você foi derrotado...");
+        saida.println("Nível alcançado: " + jogador.getNivel());
+        saida.println("XP total: " + xpAtual);
+        saida.println("Capítulo alcançado: " + capituloAtual);
+    }
+
+    /**
+     * Exibe os avisos pendentes e entrega o texto acumulado antes de ler a
+     * resposta do jogador. É o único ponto em que a saída é esvaziada.
+     */
+    private void aguardarEntrada() {
+        String aviso;
+        while ((aviso = avisos.poll()) != null) {
+            saida.println("\n" + aviso);
+        }
+        saida.flush();
+    }
+
+    /**
+     * Lê a próxima resposta do jogador.
+     *
+     * @throws UncheckedIOException se a entrada acabou ou falhou; encerra a partida
+     */
+    private String proximaLinha() {
+        String linha;
+        try {
+            linha = entrada.lerLinha();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (linha == null) {
+            throw new UncheckedIOException(new EOFException("Entrada encerrada"));
+        }
+        return linha;
     }
 
     private int lerOpcao(int min, int max) {
         while (true) {
+            aguardarEntrada();
+            String linha = proximaLinha();
             try {
-                String linha = reader.readLine();
                 int opcao = Integer.parseInt(linha.trim());
                 if (opcao >= min && opcao <= max) {
                     return opcao;
                 }
-                System.out.print("Opção inválida! Digite entre " + min + " e " + max + ": ");
-            } catch (IOException | NumberFormatException e) {
-                System.out.print("Entrada inválida! Digite um número: ");
+                saida.print("Opção inválida! Digite entre " + min + " e " + max + ": ");
+            } catch (NumberFormatException e) {
+                saida.print("Entrada inválida! Digite um número: ");
             }
         }
     }
 
     private String lerLinha() {
-        try {
-            String linha = reader.readLine();
-            if (linha == null) {
-                return "";
-            }
-            return linha.trim();
-        } catch (IOException e) {
-            return "";
-        }
+        aguardarEntrada();
+        return proximaLinha().trim();
     }
 
     private void aguardarEnter() {
-        System.out.println("\n[Pressione ENTER para continuar]");
-        try {
-            reader.readLine();
-        } catch (IOException e) {
-        }
+        saida.println("\n[Pressione ENTER para continuar]");
+        aguardarEntrada();
+        proximaLinha();
     }
 }
\ No newline at end of file
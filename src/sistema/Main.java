@@ -1,14 +1,98 @@
 package sistema;
 
+import java.io.File;
+import java.io.IOException;
+
 /**
  * Classe de entrada da aplicação.
+ * <p>
+ * Sem argumentos, inicia o jogo no console. Opções:
+ * <ul>
+ *   <li>{@code --gravar <arquivo>}: joga normalmente e grava as respostas e
+ *       as rolagens da sessão ({@link SessaoGravada}), mesmo se o jogo falhar;</li>
+ *   <li>{@code --reproduzir <arquivo> [vezes]}: reproduz a sessão sem saída
+ *       e informa a primeira divergência, se houver.</li>
+ * </ul>
  */
 public class Main {
+    private static final String USO = "Uso: java sistema.Main [--gravar <arquivo> | --reproduzir <arquivo> [vezes]]";
+
     public static void main(String[] args) {
         // Opcional: definir seed para testes determinísticos
         // Dado.setSeed(12345L);
-        
-        Jogo jogo = new Jogo();
-        jogo.iniciar();
+
+        if (args.length >= 2 && args[0].equals("--gravar")) {
+            gravar(new File(args[1]));
+        } else if (args.length >= 2 && args[0].equals("--reproduzir")) {
+            int vezes = args.length >= 3 ? lerVezes(args[2]) : 1;
+            if (vezes < 1) {
+                System.out.println("Número de reproduções inválido: " + args[2] + " (deve ser um inteiro >= 1)");
+                System.out.println(USO);
+                System.exit(2);
+            }
+            System.exit(reproduzir(new File(args[1]), vezes) ? 0 : 1);
+        } else {
+            Jogo jogo = new Jogo();
+            jogo.iniciar();
+        }
+    }
+
+    /**
+     * @return o número de reproduções, ou 0 se o texto não for um inteiro
+     */
+    private static int lerVezes(String texto) {
+        try {
+            return Integer.parseInt(texto.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void gravar(File arquivo) {
+        SessaoGravada sessao = new SessaoGravada();
+        Saida saida = Saida.console();
+        Jogo jogo = new Jogo(sessao.gravarDado(new RoladorComLog(Dado.semLog(), saida)), saida,
+                sessao.gravarEntrada(Entrada.console()));
+        try {
+            jogo.iniciar();
+        } finally {
+            try {
+                sessao.salvar(arquivo);
+                System.out.println("Sessão gravada em " + arquivo.getPath()
+                        + " (" + sessao.getPassos() + " passos)");
+            } catch (IOException e) {
+                System.out.println("Erro ao gravar a sessão: " + e.getMessage());
+            }
+        }
+    }
+
+    private static boolean reproduzir(File arquivo, int vezes) {
+        SessaoGravada sessao;
+        try {
+            sessao = SessaoGravada.carregar(arquivo);
+        } catch (IOException e) {
+            System.out.println("Erro ao ler a sessão: " + e.getMessage());
+            return false;
+        }
+
+        SessaoGravada.Resultado resultado = null;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < vezes; i++) {
+            resultado = sessao.reproduzirJogo();
+            if (!resultado.isFiel()) {
+                break;
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        System.out.println(resultado);
+        if (resultado.getErro() != null) {
+            resultado.getErro().printStackTrace(System.out);
+        }
+        if (vezes > 1) {
+            System.out.printf("%d reproduções em %.1f ms (%.3f ms cada)%n",
+                    vezes, nanos / 1_000_000.0, nanos / 1_000_000.0 / vezes);
+        }
+        return resultado.isFiel();
     }
-}
\ No newline at end of file
+}
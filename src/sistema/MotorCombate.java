@@ -0,0 +1,300 @@
+package sistema;
+
+import eventos.BarramentoEventos;
+import eventos.Evento;
+import itens.Item;
+import personagens.Inimigo;
+import personagens.Personagem;
+
+/**
+ * Resolve combates completos sem interação com o console.
+ * <p>
+ * As regras (rolagens, fuga, ataque sombrio do chefe, efeito dos itens)
+ * são as mesmas usadas por {@code Jogo.batalhar} e {@code Jogo.batalharBoss},
+ * que chamam os métodos estáticos desta classe. Assim, com a mesma seed do
+ * {@link Dado} e as mesmas escolhas, o resultado é idêntico ao do jogo interativo.
+ * <p>
+ * As escolhas do jogador vêm de uma {@link PoliticaCombate}. As rolagens do
+ * motor usam o {@link RoladorDados} recebido; para rodar sem nenhuma saída no
+ * console, use um {@link RoladorSilencioso} também nos personagens
+ * ({@link personagens.Personagem#setDado}).
+ * <p>
+ * O que acontece no combate (rolagens do motor, dano, itens usados) é
+ * publicado em {@link #getEventos()}; sem ouvintes inscritos, nenhum
+ * evento é criado.
+ */
+public class MotorCombate {
+    /** Rolagem mínima no d20 para conseguir fugir. */
+    public static final int MINIMO_FUGA = 12;
+    /** Rolagem mínima no d10 para o chefe usar o ataque sombrio. */
+    public static final int MINIMO_ATAQUE_SOMBRIO = 7;
+    /** Limite de ações por combate, para evitar lutas infinitas (ex.: defesa maior que o dano). */
+    public static final int LIMITE_TURNOS_PADRAO = 10_000;
+
+    private final PoliticaCombate politica;
+    private final RoladorDados dado;
+    private final int limiteTurnos;
+    private final BarramentoEventos eventos = new BarramentoEventos();
+
+    /**
+     * Cria um motor que rola com o {@link Dado} estático.
+     *
+     * @param politica estratégia do jogador (não pode ser nula)
+     */
+    public MotorCombate(PoliticaCombate politica) {
+        this(politica, Dado.padrao(), LIMITE_TURNOS_PADRAO);
+    }
+
+    /**
+     * @param politica estratégia do jogador (não pode ser nula)
+     * @param dado     rolador das rolagens de combate (não pode ser nulo)
+     */
+    public MotorCombate(PoliticaCombate politica, RoladorDados dado) {
+        this(politica, dado, LIMITE_TURNOS_PADRAO);
+    }
+
+    /**
+     * @param politica     estratégia do jogador (não pode ser nula)
+     * @param dado         rolador das rolagens de combate (não pode ser nulo)
+     * @param limiteTurnos número máximo de ações do jogador (&gt; 0)
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public MotorCombate(PoliticaCombate politica, RoladorDados dado, int limiteTurnos) {
+        if (politica == null || dado == null) {
+            throw new IllegalArgumentException("Política e rolador não podem ser nulos");
+        }
+        if (limiteTurnos <= 0) {
+            throw new IllegalArgumentException("Limite de turnos deve ser positivo");
+        }
+        this.politica = politica;
+        this.dado = new RoladorComEventos(dado, eventos);
+        this.limiteTurnos = limiteTurnos;
+    }
+
+    /**
+     * @return barramento onde os eventos dos combates deste motor são publicados
+     */
+    public BarramentoEventos getEventos() {
+        return eventos;
+    }
+
+    /**
+     * Resolve um combate comum (mesmas opções de {@code Jogo.batalhar}).
+     * Jogador e inimigo são modificados, como no jogo interativo.
+     */
+    public ResultadoCombate batalhar(Personagem jogador, Inimigo inimigo) {
+        return resolver(jogador, inimigo, false);
+    }
+
+    /**
+     * Resolve a batalha contra o chefe (mesmas regras de {@code Jogo.batalharBoss}):
+     * não é possível fugir, e o chefe pode usar o ataque sombrio.
+     */
+    public ResultadoCombate batalharBoss(Personagem jogador, Inimigo boss) {
+        return resolver(jogador, boss, true);
+    }
+
+    private ResultadoCombate resolver(Personagem jogador, Inimigo inimigo, boolean boss) {
+        int turnos = 0;
+
+        while (jogador.estaVivo() && inimigo.estaVivo()) {
+            if (turnos >= limiteTurnos) {
+                return resultado(ResultadoCombate.Desfecho.LIMITE_TURNOS, turnos, jogador, inimigo);
+            }
+            turnos++;
+
+            AcaoCombate acao = politica.escolherAcao(jogador, inimigo);
+            if (acao == AcaoCombate.USAR_ITEM && usarItem(jogador, inimigo)) {
+                // Como no jogo interativo, usar item não passa o turno.
+                continue;
+            }
+
+            if (acao == AcaoCombate.FUGIR && !boss) {
+                if (tentarFugir(dado)) {
+                    return resultado(ResultadoCombate.Desfecho.FUGA, turnos, jogador, inimigo);
+                }
+            } else if (acao == AcaoCombate.HABILIDADE_ESPECIAL) {
+                usarHabilidadeEspecial(jogador, inimigo, eventos);
+            } else {
+                atacar(jogador, inimigo, dado.rolarD6(), eventos);
+            }
+
+            if (!inimigo.estaVivo()) {
+                break;
+            }
+
+            if (boss) {
+                turnoBoss(inimigo, jogador);
+            } else {
+                atacar(inimigo, jogador, dado.rolarD6(), eventos);
+            }
+        }
+
+        ResultadoCombate.Desfecho desfecho = jogador.estaVivo()
+                ? ResultadoCombate.Desfecho.VITORIA
+                : ResultadoCombate.Desfecho.DERROTA;
+        return resultado(desfecho, turnos, jogador, inimigo);
+    }
+
+    private boolean usarItem(Personagem jogador, Inimigo inimigo) {
+        Item item = politica.escolherItem(jogador);
+        if (item == null) {
+            return false;
+        }
+        if (aplicarEfeitoItem(jogador, item, inimigo, dado, eventos) >= 0) {
+            jogador.getInventario().remover(item.getNome(), 1);
+        }
+        return true;
+    }
+
+    private static ResultadoCombate resultado(ResultadoCombate.Desfecho desfecho, int turnos,
+                                              Personagem jogador, Personagem inimigo) {
+        return new ResultadoCombate(desfecho, turnos, jogador.getPontosVida(), inimigo.getPontosVida());
+    }
+
+    /**
+     * Ataque básico com uma rolagem de d6 já feita: calcula o dano do
+     * atacante e aplica no alvo.
+     *
+     * @return dano bruto causado (antes da defesa do alvo)
+     */
+    public static int atacar(Personagem atacante, Personagem alvo, int rolagem) {
+        return atacar(atacante, alvo, rolagem, null);
+    }
+
+    /**
+     * Ataque básico que também publica o {@link Evento.DanoCausado}.
+     *
+     * @param eventos barramento do combate, ou null para não publicar
+     * @return dano bruto causado (antes da defesa do alvo)
+     */
+    public static int atacar(Personagem atacante, Personagem alvo, int rolagem, BarramentoEventos eventos) {
+        int dano = atacante.calcularDano(rolagem);
+        aplicarDano(Evento.OrigemDano.ATAQUE, atacante, alvo, dano, eventos);
+        return dano;
+    }
+
+    /**
+     * Aplica um dano bruto no alvo e publica quanto HP ele perdeu.
+     *
+     * @param atacante quem causou o dano, ou null (ex.: armadilha)
+     * @param eventos  barramento do combate, ou null para não publicar
+     */
+    static void aplicarDano(Evento.OrigemDano origem, Personagem atacante, Personagem alvo,
+                            int dano, BarramentoEventos eventos) {
+        int hpAntes = alvo.getPontosVida();
+        alvo.receberDano(dano);
+        publicarDano(origem, atacante, alvo, hpAntes, eventos);
+    }
+
+    private static void publicarDano(Evento.OrigemDano origem, Personagem atacante, Personagem alvo,
+                                     int hpAntes, BarramentoEventos eventos) {
+        if (eventos != null && eventos.isAtivo(Evento.Tipo.DANO_CAUSADO)) {
+            eventos.publicar(new Evento.DanoCausado(origem, atacante == null ? "" : atacante.getNome(),
+                    alvo.getNome(), hpAntes - alvo.getPontosVida(), alvo.getPontosVida()));
+        }
+    }
+
+    /**
+     * Usa a habilidade especial do personagem e publica o dano que ela causou
+     * no alvo, se houver.
+     *
+     * @param eventos barramento do combate, ou null para não publicar
+     * @return mensagem da habilidade
+     */
+    public static String usarHabilidadeEspecial(Personagem usuario, Personagem alvo, BarramentoEventos eventos) {
+        int hpAntes = alvo.getPontosVida();
+        String mensagem = usuario.usarHabilidadeEspecial(alvo);
+        if (alvo.getPontosVida() != hpAntes) {
+            publicarDano(Evento.OrigemDano.HABILIDADE, usuario, alvo, hpAntes, eventos);
+        }
+        return mensagem;
+    }
+
+    /**
+     * Turno do chefe: rola o d6 de ataque e depois o d10 que decide se ele
+     * usa o ataque sombrio (dano dobrado), na mesma ordem de {@code Jogo.batalharBoss}.
+     */
+    private void turnoBoss(Inimigo boss, Personagem jogador) {
+        int rolagem = dado.rolarD6();
+        boolean sombrio = ataqueSombrio(dado);
+        int dano = boss.calcularDano(rolagem);
+        if (sombrio) {
+            aplicarDano(Evento.OrigemDano.ATAQUE_SOMBRIO, boss, jogador, dano * 2, eventos);
+        } else {
+            aplicarDano(Evento.OrigemDano.ATAQUE, boss, jogador, dano, eventos);
+        }
+    }
+
+    /**
+     * @return true se a rolagem de d10 ativou o ataque sombrio do chefe
+     */
+    public static boolean ataqueSombrio(RoladorDados dado) {
+        return dado.rolar(10) >= MINIMO_ATAQUE_SOMBRIO;
+    }
+
+    /**
+     * Tenta fugir do combate com um d20.
+     *
+     * @return true se conseguiu fugir
+     */
+    public static boolean tentarFugir(RoladorDados dado) {
+        return dado.rolarD20() >= MINIMO_FUGA;
+    }
+
+    /**
+     * Aplica o efeito de um item sobre o usuário (ou sobre o alvo, se for de dano).
+     * Não remove o item do inventário.
+     *
+     * @param usuario personagem que usa o item
+     * @param item    item usado
+     * @param alvo    alvo em combate ou null fora de combate
+     * @param dado    rolador da variação de dano
+     * @return valor aplicado (cura, bônus ou dano causado), ou -1 se o item
+     *         não pôde ser usado (item de dano fora de combate)
+     */
+    public static int aplicarEfeitoItem(Personagem usuario, Item item, Personagem alvo, RoladorDados dado) {
+        return aplicarEfeitoItem(usuario, item, alvo, dado, null);
+    }
+
+    /**
+     * Aplica o efeito de um item e publica o {@link Evento.ItemUsado}
+     * (e o {@link Evento.DanoCausado}, nos itens de dano).
+     *
+     * @param eventos barramento do combate, ou null para não publicar
+     * @return valor aplicado, ou -1 se o item não pôde ser usado
+     */
+    public static int aplicarEfeitoItem(Personagem usuario, Item item, Personagem alvo, RoladorDados dado,
+                                        BarramentoEventos eventos) {
+        int valor = efeitoItem(usuario, item, alvo, dado, eventos);
+        if (valor >= 0 && eventos != null && eventos.isAtivo(Evento.Tipo.ITEM_USADO)) {
+            eventos.publicar(new Evento.ItemUsado(usuario.getNome(), item.getNome(), item.getEfeito(), valor));
+        }
+        return valor;
+    }
+
+    private static int efeitoItem(Personagem usuario, Item item, Personagem alvo, RoladorDados dado,
+                                  BarramentoEventos eventos) {
+        switch (item.getEfeito()) {
+            case CURA:
+                usuario.curar(item.getValorEfeito());
+                return item.getValorEfeito();
+            case BUFF_ATAQUE:
+                usuario.setAtaque(usuario.getAtaque() + item.getValorEfeito());
+                return item.getValorEfeito();
+            case BUFF_DEFESA:
+                usuario.setDefesa(usuario.getDefesa() + item.getValorEfeito());
+                return item.getValorEfeito();
+            case DANO:
+                if (alvo == null) {
+                    return -1;
+                }
+                int variacao = dado.rolarD6() - 3;
+                int danoTotal = Math.max(1, item.getValorEfeito() + variacao);
+                aplicarDano(Evento.OrigemDano.ITEM, usuario, alvo, danoTotal, eventos);
+                return danoTotal;
+            default:
+                return 0;
+        }
+    }
+}
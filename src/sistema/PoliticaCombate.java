@@ -0,0 +1,68 @@
+package sistema;
+
+import itens.Efeito;
+import itens.Item;
+import personagens.Personagem;
+
+/**
+ * Estratégia que decide, a cada turno, o que o jogador faz em combate.
+ * <p>
+ * Substitui a leitura do teclado quando o combate é resolvido pelo
+ * {@link MotorCombate}, sem interação.
+ */
+public interface PoliticaCombate {
+
+    /**
+     * Escolhe a ação do turno.
+     *
+     * @param jogador personagem controlado pela política
+     * @param inimigo oponente atual
+     * @return ação a ser executada
+     */
+    AcaoCombate escolherAcao(Personagem jogador, Personagem inimigo);
+
+    /**
+     * Escolhe qual item usar quando a ação for {@link AcaoCombate#USAR_ITEM}.
+     * Por padrão, o primeiro item de cura na ordem do inventário.
+     *
+     * @return item escolhido ou null se não houver item adequado
+     */
+    default Item escolherItem(Personagem jogador) {
+        for (Item item : jogador.getInventario().getItensOrdenados()) {
+            if (item.getEfeito() == Efeito.CURA) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Política que sempre ataca.
+     */
+    static PoliticaCombate sempreAtacar() {
+        return (jogador, inimigo) -> AcaoCombate.ATACAR;
+    }
+
+    /**
+     * Política que usa a habilidade especial sempre que ela tiver efeito,
+     * atacando normalmente nos demais turnos.
+     */
+    static PoliticaCombate especialQuandoPossivel() {
+        return (jogador, inimigo) -> jogador.podeUsarHabilidadeEspecial()
+                ? AcaoCombate.HABILIDADE_ESPECIAL
+                : AcaoCombate.ATACAR;
+    }
+
+    /**
+     * Política que usa um item de cura quando o HP cai abaixo do percentual
+     * indicado e ataca nos demais turnos.
+     *
+     * @param percentual fração do HP máximo (ex.: 0.3 para 30%)
+     */
+    static PoliticaCombate curarAbaixoDe(double percentual) {
+        return (jogador, inimigo) ->
+                jogador.getPontosVida() < jogador.getPontosVidaMaximos() * percentual
+                        ? AcaoCombate.USAR_ITEM
+                        : AcaoCombate.ATACAR;
+    }
+}
@@ -0,0 +1,126 @@
+package sistema;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estatísticas agregadas de uma simulação de balanceamento,
+ * separadas por tipo de inimigo (nome gerado por
+ * {@link personagens.Inimigo#criarInimigoAleatorio(int)}).
+ * <p>
+ * Relatórios parciais de cada fatia da simulação são somados com
+ * {@link #mesclar(RelatorioBalanceamento)}. Como só há somas de inteiros,
+ * o resultado não depende da ordem de mesclagem nem do número de threads.
+ */
+public class RelatorioBalanceamento {
+    /** Faixas do histograma de HP restante: 0 = morto, 1..10 = cada 10% do HP máximo. */
+    public static final int FAIXAS_HP = 11;
+
+    private final Map<String, EstatisticasInimigo> porInimigo = new TreeMap<>();
+
+    /**
+     * Estatísticas de todas as lutas contra um tipo de inimigo.
+     */
+    public static class EstatisticasInimigo {
+        private long lutas;
+        private long vitorias;
+        private long fugas;
+        private long somaTurnos;
+        private final long[] histogramaHp = new long[FAIXAS_HP];
+
+        public long getLutas() { return lutas; }
+        public long getVitorias() { return vitorias; }
+        public long getFugas() { return fugas; }
+
+        public double getTaxaVitoria() {
+            return lutas == 0 ? 0.0 : (double) vitorias / lutas;
+        }
+
+        public double getMediaTurnos() {
+            return lutas == 0 ? 0.0 : (double) somaTurnos / lutas;
+        }
+
+        /**
+         * @return cópia do histograma de HP restante do jogador ({@link #FAIXAS_HP} faixas)
+         */
+        public long[] getHistogramaHp() {
+            return histogramaHp.clone();
+        }
+
+        private void mesclar(EstatisticasInimigo outra) {
+            lutas += outra.lutas;
+            vitorias += outra.vitorias;
+            fugas += outra.fugas;
+            somaTurnos += outra.somaTurnos;
+            for (int i = 0; i < FAIXAS_HP; i++) {
+                histogramaHp[i] += outra.histogramaHp[i];
+            }
+        }
+    }
+
+    /**
+     * Registra o resultado de uma luta.
+     *
+     * @param inimigo   nome do tipo de inimigo
+     * @param resultado resultado do combate
+     * @param hpMaximo  HP máximo do jogador ao fim da luta
+     */
+    public void registrar(String inimigo, ResultadoCombate resultado, int hpMaximo) {
+        EstatisticasInimigo est = porInimigo.computeIfAbsent(inimigo, k -> new EstatisticasInimigo());
+        est.lutas++;
+        est.somaTurnos += resultado.getTurnos();
+        if (resultado.isVitoria()) {
+            est.vitorias++;
+        } else if (resultado.getDesfecho() == ResultadoCombate.Desfecho.FUGA) {
+            est.fugas++;
+        }
+
+        int hp = resultado.getHpJogador();
+        int faixa = hp <= 0 ? 0 : Math.min(10, (int) ((hp * 10L + hpMaximo - 1) / hpMaximo));
+        est.histogramaHp[faixa]++;
+    }
+
+    /**
+     * Soma as estatísticas de outro relatório neste.
+     *
+     * @return este relatório
+     */
+    public RelatorioBalanceamento mesclar(RelatorioBalanceamento outro) {
+        for (Map.Entry<String, EstatisticasInimigo> entry : outro.porInimigo.entrySet()) {
+            porInimigo.computeIfAbsent(entry.getKey(), k -> new EstatisticasInimigo())
+                    .mesclar(entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * @return estatísticas do inimigo ou null se não houve lutas contra ele
+     */
+    public EstatisticasInimigo getEstatisticas(String inimigo) {
+        return porInimigo.get(inimigo);
+    }
+
+    public long getTotalLutas() {
+        long total = 0;
+        for (EstatisticasInimigo est : porInimigo.values()) {
+            total += est.lutas;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("=== BALANCEAMENTO ===\n");
+        for (Map.Entry<String, EstatisticasInimigo> entry : porInimigo.entrySet()) {
+            EstatisticasInimigo est = entry.getValue();
+            sb.append(String.format("%-15s lutas: %d | vitórias: %.2f%% | fugas: %d | turnos médios: %.2f%n",
+                    entry.getKey(), est.lutas, est.getTaxaVitoria() * 100, est.fugas, est.getMediaTurnos()));
+            sb.append("  HP restante (morto, 10%..100%):");
+            for (long quantidade : est.histogramaHp) {
+                sb.append(' ').append(quantidade);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
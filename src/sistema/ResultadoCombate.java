@@ -0,0 +1,48 @@
+package sistema;
+
+/**
+ * Resultado de um combate resolvido pelo {@link MotorCombate}.
+ */
+public class ResultadoCombate {
+
+    /**
+     * Como o combate terminou.
+     */
+    public enum Desfecho {
+        VITORIA,
+        DERROTA,
+        FUGA,
+        LIMITE_TURNOS
+    }
+
+    private final Desfecho desfecho;
+    private final int turnos;
+    private final int hpJogador;
+    private final int hpInimigo;
+
+    public ResultadoCombate(Desfecho desfecho, int turnos, int hpJogador, int hpInimigo) {
+        this.desfecho = desfecho;
+        this.turnos = turnos;
+        this.hpJogador = hpJogador;
+        this.hpInimigo = hpInimigo;
+    }
+
+    public Desfecho getDesfecho() { return desfecho; }
+
+    /**
+     * @return número de ações do jogador (itens usados também contam)
+     */
+    public int getTurnos() { return turnos; }
+    public int getHpJogador() { return hpJogador; }
+    public int getHpInimigo() { return hpInimigo; }
+
+    public boolean isVitoria() {
+        return desfecho == Desfecho.VITORIA;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s em %d turnos (HP jogador: %d | HP inimigo: %d)",
+                desfecho, turnos, hpJogador, hpInimigo);
+    }
+}
@@ -0,0 +1,40 @@
+package sistema;
+
+import eventos.BarramentoEventos;
+import eventos.Evento;
+
+/**
+ * Rolador que publica cada resultado como {@link Evento.DadoRolado}.
+ * Delega a rolagem (e o modo silencioso) a outro rolador; sem ouvintes de
+ * rolagens no barramento, não cria nenhum evento.
+ */
+public class RoladorComEventos implements RoladorDados {
+    private final RoladorDados base;
+    private final BarramentoEventos eventos;
+
+    /**
+     * @param base    rolador que de fato gera os valores
+     * @param eventos barramento onde as rolagens são publicadas
+     */
+    public RoladorComEventos(RoladorDados base, BarramentoEventos eventos) {
+        if (base == null || eventos == null) {
+            throw new IllegalArgumentException("Rolador base e barramento não podem ser nulos");
+        }
+        this.base = base;
+        this.eventos = eventos;
+    }
+
+    @Override
+    public int rolar(int faces) {
+        int resultado = base.rolar(faces);
+        if (eventos.isAtivo(Evento.Tipo.DADO_ROLADO)) {
+            eventos.publicar(new Evento.DadoRolado(faces, resultado));
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean isSilencioso() {
+        return base.isSilencioso();
+    }
+}
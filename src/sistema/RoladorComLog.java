@@ -0,0 +1,36 @@
+package sistema;
+
+/**
+ * Rolador que imprime cada resultado, no mesmo formato de {@link Dado#rolar(int)}.
+ * Delega a rolagem a outro rolador.
+ */
+public class RoladorComLog implements RoladorDados {
+    private final RoladorDados base;
+    private final Saida saida;
+
+    /**
+     * @param base rolador que de fato gera os valores
+     */
+    public RoladorComLog(RoladorDados base) {
+        this(base, Saida.DIRETA);
+    }
+
+    /**
+     * @param base  rolador que de fato gera os valores
+     * @param saida onde as rolagens são impressas
+     */
+    public RoladorComLog(RoladorDados base, Saida saida) {
+        if (base == null || saida == null) {
+            throw new IllegalArgumentException("Rolador base e saída não podem ser nulos");
+        }
+        this.base = base;
+        this.saida = saida;
+    }
+
+    @Override
+    public int rolar(int faces) {
+        int resultado = base.rolar(faces);
+        saida.printf("[DADO] d%d -> %d%n", faces, resultado);
+        return resultado;
+    }
+}
@@ -0,0 +1,48 @@
+package sistema;
+
+/**
+ * Fonte de rolagens de dados que pode ser injetada por instância
+ * (personagens, inimigos, jogo, simulações).
+ * <p>
+ * Implementações disponíveis:
+ * <ul>
+ *   <li>{@link RoladorSilencioso}: gerador próprio, sem nenhuma saída (laços de simulação);</li>
+ *   <li>{@link RoladorComLog}: imprime cada rolagem, como no RPG de mesa;</li>
+ *   <li>{@link RoladorGravado}: grava as rolagens de outro rolador ou reproduz uma gravação.</li>
+ * </ul>
+ * O utilitário estático {@link Dado} continua funcionando e é exposto como
+ * rolador via {@link Dado#padrao()}.
+ */
+public interface RoladorDados {
+
+    /**
+     * Rola um dado com o número de faces indicado.
+     *
+     * @param faces número de faces (deve ser &gt; 0)
+     * @return valor entre 1 e {@code faces} (inclusive)
+     * @throws IllegalArgumentException se faces &lt;= 0
+     */
+    int rolar(int faces);
+
+    /**
+     * Rola um d6 (dado de 6 faces).
+     */
+    default int rolarD6() {
+        return rolar(6);
+    }
+
+    /**
+     * Rola um d20 (dado de 20 faces).
+     */
+    default int rolarD20() {
+        return rolar(20);
+    }
+
+    /**
+     * Indica se mensagens ligadas às rolagens (críticos, magias, etc.)
+     * devem ser omitidas.
+     */
+    default boolean isSilencioso() {
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+package sistema;
+
+import java.util.Arrays;
+
+/**
+ * Rolador que grava ou reproduz uma sequência de rolagens.
+ * <ul>
+ *   <li>Modo gravação ({@link #gravar(RoladorDados)}): delega a outro rolador
+ *       e guarda cada par (faces, resultado).</li>
+ *   <li>Modo reprodução ({@link #reproduzir(int[], int[])}): devolve os resultados
+ *       gravados, na ordem. Se o jogo pedir um dado diferente do gravado
+ *       (regras mudaram), lança {@link IllegalStateException}.</li>
+ * </ul>
+ * Para gravar também as respostas do jogador, veja {@link SessaoGravada}.
+ */
+public class RoladorGravado implements RoladorDados {
+    private final RoladorDados base;
+    private int[] faces;
+    private int[] resultados;
+    private int tamanho;
+    private int posicao;
+
+    private RoladorGravado(RoladorDados base, int[] faces, int[] resultados, int tamanho) {
+        this.base = base;
+        this.faces = faces;
+        this.resultados = resultados;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Cria um rolador que grava as rolagens feitas pelo rolador base.
+     */
+    public static RoladorGravado gravar(RoladorDados base) {
+        if (base == null) {
+            throw new IllegalArgumentException("Rolador base não pode ser nulo");
+        }
+        return new RoladorGravado(base, new int[64], new int[64], 0);
+    }
+
+    /**
+     * Cria um rolador que reproduz uma gravação.
+     *
+     * @param faces      faces pedidas em cada rolagem gravada
+     * @param resultados resultado de cada rolagem gravada
+     */
+    public static RoladorGravado reproduzir(int[] faces, int[] resultados) {
+        if (faces.length != resultados.length) {
+            throw new IllegalArgumentException("Faces e resultados devem ter o mesmo tamanho");
+        }
+        return new RoladorGravado(null, faces.clone(), resultados.clone(), faces.length);
+    }
+
+    @Override
+    public int rolar(int faces) {
+        if (faces <= 0) {
+            throw new IllegalArgumentException("Número de faces deve ser positivo");
+        }
+        if (base == null) {
+            return proximaGravada(faces);
+        }
+
+        int resultado = base.rolar(faces);
+        if (tamanho == this.faces.length) {
+            this.faces = Arrays.copyOf(this.faces, tamanho * 2);
+            this.resultados = Arrays.copyOf(this.resultados, tamanho * 2);
+        }
+        this.faces[tamanho] = faces;
+        this.resultados[tamanho] = resultado;
+        tamanho++;
+        return resultado;
+    }
+
+    private int proximaGravada(int faces) {
+        if (posicao >= tamanho) {
+            throw new IllegalStateException("Gravação terminou na rolagem " + posicao
+                    + " (pedido d" + faces + ")");
+        }
+        if (this.faces[posicao] != faces) {
+            throw new IllegalStateException("Divergência na rolagem " + posicao
+                    + ": gravado d" + this.faces[posicao] + ", pedido d" + faces);
+        }
+        return resultados[posicao++];
+    }
+
+    /**
+     * @return true se está reproduzindo uma gravação
+     */
+    public boolean isReproducao() {
+        return base == null;
+    }
+
+    /**
+     * @return número de rolagens gravadas (ou disponíveis na reprodução)
+     */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @return número de rolagens já consumidas na reprodução
+     */
+    public int getPosicao() {
+        return posicao;
+    }
+
+    /**
+     * @return cópia das faces de cada rolagem gravada
+     */
+    public int[] getFaces() {
+        return Arrays.copyOf(faces, tamanho);
+    }
+
+    /**
+     * @return cópia dos resultados de cada rolagem gravada
+     */
+    public int[] getResultados() {
+        return Arrays.copyOf(resultados, tamanho);
+    }
+
+    @Override
+    public boolean isSilencioso() {
+        return base == null || base.isSilencioso();
+    }
+}
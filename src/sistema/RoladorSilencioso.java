@@ -0,0 +1,43 @@
+package sistema;
+
+import java.util.SplittableRandom;
+
+/**
+ * Rolador sem nenhuma saída, com gerador próprio.
+ * <p>
+ * Não aloca nada por rolagem; é o rolador indicado para simulações em massa.
+ * Não é thread-safe: use uma instância por thread (ou por fatia de simulação).
+ */
+public class RoladorSilencioso implements RoladorDados {
+    private final SplittableRandom gerador;
+
+    /**
+     * Cria um rolador com seed fixa (sequência reproduzível).
+     */
+    public RoladorSilencioso(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    /**
+     * Cria um rolador que usa o gerador indicado.
+     */
+    public RoladorSilencioso(SplittableRandom gerador) {
+        if (gerador == null) {
+            throw new IllegalArgumentException("Gerador não pode ser nulo");
+        }
+        this.gerador = gerador;
+    }
+
+    @Override
+    public int rolar(int faces) {
+        if (faces <= 0) {
+            throw new IllegalArgumentException("Número de faces deve ser positivo");
+        }
+        return gerador.nextInt(faces) + 1;
+    }
+
+    @Override
+    public boolean isSilencioso() {
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+package sistema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Formatter;
+
+/**
+ * Saída de texto do jogo.
+ * <p>
+ * A saída bufferizada acumula o texto de um turno inteiro e o entrega ao
+ * destino em uma única escrita, em {@link #flush()}. O jogo só chama
+ * {@code flush} antes de ler uma resposta do jogador, então um combate
+ * inteiro vira poucas escritas em vez de uma por linha.
+ * <p>
+ * A {@link #nula() saída nula} descarta tudo, para execuções sem console.
+ * A {@link #DIRETA saída direta} não tem buffer e escreve cada linha em
+ * {@code System.out}; é o padrão de quem não recebe uma saída (ex.: personagens
+ * criados fora de um {@link Jogo}).
+ * <p>
+ * Saídas bufferizadas não são thread-safe: cada jogo usa a sua, na thread do jogo.
+ */
+public class Saida {
+    /** Separador das telas de capítulo, vitória e status (50 caracteres). */
+    public static final String SEPARADOR = "==================================================";
+    /** Separador do menu principal (50 caracteres). */
+    public static final String SEPARADOR_MENU = "──────────────────────────────────────────────────";
+    /** Tamanho a partir do qual o buffer é entregue mesmo sem {@code flush}. */
+    static final int LIMITE_BUFFER = 64 * 1024;
+    /**
+     * Capacidade que o buffer mantém entre um flush e outro. Acima disso a
+     * memória é devolvida, para que sessões ociosas (servidor) não segurem
+     * o buffer da última tela.
+     */
+    static final int CAPACIDADE_RETIDA = 512;
+
+    /** Saída sem buffer em {@code System.out}, compartilhável entre threads. */
+    public static final Saida DIRETA = new Saida(Saida::escreverNoConsole, false);
+
+    /**
+     * Recebe o texto acumulado.
+     */
+    @FunctionalInterface
+    public interface Destino {
+        void escrever(CharSequence texto) throws IOException;
+    }
+
+    private final Destino destino;
+    private final boolean bufferizada;
+    private final StringBuilder buffer;
+    private final Formatter formatador;
+
+    private Saida(Destino destino, boolean bufferizada) {
+        this.destino = destino;
+        this.bufferizada = bufferizada;
+        this.buffer = bufferizada ? new StringBuilder(CAPACIDADE_RETIDA) : null;
+        this.formatador = bufferizada ? new Formatter(buffer) : null;
+    }
+
+    /**
+     * @return saída bufferizada para {@code System.out}
+     */
+    public static Saida console() {
+        return new Saida(Saida::escreverNoConsole, true);
+    }
+
+    /**
+     * @return saída que descarta todo o texto
+     */
+    public static Saida nula() {
+        return new Saida(null, false);
+    }
+
+    /**
+     * @param destino writer que recebe o texto a cada {@link #flush()}
+     *                (o writer também é esvaziado a cada flush)
+     * @return saída bufferizada para o writer
+     */
+    public static Saida para(Writer destino) {
+        if (destino == null) {
+            throw new IllegalArgumentException("Destino não pode ser nulo");
+        }
+        return new Saida(texto -> {
+            destino.append(texto);
+            destino.flush();
+        }, true);
+    }
+
+    /**
+     * @return saída bufferizada para um destino qualquer
+     */
+    public static Saida para(Destino destino) {
+        if (destino == null) {
+            throw new IllegalArgumentException("Destino não pode ser nulo");
+        }
+        return new Saida(destino, true);
+    }
+
+    private static void escreverNoConsole(CharSequence texto) {
+        System.out.append(texto);
+        System.out.flush();
+    }
+
+    /**
+     * @return true se o texto é descartado
+     */
+    public boolean isNula() {
+        return destino == null;
+    }
+
+    public void print(String texto) {
+        if (destino == null) {
+            return;
+        }
+        if (!bufferizada) {
+            entregar(texto);
+            return;
+        }
+        buffer.append(texto);
+        if (buffer.length() >= LIMITE_BUFFER) {
+            flush();
+        }
+    }
+
+    public void println(String texto) {
+        if (destino == null) {
+            return;
+        }
+        if (!bufferizada) {
+            entregar(texto + System.lineSeparator());
+            return;
+        }
+        buffer.append(texto).append(System.lineSeparator());
+        if (buffer.length() >= LIMITE_BUFFER) {
+            flush();
+        }
+    }
+
+    public void println() {
+        print(System.lineSeparator());
+    }
+
+    public void printf(String formato, Object... args) {
+        if (destino == null) {
+            return;
+        }
+        if (!bufferizada) {
+            entregar(String.format(formato, args));
+            return;
+        }
+        formatador.format(formato, args);
+        if (buffer.length() >= LIMITE_BUFFER) {
+            flush();
+        }
+    }
+
+    /**
+     * Entrega o texto acumulado ao destino.
+     *
+     * @throws UncheckedIOException se o destino falhar (ex.: conexão fechada)
+     */
+    public void flush() {
+        if (buffer == null || buffer.length() == 0) {
+            return;
+        }
+        try {
+            destino.escrever(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.setLength(0);
+            if (buffer.capacity() > CAPACIDADE_RETIDA) {
+                buffer.trimToSize();
+            }
+        }
+    }
+
+    private void entregar(CharSequence texto) {
+        try {
+            destino.escrever(texto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
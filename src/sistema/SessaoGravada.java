@@ -0,0 +1,431 @@
+package sistema;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Gravação de uma sessão de jogo: cada resposta do jogador e cada rolagem
+ * de dado, na ordem em que aconteceram.
+ * <p>
+ * Para gravar, o jogo recebe o rolador de {@link #gravarDado(RoladorDados)} e
+ * a entrada de {@link #gravarEntrada(Entrada)}; ao fim, {@link #salvar(File)}.
+ * Para reproduzir, {@link #reproduzirJogo()} roda um {@link Jogo} sem saída
+ * e sem gravar saves, alimentado pela gravação, e informa a primeira
+ * divergência: o jogo pediu um dado diferente do gravado, pediu uma resposta
+ * onde havia uma rolagem (ou o contrário), ou terminou antes ou depois.
+ * Divergências aparecem quando as regras mudaram desde a gravação.
+ * <p>
+ * Formato do arquivo:
+ * <pre>
+ * "RPGR" | versão (1 byte) | n passos | passo... | CRC32C (4 bytes) do que vem antes
+ * passo: varint par (faces &lt;&lt; 1) e varint resultado, para uma rolagem;
+ *        varint ímpar ((tamanho + 1) &lt;&lt; 1 | 1) e o texto em UTF-8, para uma resposta
+ *        (tamanho + 1 = 0 marca o fim da entrada)
+ * </pre>
+ * Uma rolagem ocupa 2 bytes e uma escolha de menu, 2. A gravação não guarda
+ * os arquivos de save: uma sessão que carrega um save só é reproduzida
+ * fielmente com o mesmo save na pasta.
+ */
+public class SessaoGravada {
+    /** Extensão sugerida para os arquivos de gravação. */
+    public static final String EXTENSAO = ".rpl";
+
+    private static final byte[] MAGICO = {'R', 'P', 'G', 'R'};
+    private static final int VERSAO = 1;
+
+    /** Faces de cada passo; 0 marca uma resposta do jogador. */
+    private int[] faces = new int[256];
+    /** Resultado da rolagem, ou índice da resposta em {@link #respostas}. */
+    private int[] valores = new int[256];
+    private final List<String> respostas = new ArrayList<>();
+    private int passos;
+
+    /**
+     * Cria uma gravação vazia, pronta para gravar uma sessão.
+     */
+    public SessaoGravada() {
+    }
+
+    /**
+     * @return rolador que delega ao base e grava cada rolagem
+     * @throws IllegalArgumentException se base for nulo
+     */
+    public RoladorDados gravarDado(RoladorDados base) {
+        if (base == null) {
+            throw new IllegalArgumentException("Rolador base não pode ser nulo");
+        }
+        return new RoladorDados() {
+            @Override
+            public int rolar(int numeroFaces) {
+                int resultado = base.rolar(numeroFaces);
+                acrescentar(numeroFaces, resultado);
+                return resultado;
+            }
+
+            @Override
+            public boolean isSilencioso() {
+                return base.isSilencioso();
+            }
+        };
+    }
+
+    /**
+     * @return entrada que delega à base e grava cada resposta (inclusive o fim da entrada)
+     * @throws IllegalArgumentException se base for nula
+     */
+    public Entrada gravarEntrada(Entrada base) {
+        if (base == null) {
+            throw new IllegalArgumentException("Entrada base não pode ser nula");
+        }
+        return () -> {
+            String linha = base.lerLinha();
+            respostas.add(linha);
+            acrescentar(0, respostas.size() - 1);
+            return linha;
+        };
+    }
+
+    private void acrescentar(int numeroFaces, int valor) {
+        if (passos == faces.length) {
+            faces = Arrays.copyOf(faces, passos * 2);
+            valores = Arrays.copyOf(valores, passos * 2);
+        }
+        faces[passos] = numeroFaces;
+        valores[passos] = valor;
+        passos++;
+    }
+
+    /**
+     * @return número de passos (rolagens e respostas) gravados
+     */
+    public int getPassos() {
+        return passos;
+    }
+
+    /**
+     * @return número de respostas do jogador gravadas
+     */
+    public int getRespostas() {
+        return respostas.size();
+    }
+
+    /**
+     * Grava a sessão no arquivo, substituindo o conteúdo anterior.
+     */
+    public void salvar(File arquivo) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + passos * 2);
+        bytes.write(MAGICO);
+        bytes.write(VERSAO);
+        varint(bytes, passos);
+        for (int i = 0; i < passos; i++) {
+            if (faces[i] != 0) {
+                varint(bytes, faces[i] << 1);
+                varint(bytes, valores[i]);
+            } else {
+                String resposta = respostas.get(valores[i]);
+                if (resposta == null) {
+                    varint(bytes, 1);
+                } else {
+                    byte[] texto = resposta.getBytes(StandardCharsets.UTF_8);
+                    varint(bytes, ((texto.length + 1) << 1) | 1);
+                    bytes.write(texto);
+                }
+            }
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.toByteArray());
+        int valor = (int) crc.getValue();
+        bytes.write(valor >>> 24);
+        bytes.write(valor >>> 16);
+        bytes.write(valor >>> 8);
+        bytes.write(valor);
+        Files.write(arquivo.toPath(), bytes.toByteArray());
+    }
+
+    /**
+     * Lê uma sessão gravada por {@link #salvar(File)}.
+     *
+     * @throws IOException se o arquivo não for uma gravação válida
+     */
+    public static SessaoGravada carregar(File arquivo) throws IOException {
+        byte[] conteudo = Files.readAllBytes(arquivo.toPath());
+        if (conteudo.length < MAGICO.length + 5
+                || !Arrays.equals(Arrays.copyOf(conteudo, MAGICO.length), MAGICO)) {
+            throw new IOException("Não é uma sessão gravada: " + arquivo);
+        }
+        if (conteudo[MAGICO.length] != VERSAO) {
+            throw new IOException("Versão de sessão gravada não suportada: " + conteudo[MAGICO.length]);
+        }
+        ByteBuffer leitor = ByteBuffer.wrap(conteudo);
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo, 0, conteudo.length - 4);
+        if ((int) crc.getValue() != leitor.getInt(conteudo.length - 4)) {
+            throw new IOException("Sessão gravada corrompida: " + arquivo);
+        }
+
+        leitor.limit(conteudo.length - 4).position(MAGICO.length + 1);
+        SessaoGravada sessao = new SessaoGravada();
+        try {
+            int total = varint(leitor);
+            for (int i = 0; i < total; i++) {
+                int cabecalho = varint(leitor);
+                if ((cabecalho & 1) == 0) {
+                    int numeroFaces = cabecalho >>> 1;
+                    if (numeroFaces <= 0) {
+                        throw new IOException("Rolagem inválida na sessão gravada: d" + numeroFaces);
+                    }
+                    sessao.acrescentar(numeroFaces, varint(leitor));
+                } else {
+                    int tamanho = (cabecalho >>> 1) - 1;
+                    String resposta = null;
+                    if (tamanho >= 0) {
+                        byte[] texto = new byte[tamanho];
+                        leitor.get(texto);
+                        resposta = new String(texto, StandardCharsets.UTF_8);
+                    }
+                    sessao.respostas.add(resposta);
+                    sessao.acrescentar(0, sessao.respostas.size() - 1);
+                }
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Sessão gravada truncada: " + arquivo);
+        }
+        if (leitor.hasRemaining()) {
+            throw new IOException("Sessão gravada com dados extras: " + arquivo);
+        }
+        return sessao;
+    }
+
+    private static void varint(ByteArrayOutputStream saida, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            saida.write((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        saida.write(valor);
+    }
+
+    private static int varint(ByteBuffer entrada) throws IOException {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 35; deslocamento += 7) {
+            int b = entrada.get() & 0xFF;
+            valor |= (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Inteiro inválido na sessão gravada");
+    }
+
+    /**
+     * @return reprodução que entrega os passos gravados, em ordem
+     */
+    public Reproducao reproduzir() {
+        return new Reproducao();
+    }
+
+    /**
+     * Reproduz a sessão em um {@link Jogo} sem saída e sem gravação de saves.
+     * Nunca lança exceção: divergências e erros do jogo vêm no resultado.
+     */
+    public Resultado reproduzirJogo() {
+        Reproducao reproducao = reproduzir();
+        Jogo jogo = new Jogo(reproducao.getDado(), Saida.nula(), reproducao.getEntrada());
+        jogo.setGravacaoSaves(false);
+
+        long inicio = System.nanoTime();
+        RuntimeException erro = null;
+        try {
+            jogo.iniciar();
+            reproducao.verificarFim();
+        } catch (RuntimeException e) {
+            erro = e;
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        Divergencia divergencia = reproducao.getDivergencia();
+        return new Resultado(reproducao.getPosicao(), passos, divergencia,
+                divergencia == null ? erro : null, nanos);
+    }
+
+    /**
+     * Primeiro ponto em que o jogo deixou de seguir a gravação.
+     */
+    public static final class Divergencia {
+        private final int passo;
+        private final String descricao;
+
+        Divergencia(int passo, String descricao) {
+            this.passo = passo;
+            this.descricao = descricao;
+        }
+
+        /**
+         * @return índice do passo (rolagem ou resposta) em que o jogo divergiu
+         */
+        public int getPasso() {
+            return passo;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+
+        @Override
+        public String toString() {
+            return "Divergência no passo " + passo + ": " + descricao;
+        }
+    }
+
+    /**
+     * Rolador e entrada que consomem os passos gravados. Ao primeiro pedido
+     * que não bate com a gravação, registram a {@link Divergencia} e lançam
+     * {@link IllegalStateException}, o que encerra o jogo.
+     */
+    public final class Reproducao {
+        private int posicao;
+        private Divergencia divergencia;
+
+        private final RoladorDados dado = new RoladorDados() {
+            @Override
+            public int rolar(int numeroFaces) {
+                if (numeroFaces <= 0) {
+                    throw new IllegalArgumentException("Número de faces deve ser positivo");
+                }
+                verificarPasso("o jogo rolou d" + numeroFaces);
+                if (faces[posicao] == 0) {
+                    divergir("o jogo rolou d" + numeroFaces + ", mas a gravação tem a resposta "
+                            + descreverResposta(respostas.get(valores[posicao])));
+                }
+                if (faces[posicao] != numeroFaces) {
+                    divergir("o jogo rolou d" + numeroFaces + ", mas a gravação tem d" + faces[posicao]);
+                }
+                return valores[posicao++];
+            }
+
+            @Override
+            public boolean isSilencioso() {
+                return true;
+            }
+        };
+
+        private final Entrada entrada = () -> {
+            verificarPasso("o jogo pediu uma resposta");
+            if (faces[posicao] != 0) {
+                divergir("o jogo pediu uma resposta, mas a gravação tem a rolagem d"
+                        + faces[posicao] + " -> " + valores[posicao]);
+            }
+            return respostas.get(valores[posicao++]);
+        };
+
+        private Reproducao() {
+        }
+
+        public RoladorDados getDado() {
+            return dado;
+        }
+
+        public Entrada getEntrada() {
+            return entrada;
+        }
+
+        /**
+         * @return passos já consumidos
+         */
+        public int getPosicao() {
+            return posicao;
+        }
+
+        /**
+         * @return primeira divergência, ou null se o jogo seguiu a gravação até aqui
+         */
+        public Divergencia getDivergencia() {
+            return divergencia;
+        }
+
+        /**
+         * Chamado quando o jogo terminou: todos os passos devem ter sido consumidos.
+         *
+         * @throws IllegalStateException se sobraram passos na gravação
+         */
+        public void verificarFim() {
+            if (divergencia == null && posicao < passos) {
+                divergir("o jogo terminou, mas a gravação tem mais " + (passos - posicao) + " passo(s)");
+            }
+        }
+
+        private void verificarPasso(String pedido) {
+            if (divergencia != null) {
+                throw new IllegalStateException(divergencia.toString());
+            }
+            if (posicao >= passos) {
+                divergir(pedido + ", mas a gravação terminou");
+            }
+        }
+
+        private void divergir(String descricao) {
+            divergencia = new Divergencia(posicao, descricao);
+            throw new IllegalStateException(divergencia.toString());
+        }
+
+        private String descreverResposta(String resposta) {
+            return resposta == null ? "(fim da entrada)" : "\"" + resposta + "\"";
+        }
+    }
+
+    /**
+     * Resultado de {@link #reproduzirJogo()}.
+     */
+    public static final class Resultado {
+        private final int passosConsumidos;
+        private final int totalPassos;
+        private final Divergencia divergencia;
+        private final RuntimeException erro;
+        private final long nanos;
+
+        Resultado(int passosConsumidos, int totalPassos, Divergencia divergencia,
+                  RuntimeException erro, long nanos) {
+            this.passosConsumidos = passosConsumidos;
+            this.totalPassos = totalPassos;
+            this.divergencia = divergencia;
+            this.erro = erro;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return true se o jogo seguiu a gravação do início ao fim
+         */
+        public boolean isFiel() {
+            return divergencia == null;
+        }
+
+        public Divergencia getDivergencia() { return divergencia; }
+
+        /**
+         * @return exceção lançada pelo próprio jogo durante a reprodução (ex.: o bug
+         *         que a gravação reproduz), ou null
+         */
+        public RuntimeException getErro() { return erro; }
+
+        public int getPassosConsumidos() { return passosConsumidos; }
+        public int getTotalPassos() { return totalPassos; }
+        public long getNanos() { return nanos; }
+
+        @Override
+        public String toString() {
+            String situacao = divergencia != null ? divergencia.toString()
+                    : erro != null ? "Fiel à gravação; o jogo lançou " + erro
+                    : "Fiel à gravação";
+            return String.format("%s (%d/%d passos em %.2f ms)",
+                    situacao, passosConsumidos, totalPassos, nanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package sistema;
+
+import itens.CatalogoItens;
+import itens.Item;
+import personagens.Arqueiro;
+import personagens.Guerreiro;
+import personagens.Inimigo;
+import personagens.Mago;
+import personagens.Personagem;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Simulação de balanceamento em massa: resolve N lutas contra inimigos
+ * de {@link Inimigo#criarInimigoAleatorio(int)} usando todos os núcleos.
+ * <p>
+ * As lutas são divididas em fatias de tamanho fixo ({@link #TAMANHO_FATIA}).
+ * Cada fatia recebe um {@link RoladorSilencioso} próprio, derivado da seed mestre
+ * na ordem das fatias, injetado no motor, no jogador e nos inimigos. Como a divisão
+ * não depende do número de threads, o relatório é idêntico para qualquer
+ * paralelismo.
+ */
+public class SimulacaoMonteCarlo {
+    /** Número de lutas por fatia (unidade de trabalho e de sequência aleatória). */
+    public static final int TAMANHO_FATIA = 4096;
+
+    private final Supplier<Personagem> fabricaJogador;
+    private final PoliticaCombate politica;
+
+    /**
+     * @param fabricaJogador cria um jogador novo para cada luta
+     * @param politica       estratégia do jogador nas lutas
+     */
+    public SimulacaoMonteCarlo(Supplier<Personagem> fabricaJogador, PoliticaCombate politica) {
+        if (fabricaJogador == null || politica == null) {
+            throw new IllegalArgumentException("Fábrica de jogador e política não podem ser nulas");
+        }
+        this.fabricaJogador = fabricaJogador;
+        this.politica = politica;
+    }
+
+    /**
+     * Executa a simulação.
+     *
+     * @param lutas       número total de lutas (&gt; 0)
+     * @param seedMestre  seed da qual derivam os geradores de todas as fatias
+     * @param paralelismo número de threads do pool (&gt; 0)
+     * @return relatório agregado por tipo de inimigo
+     */
+    public RelatorioBalanceamento executar(long lutas, long seedMestre, int paralelismo) {
+        if (lutas <= 0) {
+            throw new IllegalArgumentException("Número de lutas deve ser positivo");
+        }
+
+        int fatias = (int) ((lutas + TAMANHO_FATIA - 1) / TAMANHO_FATIA);
+        SplittableRandom mestre = new SplittableRandom(seedMestre);
+        SplittableRandom[] geradores = new SplittableRandom[fatias];
+        for (int i = 0; i < fatias; i++) {
+            geradores[i] = mestre.split();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            return pool.invoke(new Fatias(this, geradores, lutas, 0, fatias));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private RelatorioBalanceamento simularFatia(SplittableRandom gerador, long lutas) {
+        RelatorioBalanceamento relatorio = new RelatorioBalanceamento();
+        RoladorDados dado = new RoladorSilencioso(gerador);
+        MotorCombate motor = new MotorCombate(politica, dado);
+
+        for (long i = 0; i < lutas; i++) {
+            Personagem jogador = fabricaJogador.get();
+            jogador.setDado(dado);
+            Inimigo inimigo = Inimigo.criarInimigoAleatorio(jogador.getNivel(), dado);
+            ResultadoCombate resultado = motor.batalhar(jogador, inimigo);
+            relatorio.registrar(inimigo.getNome(), resultado, jogador.getPontosVidaMaximos());
+        }
+        return relatorio;
+    }
+
+    /**
+     * Divide as fatias ao meio até sobrar uma por tarefa. Nunca é serializada
+     * (RecursiveTask só é Serializable por herança).
+     */
+    @SuppressWarnings("serial")
+    private static final class Fatias extends RecursiveTask<RelatorioBalanceamento> {
+        private final SimulacaoMonteCarlo simulacao;
+        private final SplittableRandom[] geradores;
+        private final long totalLutas;
+        private final int inicio;
+        private final int fim;
+
+        Fatias(SimulacaoMonteCarlo simulacao, SplittableRandom[] geradores, long totalLutas, int inicio, int fim) {
+            this.simulacao = simulacao;
+            this.geradores = geradores;
+            this.totalLutas = totalLutas;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected RelatorioBalanceamento compute() {
+            if (fim - inicio == 1) {
+                long primeiraLuta = (long) inicio * TAMANHO_FATIA;
+                long lutas = Math.min(TAMANHO_FATIA, totalLutas - primeiraLuta);
+                return simulacao.simularFatia(geradores[inicio], lutas);
+            }
+
+            int meio = (inicio + fim) >>> 1;
+            Fatias esquerda = new Fatias(simulacao, geradores, totalLutas, inicio, meio);
+            Fatias direita = new Fatias(simulacao, geradores, totalLutas, meio, fim);
+            esquerda.fork();
+            RelatorioBalanceamento resultadoDireita = direita.compute();
+            return esquerda.join().mesclar(resultadoDireita);
+        }
+    }
+
+    /**
+     * Cria um personagem de nível 1 como em um novo jogo,
+     * com os itens iniciais.
+     *
+     * @param classe "Guerreiro", "Mago" ou "Arqueiro"
+     */
+    public static Personagem novoPersonagem(String classe) {
+        Personagem jogador;
+        switch (classe) {
+            case "Mago":
+                jogador = new Mago();
+                break;
+            case "Arqueiro":
+                jogador = new Arqueiro();
+                break;
+            default:
+                jogador = new Guerreiro();
+        }
+        jogador.getInventario().adicionar(new Item(CatalogoItens.POCAO_VIDA, 3));
+        jogador.getInventario().adicionar(new Item(CatalogoItens.POCAO_FORCA, 1));
+        return jogador;
+    }
+
+    /**
+     * Uso: {@code java -cp bin sistema.SimulacaoMonteCarlo [lutas] [seed] [threads] [classe]}
+     */
+    public static void main(String[] args) {
+        long lutas = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 12345L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        String classe = args.length > 3 ? args[3] : "Guerreiro";
+
+        SimulacaoMonteCarlo simulacao = new SimulacaoMonteCarlo(
+                () -> novoPersonagem(classe), PoliticaCombate.curarAbaixoDe(0.3));
+
+        long inicio = System.nanoTime();
+        RelatorioBalanceamento relatorio = simulacao.executar(lutas, seed, threads);
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+        System.out.print(relatorio);
+        System.out.printf("%d lutas em %d ms com %d threads%n", relatorio.getTotalLutas(), ms, threads);
+    }
+}
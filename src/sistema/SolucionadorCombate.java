@@ -0,0 +1,527 @@
+package sistema;
+
+import conteudo.TabelasJogo;
+import personagens.EspecieInimigo;
+import personagens.Inimigo;
+import personagens.Personagem;
+
+import java.util.Arrays;
+
+/**
+ * Calcula a chance exata de vitória e o número esperado de turnos de um
+ * combate, sem simular lutas.
+ * <p>
+ * O combate é uma cadeia de Markov finita: cada estado ({@link EstadoCombate})
+ * leva a outros com as probabilidades exatas dos dados (1d6 dos ataques, 1d100
+ * do crítico e do tiro preciso, 3d6 da Rajada, 1d10 do ataque sombrio). O
+ * valor de um estado é a média dos valores dos sucessores, calculada uma vez
+ * por estado com memorização (programação dinâmica), em uma busca em
+ * profundidade com pilha própria (não recursiva). Só há ciclo quando nada
+ * muda no turno (os dois lados erram o dano); esse laço é resolvido na
+ * fórmula, dividindo pela chance de sair dele.
+ * <p>
+ * A memória começa pequena e dobra conforme enche, até a capacidade máxima.
+ * Dali em diante, estados antigos são sobrescritos e recalculados se
+ * aparecerem de novo: o resultado continua exato, só mais lento. Se os
+ * recálculos passarem de {@link #RECALCULOS_POR_ENTRADA} vezes a capacidade, a
+ * resolução desiste. Uma instância não pode ser usada por várias threads ao
+ * mesmo tempo.
+ */
+public class SolucionadorCombate {
+    /** Capacidade máxima da memória por padrão, em estados (até 72 MB, alocados conforme a necessidade). */
+    public static final int CAPACIDADE_MEMO_PADRAO = 1 << 21;
+    /** Estados resolvidos por entrada da memória, no máximo, antes de desistir. */
+    public static final int RECALCULOS_POR_ENTRADA = 8;
+
+    /**
+     * Como o jogador escolhe a ação em cada estado.
+     */
+    public enum Estrategia {
+        /** Sempre ataca, como {@link PoliticaCombate#sempreAtacar()}. */
+        SEMPRE_ATACAR,
+        /** Habilidade especial quando tem efeito, como {@link PoliticaCombate#especialQuandoPossivel()}. */
+        ESPECIAL_QUANDO_POSSIVEL,
+        /**
+         * A ação (ataque, habilidade ou item) de maior chance de vitória em cada
+         * estado; fugir nunca ajuda a vencer e fica de fora. Em empates vale a
+         * primeira, na ordem de {@link EstadoCombate#acoes(int[])}.
+         */
+        OTIMA
+    }
+
+    private final Memo memo;
+    private Nivel[] niveis = new Nivel[0];
+    private Estrategia estrategia;
+    private long estados;
+    private final long limiteEstados;
+    // valor do último estado ou ação resolvidos
+    private double vitoria;
+    private double turnos;
+
+    public SolucionadorCombate() {
+        this(CAPACIDADE_MEMO_PADRAO);
+    }
+
+    /**
+     * @param capacidadeMemo máximo de entradas da memória (potência de 2, pelo menos 16)
+     * @throws IllegalArgumentException se a capacidade for inválida
+     */
+    public SolucionadorCombate(int capacidadeMemo) {
+        if (capacidadeMemo < 16 || Integer.bitCount(capacidadeMemo) != 1) {
+            throw new IllegalArgumentException("Capacidade da memória deve ser potência de 2 (>= 16)");
+        }
+        this.memo = new Memo(capacidadeMemo);
+        this.limiteEstados = (long) capacidadeMemo * RECALCULOS_POR_ENTRADA;
+    }
+
+    /**
+     * Resolve o combate entre os personagens no estado atual. Não os altera.
+     *
+     * @param boss true na batalha contra o chefe (ataque sombrio)
+     */
+    public AnaliseCombate resolver(Personagem jogador, Personagem inimigo, boolean boss, Estrategia estrategia) {
+        return resolver(EstadoCombate.de(jogador, inimigo, boss), estrategia);
+    }
+
+    /**
+     * Resolve o combate a partir do estado.
+     *
+     * @throws IllegalArgumentException se a estratégia for nula, o combate já
+     *                                  tiver terminado ou tiver atributos grandes demais
+     * @throws IllegalStateException    se o combate tiver estados demais para a memória
+     */
+    public AnaliseCombate resolver(EstadoCombate estado, Estrategia estrategia) {
+        if (estrategia == null) {
+            throw new IllegalArgumentException("Estratégia não pode ser nula");
+        }
+        if (estado.isTerminado()) {
+            throw new IllegalArgumentException("Combate já terminou");
+        }
+        if (!estado.cabeEmChave()) {
+            throw new IllegalArgumentException("Combate grande demais para o solucionador exato");
+        }
+        long inicio = System.nanoTime();
+        this.estrategia = estrategia;
+        estados = 0;
+        memo.novaGeracao();
+        resolverDecisao(estado);
+        return new AnaliseCombate(estrategia, vitoria, turnos, estados, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Percorre a árvore de decisões em profundidade com uma pilha explícita
+     * ({@link #niveis}): um combate longo (muito HP e pouco dano) tem caminhos
+     * de milhares de turnos, que estourariam a pilha de uma recursão.
+     */
+    private void resolverDecisao(EstadoCombate raiz) {
+        // A memória acabou de ser limpa: a raiz nunca está nela.
+        abrirDecisao(raiz, raiz.chaveAlta(), raiz.chaveBaixa(), 0);
+        int profundidade = 0;
+        Nivel nivel = niveis[0];
+        while (true) {
+            if (proximoSucessor(nivel)) {
+                abrirDecisao(nivel.estado, nivel.altaFilho, nivel.baixaFilho, profundidade + 1);
+                nivel = niveis[++profundidade];
+            } else if (concluirAcao(nivel)) {
+                if (profundidade == 0) {
+                    return;
+                }
+                nivel = niveis[--profundidade];
+                nivel.somar(vitoria, turnos);
+            }
+        }
+    }
+
+    /**
+     * Empilha a decisão de um estado que ainda não está na memória.
+     */
+    private void abrirDecisao(EstadoCombate estado, long alta, long baixa, int profundidade) {
+        if (++estados > limiteEstados) {
+            throw new IllegalStateException("Combate com estados demais para a memória (capacidade "
+                    + memo.capacidadeMaxima + "); aumente a capacidade");
+        }
+
+        Nivel nivel = nivel(profundidade);
+        if (nivel.acoes.length < 3 + estado.quantidadeItens()) {
+            nivel.acoes = new int[3 + estado.quantidadeItens()];
+        }
+        nivel.decisao = estado;
+        nivel.alta = alta;
+        nivel.baixa = baixa;
+        nivel.quantidade = acoes(estado, nivel.acoes);
+        nivel.acao = 0;
+        nivel.melhorVitoria = -1;
+        nivel.melhoresTurnos = 0;
+        iniciarAcao(nivel);
+    }
+
+    private int acoes(EstadoCombate estado, int[] destino) {
+        switch (estrategia) {
+            case SEMPRE_ATACAR:
+                destino[0] = EstadoCombate.ATACAR;
+                return 1;
+            case ESPECIAL_QUANDO_POSSIVEL:
+                destino[0] = estado.podeUsarHabilidade() ? EstadoCombate.HABILIDADE : EstadoCombate.ATACAR;
+                return 1;
+            default:
+                int quantidade = 0;
+                int total = estado.acoes(destino);
+                for (int i = 0; i < total; i++) {
+                    if (destino[i] != EstadoCombate.FUGIR) {
+                        destino[quantidade++] = destino[i];
+                    }
+                }
+                return quantidade;
+        }
+    }
+
+    /**
+     * Aplica a ação da vez ao estado do nível e prepara a soma dos sucessores.
+     * Depois da ação só os HP mudam: a chave baixa é a mesma para todos eles.
+     */
+    private static void iniciarAcao(Nivel nivel) {
+        if (nivel.estado == null) {
+            nivel.estado = nivel.decisao.copiar();
+        }
+        EstadoCombate filho = nivel.estado;
+        filho.copiarDe(nivel.decisao);
+        int acao = nivel.acoes[nivel.acao];
+        filho.aplicarAcao(acao, nivel.danosJogador);
+        nivel.passaTurno = EstadoCombate.passaTurno(acao);
+        nivel.baixaFilho = filho.chaveBaixa();
+        if (nivel.passaTurno) {
+            filho.turnoInimigo(nivel.danosInimigo);
+        }
+        nivel.hpInimigo = filho.hpInimigo;
+        nivel.hpJogador = filho.hpJogador;
+        nivel.resultados = Math.max(1, nivel.danosJogador.tamanho());
+        nivel.dano = 0;
+        nivel.golpe = -1;
+        nivel.somaVitoria = 0;
+        nivel.somaTurnos = 0;
+        nivel.repetido = 0;
+    }
+
+    /**
+     * Avança pelos sucessores da ação (dano do jogador e, se a ação passa o
+     * turno, golpe do inimigo) até o próximo que precisa de decisão. Vitórias
+     * e estados já memorizados entram direto na soma; derrotas não somam nada;
+     * os que voltam ao próprio estado só acumulam a chance de repetição.
+     *
+     * @return true com o sucessor em {@code nivel.estado} e o seu peso em
+     * {@code nivel.peso}; false quando não há mais sucessores
+     */
+    private boolean proximoSucessor(Nivel nivel) {
+        EstadoCombate filho = nivel.estado;
+        EstadoCombate.Resultados danos = nivel.danosJogador;
+        EstadoCombate.Resultados golpes = nivel.danosInimigo;
+        boolean passaTurno = nivel.passaTurno;
+        int golpesPorDano = passaTurno ? golpes.tamanho() : 1;
+        long baixaFilho = nivel.baixaFilho;
+        double somaVitoria = nivel.somaVitoria;
+        double somaTurnos = nivel.somaTurnos;
+        double repetido = nivel.repetido;
+        int dano = nivel.dano;
+        int golpe = nivel.golpe;
+        try {
+            while (dano < nivel.resultados) {
+                if (golpe < 0) {
+                    nivel.p = danos.tamanho() == 0 ? 1 : danos.probabilidade(dano);
+                    filho.hpInimigo = danos.tamanho() == 0 ? nivel.hpInimigo : nivel.hpInimigo - danos.valor(dano);
+                    if (filho.hpInimigo == 0) {
+                        somaVitoria += nivel.p;
+                        dano++;
+                        continue;
+                    }
+                    golpe = 0;
+                }
+                while (golpe < golpesPorDano) {
+                    int j = golpe++;
+                    double q = nivel.p;
+                    if (passaTurno) {
+                        q *= golpes.probabilidade(j);
+                        filho.hpJogador = nivel.hpJogador - golpes.valor(j);
+                        if (filho.hpJogador == 0) {
+                            continue;
+                        }
+                    }
+                    long altaFilho = filho.chaveAlta();
+                    if (passaTurno && altaFilho == nivel.alta && baixaFilho == nivel.baixa) {
+                        repetido += q;
+                        continue;
+                    }
+                    int posicao = memo.buscar(altaFilho, baixaFilho);
+                    if (posicao >= 0) {
+                        somaVitoria += q * memo.vitoria(posicao);
+                        somaTurnos += q * memo.turnos(posicao);
+                        continue;
+                    }
+                    nivel.peso = q;
+                    nivel.altaFilho = altaFilho;
+                    return true;
+                }
+                filho.hpJogador = nivel.hpJogador;
+                golpe = -1;
+                dano++;
+            }
+            filho.hpInimigo = nivel.hpInimigo;
+            return false;
+        } finally {
+            nivel.somaVitoria = somaVitoria;
+            nivel.somaTurnos = somaTurnos;
+            nivel.repetido = repetido;
+            nivel.dano = dano;
+            nivel.golpe = golpe;
+        }
+    }
+
+    /**
+     * Fecha o valor da ação da vez: soma dos sucessores dividida pela chance
+     * de não voltar ao próprio estado. Passa para a próxima ação ou, se não
+     * houver outra (ou a vitória já for certa), guarda a melhor na memória.
+     *
+     * @return true se a decisão do nível terminou, com o valor em
+     * {@link #vitoria} e {@link #turnos}
+     */
+    private boolean concluirAcao(Nivel nivel) {
+        double sai = 1 - nivel.repetido;
+        double vitoriaAcao;
+        double turnosAcao;
+        if (sai < 1e-12) {
+            // Ninguém consegue ferir ninguém: o combate não termina.
+            vitoriaAcao = 0;
+            turnosAcao = Double.POSITIVE_INFINITY;
+        } else {
+            vitoriaAcao = nivel.somaVitoria / sai;
+            turnosAcao = (1 + nivel.somaTurnos) / sai;
+        }
+        if (vitoriaAcao > nivel.melhorVitoria + 1e-12) {
+            nivel.melhorVitoria = vitoriaAcao;
+            nivel.melhoresTurnos = turnosAcao;
+        }
+        // Com vitória certa, nenhuma outra ação pode ser melhor.
+        if (++nivel.acao < nivel.quantidade && nivel.melhorVitoria < 1 - 1e-12) {
+            iniciarAcao(nivel);
+            return false;
+        }
+        vitoria = nivel.melhorVitoria;
+        turnos = nivel.melhoresTurnos;
+        memo.guardar(nivel.alta, nivel.baixa, vitoria, turnos);
+        return true;
+    }
+
+    private Nivel nivel(int profundidade) {
+        if (profundidade >= niveis.length) {
+            int antigo = niveis.length;
+            niveis = Arrays.copyOf(niveis, Math.max(16, antigo * 2));
+            for (int i = antigo; i < niveis.length; i++) {
+                niveis[i] = new Nivel();
+            }
+        }
+        return niveis[profundidade];
+    }
+
+    /**
+     * Tabela de balanceamento: chance de vitória e turnos esperados de um
+     * personagem novo levado ao nível contra cada espécie nos níveis que
+     * {@link Inimigo#criarInimigoAleatorio(int)} sorteia, e contra o chefe final.
+     * <p>
+     * Uso: {@code java -cp bin sistema.SolucionadorCombate [classe] [nível]}
+     */
+    public static void main(String[] args) {
+        String classe = args.length > 0 ? args[0] : "Guerreiro";
+        int nivel = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        SolucionadorCombate solucionador = new SolucionadorCombate();
+        RoladorDados dado = new RoladorSilencioso(42L);
+        Estrategia[] estrategias = Estrategia.values();
+        System.out.printf("%s nível %d (3 poções de vida, 1 de força)%n%-26s", classe, nivel, "inimigo");
+        for (Estrategia estrategia : estrategias) {
+            System.out.printf(" | %-26s", estrategia);
+        }
+        System.out.println();
+
+        long inicio = System.nanoTime();
+        for (EspecieInimigo especie : TabelasJogo.atuais().getEspecies()) {
+            for (int n = Math.max(1, nivel - 1); n <= nivel + 1; n++) {
+                Inimigo inimigo = new Inimigo(especie.getNome(), especie.pontosVida(n), especie.ataque(n),
+                        especie.defesa(n), n, especie.getTipo(), dado);
+                imprimirLinha(solucionador, classe, nivel, especie.getNome() + " nv " + n, inimigo, false);
+            }
+        }
+        imprimirLinha(solucionador, classe, nivel, "Chefe final", ConselheiroCombate.chefe(nivel, dado), true);
+        System.out.printf("%d ms%n", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static void imprimirLinha(SolucionadorCombate solucionador, String classe, int nivel, String nome,
+                                      Inimigo inimigo, boolean boss) {
+        System.out.printf("%-26s", nome);
+        for (Estrategia estrategia : Estrategia.values()) {
+            AnaliseCombate analise = solucionador.resolver(ConselheiroCombate.heroi(classe, nivel), inimigo,
+                    boss, estrategia);
+            System.out.printf(" | %6.2f%% %6.2f turnos %7d µs", analise.getChanceVitoria() * 100,
+                    analise.getTurnosEsperados(), analise.getNanos() / 1000);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Uma profundidade da pilha de decisões: o estado da decisão, as ações e a
+     * melhor até agora, e o progresso da ação da vez pelos sucessores. O
+     * sucessor ({@code estado}) e os resultados são pré-alocados e reaproveitados.
+     */
+    private static final class Nivel {
+        final EstadoCombate.Resultados danosJogador = new EstadoCombate.Resultados();
+        final EstadoCombate.Resultados danosInimigo = new EstadoCombate.Resultados();
+        EstadoCombate estado;
+        int[] acoes = new int[0];
+
+        // decisão
+        EstadoCombate decisao;
+        long alta;
+        long baixa;
+        int quantidade;
+        int acao;
+        double melhorVitoria;
+        double melhoresTurnos;
+
+        // ação da vez
+        boolean passaTurno;
+        long baixaFilho;
+        long altaFilho;
+        int hpInimigo;
+        int hpJogador;
+        int resultados;
+        int dano;
+        int golpe;
+        double p;
+        double peso;
+        double somaVitoria;
+        double somaTurnos;
+        double repetido;
+
+        void somar(double vitoria, double turnos) {
+            somaVitoria += peso * vitoria;
+            somaTurnos += peso * turnos;
+        }
+    }
+
+    /**
+     * Tabela de endereçamento aberto indexada pelas duas chaves do estado, com
+     * cada entrada (chaves e valores) em posições vizinhas de um só vetor. A
+     * chave alta nunca é zero (o jogador tem HP), então zero marca posição
+     * livre. Dobra ao passar de metade da ocupação ou quando a sondagem não
+     * acha lugar, até a capacidade máxima. Entre uma resolução e outra, só as
+     * posições usadas são limpas.
+     */
+    private static final class Memo {
+        private static final int CAPACIDADE_INICIAL = 1 << 12;
+        private static final int SONDAGENS = 8;
+        // chave alta, chave baixa, vitória e turnos (bits do double)
+        private static final int CAMPOS = 4;
+
+        final int capacidadeMaxima;
+        private long[] tabela;
+        // entradas ocupadas nesta resolução, para limpar e redistribuir
+        private int[] usadas;
+        private int ocupadas;
+        private int mascara;
+
+        Memo(int capacidadeMaxima) {
+            this.capacidadeMaxima = capacidadeMaxima;
+            alocar(Math.min(CAPACIDADE_INICIAL, capacidadeMaxima));
+        }
+
+        private void alocar(int capacidade) {
+            tabela = new long[capacidade * CAMPOS];
+            usadas = new int[capacidade];
+            mascara = capacidade - 1;
+        }
+
+        void novaGeracao() {
+            for (int i = 0; i < ocupadas; i++) {
+                tabela[usadas[i] * CAMPOS] = 0;
+            }
+            ocupadas = 0;
+        }
+
+        private int inicio(long alta, long baixa) {
+            long h = (alta * 0x9E3779B97F4A7C15L) ^ (baixa * 0xC2B2AE3D27D4EB4FL);
+            return (int) (h ^ (h >>> 32)) & mascara;
+        }
+
+        /** @return entrada do estado na tabela, ou -1 */
+        int buscar(long alta, long baixa) {
+            int i = inicio(alta, baixa);
+            for (int s = 0; s < SONDAGENS; s++, i = (i + 1) & mascara) {
+                long chave = tabela[i * CAMPOS];
+                if (chave == 0) {
+                    return -1;
+                }
+                if (chave == alta && tabela[i * CAMPOS + 1] == baixa) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        double vitoria(int entrada) {
+            return Double.longBitsToDouble(tabela[entrada * CAMPOS + 2]);
+        }
+
+        double turnos(int entrada) {
+            return Double.longBitsToDouble(tabela[entrada * CAMPOS + 3]);
+        }
+
+        void guardar(long alta, long baixa, double vitoria, double turnos) {
+            int capacidade = mascara + 1;
+            if (ocupadas >= capacidade / 2 && capacidade < capacidadeMaxima) {
+                crescer();
+            }
+            while (!inserir(alta, baixa, vitoria, turnos)) {
+                if (mascara + 1 < capacidadeMaxima) {
+                    crescer();
+                } else {
+                    // Cheia: sobrescreve a primeira posição da sondagem.
+                    escrever(inicio(alta, baixa), alta, baixa, vitoria, turnos);
+                    return;
+                }
+            }
+        }
+
+        /** @return false se a sondagem não achou posição livre */
+        private boolean inserir(long alta, long baixa, double vitoria, double turnos) {
+            int i = inicio(alta, baixa);
+            for (int s = 0; s < SONDAGENS; s++, i = (i + 1) & mascara) {
+                if (tabela[i * CAMPOS] == 0) {
+                    usadas[ocupadas++] = i;
+                    escrever(i, alta, baixa, vitoria, turnos);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void escrever(int i, long alta, long baixa, double vitoria, double turnos) {
+            int base = i * CAMPOS;
+            tabela[base] = alta;
+            tabela[base + 1] = baixa;
+            tabela[base + 2] = Double.doubleToRawLongBits(vitoria);
+            tabela[base + 3] = Double.doubleToRawLongBits(turnos);
+        }
+
+        private void crescer() {
+            long[] antiga = tabela;
+            int[] antigasUsadas = usadas;
+            int quantidade = ocupadas;
+            alocar((mascara + 1) * 2);
+            ocupadas = 0;
+            for (int k = 0; k < quantidade; k++) {
+                int base = antigasUsadas[k] * CAMPOS;
+                // Se a sondagem não achar lugar (raro), a entrada se perde e é recalculada se preciso.
+                inserir(antiga[base], antiga[base + 1], Double.longBitsToDouble(antiga[base + 2]),
+                        Double.longBitsToDouble(antiga[base + 3]));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package sistema;
+
+import itens.Item;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de {@link ConselheiroCombate#sugerir}: a melhor ação, a avaliação
+ * de cada alternativa e quanto a busca explorou.
+ * <p>
+ * As avaliações vão de 0 (derrota certa) a 1 (vitória certa); a fuga bem-sucedida
+ * vale o que o conselheiro foi configurado para ela.
+ */
+public class SugestaoCombate {
+
+    /**
+     * Uma ação possível no turno e sua avaliação.
+     */
+    public static class Opcao {
+        private final AcaoCombate acao;
+        private final Item item;
+        private final int indiceItem;
+        private final double valor;
+
+        Opcao(AcaoCombate acao, Item item, int indiceItem, double valor) {
+            this.acao = acao;
+            this.item = item;
+            this.indiceItem = indiceItem;
+            this.valor = valor;
+        }
+
+        public AcaoCombate getAcao() { return acao; }
+
+        /** @return item a usar, ou null se a ação não for {@link AcaoCombate#USAR_ITEM} */
+        public Item getItem() { return item; }
+
+        /** @return índice do item no inventário (0-based), ou -1 */
+        public int getIndiceItem() { return indiceItem; }
+
+        public double getValor() { return valor; }
+
+        public String getDescricao() {
+            switch (acao) {
+                case ATACAR:
+                    return "Atacar";
+                case USAR_ITEM:
+                    return "Usar " + item.getNome() + " (item " + (indiceItem + 1) + ")";
+                case FUGIR:
+                    return "Tentar fugir";
+                default:
+                    return "Habilidade especial";
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.1f%%", getDescricao(), valor * 100);
+        }
+    }
+
+    private final Opcao melhor;
+    private final List<Opcao> opcoes;
+    private final int profundidade;
+    private final boolean exata;
+    private final long nos;
+    private final long nanos;
+
+    SugestaoCombate(Opcao melhor, List<Opcao> opcoes, int profundidade, boolean exata, long nos, long nanos) {
+        this.melhor = melhor;
+        this.opcoes = Collections.unmodifiableList(opcoes);
+        this.profundidade = profundidade;
+        this.exata = exata;
+        this.nos = nos;
+        this.nanos = nanos;
+    }
+
+    public Opcao getMelhor() { return melhor; }
+    public AcaoCombate getAcao() { return melhor.getAcao(); }
+
+    /** @return item sugerido, ou null se a ação não for {@link AcaoCombate#USAR_ITEM} */
+    public Item getItem() { return melhor.getItem(); }
+
+    public double getValor() { return melhor.getValor(); }
+
+    /** @return todas as ações avaliadas, na ordem do menu */
+    public List<Opcao> getOpcoes() { return opcoes; }
+
+    /** @return decisões do jogador à frente na última busca completa */
+    public int getProfundidade() { return profundidade; }
+
+    /** @return true se a busca chegou ao fim de todos os combates possíveis (sem estimativa) */
+    public boolean isExata() { return exata; }
+
+    /** @return estados visitados (decisões expandidas e folhas estimadas) */
+    public long getNos() { return nos; }
+
+    public long getNanos() { return nanos; }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Sugestão: %s (avaliação %.1f%%)\n", melhor.getDescricao(), melhor.getValor() * 100));
+        for (Opcao opcao : opcoes) {
+            sb.append("  ").append(opcao).append('\n');
+        }
+        sb.append(String.format("  (%s %d decisões à frente, %,d estados, %d ms)",
+                exata ? "exata," : "estimada,", profundidade, nos, nanos / 1_000_000));
+        return sb.toString();
+    }
+}
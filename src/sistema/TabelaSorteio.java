@@ -0,0 +1,141 @@
+package sistema;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tabela de sorteio com pesos inteiros, em que cada sorteio custa O(1)
+ * qualquer que seja o número de entradas (método alias, de Walker e Vose).
+ * <p>
+ * A tabela é montada uma vez: cada uma das {@code n} colunas guarda uma
+ * entrada e um "alias", e um limiar que diz quando fica com a própria entrada.
+ * Sortear é rolar 1d{@code n} para a coluna e 1d{@code P} (P = soma dos pesos)
+ * para escolher entre a entrada e o alias. Como tudo é inteiro, as
+ * probabilidades são exatamente peso / P, sem arredondamento.
+ * <p>
+ * Se todos os pesos forem iguais, o sorteio é uma só rolagem de 1d{@code n}:
+ * uma tabela uniforme consome as mesmas rolagens de um {@code rolar(n)} com
+ * {@code switch}, o que mantém seeds e sessões gravadas válidas.
+ * Imutável e segura para várias threads.
+ */
+public final class TabelaSorteio<T> {
+    private final List<T> valores;
+    private final int[] pesos;
+    private final int pesoTotal;
+    private final boolean uniforme;
+    // coluna i fica com valores[i] se 1d(pesoTotal) <= limiares[i]; senão, com valores[alias[i]]
+    private final int[] limiares;
+    private final int[] alias;
+
+    /**
+     * @param valores entradas da tabela (pelo menos uma)
+     * @param pesos   peso de cada entrada (&gt;= 0), na mesma ordem
+     * @throws IllegalArgumentException se as listas forem vazias ou de tamanhos
+     *                                  diferentes, algum peso for negativo, a soma for zero
+     *                                  ou não couber em um {@code int}
+     */
+    public TabelaSorteio(List<T> valores, int[] pesos) {
+        if (valores == null || pesos == null || valores.isEmpty() || valores.size() != pesos.length) {
+            throw new IllegalArgumentException("Tabela precisa de ao menos uma entrada e um peso por entrada");
+        }
+        int n = pesos.length;
+        long soma = 0;
+        boolean iguais = true;
+        for (int i = 0; i < n; i++) {
+            if (pesos[i] < 0) {
+                throw new IllegalArgumentException("Peso não pode ser negativo: " + pesos[i]);
+            }
+            soma += pesos[i];
+            iguais &= pesos[i] == pesos[0];
+        }
+        if (soma == 0 || soma > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Soma dos pesos deve estar entre 1 e " + Integer.MAX_VALUE);
+        }
+
+        this.valores = Collections.unmodifiableList(new ArrayList<>(valores));
+        this.pesos = pesos.clone();
+        this.pesoTotal = (int) soma;
+        this.uniforme = iguais;
+        this.limiares = new int[n];
+        this.alias = new int[n];
+        if (!uniforme) {
+            montarAlias(n);
+        }
+    }
+
+    /**
+     * Monta as colunas (Vose) com massas inteiras: a entrada i tem massa
+     * peso·n e cada coluna comporta {@code pesoTotal}.
+     */
+    private void montarAlias(int n) {
+        long[] massa = new long[n];
+        ArrayDeque<Integer> pequenas = new ArrayDeque<>();
+        ArrayDeque<Integer> grandes = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            massa[i] = (long) pesos[i] * n;
+            alias[i] = i;
+            (massa[i] < pesoTotal ? pequenas : grandes).push(i);
+        }
+        while (!pequenas.isEmpty() && !grandes.isEmpty()) {
+            int pequena = pequenas.pop();
+            int grande = grandes.pop();
+            limiares[pequena] = (int) massa[pequena];
+            alias[pequena] = grande;
+            massa[grande] -= pesoTotal - massa[pequena];
+            (massa[grande] < pesoTotal ? pequenas : grandes).push(grande);
+        }
+        // O que sobra está cheio (a soma das massas é exatamente n·pesoTotal).
+        for (int i : grandes) {
+            limiares[i] = pesoTotal;
+        }
+        for (int i : pequenas) {
+            limiares[i] = pesoTotal;
+        }
+    }
+
+    /**
+     * Sorteia uma entrada: uma rolagem se a tabela for uniforme, duas se não.
+     */
+    public T sortear(RoladorDados dado) {
+        int coluna = dado.rolar(limiares.length) - 1;
+        if (uniforme || dado.rolar(pesoTotal) <= limiares[coluna]) {
+            return valores.get(coluna);
+        }
+        return valores.get(alias[coluna]);
+    }
+
+    public int getTamanho() {
+        return valores.size();
+    }
+
+    /**
+     * @return entradas, na ordem em que foram dadas
+     */
+    public List<T> getValores() {
+        return valores;
+    }
+
+    public int getPeso(int indice) {
+        return pesos[indice];
+    }
+
+    public int getPesoTotal() {
+        return pesoTotal;
+    }
+
+    /**
+     * @return true se todas as entradas têm o mesmo peso (sorteio com uma rolagem)
+     */
+    public boolean isUniforme() {
+        return uniforme;
+    }
+
+    /**
+     * @return probabilidade exata da entrada, peso / soma dos pesos
+     */
+    public double probabilidade(int indice) {
+        return (double) pesos[indice] / pesoTotal;
+    }
+}